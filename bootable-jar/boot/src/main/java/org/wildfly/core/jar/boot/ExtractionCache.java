@@ -0,0 +1,353 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.core.jar.boot;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.jar.JarEntry;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * A cache of extracted server installations, used instead of extracting the server to the install directory at each
+ * start when the {@code org.wildfly.core.bootable.jar.cacheDir} system property is set.
+ * <p>
+ * The server is extracted once to a directory of the cache named after a hash of the embedded archive, along with a
+ * manifest listing what was extracted. The manifest is written last, and the directory only renamed into place once
+ * it is complete. Later starts check that everything listed in the manifest is still present with the same size and
+ * last modified time, which catches a change to a cached file, including through a hard link, without reading the
+ * files again. They then populate the install directory from the cache: the modules, which the server never modifies, are hard linked where
+ * the file system allows, and everything else is copied.
+ * </p>
+ */
+final class ExtractionCache {
+
+    private static final String MANIFEST = ".wildfly-extraction-manifest";
+    private static final String LINKED_DIR = "modules/";
+    private static final char DIRECTORY = 'd';
+    private static final char FILE = 'f';
+
+    private final Path cacheDir;
+
+    ExtractionCache(final Path cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    /**
+     * Populates the install directory with the cached extraction of the archive, first extracting it to the cache if
+     * it is not there or is no longer intact.
+     *
+     * @param archive    the server archive
+     * @param installDir the install directory
+     *
+     * @throws Exception if the archive cannot be extracted or the install directory populated
+     */
+    void install(final URL archive, final Path installDir) throws Exception {
+        final String key = computeKey(archive);
+        final Path extracted = cacheDir.resolve(key);
+        List<String> manifest = verify(extracted);
+        if (manifest == null) {
+            if (Files.exists(extracted)) {
+                // Incomplete or modified; move it aside so the fresh extraction can take its place. The move is to a
+                // path that does not exist, as a directory cannot be atomically moved over another one.
+                final Path stale = cacheDir.resolve(key + "-stale-" + UUID.randomUUID());
+                boolean moved = false;
+                try {
+                    Files.move(extracted, stale, StandardCopyOption.ATOMIC_MOVE);
+                    moved = true;
+                } catch (NoSuchFileException e) {
+                    // Another start moved it aside first
+                }
+                if (moved) {
+                    deleteDirectory(stale);
+                }
+            }
+            manifest = extract(archive, key, extracted);
+        }
+        populate(extracted, manifest, installDir);
+    }
+
+    /**
+     * Computes the cache key of the archive. The CRC and sizes of an archive in a jar are read from the jar's central
+     * directory, so the archive itself is only read if it is not in a jar.
+     */
+    static String computeKey(final URL archive) throws IOException, NoSuchAlgorithmException {
+        final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        final URLConnection connection = archive.openConnection();
+        final JarEntry entry = connection instanceof JarURLConnection ? ((JarURLConnection) connection).getJarEntry() : null;
+        if (entry != null && entry.getCrc() != -1 && entry.getSize() != -1) {
+            digest.update(ByteBuffer.allocate(24).putLong(entry.getCrc()).putLong(entry.getSize())
+                    .putLong(entry.getCompressedSize()).array());
+        } else {
+            try (InputStream in = connection.getInputStream()) {
+                final byte[] buffer = new byte[8192];
+                int len;
+                while ((len = in.read(buffer)) != -1) {
+                    digest.update(buffer, 0, len);
+                }
+            }
+        }
+        final byte[] hash = digest.digest();
+        final StringBuilder key = new StringBuilder(32);
+        for (int i = 0; i < 16; i++) {
+            key.append(Character.forDigit((hash[i] >> 4) & 0xF, 16)).append(Character.forDigit(hash[i] & 0xF, 16));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Checks that the extraction is complete and every file in it is still present with the same size and last modified
+     * time.
+     *
+     * @return the manifest or {@code null} if the extraction cannot be used
+     */
+    static List<String> verify(final Path extracted) throws IOException {
+        final Path manifestFile = extracted.resolve(MANIFEST);
+        if (!Files.isRegularFile(manifestFile)) {
+            return null;
+        }
+        final List<String> manifest = Files.readAllLines(manifestFile, StandardCharsets.UTF_8);
+        for (String line : manifest) {
+            final Path path = resolve(extracted, getName(line));
+            if (line.charAt(0) == DIRECTORY) {
+                if (!Files.isDirectory(path)) {
+                    return null;
+                }
+            } else {
+                try {
+                    final BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    if (attributes.size() != getSize(line) || attributes.lastModifiedTime().toMillis() != getLastModified(line)) {
+                        return null;
+                    }
+                } catch (NoSuchFileException e) {
+                    return null;
+                }
+            }
+        }
+        return manifest;
+    }
+
+    private List<String> extract(final URL archive, final String key, final Path extracted) throws Exception {
+        Files.createDirectories(cacheDir);
+        final Path work = Files.createTempDirectory(cacheDir, key + "-");
+        final Path zip = Files.createTempFile(cacheDir, key + "-", ".zip");
+        try {
+            // The entries of the archive can only be read in parallel from a file
+            try (InputStream in = archive.openStream()) {
+                Files.copy(in, zip, StandardCopyOption.REPLACE_EXISTING);
+            }
+            final List<String> manifest = unzip(zip, work);
+            try (BufferedWriter writer = Files.newBufferedWriter(work.resolve(MANIFEST), StandardCharsets.UTF_8)) {
+                for (String line : manifest) {
+                    writer.write(line);
+                    writer.newLine();
+                }
+            }
+            try {
+                Files.move(work, extracted, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException | DirectoryNotEmptyException e) {
+                // Another start extracted the same archive first; use its extraction if it is intact
+                final List<String> existing = verify(extracted);
+                if (existing == null) {
+                    throw e;
+                }
+                return existing;
+            }
+            return manifest;
+        } finally {
+            Files.deleteIfExists(zip);
+            if (Files.exists(work)) {
+                deleteDirectory(work);
+            }
+        }
+    }
+
+    /**
+     * Extracts the archive, writing its files in parallel.
+     *
+     * @return the manifest of what was extracted
+     */
+    static List<String> unzip(final Path zip, final Path dir) throws Exception {
+        final boolean isWindows = Main.isWindows();
+        final List<String> manifest = new ArrayList<>();
+        try (ZipFile zipFile = new ZipFile(zip.toFile())) {
+            final List<ZipEntry> files = new ArrayList<>();
+            final Set<Path> directories = new HashSet<>();
+            final Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                final ZipEntry entry = entries.nextElement();
+                final Path path = resolve(dir, entry.getName());
+                if (entry.isDirectory()) {
+                    if (directories.add(path)) {
+                        Files.createDirectories(path);
+                    }
+                    manifest.add(DIRECTORY + " " + entry.getName());
+                } else {
+                    // Create any parent directories that may be required before the copy
+                    final Path parent = path.getParent();
+                    if (parent != null && directories.add(parent)) {
+                        Files.createDirectories(parent);
+                    }
+                    files.add(entry);
+                }
+            }
+            // Start with the largest so they don't hold up the end
+            files.sort(Comparator.comparingLong(ZipEntry::getCompressedSize).reversed());
+            final List<Callable<Void>> tasks = new ArrayList<>(files.size());
+            for (ZipEntry entry : files) {
+                tasks.add(() -> {
+                    final Path path = resolve(dir, entry.getName());
+                    try (InputStream in = zipFile.getInputStream(entry)) {
+                        Files.copy(in, path, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                    if (!isWindows && path.getFileName().toString().endsWith(".sh")) {
+                        Files.setPosixFilePermissions(path, Main.EXECUTE_PERMISSIONS);
+                    }
+                    return null;
+                });
+            }
+            runInParallel(tasks);
+            for (ZipEntry entry : files) {
+                final BasicFileAttributes attributes = Files.readAttributes(resolve(dir, entry.getName()), BasicFileAttributes.class);
+                manifest.add(FILE + " " + attributes.size() + " " + attributes.lastModifiedTime().toMillis() + " " + entry.getName());
+            }
+        }
+        return manifest;
+    }
+
+    /**
+     * Populates the install directory from the extraction, hard linking the modules if possible and copying everything
+     * else.
+     */
+    static void populate(final Path extracted, final List<String> manifest, final Path installDir) throws Exception {
+        final List<Callable<Void>> tasks = new ArrayList<>(manifest.size());
+        final Set<Path> directories = new HashSet<>();
+        for (String line : manifest) {
+            final String name = getName(line);
+            final Path target = resolve(installDir, name);
+            if (line.charAt(0) == DIRECTORY) {
+                if (directories.add(target)) {
+                    Files.createDirectories(target);
+                }
+                continue;
+            }
+            final Path parent = target.getParent();
+            if (parent != null && directories.add(parent)) {
+                Files.createDirectories(parent);
+            }
+            final Path source = resolve(extracted, name);
+            final boolean link = name.startsWith(LINKED_DIR);
+            tasks.add(() -> {
+                if (link) {
+                    Files.deleteIfExists(target);
+                    try {
+                        Files.createLink(target, source);
+                        return null;
+                    } catch (IOException | UnsupportedOperationException e) {
+                        // Most likely a different file store, copy instead
+                    }
+                }
+                Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+                return null;
+            });
+        }
+        runInParallel(tasks);
+    }
+
+    private static void runInParallel(final List<Callable<Void>> tasks) throws Exception {
+        final int threads = Math.max(1, Math.min(tasks.size(), Runtime.getRuntime().availableProcessors()));
+        final ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            final Thread thread = new Thread(r, "wildfly-bootable-extraction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final List<Future<Void>> futures = new ArrayList<>(tasks.size());
+            for (Callable<Void> task : tasks) {
+                futures.add(executor.submit(task));
+            }
+            for (Future<Void> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    final Throwable cause = e.getCause();
+                    if (cause instanceof Exception) {
+                        throw (Exception) cause;
+                    }
+                    throw e;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Path resolve(final Path dir, final String name) throws IOException {
+        final Path path = dir.resolve(name);
+        if (!path.normalize().startsWith(dir.normalize())) {
+            throw new IOException("Bad zip entry");
+        }
+        return path;
+    }
+
+    private static String getName(final String line) {
+        // d <name> or f <size> <last modified> <name>
+        return line.charAt(0) == DIRECTORY ? line.substring(2) : line.substring(line.indexOf(' ', line.indexOf(' ', 2) + 1) + 1);
+    }
+
+    private static long getSize(final String line) {
+        return Long.parseLong(line.substring(2, line.indexOf(' ', 2)));
+    }
+
+    private static long getLastModified(final String line) {
+        final int start = line.indexOf(' ', 2) + 1;
+        return Long.parseLong(line.substring(start, line.indexOf(' ', start)));
+    }
+
+    private static void deleteDirectory(final Path dir) throws IOException {
+        Files.walkFileTree(dir, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(final Path dir, final IOException exc) throws IOException {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
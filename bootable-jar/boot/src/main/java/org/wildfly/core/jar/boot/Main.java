@@ -69,7 +69,7 @@ public final class Main {
 
     private static final String WILDFLY_BOOTABLE_TMP_DIR_PREFIX = "wildfly-bootable-server";
 
-    private static final Set<PosixFilePermission> EXECUTE_PERMISSIONS = new HashSet<>();
+    static final Set<PosixFilePermission> EXECUTE_PERMISSIONS = new HashSet<>();
 
     static {
         EXECUTE_PERMISSIONS.add(PosixFilePermission.OWNER_EXECUTE);
@@ -135,11 +135,20 @@ public final class Main {
                     "to be running.", installDir));
         }
 
-        try (InputStream wf = Main.class.getResourceAsStream(WILDFLY_RESOURCE)) {
+        final String cacheDir = System.getProperty("org.wildfly.core.bootable.jar.cacheDir");
+        if (cacheDir != null) {
+            final URL wf = Main.class.getResource(WILDFLY_RESOURCE);
             if (wf == null) {
                 throw new Exception("Resource " + WILDFLY_RESOURCE + " doesn't exist, can't run.");
             }
-            unzip(wf, installDir);
+            new ExtractionCache(Paths.get(cacheDir).toAbsolutePath()).install(wf, installDir);
+        } else {
+            try (InputStream wf = Main.class.getResourceAsStream(WILDFLY_RESOURCE)) {
+                if (wf == null) {
+                    throw new Exception("Resource " + WILDFLY_RESOURCE + " doesn't exist, can't run.");
+                }
+                unzip(wf, installDir);
+            }
         }
 
         //Extensions are injected by the maven plugin during packaging.
@@ -264,7 +273,7 @@ public final class Main {
         }
     }
 
-    private static boolean isWindows() {
+    static boolean isWindows() {
         return System.getProperty("os.name").toLowerCase(Locale.ENGLISH).contains("windows");
     }
 
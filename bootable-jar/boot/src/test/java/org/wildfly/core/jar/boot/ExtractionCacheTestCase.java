@@ -0,0 +1,152 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.core.jar.boot;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests of {@link ExtractionCache}.
+ */
+public class ExtractionCacheTestCase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testInstall() throws Exception {
+        final Path zip = createServerZip("server.zip", "standalone");
+        final Path cacheDir = folder.newFolder("cache").toPath();
+        final ExtractionCache cache = new ExtractionCache(cacheDir);
+
+        final Path first = folder.newFolder("install1").toPath();
+        cache.install(zip.toUri().toURL(), first);
+        assertInstalled(first, "standalone");
+
+        final String key = ExtractionCache.computeKey(zip.toUri().toURL());
+        final Path extracted = cacheDir.resolve(key);
+        assertNotNull(ExtractionCache.verify(extracted));
+
+        // A second install reuses the extraction and must not affect the first install
+        final Path second = folder.newFolder("install2").toPath();
+        cache.install(zip.toUri().toURL(), second);
+        assertInstalled(second, "standalone");
+        Files.write(second.resolve("standalone/configuration/standalone.xml"), "changed".getBytes(StandardCharsets.UTF_8));
+        assertInstalled(first, "standalone");
+        assertNotNull(ExtractionCache.verify(extracted));
+    }
+
+    @Test
+    public void testModifiedExtraction() throws Exception {
+        final Path zip = createServerZip("server.zip", "standalone");
+        final Path cacheDir = folder.newFolder("cache").toPath();
+        final ExtractionCache cache = new ExtractionCache(cacheDir);
+        cache.install(zip.toUri().toURL(), folder.newFolder("install1").toPath());
+
+        final Path extracted = cacheDir.resolve(ExtractionCache.computeKey(zip.toUri().toURL()));
+        final Path module = extracted.resolve("modules/org/test/main/test.jar");
+        Files.write(module, "truncated".getBytes(StandardCharsets.UTF_8));
+        assertNull(ExtractionCache.verify(extracted));
+
+        final Path second = folder.newFolder("install2").toPath();
+        cache.install(zip.toUri().toURL(), second);
+        assertInstalled(second, "standalone");
+        assertNotNull(ExtractionCache.verify(extracted));
+    }
+
+    @Test
+    public void testSameSizeModification() throws Exception {
+        final Path zip = createServerZip("server.zip", "standalone");
+        final Path cacheDir = folder.newFolder("cache").toPath();
+        final ExtractionCache cache = new ExtractionCache(cacheDir);
+        cache.install(zip.toUri().toURL(), folder.newFolder("install1").toPath());
+
+        // As if written through a hard link in an install directory
+        final Path extracted = cacheDir.resolve(ExtractionCache.computeKey(zip.toUri().toURL()));
+        final Path module = extracted.resolve("modules/org/test/main/test.jar");
+        final FileTime modified = Files.getLastModifiedTime(module);
+        Files.write(module, new String(new char[64 * 1024]).replace('\0', 'y').getBytes(StandardCharsets.UTF_8));
+        // Do not rely on the resolution of the file system's timestamps
+        Files.setLastModifiedTime(module, FileTime.fromMillis(modified.toMillis() + 1000));
+        assertNull(ExtractionCache.verify(extracted));
+    }
+
+    @Test
+    public void testDifferentArchives() throws Exception {
+        final Path zip1 = createServerZip("server1.zip", "standalone");
+        final Path zip2 = createServerZip("server2.zip", "other");
+        assertNotEquals(ExtractionCache.computeKey(zip1.toUri().toURL()), ExtractionCache.computeKey(zip2.toUri().toURL()));
+
+        final ExtractionCache cache = new ExtractionCache(folder.newFolder("cache").toPath());
+        final Path install = folder.newFolder("install").toPath();
+        cache.install(zip2.toUri().toURL(), install);
+        assertInstalled(install, "other");
+    }
+
+    @Test
+    public void testBadEntry() throws Exception {
+        final Path zip = folder.getRoot().toPath().resolve("bad.zip");
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zip))) {
+            addEntry(out, "../outside.txt", "bad");
+        }
+        final Path dir = folder.newFolder("extracted").toPath();
+        try {
+            ExtractionCache.unzip(zip, dir);
+            fail("Entry outside of the target directory should have been rejected");
+        } catch (IOException expected) {
+            // expected
+        }
+        assertTrue(Files.notExists(folder.getRoot().toPath().resolve("outside.txt")));
+    }
+
+    private Path createServerZip(final String name, final String config) throws IOException {
+        final Path zip = folder.getRoot().toPath().resolve(name);
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zip))) {
+            out.putNextEntry(new ZipEntry("bin/"));
+            out.closeEntry();
+            addEntry(out, "bin/standalone.sh", "#!/bin/sh");
+            addEntry(out, "modules/org/test/main/module.xml", "<module name=\"org.test\"/>");
+            addEntry(out, "modules/org/test/main/test.jar", new String(new char[64 * 1024]).replace('\0', 'x'));
+            addEntry(out, "standalone/configuration/standalone.xml", config);
+        }
+        return zip;
+    }
+
+    private static void addEntry(final ZipOutputStream out, final String name, final String content) throws IOException {
+        out.putNextEntry(new ZipEntry(name));
+        out.write(content.getBytes(StandardCharsets.UTF_8));
+        out.closeEntry();
+    }
+
+    private static void assertInstalled(final Path installDir, final String config) throws IOException {
+        assertTrue(Files.isDirectory(installDir.resolve("bin")));
+        assertArrayEquals(config.getBytes(StandardCharsets.UTF_8),
+                Files.readAllBytes(installDir.resolve("standalone/configuration/standalone.xml")));
+        assertEquals(64 * 1024, Files.size(installDir.resolve("modules/org/test/main/test.jar")));
+        final List<String> module = Files.readAllLines(installDir.resolve("modules/org/test/main/module.xml"));
+        assertEquals("<module name=\"org.test\"/>", module.get(0));
+        if (!Main.isWindows()) {
+            assertTrue(Files.isExecutable(installDir.resolve("bin/standalone.sh")));
+        }
+    }
+}
@@ -191,7 +191,7 @@ public abstract class AbstractModelControllerClient implements ModelControllerCl
             public void handleRequest(final DataInput input, final ActiveOperation.ResultHandler<OperationResponse> resultHandler, final ManagementRequestContext<OperationExecutionContext> context) throws IOException {
                 expectHeader(input, ModelControllerProtocol.PARAM_RESPONSE);
                 final ModelNode node = new ModelNode();
-                node.readExternal(input);
+                ModelNodeCompression.read(input, node, context.getRequestHeader());
                 resultHandler.done(getOperationResponse(node, context.getOperationId()));
                 expectHeader(input, ManagementProtocol.RESPONSE_END);
             }
@@ -37,6 +37,9 @@ public interface ModelControllerProtocol {
     //byte PARAM_PREPARED = 0x69;
     byte PARAM_COMMIT = 0x70;
     byte PARAM_ROLLBACK = 0x71;
+    // The encoding of an operation result sent with protocol version 3 or later
+    byte PARAM_UNCOMPRESSED = 0x72;
+    byte PARAM_DEFLATED = 0x73;
     // The tx response params
     byte PARAM_OPERATION_FAILED = 0x49;
     byte PARAM_OPERATION_COMPLETED = 0x4A;
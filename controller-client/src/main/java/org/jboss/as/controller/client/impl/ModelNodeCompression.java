@@ -0,0 +1,276 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.client.impl;
+
+import static java.lang.System.getProperty;
+import static java.lang.System.getSecurityManager;
+import static java.security.AccessController.doPrivileged;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.PrivilegedAction;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import org.jboss.as.protocol.logging.ProtocolLogger;
+import org.jboss.as.protocol.mgmt.ManagementProtocol;
+import org.jboss.as.protocol.mgmt.ManagementProtocolHeader;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Writes and reads the operation results exchanged by management clients and controllers, deflating those whose
+ * binary form is larger than a threshold.
+ * <p>
+ * A peer sending requests with a protocol version of at least {@link ManagementProtocol#VERSION_COMPRESSION} can
+ * read compressed results, and the response headers sent to it carry that version. Results sent with an older
+ * version are written with {@link ModelNode#writeExternal(DataOutput)} as before. Otherwise the result is preceded
+ * by {@link ModelControllerProtocol#PARAM_UNCOMPRESSED} and written as before, or by
+ * {@link ModelControllerProtocol#PARAM_DEFLATED} and deflated into length prefixed chunks ending with an empty one.
+ * <p>
+ * The threshold in bytes is set by the {@code org.jboss.as.controller.client.compression-threshold} system property
+ * of the sender; a negative value disables compression.
+ */
+public final class ModelNodeCompression {
+
+    private static final String THRESHOLD_PROP = "org.jboss.as.controller.client.compression-threshold";
+    private static final int THRESHOLD_DEFAULT = 64 * 1024;
+    private static final int THRESHOLD = getThreshold();
+    private static final int BUFFER_SIZE = 8192;
+
+    private ModelNodeCompression() {
+    }
+
+    /**
+     * Writes a model node, compressing it if it is large and the peer can read compressed nodes.
+     *
+     * @param output the output
+     * @param node the node to write
+     * @param header the header of the response of which the node is part
+     * @throws IOException if an error occurs writing to the output
+     */
+    public static void write(final DataOutput output, final ModelNode node, final ManagementProtocolHeader header) throws IOException {
+        write(output, node, header.getVersion(), THRESHOLD);
+    }
+
+    static void write(final DataOutput output, final ModelNode node, final int version, final int threshold) throws IOException {
+        if (version < ManagementProtocol.VERSION_COMPRESSION) {
+            node.writeExternal(output);
+            return;
+        } else if (threshold < 0) {
+            output.writeByte(ModelControllerProtocol.PARAM_UNCOMPRESSED);
+            node.writeExternal(output);
+            return;
+        }
+        final ThresholdOutputStream stream = new ThresholdOutputStream(output, threshold);
+        try {
+            final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, BUFFER_SIZE));
+            node.writeExternal(out);
+            out.flush();
+            stream.finish();
+        } finally {
+            stream.end();
+        }
+    }
+
+    /**
+     * Reads a model node written by {@link #write(DataOutput, ModelNode, ManagementProtocolHeader)}.
+     *
+     * @param input the input
+     * @param node the node to read into
+     * @param header the header of the response of which the node is part
+     * @throws IOException if an error occurs reading the input
+     */
+    public static void read(final DataInput input, final ModelNode node, final ManagementProtocolHeader header) throws IOException {
+        read(input, node, header.getVersion());
+    }
+
+    static void read(final DataInput input, final ModelNode node, final int version) throws IOException {
+        if (version < ManagementProtocol.VERSION_COMPRESSION) {
+            node.readExternal(input);
+            return;
+        }
+        final byte type = input.readByte();
+        if (type == ModelControllerProtocol.PARAM_UNCOMPRESSED) {
+            node.readExternal(input);
+        } else if (type == ModelControllerProtocol.PARAM_DEFLATED) {
+            final ChunkedInputStream chunks = new ChunkedInputStream(input);
+            final Inflater inflater = new Inflater();
+            try {
+                node.readExternal(new DataInputStream(new InflaterInputStream(chunks, inflater, BUFFER_SIZE)));
+                // Consume whatever the inflater did not need to read, up to and including the final chunk
+                chunks.skipRemaining();
+            } finally {
+                inflater.end();
+            }
+        } else {
+            throw ProtocolLogger.ROOT_LOGGER.invalidType("0x" + Integer.toHexString(type));
+        }
+    }
+
+    private static int getThreshold() {
+        final String value = getSecurityManager() == null ? getProperty(THRESHOLD_PROP) : doPrivileged(new PrivilegedAction<String>() {
+            @Override
+            public String run() {
+                return getProperty(THRESHOLD_PROP);
+            }
+        });
+        if (value != null) {
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                // use the default
+            }
+        }
+        return THRESHOLD_DEFAULT;
+    }
+
+    /**
+     * Holds back what is written until more than the threshold has been, and then deflates it and everything
+     * that follows. If the threshold is never exceeded, what was written is sent uncompressed.
+     */
+    private static final class ThresholdOutputStream extends OutputStream {
+        private final DataOutput output;
+        private final int threshold;
+        private byte[] buffer;
+        private int count;
+        private Deflater deflater;
+        private DeflaterOutputStream deflaterStream;
+
+        private ThresholdOutputStream(final DataOutput output, final int threshold) {
+            this.output = output;
+            this.threshold = threshold;
+            this.buffer = new byte[Math.min(threshold, BUFFER_SIZE)];
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            if (deflaterStream != null) {
+                deflaterStream.write(b, off, len);
+            } else if (count + len > threshold) {
+                output.writeByte(ModelControllerProtocol.PARAM_DEFLATED);
+                deflater = new Deflater(Deflater.BEST_SPEED);
+                deflaterStream = new DeflaterOutputStream(new ChunkedOutputStream(output), deflater, BUFFER_SIZE);
+                deflaterStream.write(buffer, 0, count);
+                deflaterStream.write(b, off, len);
+                buffer = null;
+            } else {
+                if (count + len > buffer.length) {
+                    final byte[] grown = new byte[Math.min(threshold, Math.max(buffer.length * 2, count + len))];
+                    System.arraycopy(buffer, 0, grown, 0, count);
+                    buffer = grown;
+                }
+                System.arraycopy(b, off, buffer, count, len);
+                count += len;
+            }
+        }
+
+        void finish() throws IOException {
+            if (deflaterStream != null) {
+                deflaterStream.finish();
+                // The empty chunk which ends the compressed node
+                output.writeInt(0);
+            } else {
+                output.writeByte(ModelControllerProtocol.PARAM_UNCOMPRESSED);
+                output.write(buffer, 0, count);
+            }
+        }
+
+        void end() {
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+    }
+
+    /**
+     * Writes each block of what is written to it prefixed with its length.
+     */
+    private static final class ChunkedOutputStream extends OutputStream {
+        private final DataOutput output;
+
+        private ChunkedOutputStream(final DataOutput output) {
+            this.output = output;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            if (len > 0) {
+                output.writeInt(len);
+                output.write(b, off, len);
+            }
+        }
+    }
+
+    /**
+     * Reads what a {@link ChunkedOutputStream} wrote, reaching the end of the stream at the empty chunk.
+     */
+    private static final class ChunkedInputStream extends InputStream {
+        private final DataInput input;
+        private int remaining;
+        private boolean eof;
+
+        private ChunkedInputStream(final DataInput input) {
+            this.input = input;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (remaining == 0 && !nextChunk()) {
+                return -1;
+            }
+            final int read = Math.min(len, remaining);
+            input.readFully(b, off, read);
+            remaining -= read;
+            return read;
+        }
+
+        void skipRemaining() throws IOException {
+            final byte[] discard = new byte[BUFFER_SIZE];
+            while (read(discard, 0, discard.length) != -1) {
+                // discard
+            }
+        }
+
+        private boolean nextChunk() throws IOException {
+            if (eof) {
+                return false;
+            }
+            remaining = input.readInt();
+            if (remaining < 0) {
+                throw ProtocolLogger.ROOT_LOGGER.invalidCompressedChunkLength(remaining);
+            }
+            eof = remaining == 0;
+            return !eof;
+        }
+    }
+}
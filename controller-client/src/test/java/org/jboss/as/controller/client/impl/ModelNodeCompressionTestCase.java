@@ -0,0 +1,106 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.client.impl;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.jboss.as.protocol.mgmt.ManagementProtocol;
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+/**
+ * Tests of {@link ModelNodeCompression}.
+ */
+public class ModelNodeCompressionTestCase {
+
+    private static final int THRESHOLD = 1024;
+
+    @Test
+    public void testOldVersionUnchanged() throws IOException {
+        ModelNode node = createNode(100);
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        node.writeExternal(new DataOutputStream(expected));
+
+        byte[] written = write(node, ManagementProtocol.VERSION_COMPRESSION - 1, THRESHOLD);
+        assertArrayEquals(expected.toByteArray(), written);
+        assertEquals(node, read(written, ManagementProtocol.VERSION_COMPRESSION - 1));
+    }
+
+    @Test
+    public void testBelowThreshold() throws IOException {
+        ModelNode node = createNode(1);
+        byte[] written = write(node, ManagementProtocol.VERSION, THRESHOLD);
+        assertEquals(ModelControllerProtocol.PARAM_UNCOMPRESSED, written[0]);
+        assertEquals(node, read(written, ManagementProtocol.VERSION));
+    }
+
+    @Test
+    public void testAboveThreshold() throws IOException {
+        ModelNode node = createNode(1000);
+        ByteArrayOutputStream uncompressed = new ByteArrayOutputStream();
+        node.writeExternal(new DataOutputStream(uncompressed));
+
+        byte[] written = write(node, ManagementProtocol.VERSION, THRESHOLD);
+        assertEquals(ModelControllerProtocol.PARAM_DEFLATED, written[0]);
+        assertTrue(written.length < uncompressed.size() / 2);
+        assertEquals(node, read(written, ManagementProtocol.VERSION));
+
+        // Every node is compressed with a threshold of 0
+        node = createNode(1);
+        written = write(node, ManagementProtocol.VERSION, 0);
+        assertEquals(ModelControllerProtocol.PARAM_DEFLATED, written[0]);
+        assertEquals(node, read(written, ManagementProtocol.VERSION));
+    }
+
+    @Test
+    public void testDisabled() throws IOException {
+        ModelNode node = createNode(1000);
+        byte[] written = write(node, ManagementProtocol.VERSION, -1);
+        assertEquals(ModelControllerProtocol.PARAM_UNCOMPRESSED, written[0]);
+        assertEquals(node, read(written, ManagementProtocol.VERSION));
+    }
+
+    private static byte[] write(ModelNode node, int version, int threshold) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        ModelNodeCompression.write(out, node, version, threshold);
+        // What follows the node in the message must be read after it
+        out.writeByte(ManagementProtocol.RESPONSE_END);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static ModelNode read(byte[] bytes, int version) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        ModelNode node = new ModelNode();
+        ModelNodeCompression.read(in, node, version);
+        assertEquals(ManagementProtocol.RESPONSE_END, in.readByte());
+        assertEquals(-1, in.read());
+        return node;
+    }
+
+    private static ModelNode createNode(int children) {
+        ModelNode node = new ModelNode();
+        node.get("outcome").set("success");
+        ModelNode result = node.get("result", "child");
+        for (int i = 0; i < children; i++) {
+            ModelNode child = result.get("child-" + i);
+            child.get("name").set("child-" + i);
+            child.get("enabled").set(i % 2 == 0);
+            child.get("size").set((long) i * 1024);
+            child.get("description").set("A child resource whose attributes are much like those of its siblings");
+        }
+        return node;
+    }
+}
@@ -20,7 +20,6 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.jboss.as.controller.capability.Capability;
@@ -48,15 +47,17 @@ import org.jboss.msc.service.ServiceName;
  */
 public final class CapabilityRegistry implements ImmutableCapabilityRegistry, PossibleCapabilityRegistry, RuntimeCapabilityRegistry {
 
-    private final Map<CapabilityId, RuntimeCapabilityRegistration> capabilities = new HashMap<>();
-    private final Map<CapabilityId, RuntimeCapabilityRegistration> pendingRemoveCapabilities = new HashMap<>();
-    private final Map<CapabilityId, Map<String, RuntimeRequirementRegistration>> requirements = new HashMap<>();
-    private final Map<CapabilityId, Map<String, RuntimeRequirementRegistration>> pendingRemoveRequirements = new HashMap<>();
-    private final Map<CapabilityId, Map<String, RuntimeRequirementRegistration>> runtimeOnlyRequirements = new HashMap<>();
+    // These maps are never modified, only replaced, so a shadow copy or publication can share them. The registrations
+    // they hold may then be shared by several registries, so a registration is copied before it is modified.
+    private PersistentHashMap<CapabilityId, RuntimeCapabilityRegistration> capabilities = PersistentHashMap.empty();
+    private PersistentHashMap<CapabilityId, RuntimeCapabilityRegistration> pendingRemoveCapabilities = PersistentHashMap.empty();
+    private PersistentHashMap<CapabilityId, PersistentHashMap<String, RuntimeRequirementRegistration>> requirements = PersistentHashMap.empty();
+    private PersistentHashMap<CapabilityId, PersistentHashMap<String, RuntimeRequirementRegistration>> pendingRemoveRequirements = PersistentHashMap.empty();
+    private PersistentHashMap<CapabilityId, PersistentHashMap<String, RuntimeRequirementRegistration>> runtimeOnlyRequirements = PersistentHashMap.empty();
     private final boolean forServer;
     private final Set<CapabilityScope> knownContexts;
     private final ResolutionContextImpl resolutionContext = new ResolutionContextImpl();
-    private final Map<CapabilityId, CapabilityRegistration<?>> possibleCapabilities = new ConcurrentHashMap<>();
+    private PersistentHashMap<CapabilityId, CapabilityRegistration<?>> possibleCapabilities = PersistentHashMap.empty();
     private final Set<CapabilityId> reloadCapabilities = new HashSet<>();
     private final Set<CapabilityId> restartCapabilities = new HashSet<>();
 
@@ -99,25 +100,6 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
         return result;
     }
 
-    private static void copyCapabilities(final Map<CapabilityId, RuntimeCapabilityRegistration> source,
-                                         final Map<CapabilityId, RuntimeCapabilityRegistration> dest) {
-        for (Map.Entry<CapabilityId, RuntimeCapabilityRegistration> entry : source.entrySet()) {
-            dest.put(entry.getKey(), new RuntimeCapabilityRegistration(entry.getValue()));
-        }
-    }
-
-    private static void copyRequirements(Map<CapabilityId, Map<String, RuntimeRequirementRegistration>> source,
-                                         Map<CapabilityId, Map<String, RuntimeRequirementRegistration>> dest) {
-        for (Map.Entry<CapabilityId, Map<String, RuntimeRequirementRegistration>> entry : source.entrySet()) {
-            Map<String, RuntimeRequirementRegistration> mapCopy = new HashMap<>();
-            for (Map.Entry<String, RuntimeRequirementRegistration> innerEntry : entry.getValue().entrySet()) {
-                mapCopy.put(innerEntry.getKey(), new RuntimeRequirementRegistration(innerEntry.getValue()));
-            }
-            dest.put(entry.getKey(), mapCopy);
-        }
-
-    }
-
 
     /**
      * Registers a capability with the system. Any
@@ -134,17 +116,19 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
             RegistrationPoint rp = capabilityRegistration.getOldestRegistrationPoint();
             RuntimeCapabilityRegistration currentRegistration = capabilities.get(capabilityId);
             if (currentRegistration != null) {
+                RuntimeCapabilityRegistration updatedRegistration = new RuntimeCapabilityRegistration(currentRegistration);
                 // The actual capability must be the same, the capability must allow multiple registrations
                 // and we must not already have a registration from this same resource
                 if (!Objects.equals(capabilityRegistration.getCapability(), currentRegistration.getCapability())
                         || !currentRegistration.getCapability().isAllowMultipleRegistrations()
-                        || !currentRegistration.addRegistrationPoint(rp)) {
+                        || !updatedRegistration.addRegistrationPoint(rp)) {
                     throw ControllerLogger.MGMT_OP_LOGGER.capabilityAlreadyRegisteredInContext(capabilityId.getName(),
                                 rp, capabilityId.getScope().getName(), currentRegistration.getRegistrationPoints());
                 }
                 // else it was ok, and we just recorded the additional registration point
+                capabilities = capabilities.plus(capabilityId, updatedRegistration);
             } else {
-                capabilities.put(capabilityId, capabilityRegistration);
+                capabilities = capabilities.plus(capabilityId, capabilityRegistration);
             }
 
             // Add any hard requirements
@@ -195,20 +179,22 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
             throw ControllerLogger.MGMT_OP_LOGGER.unknownCapabilityInContext(dependentId.getName(),
                     dependentId.getScope().getName());
         }
-        Map<CapabilityId, Map<String, RuntimeRequirementRegistration>> requirementMap =
+        PersistentHashMap<CapabilityId, PersistentHashMap<String, RuntimeRequirementRegistration>> requirementMap =
                 requirement.isRuntimeOnly() ? runtimeOnlyRequirements : requirements;
 
-        Map<String, RuntimeRequirementRegistration> dependents = requirementMap.get(dependentId);
+        PersistentHashMap<String, RuntimeRequirementRegistration> dependents = requirementMap.get(dependentId);
         if (dependents == null) {
-            dependents = new HashMap<>();
-            requirementMap.put(dependentId, dependents);
+            dependents = PersistentHashMap.empty();
         }
         RuntimeRequirementRegistration existing = dependents.get(requirement.getRequiredName());
         if (existing == null) {
-            dependents.put(requirement.getRequiredName(), requirement);
+            dependents = dependents.plus(requirement.getRequiredName(), requirement);
         } else {
-            existing.addRegistrationPoint(requirement.getOldestRegistrationPoint());
+            RuntimeRequirementRegistration updated = new RuntimeRequirementRegistration(existing);
+            updated.addRegistrationPoint(requirement.getOldestRegistrationPoint());
+            dependents = dependents.plus(requirement.getRequiredName(), updated);
         }
+        setRequirements(requirement.isRuntimeOnly(), requirementMap.plus(dependentId, dependents));
         modified = true;
     }
 
@@ -250,31 +236,34 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
             RuntimeCapabilityRegistration candidate = capabilities.get(capabilityId);
             if (candidate != null) {
                 RegistrationPoint rp = new RegistrationPoint(registrationPoint, null);
-                if (candidate.removeRegistrationPoint(rp)) {
-
-                    Map<String, RuntimeRequirementRegistration> removedRequirements = null;
-                    if (candidate.getRegistrationPointCount() == 0) {
-                        removed = capabilities.remove(capabilityId);
-                        removedRequirements = requirements.remove(capabilityId);
-                        runtimeOnlyRequirements.remove(capabilityId);
+                RuntimeCapabilityRegistration updated = new RuntimeCapabilityRegistration(candidate);
+                if (updated.removeRegistrationPoint(rp)) {
+
+                    PersistentHashMap<String, RuntimeRequirementRegistration> removedRequirements = null;
+                    if (updated.getRegistrationPointCount() == 0) {
+                        removed = updated;
+                        capabilities = capabilities.minus(capabilityId);
+                        removedRequirements = requirements.get(capabilityId);
+                        requirements = requirements.minus(capabilityId);
+                        runtimeOnlyRequirements = runtimeOnlyRequirements.minus(capabilityId);
                     } else {
+                        capabilities = capabilities.plus(capabilityId, updated);
                         // There are still registration points for this capability.
-                        // So just remove the requirements for this registration point
-                        Map<String, RuntimeRequirementRegistration> candidateRequirements = requirements.get(capabilityId);
+                        // So just remove the requirements for this registration point.
+                        // Removing them replaces rather than modifies the maps being iterated
+                        PersistentHashMap<String, RuntimeRequirementRegistration> candidateRequirements = requirements.get(capabilityId);
                         if (candidateRequirements != null) {
-                            removedRequirements = new HashMap<>(candidateRequirements.size());
-                            // Iterate over array to avoid ConcurrentModificationException
-                            for (String req : candidateRequirements.keySet().toArray(new String[candidateRequirements.size()])) {
+                            removedRequirements = PersistentHashMap.empty();
+                            for (String req : candidateRequirements.keySet()) {
                                 RuntimeRequirementRegistration removedReqReg = removeRequirement(new RuntimeRequirementRegistration(req, capabilityName, scope, rp), false);
                                 if (removedReqReg != null) {
-                                    removedRequirements.put(req, removedReqReg);
+                                    removedRequirements = removedRequirements.plus(req, removedReqReg);
                                 }
                             }
                         }
                         candidateRequirements = runtimeOnlyRequirements.get(capabilityId);
                         if (candidateRequirements != null) {
-                            // Iterate over array to avoid ConcurrentModificationException
-                            for (String req : candidateRequirements.keySet().toArray(new String[candidateRequirements.size()])) {
+                            for (String req : candidateRequirements.keySet()) {
                                 removeRequirement(new RuntimeRequirementRegistration(req, capabilityName, scope, rp), true);
                             }
                         }
@@ -284,20 +273,18 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
                     RuntimeCapabilityRegistration removeReg = pendingRemoveCapabilities.get(capabilityId);
                     if (removeReg == null) {
                         removeReg = new RuntimeCapabilityRegistration(candidate.getCapability(), candidate.getCapabilityScope(), rp);
-                        pendingRemoveCapabilities.put(capabilityId, removeReg);
                     } else {
+                        removeReg = new RuntimeCapabilityRegistration(removeReg);
                         removeReg.addRegistrationPoint(rp);
                     }
+                    pendingRemoveCapabilities = pendingRemoveCapabilities.plus(capabilityId, removeReg);
                     if (removedRequirements != null) {
-                        pendingRemoveRequirements.put(capabilityId, removedRequirements);
+                        pendingRemoveRequirements = pendingRemoveRequirements.plus(capabilityId, removedRequirements);
                     }
-
+                    modified = true;
                 }
             }
 
-            if (removed != null) {
-                modified = true;
-            }
             return removed;
         } finally {
             writeLock.unlock();
@@ -306,25 +293,38 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
 
     private RuntimeRequirementRegistration removeRequirement(RuntimeRequirementRegistration requirementRegistration, boolean optional) {
         assert writeLock.isHeldByCurrentThread();
-        Map<CapabilityId, Map<String, RuntimeRequirementRegistration>> requirementMap = optional ? runtimeOnlyRequirements : requirements;
-        Map<String, RuntimeRequirementRegistration> dependents = requirementMap.get(requirementRegistration.getDependentId());
+        PersistentHashMap<CapabilityId, PersistentHashMap<String, RuntimeRequirementRegistration>> requirementMap = optional ? runtimeOnlyRequirements : requirements;
+        PersistentHashMap<String, RuntimeRequirementRegistration> dependents = requirementMap.get(requirementRegistration.getDependentId());
         RuntimeRequirementRegistration result = null;
         if (dependents != null) {
             RuntimeRequirementRegistration rrr = dependents.get(requirementRegistration.getRequiredName());
             if (rrr != null) {
-                rrr.removeRegistrationPoint(requirementRegistration.getOldestRegistrationPoint());
-                if (rrr.getRegistrationPointCount() == 0) {
-                    result = dependents.remove(requirementRegistration.getRequiredName());
-                }
-                if (dependents.size() == 0) {
-                    requirementMap.remove(requirementRegistration.getDependentId());
+                RuntimeRequirementRegistration updated = new RuntimeRequirementRegistration(rrr);
+                updated.removeRegistrationPoint(requirementRegistration.getOldestRegistrationPoint());
+                if (updated.getRegistrationPointCount() == 0) {
+                    result = updated;
+                    dependents = dependents.minus(requirementRegistration.getRequiredName());
+                } else {
+                    dependents = dependents.plus(requirementRegistration.getRequiredName(), updated);
                 }
+                setRequirements(optional, dependents.isEmpty()
+                        ? requirementMap.minus(requirementRegistration.getDependentId())
+                        : requirementMap.plus(requirementRegistration.getDependentId(), dependents));
                 modified = true;
             }
         }
         return result;
     }
 
+    private void setRequirements(boolean runtimeOnly, PersistentHashMap<CapabilityId, PersistentHashMap<String, RuntimeRequirementRegistration>> requirementMap) {
+        assert writeLock.isHeldByCurrentThread();
+        if (runtimeOnly) {
+            runtimeOnlyRequirements = requirementMap;
+        } else {
+            requirements = requirementMap;
+        }
+    }
+
     @Override
     public Map<CapabilityId, RuntimeStatus> getRuntimeStatus(PathAddress address, ImmutableManagementResourceRegistration resourceRegistration) {
         readLock.lock();
@@ -549,18 +549,21 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
         CapabilityRegistration<?> capabilityRegistration = new CapabilityRegistration<>(capability, CapabilityScope.GLOBAL, point);
         writeLock.lock();
         try {
-            possibleCapabilities.computeIfPresent(capabilityId, (capabilityId1, currentRegistration) -> {
+            CapabilityRegistration<?> currentRegistration = possibleCapabilities.get(capabilityId);
+            if (currentRegistration != null) {
+                CapabilityRegistration<?> updatedRegistration = new CapabilityRegistration<>(currentRegistration);
                 RegistrationPoint rp = capabilityRegistration.getOldestRegistrationPoint();
                 // The actual capability must be the same, and we must not already have a registration
                 // from this resource
                 if (!Objects.equals(capabilityRegistration.getCapability(), currentRegistration.getCapability())
-                        || !currentRegistration.addRegistrationPoint(rp)) {
+                        || !updatedRegistration.addRegistrationPoint(rp)) {
                     throw ControllerLogger.MGMT_OP_LOGGER.capabilityAlreadyRegisteredInContext(capabilityId.getName(),
                             capabilityId.getScope().getName());
                 }
-                return currentRegistration;
-            });
-            possibleCapabilities.putIfAbsent(capabilityId, capabilityRegistration);
+                possibleCapabilities = possibleCapabilities.plus(capabilityId, updatedRegistration);
+            } else {
+                possibleCapabilities = possibleCapabilities.plus(capabilityId, capabilityRegistration);
+            }
             modified = true;
         } finally {
             writeLock.unlock();
@@ -585,12 +588,14 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
             CapabilityRegistration<?> candidate = possibleCapabilities.get(capabilityId);
             if (candidate != null) {
                 RegistrationPoint rp = new RegistrationPoint(registrationPoint, null);
-                if (candidate.removeRegistrationPoint(rp)) {
-                    if (candidate.getRegistrationPointCount() == 0) {
-                        removed = possibleCapabilities.remove(capabilityId);
+                CapabilityRegistration<?> updated = new CapabilityRegistration<>(candidate);
+                if (updated.removeRegistrationPoint(rp)) {
+                    if (updated.getRegistrationPointCount() == 0) {
+                        possibleCapabilities = possibleCapabilities.minus(capabilityId);
                     } else {
-                        removed = candidate;
+                        possibleCapabilities = possibleCapabilities.plus(capabilityId, updated);
                     }
+                    removed = updated;
                 }
             }
 
@@ -732,8 +737,8 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
             try {
                 publishedFullRegistry.clear(true);
                 copy(this, publishedFullRegistry);
-                pendingRemoveCapabilities.clear();
-                pendingRemoveRequirements.clear();
+                pendingRemoveCapabilities = PersistentHashMap.empty();
+                pendingRemoveRequirements = PersistentHashMap.empty();
                 modified = false;
             } finally {
                 publishedFullRegistry.writeLock.unlock();
@@ -776,12 +781,11 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
 
     private void copy(CapabilityRegistry source, CapabilityRegistry target) {
         assert target.writeLock.isHeldByCurrentThread();
-        copyCapabilities(source.capabilities, target.capabilities);
-        for (Map.Entry<CapabilityId, CapabilityRegistration<?>> entry : source.possibleCapabilities.entrySet()) {
-            target.possibleCapabilities.put(entry.getKey(), new CapabilityRegistration<>(entry.getValue()));
-        }
-        copyRequirements(source.requirements, target.requirements);
-        copyRequirements(source.runtimeOnlyRequirements, target.runtimeOnlyRequirements);
+        // The maps are immutable, so can simply be shared
+        target.capabilities = source.capabilities;
+        target.possibleCapabilities = source.possibleCapabilities;
+        target.requirements = source.requirements;
+        target.runtimeOnlyRequirements = source.runtimeOnlyRequirements;
         target.reloadCapabilities.addAll(source.reloadCapabilities);
         target.restartCapabilities.addAll(source.restartCapabilities);
         if (!forServer) {
@@ -800,12 +804,12 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
     private void clear(boolean restartRequired) {
         writeLock.lock();
         try {
-            capabilities.clear();
-            pendingRemoveCapabilities.clear();
-            possibleCapabilities.clear();
-            requirements.clear();
-            pendingRemoveRequirements.clear();
-            runtimeOnlyRequirements.clear();
+            capabilities = PersistentHashMap.empty();
+            pendingRemoveCapabilities = PersistentHashMap.empty();
+            possibleCapabilities = PersistentHashMap.empty();
+            requirements = PersistentHashMap.empty();
+            pendingRemoveRequirements = PersistentHashMap.empty();
+            runtimeOnlyRequirements = PersistentHashMap.empty();
             reloadCapabilities.clear();
             if (restartRequired) {
                 restartCapabilities.clear();
@@ -829,7 +833,7 @@ public final class CapabilityRegistry implements ImmutableCapabilityRegistry, Po
             Map<CapabilityScope, Set<RuntimeRequirementRegistration>> requiresConsistency = null;
             Map<CapabilityScope, Set<CapabilityScope>> consistentSets = null;
 
-            for (Map.Entry<CapabilityId, Map<String, RuntimeRequirementRegistration>> entry : requirements.entrySet()) {
+            for (Map.Entry<CapabilityId, PersistentHashMap<String, RuntimeRequirementRegistration>> entry : requirements.entrySet()) {
                 CapabilityId dependentId = entry.getKey();
                 String dependentName = dependentId.getName();
                 CapabilityScope dependentContext = dependentId.getScope();
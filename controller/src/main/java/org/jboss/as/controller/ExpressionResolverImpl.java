@@ -4,7 +4,13 @@
  */
 package org.jboss.as.controller;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.dmr.ModelNode;
@@ -23,6 +29,14 @@ public class ExpressionResolverImpl implements ExpressionResolver {
     private static final int GOT_DOLLAR = 1;
     private static final int GOT_OPEN_BRACE = 2;
 
+    // Bounds each cache, so arbitrary expression strings can't use unlimited memory
+    private static final int MAX_CACHE_SIZE = 4096;
+
+    /** Expression strings compiled into their parts, or {@link Template#NESTED} if they need the full parser */
+    private static final ConcurrentMap<String, Template> TEMPLATES = new ConcurrentHashMap<>();
+    /** Results of standard resolution of single {@code ${...}} expressions */
+    private static final ConcurrentMap<String, StandardResolution> STANDARD_RESOLUTIONS = new ConcurrentHashMap<>();
+
     private final boolean lenient;
 
     /**
@@ -51,7 +65,15 @@ public class ExpressionResolverImpl implements ExpressionResolver {
 
     @Override
     public ModelNode resolveExpressions(ModelNode node, OperationContext context) throws OperationFailedException {
-        return resolveExpressionsRecursively(node, context);
+        ModelNode resolved = resolveExpressionsRecursively(node, context);
+        if (resolved == node) {
+            // No expressions, but callers may modify the result, so complex types are still copied, once, here
+            ModelType type = node.getType();
+            if (type == ModelType.OBJECT || type == ModelType.LIST || type == ModelType.PROPERTY) {
+                return node.clone();
+            }
+        }
+        return resolved;
     }
 
     /**
@@ -59,7 +81,8 @@ public class ExpressionResolverImpl implements ExpressionResolver {
      *
      * @param node the node
      * @param context the {@link OperationContext}
-     * @return a node with all expressions resolved
+     * @return a node with all expressions resolved, or {@code node} itself if it contains no expressions, in which
+     *         case the caller must copy it before handing it out
      * @throws OperationFailedException if an expression cannot be resolved
      */
     private ModelNode resolveExpressionsRecursively(final ModelNode node, final OperationContext context) throws OperationFailedException {
@@ -72,21 +95,53 @@ public class ExpressionResolverImpl implements ExpressionResolver {
         if (type == ModelType.EXPRESSION) {
             resolved = resolveExpressionStringRecursively(node.asExpression().getExpressionString(), lenient, true, context);
         } else if (type == ModelType.OBJECT) {
-            resolved = node.clone();
-            for (Property prop : resolved.asPropertyList()) {
-                resolved.get(prop.getName()).set(resolveExpressionsRecursively(prop.getValue(), context));
+            // Only build a new node if some child actually changed
+            Set<String> keys = node.keys();
+            ModelNode[] values = new ModelNode[keys.size()];
+            boolean changed = false;
+            int i = 0;
+            for (String key : keys) {
+                ModelNode current = node.get(key);
+                values[i] = resolveExpressionsRecursively(current, context);
+                changed |= values[i++] != current;
+            }
+            if (changed) {
+                resolved = new ModelNode();
+                resolved.setEmptyObject();
+                i = 0;
+                for (String key : keys) {
+                    resolved.get(key).set(values[i++]);
+                }
+            } else {
+                resolved = node;
             }
         } else if (type == ModelType.LIST) {
-            resolved = node.clone();
-            ModelNode list = new ModelNode();
-            list.setEmptyList();
-            for (ModelNode current : resolved.asList()) {
-                list.add(resolveExpressionsRecursively(current, context));
+            List<ModelNode> elements = node.asList();
+            ModelNode[] values = new ModelNode[elements.size()];
+            boolean changed = false;
+            for (int i = 0; i < values.length; i++) {
+                ModelNode current = elements.get(i);
+                values[i] = resolveExpressionsRecursively(current, context);
+                changed |= values[i] != current;
+            }
+            if (changed) {
+                resolved = new ModelNode();
+                resolved.setEmptyList();
+                for (ModelNode value : values) {
+                    resolved.add(value);
+                }
+            } else {
+                resolved = node;
             }
-            resolved = list;
         } else if (type == ModelType.PROPERTY) {
-            resolved = node.clone();
-            resolved.set(resolved.asProperty().getName(), resolveExpressionsRecursively(resolved.asProperty().getValue(), context));
+            Property property = node.asProperty();
+            ModelNode value = resolveExpressionsRecursively(property.getValue(), context);
+            if (value != property.getValue()) {
+                resolved = new ModelNode();
+                resolved.set(property.getName(), value);
+            } else {
+                resolved = node;
+            }
         } else {
             resolved = node;
         }
@@ -130,7 +185,7 @@ public class ExpressionResolverImpl implements ExpressionResolver {
      */
     private ModelNode resolveExpressionStringRecursively(final String expressionString, final boolean ignoreDMRResolutionFailure,
                                                          final boolean initial, final OperationContext context) throws OperationFailedException {
-        ParseAndResolveResult resolved = parseAndResolve(expressionString, ignoreDMRResolutionFailure, context);
+        ParseAndResolveResult resolved = resolveTemplate(expressionString, ignoreDMRResolutionFailure, context);
         if (resolved.recursive) {
             // Some part of expressionString resolved into a different expression.
             // So, start over, ignoring failures. Ignore failures because we don't require
@@ -155,6 +210,51 @@ public class ExpressionResolverImpl implements ExpressionResolver {
         }
     }
 
+    /**
+     * Resolves the string using its cached {@link Template}, or {@link #parseAndResolve(String, boolean, OperationContext)}
+     * if it contains nested expressions. Produces the same result as the latter.
+     */
+    private ParseAndResolveResult resolveTemplate(final String initialValue, boolean lenient, OperationContext context) throws OperationFailedException {
+        Template template = TEMPLATES.get(initialValue);
+        if (template == null) {
+            template = Template.compile(initialValue);
+            if (TEMPLATES.size() < MAX_CACHE_SIZE) {
+                TEMPLATES.putIfAbsent(initialValue, template);
+            }
+        }
+        if (template == Template.NESTED) {
+            return parseAndResolve(initialValue, lenient, context);
+        }
+
+        final StringBuilder builder = new StringBuilder(initialValue.length());
+        boolean modified = template.escaped;
+        for (int i = 0; i < template.parts.length; i++) {
+            final String part = template.parts[i];
+            final int start = template.expressionStarts[i];
+            if (start < 0) {
+                builder.append(part);
+                continue;
+            }
+            final String resolved = resolveExpressionString(part, context);
+            if (part.equals(resolved)) {
+                if (lenient) {
+                    // just respond with the initial value
+                    return new ParseAndResolveResult(initialValue, false, false);
+                }
+                throw ControllerLogger.ROOT_LOGGER.cannotResolveExpression(initialValue);
+            }
+            if (EXPRESSION_PATTERN.matcher(resolved).matches()) {
+                // The resolved value is itself an expression, so there will need to be another pass,
+                // which must start from the original text so any escaped $ before this expression isn't lost
+                return new ParseAndResolveResult(initialValue.substring(0, start) + resolved
+                        + initialValue.substring(start + part.length()), true, true);
+            }
+            builder.append(resolved);
+            modified = true;
+        }
+        return new ParseAndResolveResult(builder.toString(), modified, false);
+    }
+
     private ParseAndResolveResult parseAndResolve(final String initialValue, boolean lenient, OperationContext context) throws OperationFailedException {
 
 
@@ -332,7 +432,7 @@ public class ExpressionResolverImpl implements ExpressionResolver {
 
         if (resolveNode.getType() == ModelType.EXPRESSION ) {
             // resolvePluggableExpression did nothing. Try standard resolution
-            String resolvedString = resolveStandardExpression(resolveNode);
+            String resolvedString = resolveStandardExpression(unresolvedString, resolveNode);
             if (!unresolvedString.equals(resolvedString)) {
                 // resolveStandardExpression made progress
                 result = resolvedString;
@@ -345,6 +445,28 @@ public class ExpressionResolverImpl implements ExpressionResolver {
         return result;
     }
 
+    /**
+     * Perform a standard resolution of the given expression, reusing the previous result if none of the system
+     * properties it refers to have changed since. Environment variables cannot change, so need no checking.
+     */
+    private static String resolveStandardExpression(final String unresolvedString, final ModelNode unresolved) {
+        final StandardResolution cached = STANDARD_RESOLUTIONS.get(unresolvedString);
+        if (cached != null && cached.isCurrent()) {
+            return cached.result;
+        }
+        final String[] keys = cached != null ? cached.keys : StandardResolution.getKeys(unresolvedString);
+        if (keys == null) {
+            return resolveStandardExpression(unresolved);
+        }
+        // Read the properties first, so a concurrent change can only make the entry out of date, which is detected
+        final String[] values = StandardResolution.readProperties(keys);
+        final String result = resolveStandardExpression(unresolved);
+        if (values != null && (cached != null || STANDARD_RESOLUTIONS.size() < MAX_CACHE_SIZE)) {
+            STANDARD_RESOLUTIONS.put(unresolvedString, new StandardResolution(keys, values, result));
+        }
+        return result;
+    }
+
     /**
      * Perform a standard {@link org.jboss.dmr.ModelNode#resolve()} on the given {@code unresolved} node.
      * @param unresolved  the unresolved node, which should be of type {@link org.jboss.dmr.ModelType#EXPRESSION}
@@ -459,6 +581,165 @@ public class ExpressionResolverImpl implements ExpressionResolver {
         }
     }
 
+    /**
+     * An expression string without nested expressions, split into the literal text, with any escaped {@code $}
+     * already unescaped, and the {@code ${...}} expressions to resolve.
+     */
+    private static final class Template {
+
+        private static final Template NESTED = new Template(null, null, false);
+
+        private final String[] parts;
+        /** The index of each expression part in the original string, or -1 for literal parts */
+        private final int[] expressionStarts;
+        /** Whether the literal text differs from the original due to escaped {@code $} */
+        private final boolean escaped;
+
+        private Template(String[] parts, int[] expressionStarts, boolean escaped) {
+            this.parts = parts;
+            this.expressionStarts = expressionStarts;
+            this.escaped = escaped;
+        }
+
+        /**
+         * Splits the string as {@link #parseAndResolve(String, boolean, OperationContext)} would.
+         *
+         * @return the template, or {@link #NESTED} if the string contains nested or incomplete expressions
+         */
+        private static Template compile(String value) {
+            final List<String> parts = new ArrayList<>();
+            final List<Integer> starts = new ArrayList<>();
+            final StringBuilder literal = new StringBuilder();
+            boolean escaped = false;
+            int state = INITIAL;
+            int expressionStart = -1;
+            final int len = value.length();
+            for (int i = 0; i < len; i = value.offsetByCodePoints(i, 1)) {
+                final int ch = value.codePointAt(i);
+                switch (state) {
+                    case INITIAL:
+                        if (ch == '$') {
+                            expressionStart = i;
+                            state = GOT_DOLLAR;
+                        } else {
+                            literal.appendCodePoint(ch);
+                        }
+                        break;
+                    case GOT_DOLLAR:
+                        if (ch == '{') {
+                            state = GOT_OPEN_BRACE;
+                        } else {
+                            if (ch != '$') {
+                                // Preceding $ wasn't an escape, so restore it
+                                literal.append('$');
+                            } else {
+                                escaped = true;
+                            }
+                            literal.appendCodePoint(ch);
+                            state = INITIAL;
+                        }
+                        break;
+                    default:
+                        if (ch == '$' || ch == '{') {
+                            return NESTED;
+                        } else if (ch == '}') {
+                            if (literal.length() > 0) {
+                                parts.add(literal.toString());
+                                starts.add(-1);
+                                literal.setLength(0);
+                            }
+                            parts.add(value.substring(expressionStart, i + 1));
+                            starts.add(expressionStart);
+                            state = INITIAL;
+                        }
+                }
+            }
+            if (state == GOT_OPEN_BRACE) {
+                // Incomplete; leave the parser to report it
+                return NESTED;
+            } else if (state == GOT_DOLLAR) {
+                literal.append('$');
+            }
+            if (literal.length() > 0) {
+                parts.add(literal.toString());
+                starts.add(-1);
+            }
+            final int[] expressionStarts = new int[starts.size()];
+            for (int i = 0; i < expressionStarts.length; i++) {
+                expressionStarts[i] = starts.get(i);
+            }
+            return new Template(parts.toArray(new String[0]), expressionStarts, escaped);
+        }
+    }
+
+    /**
+     * The result of a standard resolution of a {@code ${...}} expression, along with the values of the system
+     * properties it refers to at the time.
+     */
+    private static final class StandardResolution {
+        private final String[] keys;
+        private final String[] values;
+        private final String result;
+
+        private StandardResolution(String[] keys, String[] values, String result) {
+            this.keys = keys;
+            this.values = values;
+            this.result = result;
+        }
+
+        private boolean isCurrent() {
+            final String[] current = readProperties(keys);
+            if (current == null) {
+                return false;
+            }
+            for (int i = 0; i < keys.length; i++) {
+                if (!Objects.equals(values[i], current[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Gets the names of the properties referred to by a {@code ${name1,name2:default}} expression.
+         *
+         * @return the names, or {@code null} if the expression is not of a form whose result can be cached
+         */
+        private static String[] getKeys(String expression) {
+            if (!expression.startsWith("${") || !expression.endsWith("}")) {
+                return null;
+            }
+            final String content = expression.substring(2, expression.length() - 1);
+            if (content.indexOf('$') >= 0 || content.indexOf('{') >= 0 || content.indexOf('}') >= 0) {
+                return null;
+            }
+            final int colon = content.indexOf(':');
+            final String[] keys = (colon < 0 ? content : content.substring(0, colon)).split(",", -1);
+            for (String key : keys) {
+                if (key.isEmpty() || !key.equals(key.trim())) {
+                    return null;
+                }
+            }
+            return keys;
+        }
+
+        /**
+         * @return the values of the properties, or {@code null} if they can't be read
+         */
+        private static String[] readProperties(String[] keys) {
+            final String[] values = new String[keys.length];
+            try {
+                for (int i = 0; i < keys.length; i++) {
+                    values[i] = System.getProperty(keys[i]);
+                }
+            } catch (SecurityException e) {
+                // Leave the uncached resolution to report the problem
+                return null;
+            }
+            return values;
+        }
+    }
+
     private static class OpenExpression {
         private final int startIndex;
         private int endIndex = -1;
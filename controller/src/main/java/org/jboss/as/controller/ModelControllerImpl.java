@@ -1249,7 +1249,7 @@ class ModelControllerImpl implements ModelController {
         */
 
         /**
-         * Creates a new {@code ManagementModelImpl} that uses a clone of this one's root {@link Resource}.
+         * Creates a new {@code ManagementModelImpl} that uses a copy of this one's root {@link Resource}.
          * The caller can safely modify that {@code Resource} without changes being exposed
          * to other callers. Use {@link ModelControllerImpl#writeModel(ManagementModelImpl, Set, boolean, boolean, boolean)}
          * to publish changes.
@@ -1274,12 +1274,28 @@ class ModelControllerImpl implements ModelController {
                 currentResource = rootResource;
                 currentCaps = capabilityRegistry;
             }
-            Resource clone = currentResource.clone();
+            // The published model is never modified, so it is enough to lazily copy the resources
+            // on the paths to those that get modified
+            Resource clone = published ? Resource.Tools.copyForUpdate(currentResource) : currentResource.clone();
             ManagementModelImpl result = new ManagementModelImpl(mrr, clone, currentCaps);
             ControllerLogger.MGMT_OP_LOGGER.tracef("cloned to %s to create %s and %s", currentResource, clone, result);
             return result;
         }
 
+        /**
+         * Creates a copy of the root {@link Resource} that the caller can modify without the changes being exposed
+         * to other callers. If this model is published its resources are never modified, so they are copied lazily,
+         * as they are retrieved from the copy.
+         *
+         * @return the copy. Will not return {@code null}
+         */
+        Resource copyRootResource() {
+            if (published) {
+                return Resource.Tools.copyForUpdate(ModelControllerImpl.this.managementModel.get().rootResource);
+            }
+            return rootResource.clone();
+        }
+
         /**
          * Compares the registered requirements to the registered capabilities, returning any missing
          * or inconsistent requirements.
@@ -1299,6 +1315,8 @@ class ModelControllerImpl implements ModelController {
             }
         }
         private void publish() {
+            // readers of the published model must not copy resources still shared with the previous model
+            Resource.Tools.completeUpdate(rootResource);
             ModelControllerImpl.this.managementModel.set(this);
             published = true;
             ControllerLogger.MGMT_OP_LOGGER.tracef("published %s", this);
@@ -1025,7 +1025,7 @@ final class OperationContextImpl extends AbstractOperationContext {
     @Override
     public Resource getOriginalRootResource() {
         // TODO restrict
-        return originalModel.getRootResource().clone();
+        return originalModel.copyRootResource();
     }
 
     @Override
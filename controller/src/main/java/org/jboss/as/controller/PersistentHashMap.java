@@ -0,0 +1,409 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An immutable hash map whose updates return a new map sharing all but the changed path with the original, so copying
+ * one is free and updating one only allocates a few small arrays. Implemented as a hash array mapped trie: each node
+ * holds up to 32 slots indexed by five bits of the key's hash, and only allocates the slots that are in use.
+ * <p>
+ * The {@link Map} view is read-only; use {@link #plus(Object, Object)} and {@link #minus(Object)} to derive updated
+ * maps. Neither keys nor values may be {@code null}.
+ * </p>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+final class PersistentHashMap<K, V> extends AbstractMap<K, V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    @SuppressWarnings("rawtypes")
+    private static final PersistentHashMap EMPTY = new PersistentHashMap<>(null, 0);
+
+    private final Node root;
+    private final int size;
+    private Set<Entry<K, V>> entrySet;
+
+    private PersistentHashMap(final Node root, final int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentHashMap<K, V> empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a map with the given mapping added, replacing any existing mapping for the key.
+     *
+     * @param key   the key. Cannot be {@code null}
+     * @param value the value. Cannot be {@code null}
+     *
+     * @return the updated map, or this map if it already contained the mapping
+     */
+    PersistentHashMap<K, V> plus(final K key, final V value) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        final int hash = hash(key);
+        if (root == null) {
+            return new PersistentHashMap<>(new BitmapNode(bit(hash, 0), new Object[] {key, value}), 1);
+        }
+        final boolean[] added = new boolean[1];
+        final Node newRoot = root.put(key, value, hash, 0, added);
+        return newRoot == root ? this : new PersistentHashMap<>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * Returns a map without any mapping for the given key.
+     *
+     * @param key the key
+     *
+     * @return the updated map, or this map if it contained no mapping for the key
+     */
+    PersistentHashMap<K, V> minus(final Object key) {
+        if (root == null || key == null) {
+            return this;
+        }
+        final Node newRoot = root.remove(key, hash(key), 0);
+        if (newRoot == root) {
+            return this;
+        }
+        return newRoot == null ? empty() : new PersistentHashMap<>(newRoot, size - 1);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(final Object key) {
+        return root == null || key == null ? null : (V) root.find(key, hash(key), 0);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Set<Entry<K, V>> result = entrySet;
+        if (result == null) {
+            result = entrySet = new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    return new EntryIterator<>(root);
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return result;
+    }
+
+    private static int hash(final Object key) {
+        final int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int bit(final int hash, final int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    /**
+     * Creates the node holding two mappings whose keys differ, starting at the given depth.
+     */
+    private static Node createNode(final int shift, final Object key1, final Object value1, final int hash1,
+                                   final Object key2, final Object value2, final int hash2) {
+        if (hash1 == hash2) {
+            return new CollisionNode(hash1, new Object[] {key1, value1, key2, value2});
+        }
+        final int bit1 = bit(hash1, shift);
+        final int bit2 = bit(hash2, shift);
+        if (bit1 == bit2) {
+            return new BitmapNode(bit1, new Object[] {null, createNode(shift + BITS, key1, value1, hash1, key2, value2, hash2)});
+        }
+        return new BitmapNode(bit1 | bit2, Integer.compareUnsigned(bit1, bit2) < 0
+                ? new Object[] {key1, value1, key2, value2}
+                : new Object[] {key2, value2, key1, value1});
+    }
+
+    private abstract static class Node {
+
+        abstract Object find(Object key, int hash, int shift);
+
+        /**
+         * @return the updated node, or this node if it already contained the mapping
+         */
+        abstract Node put(Object key, Object value, int hash, int shift, boolean[] added);
+
+        /**
+         * @return the updated node, this node if it contained no mapping for the key, or {@code null} if it is now
+         * empty
+         */
+        abstract Node remove(Object key, int hash, int shift);
+
+        /**
+         * The slots of the node, each either a key and value, or {@code null} and a child node.
+         */
+        abstract Object[] slots();
+    }
+
+    private static final class BitmapNode extends Node {
+
+        private final int bitmap;
+        private final Object[] slots;
+
+        BitmapNode(final int bitmap, final Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        private int index(final int bit) {
+            return 2 * Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        Object find(final Object key, final int hash, final int shift) {
+            final int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            final int index = index(bit);
+            final Object k = slots[index];
+            if (k == null) {
+                return ((Node) slots[index + 1]).find(key, hash, shift + BITS);
+            }
+            return key.equals(k) ? slots[index + 1] : null;
+        }
+
+        @Override
+        Node put(final Object key, final Object value, final int hash, final int shift, final boolean[] added) {
+            final int bit = bit(hash, shift);
+            final int index = index(bit);
+            if ((bitmap & bit) == 0) {
+                final Object[] newSlots = new Object[slots.length + 2];
+                System.arraycopy(slots, 0, newSlots, 0, index);
+                newSlots[index] = key;
+                newSlots[index + 1] = value;
+                System.arraycopy(slots, index, newSlots, index + 2, slots.length - index);
+                added[0] = true;
+                return new BitmapNode(bitmap | bit, newSlots);
+            }
+            final Object k = slots[index];
+            final Object v = slots[index + 1];
+            if (k == null) {
+                final Node child = ((Node) v).put(key, value, hash, shift + BITS, added);
+                return child == v ? this : replace(index, null, child);
+            }
+            if (key.equals(k)) {
+                return v == value ? this : replace(index, k, value);
+            }
+            added[0] = true;
+            return replace(index, null, createNode(shift + BITS, k, v, hash(k), key, value, hash));
+        }
+
+        @Override
+        Node remove(final Object key, final int hash, final int shift) {
+            final int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            final int index = index(bit);
+            final Object k = slots[index];
+            if (k == null) {
+                final Node child = (Node) slots[index + 1];
+                final Node newChild = child.remove(key, hash, shift + BITS);
+                if (newChild == child) {
+                    return this;
+                }
+                if (newChild == null) {
+                    return without(bit, index);
+                }
+                // Pull a lone remaining mapping up into this node so lookups don't pass through a node holding it
+                final Object[] childSlots = newChild.slots();
+                if (childSlots.length == 2 && childSlots[0] != null) {
+                    return replace(index, childSlots[0], childSlots[1]);
+                }
+                return replace(index, null, newChild);
+            }
+            return key.equals(k) ? without(bit, index) : this;
+        }
+
+        @Override
+        Object[] slots() {
+            return slots;
+        }
+
+        private BitmapNode replace(final int index, final Object key, final Object value) {
+            final Object[] newSlots = slots.clone();
+            newSlots[index] = key;
+            newSlots[index + 1] = value;
+            return new BitmapNode(bitmap, newSlots);
+        }
+
+        private BitmapNode without(final int bit, final int index) {
+            if (slots.length == 2) {
+                return null;
+            }
+            final Object[] newSlots = new Object[slots.length - 2];
+            System.arraycopy(slots, 0, newSlots, 0, index);
+            System.arraycopy(slots, index + 2, newSlots, index, slots.length - index - 2);
+            return new BitmapNode(bitmap & ~bit, newSlots);
+        }
+    }
+
+    /**
+     * Holds mappings for keys with the same hash.
+     */
+    private static final class CollisionNode extends Node {
+
+        private final int hash;
+        private final Object[] slots;
+
+        CollisionNode(final int hash, final Object[] slots) {
+            this.hash = hash;
+            this.slots = slots;
+        }
+
+        private int indexOf(final Object key) {
+            for (int i = 0; i < slots.length; i += 2) {
+                if (key.equals(slots[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        Object find(final Object key, final int hash, final int shift) {
+            if (hash != this.hash) {
+                return null;
+            }
+            final int index = indexOf(key);
+            return index < 0 ? null : slots[index + 1];
+        }
+
+        @Override
+        Node put(final Object key, final Object value, final int hash, final int shift, final boolean[] added) {
+            if (hash != this.hash) {
+                // Nest this node under a new node which can distinguish the hashes
+                return new BitmapNode(bit(this.hash, shift), new Object[] {null, this}).put(key, value, hash, shift, added);
+            }
+            final int index = indexOf(key);
+            final Object[] newSlots;
+            if (index < 0) {
+                newSlots = new Object[slots.length + 2];
+                System.arraycopy(slots, 0, newSlots, 0, slots.length);
+                newSlots[slots.length] = key;
+                newSlots[slots.length + 1] = value;
+                added[0] = true;
+            } else if (slots[index + 1] == value) {
+                return this;
+            } else {
+                newSlots = slots.clone();
+                newSlots[index + 1] = value;
+            }
+            return new CollisionNode(hash, newSlots);
+        }
+
+        @Override
+        Node remove(final Object key, final int hash, final int shift) {
+            final int index = hash == this.hash ? indexOf(key) : -1;
+            if (index < 0) {
+                return this;
+            }
+            if (slots.length == 2) {
+                return null;
+            }
+            final Object[] newSlots = new Object[slots.length - 2];
+            System.arraycopy(slots, 0, newSlots, 0, index);
+            System.arraycopy(slots, index + 2, newSlots, index, slots.length - index - 2);
+            return new CollisionNode(hash, newSlots);
+        }
+
+        @Override
+        Object[] slots() {
+            return slots;
+        }
+    }
+
+    private static final class EntryIterator<K, V> implements Iterator<Entry<K, V>> {
+
+        // The slots of each node on the path to the next entry, and the position in each
+        private final Deque<Object[]> nodes = new ArrayDeque<>();
+        private final Deque<Integer> positions = new ArrayDeque<>();
+        private Entry<K, V> next;
+
+        EntryIterator(final Node root) {
+            if (root != null) {
+                nodes.push(root.slots());
+                positions.push(0);
+            }
+            next = advance();
+        }
+
+        @SuppressWarnings("unchecked")
+        private Entry<K, V> advance() {
+            while (!nodes.isEmpty()) {
+                final Object[] slots = nodes.peek();
+                final int position = positions.pop();
+                if (position == slots.length) {
+                    nodes.pop();
+                    continue;
+                }
+                positions.push(position + 2);
+                final Object key = slots[position];
+                if (key == null) {
+                    final Object[] childSlots = ((Node) slots[position + 1]).slots();
+                    nodes.push(childSlots);
+                    positions.push(0);
+                } else {
+                    return new SimpleImmutableEntry<>((K) key, (V) slots[position + 1]);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            final Entry<K, V> result = next;
+            if (result == null) {
+                throw new NoSuchElementException();
+            }
+            next = advance();
+            return result;
+        }
+    }
+}
@@ -7,6 +7,7 @@ package org.jboss.as.controller.audit;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.services.path.PathManagerService;
 import org.jboss.as.protocol.StreamUtils;
+import org.wildfly.security.manager.WildFlySecurityManager;
 import org.xnio.IoUtils;
 
 import java.io.BufferedInputStream;
@@ -17,26 +18,52 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
 
 /**
  *  All methods on this class should be called with {@link org.jboss.as.controller.audit.ManagedAuditLoggerImpl}'s lock taken.
+ *  <p>
+ *  By default each item is written and synced to disk before the write returns. If the
+ *  {@value #GROUP_COMMIT_WINDOW_PROPERTY} system property is set to a number of milliseconds, items are instead queued
+ *  for a {@link GroupCommitFileWriter} which keeps the file open and syncs it at most once per that window. Callers
+ *  then only wait for their item to reach disk if the {@value #GROUP_COMMIT_WAIT_PROPERTY} system property is
+ *  {@code true}.
+ *  </p>
  *
  * @author <a href="kabir.khan@jboss.com">Kabir Khan</a>
  * @author <a href="mailto:istudens@redhat.com">Ivo Studensky</a>
  */
 public abstract class AbstractFileAuditLogHandler extends AuditLogHandler {
     protected static final byte[] LINE_TERMINATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+
+    static final String GROUP_COMMIT_WINDOW_PROPERTY = "org.jboss.as.controller.audit.file.group-commit-window";
+    static final String GROUP_COMMIT_WAIT_PROPERTY = "org.jboss.as.controller.audit.file.group-commit-wait";
+
     private final PathManagerService pathManager;
     private final String path;
     private final String relativeTo;
+    private final long groupCommitWindow;
+    private final boolean waitForGroupCommit;
 
     private volatile File file;
+    private GroupCommitFileWriter groupCommitWriter;
 
     public AbstractFileAuditLogHandler(String name, String formatterName, int maxFailureCount, PathManagerService pathManager, String path, String relativeTo) {
         super(name, formatterName, maxFailureCount);
         this.pathManager = pathManager;
         this.path = path;
         this.relativeTo = relativeTo;
+        this.groupCommitWindow = getGroupCommitWindow();
+        this.waitForGroupCommit = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(GROUP_COMMIT_WAIT_PROPERTY, "false"));
+    }
+
+    private static long getGroupCommitWindow() {
+        final String value = WildFlySecurityManager.getPropertyPrivileged(GROUP_COMMIT_WINDOW_PROPERTY, null);
+        try {
+            return value == null ? 0 : Math.max(0, Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
     }
 
     @Override
@@ -69,11 +96,16 @@ public abstract class AbstractFileAuditLogHandler extends AuditLogHandler {
 
     @Override
     void stop() {
+        closeGroupCommitWriter();
         file = null;
     }
 
     @Override
     void writeLogItem(String formattedItem) throws IOException {
+        if (groupCommitWindow > 0) {
+            queueLogItem(formattedItem);
+            return;
+        }
         final FileOutputStream fos = new FileOutputStream(file, true);
         final BufferedOutputStream output = new BufferedOutputStream(fos);
         try {
@@ -88,6 +120,42 @@ public abstract class AbstractFileAuditLogHandler extends AuditLogHandler {
         }
     }
 
+    private void queueLogItem(String formattedItem) throws IOException {
+        final byte[] bytes = formattedItem.getBytes(StandardCharsets.UTF_8);
+        final byte[] item = new byte[bytes.length + LINE_TERMINATOR.length];
+        System.arraycopy(bytes, 0, item, 0, bytes.length);
+        System.arraycopy(LINE_TERMINATOR, 0, item, bytes.length, LINE_TERMINATOR.length);
+        if (groupCommitWriter == null) {
+            groupCommitWriter = new GroupCommitFileWriter(name, file, groupCommitWindow);
+        }
+        final CompletableFuture<Void> written = groupCommitWriter.write(item);
+        final IOException failure = groupCommitWriter.takeFailure();
+        if (failure != null) {
+            // An earlier group could not be written. This item is still written, but the failure is counted against
+            // this handler, and the file opened afresh for the next item
+            closeGroupCommitWriter();
+            throw failure;
+        }
+        if (waitForGroupCommit) {
+            setPendingWrite(written);
+        }
+    }
+
+    /**
+     * Writes any items queued for a group commit and closes the file, so it can be renamed or replaced, or its length
+     * read.
+     */
+    protected void closeGroupCommitWriter() {
+        if (groupCommitWriter != null) {
+            groupCommitWriter.close();
+            final IOException failure = groupCommitWriter.takeFailure();
+            if (failure != null) {
+                ControllerLogger.MGMT_OP_LOGGER.logHandlerWriteFailed(failure, name);
+            }
+            groupCommitWriter = null;
+        }
+    }
+
     @Override
     boolean isDifferent(AuditLogHandler other){
         if (other instanceof AbstractFileAuditLogHandler == false){
@@ -143,6 +211,7 @@ public abstract class AbstractFileAuditLogHandler extends AuditLogHandler {
     }
 
     protected void rename(File file, File to) throws IOException {
+        closeGroupCommitWriter();
         if (!file.renameTo(to) && file.exists()) {
             copyFile(file, to);
             file.delete();
@@ -155,6 +224,7 @@ public abstract class AbstractFileAuditLogHandler extends AuditLogHandler {
      * @param file File to create
      */
     protected void createNewFile(final File file) {
+        closeGroupCommitWriter();
         try {
             file.createNewFile();
             setFileNotWorldReadablePermissions(file);
@@ -9,6 +9,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.logging.ControllerLogger;
@@ -32,6 +33,7 @@ abstract class AuditLogHandler {
     private volatile String formatterName;
     private final Set<PathAddress> references = new HashSet<PathAddress>();
     private AuditLogItemFormatter formatter;
+    private CompletableFuture<Void> pendingWrite;
 
     AuditLogHandler(String name, String formatterName, int maxFailureCount){
         this.name = name;
@@ -59,18 +61,39 @@ abstract class AuditLogHandler {
         this.formatterName = formatterName;
     }
 
-    void writeLogItem(AuditLogItem item) {
+    /**
+     * Writes an item.
+     *
+     * @param item the item
+     * @return if the item is still being written and the caller should wait for it to be, a future completing when it
+     * has been. Otherwise {@code null}
+     */
+    CompletableFuture<Void> writeLogItem(AuditLogItem item) {
         FailureCountHandler fch = getFailureCountHandler();
         try {
             initialize();
             String formattedItem = item.format(formatter);
             writeLogItem(formattedItem);
             fch.success();
+            return pendingWrite;
         } catch (Throwable t) {
             fch.failure(t);
+            return null;
+        } finally {
+            pendingWrite = null;
         }
     }
 
+    /**
+     * Called from {@link #writeLogItem(String)} by handlers which complete the write asynchronously, to let the caller
+     * wait for it.
+     *
+     * @param pendingWrite a future completing when the item has been written
+     */
+    void setPendingWrite(CompletableFuture<Void> pendingWrite) {
+        this.pendingWrite = pendingWrite;
+    }
+
     void recycle() {
         this.failureCount = 0;
         stop();
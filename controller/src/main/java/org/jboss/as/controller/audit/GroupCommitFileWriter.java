@@ -0,0 +1,177 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.controller.audit;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.xnio.IoUtils;
+
+/**
+ * Appends items to a file from a background thread, which writes whatever items have been queued as one group and
+ * syncs the file once for the group, rather than once per item. The file is synced at most once per group commit
+ * window, so items queued while a sync is in progress, or within the window after it, are written together.
+ * <p>
+ * Each queued item has a future which completes once the item is on disk, so callers which need an item to be
+ * durable can wait for it. A failure to write a group fails the futures of its items, and is also kept until it is
+ * {@linkplain #takeFailure() taken}, for callers which do not wait for the futures. It does not stop later items being
+ * written.
+ * </p>
+ */
+final class GroupCommitFileWriter {
+
+    private final long windowNanos;
+    private final FileChannel channel;
+    private final Thread thread;
+    private final Object lock = new Object();
+
+    /** Guarded by lock - the items waiting to be written */
+    private List<PendingItem> queue = new ArrayList<>();
+    /** Guarded by lock */
+    private boolean closed;
+    /** Guarded by lock - a failure writing a group not yet taken by takeFailure() */
+    private IOException failure;
+
+    GroupCommitFileWriter(final String name, final File file, final long windowMillis) throws IOException {
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.thread = new Thread(this::run, "Audit log writer - " + name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Queues an item to be written.
+     *
+     * @param item the bytes to append to the file
+     * @return a future completing once the item has been written and synced to disk
+     * @throws IOException if the writer has been closed
+     */
+    CompletableFuture<Void> write(final byte[] item) throws IOException {
+        final PendingItem pending = new PendingItem(item);
+        synchronized (lock) {
+            if (closed) {
+                throw new IOException("closed");
+            }
+            queue.add(pending);
+            if (queue.size() == 1) {
+                lock.notifyAll();
+            }
+        }
+        return pending.future;
+    }
+
+    /**
+     * Gets the most recent failure to write a group since this was last called, if any.
+     *
+     * @return the failure, or {@code null} if all groups were written
+     */
+    IOException takeFailure() {
+        synchronized (lock) {
+            final IOException e = failure;
+            failure = null;
+            return e;
+        }
+    }
+
+    /**
+     * Writes any queued items, then closes the file. Waits for the items to be written.
+     */
+    void close() {
+        synchronized (lock) {
+            closed = true;
+            lock.notifyAll();
+        }
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        long lastSync = System.nanoTime() - windowNanos;
+        try {
+            for (;;) {
+                final List<PendingItem> group;
+                synchronized (lock) {
+                    while (queue.isEmpty() && !closed) {
+                        lock.wait();
+                    }
+                    if (queue.isEmpty()) {
+                        return;
+                    }
+                    // Gather anything else queued within the window since the last sync
+                    long remaining;
+                    while (!closed && (remaining = lastSync + windowNanos - System.nanoTime()) > 0) {
+                        TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+                    }
+                    group = queue;
+                    queue = new ArrayList<>();
+                }
+                lastSync = System.nanoTime();
+                writeGroup(group);
+            }
+        } catch (InterruptedException e) {
+            // Only close() stops us; fail anything still queued
+            synchronized (lock) {
+                closed = true;
+                for (PendingItem pending : queue) {
+                    pending.future.completeExceptionally(e);
+                }
+                queue.clear();
+            }
+        } finally {
+            IoUtils.safeClose(channel);
+        }
+    }
+
+    private void writeGroup(final List<PendingItem> group) {
+        final ByteBuffer[] buffers = new ByteBuffer[group.size()];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = ByteBuffer.wrap(group.get(i).item);
+        }
+        try {
+            final ByteBuffer last = buffers[buffers.length - 1];
+            while (last.hasRemaining()) {
+                channel.write(buffers);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            synchronized (lock) {
+                failure = e;
+            }
+            for (PendingItem pending : group) {
+                pending.future.completeExceptionally(e);
+            }
+            return;
+        }
+        for (PendingItem pending : group) {
+            pending.future.complete(null);
+        }
+    }
+
+    private static final class PendingItem {
+        private final byte[] item;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private PendingItem(final byte[] item) {
+            this.item = item;
+        }
+    }
+}
@@ -14,6 +14,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -73,6 +75,7 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
         if (runDisabledFastPath.get())
             return;
 
+        final List<CompletableFuture<Void>> pendingWrites = new ArrayList<>(1);
         config.lock();
         try {
             if (skipLogging(readOnly)) {
@@ -80,13 +83,14 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
             }
             storeLogItem(
                     AuditLogItem.createModelControllerItem(config.getAsVersion(), readOnly, config.isBooting(), resultAction, userId, domainUUID,
-                            accessMechanism, remoteAddress, operations));
+                            accessMechanism, remoteAddress, operations), pendingWrites);
         } catch (Exception e) {
             handleLoggingException(e);
         } finally {
             applyHandlerUpdates();
             config.unlock();
         }
+        awaitWrites(pendingWrites);
     }
 
     @Override
@@ -95,6 +99,7 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
         if (runDisabledFastPath.get())
             return;
 
+        final List<CompletableFuture<Void>> pendingWrites = new ArrayList<>(1);
         config.lock();
         try {
             if (skipLogging(readOnly)) {
@@ -102,13 +107,14 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
             }
             storeLogItem(
                     AuditLogItem.createMethodAccessItem(config.getAsVersion(), readOnly, config.isBooting(), userId, domainUUID, accessMechanism,
-                            remoteAddress, methodName, methodSignature, methodParams, error));
+                            remoteAddress, methodName, methodSignature, methodParams, error), pendingWrites);
         } catch (Exception e) {
             handleLoggingException(e);
         } finally {
             applyHandlerUpdates();
             config.unlock();
         }
+        awaitWrites(pendingWrites);
     }
 
     private boolean skipLogging(boolean readOnly) {
@@ -220,16 +226,16 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
 
 
     /** protected by config's audit lock */
-    private void storeLogItem(AuditLogItem item) throws IOException {
+    private void storeLogItem(AuditLogItem item, List<CompletableFuture<Void>> pendingWrites) throws IOException {
         switch (getLoggerStatus()) {
             case QUEUEING:
                 queuedItems.add(item);
                 break;
             case LOGGING:
-                writeLogItem(item);
+                writeLogItem(item, pendingWrites);
                 break;
             case DISABLE_NEXT:
-                writeLogItem(item);
+                writeLogItem(item, pendingWrites);
                 config.setLoggerStatus(Status.DISABLED);
             case DISABLED:
                 // switch to the fast path for the next event
@@ -240,11 +246,22 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
 
     /** protected by config's audit lock */
     private void writeLogItem(AuditLogItem item) throws IOException{
+        writeLogItem(item, null);
+    }
+
+    /**
+     * protected by config's audit lock
+     * @param pendingWrites list to add the writes the caller should wait for to, or {@code null} if it should not wait
+     */
+    private void writeLogItem(AuditLogItem item, List<CompletableFuture<Void>> pendingWrites) throws IOException{
         Set<String> formatterNames = new HashSet<String>();
         try {
             for (AuditLogHandler handler : config.getHandlersForLogging()) {
                 formatterNames.add(handler.getFormatterName());
-                handler.writeLogItem(item);
+                CompletableFuture<Void> pendingWrite = handler.writeLogItem(item);
+                if (pendingWrite != null && pendingWrites != null) {
+                    pendingWrites.add(pendingWrite);
+                }
             }
         } finally {
             for (String formatterName : formatterNames) {
@@ -253,6 +270,23 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
         }
     }
 
+    /**
+     * Waits for handlers which write asynchronously to write the items just logged. Must be called without the audit
+     * lock held, so other items can be queued for the same group commit meanwhile.
+     */
+    private static void awaitWrites(List<CompletableFuture<Void>> pendingWrites) {
+        for (CompletableFuture<Void> pendingWrite : pendingWrites) {
+            try {
+                pendingWrite.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                // The handler reports the failure and counts it against its max-failure-count on its next write
+            }
+        }
+    }
+
     /** protected by config's audit lock */
     private void handleLoggingException(final Exception e) {
         ControllerLogger.MGMT_OP_LOGGER.failedToUpdateAuditLog(e);
@@ -31,11 +31,17 @@ public class SizeRotatingFileAuditLogHandler extends AbstractFileAuditLogHandler
 
     @Override
     protected void initializeAtStartup(final File file) {
+        closeGroupCommitWriter();
         currentSize = file.length();
     }
 
     @Override
     protected void rotateLogFile(final File file) {
+        if (currentSize > this.rotateSize) {
+            // Items queued for a group commit are not in the file yet, so write them before checking its size
+            closeGroupCommitWriter();
+            currentSize = file.length();
+        }
         if (currentSize > this.rotateSize) {
             // rotate
             if (maxBackupIndex > 0) {
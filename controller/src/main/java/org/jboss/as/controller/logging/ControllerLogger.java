@@ -3881,4 +3881,8 @@ public interface ControllerLogger extends BasicLogger {
 
     @Message(id = 536, value = "Value for parameter '%1$s' must be less than or equal to '%3$s': '%2$s'")
     OperationFailedException inclusiveUpperBoundExceeded(String name, Object value, Object upperBound);
+
+    @LogMessage(level = WARN)
+    @Message(id = 537, value = "Failed to store the boot operations in %s; the configuration will be parsed again on the next boot")
+    void failedToStoreBootOperationCache(@Cause Throwable cause, File file);
 }
@@ -11,11 +11,13 @@ import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamWriter;
 
+import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.dmr.ModelNode;
 import org.jboss.staxmapper.XMLElementWriter;
@@ -30,6 +32,7 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
 
     private final XMLElementWriter<ModelMarshallingContext> rootDeparser;
     private final ConcurrentHashMap<String, Supplier<XMLElementWriter<SubsystemMarshallingContext>>> subsystemWriterSuppliers = new ConcurrentHashMap<>();
+    private final SubsystemXmlFragmentCache subsystemFragments = new SubsystemXmlFragmentCache();
 
     /**
      * Construct a new instance.
@@ -42,17 +45,36 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
 
     @Override
     public void registerSubsystemWriter(String name, Supplier<XMLElementWriter<SubsystemMarshallingContext>> writer) {
-        subsystemWriterSuppliers.putIfAbsent(name, writer);
+        if (subsystemWriterSuppliers.putIfAbsent(name, writer) == null) {
+            subsystemFragments.invalidate(name);
+        }
     }
 
     @Override
     public void unregisterSubsystemWriter(String name) {
         subsystemWriterSuppliers.remove(name);
+        subsystemFragments.invalidate(name);
     }
 
     /** {@inheritDoc} */
     @Override
     public void marshallAsXml(final ModelNode model, final OutputStream output) throws ConfigurationPersistenceException {
+        marshallAsXml(model, output, null);
+    }
+
+    /**
+     * Starts marshalling a new version of the configuration, reusing the previously marshalled XML of the subsystems
+     * not affected by the changes.
+     *
+     * @param affectedAddresses the addresses of the resources modified since the configuration was last stored, or
+     *                          {@code null} if not known
+     * @return the update to pass to {@link #marshallAsXml(ModelNode, OutputStream, SubsystemXmlFragmentCache.Update)}
+     */
+    SubsystemXmlFragmentCache.Update updateSubsystemFragments(final Set<PathAddress> affectedAddresses) {
+        return subsystemFragments.update(affectedAddresses);
+    }
+
+    void marshallAsXml(final ModelNode model, final OutputStream output, final SubsystemXmlFragmentCache.Update fragments) throws ConfigurationPersistenceException {
         final XMLMapper mapper = XMLMapper.Factory.create();
         final Map<String, XMLElementWriter<SubsystemMarshallingContext>> localSubsystemWriters = new HashMap<>();
         try {
@@ -77,6 +99,9 @@ public abstract class AbstractConfigurationPersister implements ExtensibleConfig
                                 localSubsystemWriters.put(extensionName, result);
                             }
                         }
+                        if (result != null && fragments != null) {
+                            return fragments.getSubsystemWriter(extensionName, result);
+                        }
                         return result;
                     }
                 };
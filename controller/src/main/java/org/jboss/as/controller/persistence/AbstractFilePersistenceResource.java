@@ -9,7 +9,9 @@ import static org.jboss.as.controller.logging.ControllerLogger.MGMT_OP_LOGGER;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Set;
 
+import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.dmr.ModelNode;
 import org.xnio.IoUtils;
@@ -20,13 +22,33 @@ import org.xnio.IoUtils;
  */
 public abstract class AbstractFilePersistenceResource implements ConfigurationPersister.PersistenceResource {
     private volatile ExposedByteArrayOutputStream marshalled;
+    private final SubsystemXmlFragmentCache.Update subsystemFragments;
 
     protected AbstractFilePersistenceResource(final ModelNode model, final AbstractConfigurationPersister persister) throws ConfigurationPersistenceException {
+        this(model, persister, null);
+    }
+
+    /**
+     * Creates a resource which only marshals the subsystems affected by the changes to the model, reusing the XML
+     * previously marshalled by {@code persister} for the others.
+     *
+     * @param model the model to persist
+     * @param persister the persister
+     * @param affectedAddresses the addresses of the resources modified since the configuration was last stored, or
+     *                          {@code null} to marshal the whole model
+     */
+    protected AbstractFilePersistenceResource(final ModelNode model, final AbstractConfigurationPersister persister,
+                                              final Set<PathAddress> affectedAddresses) throws ConfigurationPersistenceException {
         marshalled = new ExposedByteArrayOutputStream(1024 * 8);
+        subsystemFragments = affectedAddresses != null ? persister.updateSubsystemFragments(affectedAddresses) : null;
         try {
             try {
                 BufferedOutputStream output = new BufferedOutputStream(marshalled);
-                persister.marshallAsXml(model, output);
+                if (subsystemFragments != null) {
+                    persister.marshallAsXml(model, output, subsystemFragments);
+                } else {
+                    persister.marshallAsXml(model, output);
+                }
                 output.close();
                 marshalled.close();
             } finally {
@@ -47,6 +69,10 @@ public abstract class AbstractFilePersistenceResource implements ConfigurationPe
         } catch (IOException ioex) {
             MGMT_OP_LOGGER.errorf(ioex, ioex.getMessage());
         }
+        // The cached XML reflects the committed model, whether or not the file could be written
+        if (subsystemFragments != null) {
+            subsystemFragments.commit();
+        }
     }
 
     @Override
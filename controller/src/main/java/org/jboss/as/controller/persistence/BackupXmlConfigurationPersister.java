@@ -104,7 +104,7 @@ public class BackupXmlConfigurationPersister extends XmlConfigurationPersister {
             };
         }
         this.stored = true;
-        return new ConfigurationFilePersistenceResource(model, configurationFile, this);
+        return new ConfigurationFilePersistenceResource(model, configurationFile, this, affectedAddresses);
     }
 
     @Override
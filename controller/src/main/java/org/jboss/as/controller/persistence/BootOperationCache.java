@@ -0,0 +1,232 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.persistence;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.EXTENSION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.logging.ControllerLogger.ROOT_LOGGER;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.as.controller.Extension;
+import org.jboss.as.controller.HashUtil;
+import org.jboss.dmr.ModelNode;
+import org.jboss.modules.Module;
+import org.jboss.modules.ModuleLoadException;
+import org.jboss.modules.ModuleLoader;
+
+/**
+ * Stores the operations parsed from a configuration file, so a later boot with the same configuration can use them
+ * instead of parsing the file again. The operations are stored as binary DMR along with a key made from the content
+ * and location of the configuration file and a description of the process, plus a fingerprint of each extension
+ * module the configuration adds. The stored operations are only used if all of these still match.
+ */
+public final class BootOperationCache {
+
+    private static final int FORMAT_VERSION = 1;
+    private static final String EXTENSION_SERVICE = "META-INF/services/" + Extension.class.getName();
+
+    private final File cacheFile;
+    private final ModuleLoader moduleLoader;
+    private final String processDescription;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param cacheFile the file in which to store the operations. Cannot be {@code null}
+     * @param moduleLoader the loader for the extension modules. Cannot be {@code null}
+     * @param processDescription a description of anything other than the configuration file and extension modules
+     *                           that affects what is parsed from the file, such as the product version and stability
+     *                           level. Cannot be {@code null}
+     */
+    public BootOperationCache(final File cacheFile, final ModuleLoader moduleLoader, final String processDescription) {
+        this.cacheFile = cacheFile;
+        this.moduleLoader = moduleLoader;
+        this.processDescription = processDescription;
+    }
+
+    /**
+     * Gets the operations stored for the given configuration file, if they are still valid.
+     *
+     * @param configFile the configuration file
+     * @return the operations, or {@code null} if none are stored or they are no longer valid
+     */
+    List<ModelNode> load(final File configFile) {
+        if (!cacheFile.isFile()) {
+            return null;
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile.toPath())))) {
+            if (input.readInt() != FORMAT_VERSION || !input.readUTF().equals(computeKey(configFile))) {
+                ROOT_LOGGER.debugf("Boot operations stored in %s are for a different configuration", cacheFile);
+                return null;
+            }
+            final int moduleCount = input.readInt();
+            for (int i = 0; i < moduleCount; i++) {
+                final String module = input.readUTF();
+                if (!input.readUTF().equals(fingerprint(module))) {
+                    ROOT_LOGGER.debugf("Boot operations stored in %s are for a different version of module %s", cacheFile, module);
+                    return null;
+                }
+            }
+            final ModelNode operations = new ModelNode();
+            operations.readExternal(input);
+            ROOT_LOGGER.debugf("Using boot operations stored in %s for %s", cacheFile, configFile);
+            return new ArrayList<>(operations.asList());
+        } catch (Exception e) {
+            // Treat anything unexpected as a miss; the caller will parse the file and replace the cache
+            ROOT_LOGGER.debugf(e, "Could not read boot operations stored in %s", cacheFile);
+            return null;
+        }
+    }
+
+    /**
+     * Stores the operations parsed from the given configuration file. Failures are logged, not thrown.
+     *
+     * @param configFile the configuration file
+     * @param operations the operations parsed from it
+     */
+    void store(final File configFile, final List<ModelNode> operations) {
+        try {
+            final String key = computeKey(configFile);
+            final Map<String, String> modules = new LinkedHashMap<>();
+            for (ModelNode operation : operations) {
+                final String module = getExtensionModule(operation);
+                if (module != null) {
+                    modules.put(module, fingerprint(module));
+                }
+            }
+            final ModelNode list = new ModelNode().setEmptyList();
+            for (ModelNode operation : operations) {
+                list.add(operation);
+            }
+
+            final Path target = cacheFile.toPath();
+            Files.createDirectories(target.getParent());
+            final Path temp = Files.createTempFile(target.getParent(), cacheFile.getName(), ".tmp");
+            try {
+                try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                    output.writeInt(FORMAT_VERSION);
+                    output.writeUTF(key);
+                    output.writeInt(modules.size());
+                    for (Map.Entry<String, String> entry : modules.entrySet()) {
+                        output.writeUTF(entry.getKey());
+                        output.writeUTF(entry.getValue());
+                    }
+                    list.writeExternal((OutputStream) output);
+                }
+                try {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException | AccessDeniedException e) {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (Exception e) {
+            ROOT_LOGGER.failedToStoreBootOperationCache(e, cacheFile);
+        }
+    }
+
+    private String computeKey(final File configFile) throws IOException {
+        final MessageDigest digest = sha256();
+        digest.update(processDescription.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(configFile.getAbsolutePath().getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        try (InputStream input = Files.newInputStream(configFile.toPath())) {
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HashUtil.bytesToHexString(digest.digest());
+    }
+
+    /**
+     * Describes the version of an extension module: its declared version, plus the location, size and modification
+     * time of the jar or directory providing its extension, so a patched or replaced module does not match.
+     */
+    private String fingerprint(final String moduleName) throws ModuleLoadException, IOException {
+        final Module module = moduleLoader.loadModule(moduleName);
+        final StringBuilder sb = new StringBuilder();
+        sb.append(module.getVersion());
+        final URL url = module.getClassLoader().getResource(EXTENSION_SERVICE);
+        if (url != null) {
+            sb.append('|').append(url);
+            final Path source = getSource(url);
+            if (source != null && Files.exists(source)) {
+                final BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+                sb.append('|').append(attributes.size()).append('|').append(attributes.lastModifiedTime().toMillis());
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Gets the file containing a resource, which for a resource in a jar is the jar.
+     */
+    private static Path getSource(final URL url) {
+        String spec = url.toString();
+        if (spec.startsWith("jar:")) {
+            final int separator = spec.indexOf("!/");
+            spec = spec.substring(4, separator < 0 ? spec.length() : separator);
+        }
+        if (!spec.startsWith("file:")) {
+            return null;
+        }
+        try {
+            return Paths.get(URI.create(spec));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String getExtensionModule(final ModelNode operation) {
+        if (!ADD.equals(operation.get(OP).asStringOrNull())) {
+            return null;
+        }
+        final ModelNode address = operation.get(OP_ADDR);
+        if (address.asInt(0) != 1) {
+            return null;
+        }
+        final ModelNode element = address.get(0);
+        return element.has(EXTENSION) ? element.get(EXTENSION).asString() : null;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
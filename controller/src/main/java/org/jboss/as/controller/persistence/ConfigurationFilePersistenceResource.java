@@ -10,7 +10,9 @@ import static org.jboss.as.controller.logging.ControllerLogger.MGMT_OP_LOGGER;
 import java.io.File;
 import java.io.InputStream;
 import java.nio.file.Files;
+import java.util.Set;
 
+import org.jboss.as.controller.PathAddress;
 import org.jboss.dmr.ModelNode;
 
 /**
@@ -27,7 +29,13 @@ public class ConfigurationFilePersistenceResource extends AbstractFilePersistenc
 
     ConfigurationFilePersistenceResource(final ModelNode model, final ConfigurationFile configurationFile,
                                          final AbstractConfigurationPersister persister) throws ConfigurationPersistenceException {
-        super(model, persister);
+        this(model, configurationFile, persister, null);
+    }
+
+    ConfigurationFilePersistenceResource(final ModelNode model, final ConfigurationFile configurationFile,
+                                         final AbstractConfigurationPersister persister,
+                                         final Set<PathAddress> affectedAddresses) throws ConfigurationPersistenceException {
+        super(model, persister, affectedAddresses);
         this.configurationFile = configurationFile;
         this.fileName = configurationFile.getMainFile();
     }
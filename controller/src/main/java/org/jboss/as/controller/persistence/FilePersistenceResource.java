@@ -9,7 +9,9 @@ import static org.jboss.as.controller.logging.ControllerLogger.MGMT_OP_LOGGER;
 
 import java.io.File;
 import java.io.InputStream;
+import java.util.Set;
 
+import org.jboss.as.controller.PathAddress;
 import org.jboss.dmr.ModelNode;
 
 /**
@@ -22,9 +24,13 @@ public class FilePersistenceResource extends AbstractFilePersistenceResource {
     protected final File fileName;
 
     FilePersistenceResource(final ModelNode model, final File fileName, final AbstractConfigurationPersister persister) throws ConfigurationPersistenceException {
-        super(model, persister);
-        this.fileName = fileName;
+        this(model, fileName, persister, null);
+    }
 
+    FilePersistenceResource(final ModelNode model, final File fileName, final AbstractConfigurationPersister persister,
+                            final Set<PathAddress> affectedAddresses) throws ConfigurationPersistenceException {
+        super(model, persister, affectedAddresses);
+        this.fileName = fileName;
     }
 
     @Override
@@ -0,0 +1,250 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.persistence;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HOST;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROFILE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.staxmapper.XMLElementWriter;
+import org.jboss.staxmapper.XMLExtendedStreamWriter;
+
+/**
+ * Cache of the XML written for each subsystem, so that when the configuration is stored only the subsystems
+ * affected by an operation need to be marshalled, and the XML of the other subsystems is spliced in from the cache.
+ * <p>
+ * A fragment is recorded as the sequence of calls the subsystem's writer made to the {@link XMLExtendedStreamWriter},
+ * rather than as bytes, so replaying it produces exactly what the writer would have, whatever the formatting of the
+ * enclosing document.
+ */
+final class SubsystemXmlFragmentCache {
+
+    private final Map<String, Fragment> fragments = new ConcurrentHashMap<>();
+    /** Subsystems which appear more than once in the document, e.g. in several domain profiles, and are never cached */
+    private final Set<String> ambiguous = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger generation = new AtomicInteger();
+
+    /**
+     * Discards the cached fragment of a subsystem, e.g. because its writer has changed.
+     *
+     * @param subsystemName the name of the subsystem
+     */
+    void invalidate(String subsystemName) {
+        generation.incrementAndGet();
+        fragments.remove(subsystemName);
+    }
+
+    /**
+     * Starts marshalling a new version of the configuration.
+     *
+     * @param affectedAddresses the addresses of the resources modified since the configuration was last stored, or
+     *                          {@code null} if not known, in which case all subsystems are marshalled
+     * @return the update, which must be {@link Update#commit() committed} once the configuration is stored
+     */
+    Update update(Set<PathAddress> affectedAddresses) {
+        return new Update(getAffectedSubsystems(affectedAddresses));
+    }
+
+    /**
+     * Gets the names of the subsystems whose configuration may have changed.
+     *
+     * @return the names, or {@code null} if any subsystem may have changed
+     */
+    private static Set<String> getAffectedSubsystems(Set<PathAddress> affectedAddresses) {
+        if (affectedAddresses == null) {
+            return null;
+        }
+        Set<String> result = new HashSet<>();
+        for (PathAddress address : affectedAddresses) {
+            String subsystemName = null;
+            for (PathElement element : address) {
+                if (SUBSYSTEM.equals(element.getKey())) {
+                    subsystemName = element.getValue();
+                    break;
+                }
+            }
+            if (subsystemName != null) {
+                result.add(subsystemName);
+            } else if (address.size() == 0) {
+                // The root resource may have been used to modify any of its children
+                return null;
+            } else {
+                String key = address.getLastElement().getKey();
+                if (HOST.equals(key) || PROFILE.equals(key)) {
+                    return null;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The subsystem fragments written while marshalling a single version of the configuration.
+     */
+    final class Update {
+
+        private final int generation = SubsystemXmlFragmentCache.this.generation.get();
+        private final Set<String> affected;
+        private final Set<String> written = new HashSet<>();
+        private final Set<String> duplicates = new HashSet<>();
+        private final Map<String, Fragment> recorded = new HashMap<>();
+
+        private Update(Set<String> affected) {
+            this.affected = affected;
+        }
+
+        /**
+         * Gets the writer to use for a subsystem. This is either a cached fragment, if the subsystem is not affected
+         * by the update, or a writer which records what the subsystem's writer writes.
+         *
+         * @param subsystemName the name of the subsystem
+         * @param writer the subsystem's writer
+         * @return the writer to use. Will not be {@code null}
+         */
+        XMLElementWriter<SubsystemMarshallingContext> getSubsystemWriter(final String subsystemName, final XMLElementWriter<SubsystemMarshallingContext> writer) {
+            if (!written.add(subsystemName)) {
+                duplicates.add(subsystemName);
+                recorded.remove(subsystemName);
+                return writer;
+            }
+            if (ambiguous.contains(subsystemName)) {
+                return writer;
+            }
+            Fragment fragment = (affected == null || affected.contains(subsystemName)) ? null : fragments.get(subsystemName);
+            if (fragment != null) {
+                return fragment;
+            }
+            return (xmlWriter, context) -> {
+                Recorder recorder = new Recorder(xmlWriter);
+                XMLExtendedStreamWriter recordingWriter = recorder.getProxy();
+                writer.writeContent(recordingWriter, new SubsystemMarshallingContext(context.getModelNode(), recordingWriter));
+                if (!duplicates.contains(subsystemName)) {
+                    recorded.put(subsystemName, recorder.getFragment());
+                }
+            };
+        }
+
+        /**
+         * Replaces the cached fragments with those recorded by this update. Called once the marshalled configuration
+         * has been committed; if it was rolled back instead, the update is simply discarded.
+         */
+        void commit() {
+            ambiguous.addAll(duplicates);
+            fragments.keySet().retainAll(written);
+            fragments.keySet().removeAll(ambiguous);
+            if (affected == null) {
+                fragments.clear();
+            } else {
+                fragments.keySet().removeAll(affected);
+            }
+            // If a writer was registered or removed since we started, what we recorded may be stale
+            if (generation == SubsystemXmlFragmentCache.this.generation.get()) {
+                fragments.putAll(recorded);
+            }
+        }
+    }
+
+    /**
+     * The recorded calls to the {@link XMLExtendedStreamWriter} of a subsystem's writer.
+     */
+    private static final class Fragment implements XMLElementWriter<SubsystemMarshallingContext> {
+
+        private final Method[] methods;
+        private final Object[][] arguments;
+
+        private Fragment(List<Method> methods, List<Object[]> arguments) {
+            this.methods = methods.toArray(new Method[0]);
+            this.arguments = arguments.toArray(new Object[0][]);
+        }
+
+        @Override
+        public void writeContent(XMLExtendedStreamWriter writer, SubsystemMarshallingContext context) throws XMLStreamException {
+            for (int i = 0; i < methods.length; ++i) {
+                try {
+                    methods[i].invoke(writer, arguments[i]);
+                } catch (InvocationTargetException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof XMLStreamException) {
+                        throw (XMLStreamException) cause;
+                    }
+                    throw new XMLStreamException(cause);
+                } catch (IllegalAccessException e) {
+                    throw new XMLStreamException(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Passes the calls to a {@link XMLExtendedStreamWriter} through to the real writer, recording those which write
+     * or change the state of the document.
+     */
+    private static final class Recorder implements InvocationHandler {
+
+        private final XMLExtendedStreamWriter delegate;
+        private final List<Method> methods = new ArrayList<>();
+        private final List<Object[]> arguments = new ArrayList<>();
+
+        private Recorder(XMLExtendedStreamWriter delegate) {
+            this.delegate = delegate;
+        }
+
+        XMLExtendedStreamWriter getProxy() {
+            return (XMLExtendedStreamWriter) Proxy.newProxyInstance(XMLExtendedStreamWriter.class.getClassLoader(),
+                    new Class<?>[] { XMLExtendedStreamWriter.class }, this);
+        }
+
+        Fragment getFragment() {
+            return new Fragment(methods, arguments);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getReturnType() == void.class && method.getDeclaringClass() != Object.class
+                    && !method.getName().equals("flush") && !method.getName().equals("close")) {
+                methods.add(method);
+                arguments.add(copy(args));
+            }
+            try {
+                return method.invoke(delegate, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private static Object[] copy(Object[] args) {
+            if (args == null) {
+                return null;
+            }
+            Object[] result = args.clone();
+            for (int i = 0; i < result.length; ++i) {
+                if (result[i] instanceof char[]) {
+                    result[i] = ((char[]) result[i]).clone();
+                } else if (result[i] instanceof Object[]) {
+                    result[i] = ((Object[]) result[i]).clone();
+                }
+            }
+            return result;
+        }
+    }
+}
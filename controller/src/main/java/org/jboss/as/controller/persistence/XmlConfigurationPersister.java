@@ -44,6 +44,7 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
     private final XMLElementReader<List<ModelNode>> rootParser;
     private final Map<QName, XMLElementReader<List<ModelNode>>> additionalParsers;
     private final boolean suppressLoad;
+    private volatile BootOperationCache bootOperationCache;
     protected volatile boolean stored = false;
 
     /**
@@ -82,11 +83,21 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
         }
     }
 
+    /**
+     * Sets a cache of the operations parsed from the configuration file, which {@link #load()} uses instead of
+     * parsing the file if the file has not changed since the operations were stored.
+     *
+     * @param bootOperationCache the cache, or {@code null} to always parse the file
+     */
+    public void setBootOperationCache(final BootOperationCache bootOperationCache) {
+        this.bootOperationCache = bootOperationCache;
+    }
+
     /** {@inheritDoc} */
     @Override
     public PersistenceResource store(final ModelNode model, Set<PathAddress> affectedAddresses) throws ConfigurationPersistenceException {
         stored = true;
-        return new FilePersistenceResource(model, fileName, this);
+        return new FilePersistenceResource(model, fileName, this, affectedAddresses);
     }
 
     /** {@inheritDoc} */
@@ -96,6 +107,21 @@ public class XmlConfigurationPersister extends AbstractConfigurationPersister {
             return new ArrayList<>();
         }
 
+        final BootOperationCache cache = bootOperationCache;
+        if (cache != null) {
+            final List<ModelNode> cached = cache.load(fileName);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        final List<ModelNode> updates = parse();
+        if (cache != null) {
+            cache.store(fileName, updates);
+        }
+        return updates;
+    }
+
+    private List<ModelNode> parse() throws ConfigurationPersistenceException {
         final XMLMapper mapper = XMLMapper.Factory.create();
         mapper.registerRootElement(rootElement, rootParser);
         synchronized (additionalParsers) {
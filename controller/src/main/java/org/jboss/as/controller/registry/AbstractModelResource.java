@@ -133,13 +133,27 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
 
     @Override
     public Set<ResourceEntry> getChildren(final String childType) {
+        return getChildren(childType, true);
+    }
+
+    /**
+     * Gets the children of the given type.
+     *
+     * @param childType the child type
+     * @param forUpdate {@code false} if the caller will only read the children, in which case children that this
+     *                  resource still shares with the resource it was {@linkplain BasicResource#copyForUpdate copied}
+     *                  from are returned without being copied
+     * @return the children
+     */
+    Set<ResourceEntry> getChildren(final String childType, final boolean forUpdate) {
         final ResourceProvider provider = getProvider(childType);
         if(provider == null) {
             return Collections.emptySet();
         }
+        final boolean peek = !forUpdate && provider instanceof DefaultResourceProvider;
         final Set<ResourceEntry> children = new LinkedHashSet<ResourceEntry>();
         for(final String name : provider.children()) {
-            final Resource resource = provider.get(name);
+            final Resource resource = peek ? ((DefaultResourceProvider) provider).peek(name) : provider.get(name);
             children.add(new DelegateResource(resource) {
                 @Override
                 public String getName() {
@@ -244,11 +258,43 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
         }
     }
 
+    /**
+     * Registers copies of this resource's providers with a copy of this resource that is going to be modified.
+     * The default providers are copied without copying their children, instead each child is copied the first time
+     * it is retrieved from the copy while the {@code scope} is open. Other providers are cloned.
+     */
+    void copyProvidersForUpdate(AbstractModelResource copy, BasicResource.UpdateScope scope) {
+        synchronized (children) {
+            for (final Map.Entry<String, ResourceProvider> entry : children.entrySet()) {
+                final ResourceProvider provider = entry.getValue();
+                copy.registerResourceProvider(entry.getKey(), provider instanceof DefaultResourceProvider
+                        ? ((DefaultResourceProvider) provider).copyForUpdate(scope)
+                        : provider.clone());
+            }
+        }
+    }
+
     private static class DefaultResourceProvider implements ResourceProvider {
 
         private final Map<String, Resource> children = new LinkedHashMap<String, Resource>();
 
+        /**
+         * The scope of the update this provider was copied for, or {@code null} if it was not copied.
+         */
+        private final BasicResource.UpdateScope scope;
+
+        /**
+         * The names of the children that are still shared with the provider this one was copied from.
+         */
+        private final Set<String> shared;
+
         protected DefaultResourceProvider() {
+            this(null);
+        }
+
+        private DefaultResourceProvider(BasicResource.UpdateScope scope) {
+            this.scope = scope;
+            this.shared = scope == null ? null : new HashSet<String>();
         }
 
         @Override
@@ -267,6 +313,21 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
 
         @Override
         public Resource get(String name) {
+            synchronized (children) {
+                Resource resource = children.get(name);
+                if (resource != null && shared != null && scope.isOpen() && shared.remove(name)) {
+                    // first access to a shared child, which the caller may modify
+                    resource = BasicResource.copyForUpdate(resource, scope);
+                    children.put(name, resource);
+                }
+                return resource;
+            }
+        }
+
+        /**
+         * Gets a child without copying it, even if it is shared. The caller must not modify the child.
+         */
+        Resource peek(String name) {
             synchronized (children) {
                 return children.get(name);
             }
@@ -323,8 +384,22 @@ public abstract class AbstractModelResource extends ResourceProvider.ResourcePro
         @Override
         public Resource remove(String name) {
             synchronized (children) {
-                return children.remove(name);
+                Resource removed = children.remove(name);
+                if (removed != null && shared != null && shared.remove(name) && scope.isOpen()) {
+                    // the caller may modify the removed child, e.g. to re-add it on rollback
+                    removed = BasicResource.copyForUpdate(removed, scope);
+                }
+                return removed;
+            }
+        }
+
+        DefaultResourceProvider copyForUpdate(BasicResource.UpdateScope scope) {
+            final DefaultResourceProvider provider = new DefaultResourceProvider(scope);
+            synchronized (children) {
+                provider.children.putAll(children);
+                provider.shared.addAll(children.keySet());
             }
+            return provider;
         }
 
         @Override
@@ -12,6 +12,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
 import org.jboss.as.controller.CapabilityReferenceRecorder;
 import org.jboss.as.controller.Feature;
 import org.jboss.as.controller.OperationDefinition;
@@ -44,6 +45,11 @@ abstract class AbstractResourceRegistration implements ManagementResourceRegistr
     private final PathAddress pathAddress;
     private final ProcessType processType;
     private final Stability stability;
+    /**
+     * Shared by all registrations under the same root, and incremented after any change to them which could
+     * change a registration's description
+     */
+    private final AtomicLong descriptionGeneration;
     private RootInvocation rootInvocation;
 
     /** Constructor for a root MRR */
@@ -54,6 +60,7 @@ abstract class AbstractResourceRegistration implements ManagementResourceRegistr
         this.pathAddress = PathAddress.EMPTY_ADDRESS;
         this.processType = Assert.checkNotNullParam("processType", processType);
         this.stability = Assert.checkNotNullParam("stability", stability);
+        this.descriptionGeneration = new AtomicLong();
     }
 
     /** Constructor for a non-root MRR */
@@ -64,6 +71,7 @@ abstract class AbstractResourceRegistration implements ManagementResourceRegistr
         this.pathAddress = parent.getPathAddress(valueString);
         this.processType = parent.getProcessType();
         this.stability = parent.getStability();
+        this.descriptionGeneration = parent.getParent().descriptionGeneration;
     }
 
     static void checkPermission() {
@@ -73,6 +81,22 @@ abstract class AbstractResourceRegistration implements ManagementResourceRegistr
         }
     }
 
+    /**
+     * Gets the current generation of the descriptions of the registrations under this registration's root.
+     * A description built while the generation was {@code n} is still valid as long as the generation is {@code n}.
+     */
+    long getDescriptionGeneration() {
+        return descriptionGeneration.get();
+    }
+
+    /**
+     * Records a change to this registration which could change the description of it or of any other registration
+     * under the same root. Must be called after the change is visible.
+     */
+    void descriptionChanged() {
+        descriptionGeneration.incrementAndGet();
+    }
+
     NodeSubregistry getParentSubRegistry() {
         return parent;
     }
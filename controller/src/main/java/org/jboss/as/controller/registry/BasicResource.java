@@ -16,6 +16,11 @@ import org.jboss.dmr.ModelNode;
  * <p>Concurrency note: if a thread needs to modify a BasicResource, it must use the clone() method to obtain its
  * own copy of the resource. That instance cannot be made visible to other threads until all writes are complete.</p>
  *
+ * <p>Alternatively a copy can be obtained using {@link #copyForUpdate(Resource, UpdateScope)}. This copies only the
+ * resource itself; its children remain shared with the original until they are first retrieved from the copy, at
+ * which point they are copied in turn. So modifying a resource deep in the tree copies only the resources on the path
+ * to it, rather than the whole tree.</p>
+ *
  * @author Emanuel Muckenhuber
  */
 class BasicResource extends AbstractModelResource implements Resource {
@@ -23,24 +28,31 @@ class BasicResource extends AbstractModelResource implements Resource {
     /** The local model. */
     private final ModelNode model = new ModelNode();
 
+    /** The scope of the update this resource was copied for, or {@code null} if it was not copied. */
+    private final UpdateScope scope;
+
     protected BasicResource() {
         this(false);
     }
 
     protected BasicResource(boolean runtimeOnly) {
         super(runtimeOnly);
+        this.scope = null;
     }
 
     protected BasicResource(boolean runtimeOnly, String...orderedChildTypes) {
         super(runtimeOnly, orderedChildTypes);
+        this.scope = null;
     }
 
     protected BasicResource(boolean runtimeOnly, Set<String> orderedChildTypes) {
         super(runtimeOnly, orderedChildTypes);
+        this.scope = null;
     }
 
-    private BasicResource(boolean runtimeOnly, Set<String> orderedChildTypes, boolean safe) {
-        super(runtimeOnly, orderedChildTypes, safe);
+    private BasicResource(boolean runtimeOnly, Set<String> orderedChildTypes, UpdateScope scope) {
+        super(runtimeOnly, orderedChildTypes, true);
+        this.scope = scope;
     }
 
     @Override
@@ -60,17 +72,63 @@ class BasicResource extends AbstractModelResource implements Resource {
     @SuppressWarnings({"CloneDoesntCallSuperClone"})
     @Override
     public Resource clone() {
-        final BasicResource clone = new BasicResource(isRuntime(), getOrderedChildTypes(), true);
+        final BasicResource clone = new BasicResource(isRuntime(), getOrderedChildTypes(), null);
+        copyModel(clone);
+        cloneProviders(clone);
+        return clone;
+    }
+
+    private void copyModel(BasicResource copy) {
         for (;;) {
             try {
-                clone.writeModel(model);
+                copy.writeModel(model);
                 break;
             } catch (ConcurrentModificationException ignore) {
                 // TODO horrible hack :(
             }
         }
-        cloneProviders(clone);
-        return clone;
+    }
+
+    /**
+     * Creates a copy of a resource that is going to be modified. If the resource is a {@code BasicResource}, its
+     * children are not copied until they are retrieved from the copy, for as long as the given scope is
+     * {@linkplain UpdateScope#isOpen() open}. Any other resource is {@linkplain Resource#clone() cloned}.
+     *
+     * @param resource the resource
+     * @param scope    the scope of the update
+     * @return the copy
+     */
+    static Resource copyForUpdate(Resource resource, UpdateScope scope) {
+        if (resource.getClass() != BasicResource.class) {
+            return resource.clone();
+        }
+        final BasicResource source = (BasicResource) resource;
+        final BasicResource copy = new BasicResource(source.isRuntime(), source.getOrderedChildTypes(), scope);
+        source.copyModel(copy);
+        source.copyProvidersForUpdate(copy, scope);
+        return copy;
+    }
+
+    /**
+     * Closes the scope of the update this resource was copied for, if any.
+     */
+    void completeUpdate() {
+        if (scope != null) {
+            scope.open = false;
+        }
+    }
+
+    /**
+     * The lifetime of an update that copies resources on demand. Once the update is complete the copied tree is no
+     * longer modified, so any children still shared with the original tree can be returned as they are.
+     */
+    static final class UpdateScope {
+
+        private volatile boolean open = true;
+
+        boolean isOpen() {
+            return open;
+        }
     }
 
 }
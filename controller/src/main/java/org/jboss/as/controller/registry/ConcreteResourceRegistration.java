@@ -14,8 +14,10 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -38,11 +40,13 @@ import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
 import org.jboss.as.controller.access.management.AccessConstraintDefinition;
 import org.jboss.as.controller.access.management.AccessConstraintUtilizationRegistry;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.descriptions.DefaultResourceDescriptionProvider;
 import org.jboss.as.controller.descriptions.DescriptionProvider;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.registry.AttributeAccess.AccessType;
 import org.jboss.as.controller.registry.AttributeAccess.Storage;
 import org.jboss.as.version.Stability;
+import org.jboss.dmr.ModelNode;
 import org.wildfly.common.Assert;
 
 final class ConcreteResourceRegistration extends AbstractResourceRegistration {
@@ -77,6 +81,8 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
 
     private Map<String, RuntimePackageDependency> additionalPackages;
 
+    private volatile DescriptionCache descriptionCache;
+
     /** Constructor for a root MRR */
     ConcreteResourceRegistration(final ResourceDefinition definition,
                                  final AccessConstraintUtilizationRegistry constraintUtilizationRegistry,
@@ -440,6 +446,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
         writeLock.lock();
         try {
             attributes.remove(attributeName);
+            descriptionChanged();
         } finally {
             writeLock.unlock();
         }
@@ -529,6 +536,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
             }
             attributes.put(attributeName, aa);
             registerAttributeAccessConstraints(definition);
+            descriptionChanged();
         } finally {
             writeLock.unlock();
         }
@@ -705,6 +713,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
                 if (capabilityRegistry != null) {
                     capabilityRegistry.registerPossibleCapability(capability, getPathAddress());
                 }
+                descriptionChanged();
             } finally {
                 writeLock.unlock();
             }
@@ -736,6 +745,7 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
             } else {
                 this.requirements = requirements.stream().filter(this::enables).collect(Collectors.toUnmodifiableSet());
             }
+            descriptionChanged();
         } finally {
             writeLock.unlock();
         }
@@ -797,10 +807,42 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
             return subregistry.getModelDescription(iterator, next.getValue());
         } else {
             checkPermission();
-            return resourceDefinition.getDescriptionProvider(this);
+            final DescriptionProvider provider = resourceDefinition.getDescriptionProvider(this);
+            // The default provider describes this registration purely from its metadata, so what it returns
+            // can be reused until the registrations change. Other providers may not, so are always called.
+            if (provider.getClass() == DefaultResourceDescriptionProvider.class) {
+                return locale -> getCachedModelDescription(provider, locale);
+            }
+            return provider;
         }
     }
 
+    private ModelNode getCachedModelDescription(final DescriptionProvider provider, final Locale locale) {
+        if (locale == null) {
+            return provider.getModelDescription(null);
+        }
+        final long generation = getDescriptionGeneration();
+        DescriptionCache cache = descriptionCache;
+        if (cache == null || cache.generation != generation) {
+            cache = new DescriptionCache(generation);
+            descriptionCache = cache;
+        }
+        ModelNode description = cache.descriptions.get(locale);
+        if (description == null) {
+            description = provider.getModelDescription(locale);
+            description.protect();
+            // Don't keep a description which may have been built from registrations that changed while building it
+            if (getDescriptionGeneration() == generation) {
+                final ModelNode existing = cache.descriptions.putIfAbsent(locale, description);
+                if (existing != null) {
+                    description = existing;
+                }
+            }
+        }
+        // Callers add to the description they are given, so give them their own copy
+        return description.clone();
+    }
+
     @Override
     Set<String> getAttributeNames(final ListIterator<PathElement> iterator) {
         if (iterator.hasNext()) {
@@ -1042,4 +1084,17 @@ final class ConcreteResourceRegistration extends AbstractResourceRegistration {
     public Stability getStability() {
         return this.resourceDefinition.getStability();
     }
+
+    /**
+     * The descriptions of this registration, by locale, built while the registrations were at a given generation.
+     * The descriptions are protected, and so can be shared.
+     */
+    private static final class DescriptionCache {
+        private final long generation;
+        private final Map<Locale, ModelNode> descriptions = new ConcurrentHashMap<>();
+
+        private DescriptionCache(final long generation) {
+            this.generation = generation;
+        }
+    }
 }
@@ -108,6 +108,7 @@ final class NodeSubregistry {
             }
         } finally {
             newRegistry.initialized();
+            parent.descriptionChanged();
         }
 
         if (ordered) {
@@ -125,12 +126,14 @@ final class NodeSubregistry {
             throw ControllerLogger.ROOT_LOGGER.nodeAlreadyRegistered(getLocationString(elementValue));
         }
         //register(elementValue, newRegistry);
+        parent.descriptionChanged();
         return newRegistry;
     }
 
     void unregisterProxyController(final String elementValue) {
         checkPermission();
         childRegistriesUpdater.remove(this, elementValue);
+        parent.descriptionChanged();
     }
 
     public AliasResourceRegistration registerAlias(final String elementValue, AliasEntry aliasEntry, AbstractResourceRegistration target) {
@@ -139,12 +142,14 @@ final class NodeSubregistry {
         if (existingRegistry != null) {
             throw ControllerLogger.ROOT_LOGGER.nodeAlreadyRegistered(getLocationString(elementValue));
         }
+        parent.descriptionChanged();
         return newRegistry;
     }
 
     public void unregisterAlias(final String elementValue) {
         checkPermission();
         childRegistriesUpdater.remove(this, elementValue);
+        parent.descriptionChanged();
     }
 
 
@@ -160,6 +165,7 @@ final class NodeSubregistry {
             for (Capability c : rr.getCapabilities(EMPTY_ITERATOR)) {
                 capabilityRegistry.removePossibleCapability(c, pa);
             }
+            parent.descriptionChanged();
         }
     }
 
@@ -344,7 +344,7 @@ public interface Resource extends Cloneable {
                         continue;
                     }
                     model.get(childType).setEmptyObject();
-                    for (final ResourceEntry entry : resource.getChildren(childType)) {
+                    for (final ResourceEntry entry : getChildrenForRead(resource, childType)) {
                         if (filter.accepts(address.append(entry.getPathElement()), resource)) {
                             ImmutableManagementResourceRegistration childMrr =
                                     mrr == null ? null : mrr.getSubModel(address.append(entry.getPathElement()));
@@ -356,6 +356,17 @@ public interface Resource extends Cloneable {
             return model;
         }
 
+        private static Set<ResourceEntry> getChildrenForRead(final Resource resource, final String childType) {
+            final Resource target = resource instanceof AbstractModelResource.DelegateResource
+                    ? ((AbstractModelResource.DelegateResource) resource).delegate
+                    : resource;
+            if (target instanceof AbstractModelResource) {
+                // avoid copying children that are shared with a published model
+                return ((AbstractModelResource) target).getChildren(childType, false);
+            }
+            return resource.getChildren(childType);
+        }
+
         private static Set<String> getNonIgnoredChildTypes(ImmutableManagementResourceRegistration mrr) {
             Set<String> result = new HashSet<>();
             for (PathElement pe : mrr.getChildAddresses(PathAddress.EMPTY_ADDRESS)) {
@@ -386,6 +397,35 @@ public interface Resource extends Cloneable {
             return r;
         }
 
+        /**
+         * Creates a copy of a {@code resource} that the caller is going to modify, without affecting the original.
+         * <p>
+         * Unlike {@link Resource#clone()}, the default resource implementation is copied lazily: the children of the
+         * copy remain shared with the original until they are retrieved from the copy, at which point they are copied
+         * in turn. So the cost of a modification is proportional to the depth of the modified resource, not the size
+         * of the tree. Once the copy will no longer be modified, {@link #completeUpdate(Resource)} should be called so
+         * that readers can use the shared children without copying them.
+         * </p>
+         *
+         * @param resource the resource to copy. Cannot be {@code null}
+         * @return the copy. Will not be {@code null}
+         */
+        public static Resource copyForUpdate(final Resource resource) {
+            return BasicResource.copyForUpdate(resource, new BasicResource.UpdateScope());
+        }
+
+        /**
+         * Indicates that a copy created by {@link #copyForUpdate(Resource)} will no longer be modified, after which
+         * children it still shares with the original resource are no longer copied when they are retrieved.
+         *
+         * @param copy the copy. Cannot be {@code null}
+         */
+        public static void completeUpdate(final Resource copy) {
+            if (copy instanceof BasicResource) {
+                ((BasicResource) copy).completeUpdate();
+            }
+        }
+
     }
 
     /**
@@ -42,6 +42,7 @@ import org.jboss.as.controller.client.Operation;
 import org.jboss.as.controller.client.OperationMessageHandler;
 import org.jboss.as.controller.client.OperationResponse;
 import org.jboss.as.controller.client.impl.ModelControllerProtocol;
+import org.jboss.as.controller.client.impl.ModelNodeCompression;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.remote.IdentityAddressProtocolUtil.PropagatedIdentity;
 import org.jboss.as.protocol.StreamUtils;
@@ -697,7 +698,7 @@ public class TransactionalProtocolOperationHandler implements ManagementRequestH
                     // response type
                     output.writeByte(responseType);
                     // operation result
-                    response.writeExternal(output);
+                    ModelNodeCompression.write(output, response, header);
                     // response end
                     output.writeByte(ManagementProtocol.RESPONSE_END);
                     output.close();
@@ -0,0 +1,101 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.capability.registry.CapabilityScope;
+import org.jboss.as.controller.capability.registry.RegistrationPoint;
+import org.jboss.as.controller.capability.registry.RuntimeCapabilityRegistration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the cost of creating a shadow copy of the {@link CapabilityRegistry}, as is done for every write operation,
+ * and of publishing a shadow copy with a change, against the number of registered capabilities.
+ * <p/>
+ * This is not run as part of the test suite. Run it from the IDE, or via {@link #main(String[])} with the test
+ * classpath, e.g.
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.jboss.as.controller.CapabilityRegistryBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CapabilityRegistryBenchmark {
+
+    private static final String CAPABILITY_PREFIX = "org.wildfly.benchmark.capability.";
+
+    @Param({"100", "1000", "5000"})
+    public int capabilities;
+
+    private CapabilityRegistry registry;
+    private RuntimeCapabilityRegistration added;
+
+    @Setup
+    public void setup() {
+        registry = new CapabilityRegistry(true);
+        CapabilityRegistry shadow = registry.createShadowCopy();
+        for (int i = 0; i < capabilities; i++) {
+            // Each capability requires the one before it, giving the registry a requirement per capability
+            RuntimeCapability.Builder<Void> builder = RuntimeCapability.Builder.of(CAPABILITY_PREFIX + i);
+            if (i > 0) {
+                builder.addRequirements(CAPABILITY_PREFIX + (i - 1));
+            }
+            shadow.registerCapability(registration(builder.build(), i));
+        }
+        shadow.publish();
+        added = registration(RuntimeCapability.Builder.of(CAPABILITY_PREFIX + "added")
+                .addRequirements(CAPABILITY_PREFIX + 0).build(), capabilities);
+    }
+
+    private static RuntimeCapabilityRegistration registration(RuntimeCapability<?> capability, int index) {
+        RegistrationPoint point = new RegistrationPoint(PathAddress.pathAddress("subsystem", "benchmark-" + index), null);
+        return new RuntimeCapabilityRegistration(capability, CapabilityScope.GLOBAL, point);
+    }
+
+    @Benchmark
+    public CapabilityRegistry shadowCopy() {
+        return registry.createShadowCopy();
+    }
+
+    @Benchmark
+    public CapabilityRegistry shadowCopyAndPublish() {
+        // Add and then remove a capability, so the registry is the same size for each invocation
+        CapabilityRegistry shadow = registry.createShadowCopy();
+        shadow.registerCapability(added);
+        shadow.publish();
+        shadow = registry.createShadowCopy();
+        shadow.removeCapability(added.getCapabilityName(), CapabilityScope.GLOBAL, added.getOldestRegistrationPoint().getAddress());
+        shadow.publish();
+        return shadow;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(CapabilityRegistryBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -963,6 +963,50 @@ public class CapabilityRegistryTestCase extends AbstractControllerTestBase {
         Assert.assertTrue(result.contains("dyn"));
     }
 
+    @Test
+    public void testShadowCopyIsolation() {
+        CapabilityRegistry reg = new CapabilityRegistry(true);
+        RuntimeCapability<Void> multiple = RuntimeCapability.Builder.of("org.wildfly.test.multiple")
+                .setAllowMultipleRegistrations(true)
+                .addRequirements("org.wildfly.test.required")
+                .build();
+        RegistrationPoint rp1 = new RegistrationPoint(PathAddress.pathAddress("subsystem", "one"), null);
+        RegistrationPoint rp2 = new RegistrationPoint(PathAddress.pathAddress("subsystem", "two"), null);
+        CapabilityId id = new CapabilityId(multiple.getName(), CapabilityScope.GLOBAL);
+        CapabilityRegistry shadow = reg.createShadowCopy();
+        shadow.registerCapability(new RuntimeCapabilityRegistration(multiple, CapabilityScope.GLOBAL, rp1));
+        Assert.assertNull(reg.getCapability(id));
+        shadow.publish();
+        Assert.assertEquals(1, reg.getCapability(id).getRegistrationPointCount());
+
+        // Registrations shared with the published registry must not be modified by a shadow copy
+        shadow = reg.createShadowCopy();
+        shadow.registerCapability(new RuntimeCapabilityRegistration(multiple, CapabilityScope.GLOBAL, rp2));
+        Assert.assertEquals(2, shadow.getCapability(id).getRegistrationPointCount());
+        Assert.assertEquals(1, reg.getCapability(id).getRegistrationPointCount());
+        shadow.rollback();
+        Assert.assertEquals(1, shadow.getCapability(id).getRegistrationPointCount());
+
+        shadow = reg.createShadowCopy();
+        shadow.registerCapability(new RuntimeCapabilityRegistration(multiple, CapabilityScope.GLOBAL, rp2));
+        shadow.publish();
+        Assert.assertEquals(2, reg.getCapability(id).getRegistrationPointCount());
+
+        // Removing one of several registration points must be published
+        shadow = reg.createShadowCopy();
+        Assert.assertNull(shadow.removeCapability(multiple.getName(), CapabilityScope.GLOBAL, rp1.getAddress()));
+        Assert.assertEquals(2, reg.getCapability(id).getRegistrationPointCount());
+        shadow.publish();
+        Assert.assertEquals(1, reg.getCapability(id).getRegistrationPointCount());
+
+        shadow = reg.createShadowCopy();
+        Assert.assertNotNull(shadow.removeCapability(multiple.getName(), CapabilityScope.GLOBAL, rp2.getAddress()));
+        Assert.assertNull(shadow.getCapability(id));
+        Assert.assertNotNull(reg.getCapability(id));
+        shadow.publish();
+        Assert.assertNull(reg.getCapability(id));
+    }
+
     /**
      * Tests that a runtime operation can be done when there is a circular requirements between two capabilities
      * and the server is in restart-required state by an independent capability
@@ -5,6 +5,8 @@
 package org.jboss.as.controller;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.fail;
 
 import java.io.File;
@@ -427,6 +429,51 @@ public class ExpressionResolverUnitTestCase {
         }
     }
 
+    @Test
+    public void testNodesWithoutExpressions() throws OperationFailedException {
+        ModelNode node = new ModelNode();
+        node.get("int").set(1);
+        node.get("list").add("a").add("b");
+        node.get("map", "plain").set("a");
+        ModelNode copy = ExpressionResolver.TEST_RESOLVER.resolveExpressions(node);
+        assertEquals(node, copy);
+        assertNotSame(node, copy);
+        // The result is the caller's to modify
+        copy.get("map", "added");
+        assertFalse(node.get("map").has("added"));
+
+        System.setProperty("test.prop.copy", "B");
+        try {
+            node.get("map", "expr").set(new ValueExpression("${test.prop.copy}"));
+            ModelNode resolved = ExpressionResolver.TEST_RESOLVER.resolveExpressions(node);
+            assertNotSame(node, resolved);
+            assertEquals(ModelType.EXPRESSION, node.get("map", "expr").getType());
+            assertEquals("B", resolved.get("map", "expr").asString());
+            assertEquals(node.get("list"), resolved.get("list"));
+            assertEquals(node.keys(), resolved.keys());
+        } finally {
+            System.clearProperty("test.prop.copy");
+        }
+    }
+
+    @Test
+    public void testRepeatedResolutionFollowsSystemProperties() throws OperationFailedException {
+        ModelNode expression = expression("a-${test.prop.changing,test.prop.other:default}");
+        assertEquals("a-default", ExpressionResolver.TEST_RESOLVER.resolveExpressions(expression).asString());
+        try {
+            System.setProperty("test.prop.other", "OTHER");
+            assertEquals("a-OTHER", ExpressionResolver.TEST_RESOLVER.resolveExpressions(expression).asString());
+            System.setProperty("test.prop.changing", "ONE");
+            assertEquals("a-ONE", ExpressionResolver.TEST_RESOLVER.resolveExpressions(expression).asString());
+            System.setProperty("test.prop.changing", "TWO");
+            assertEquals("a-TWO", ExpressionResolver.TEST_RESOLVER.resolveExpressions(expression).asString());
+        } finally {
+            System.clearProperty("test.prop.changing");
+            System.clearProperty("test.prop.other");
+        }
+        assertEquals("a-default", ExpressionResolver.TEST_RESOLVER.resolveExpressions(expression).asString());
+    }
+
     private ModelNode expression(String str) {
         return new ModelNode(new ValueExpression(str));
     }
@@ -0,0 +1,124 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.test.AbstractControllerTestBase;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the throughput of {@code read-attribute} operations executed by a {@link ModelController}, on their own
+ * and while another thread executes {@code write-attribute} operations against the same resource.
+ * <p/>
+ * Read-only operations read the published model without acquiring the controller lock, so the difference between
+ * the two groups is the cost of sharing the controller with a writer, rather than of waiting for it.
+ * <p/>
+ * This is not run as part of the test suite. Run it from the IDE, or via {@link #main(String[])} with the test
+ * classpath, e.g.
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.jboss.as.controller.ModelControllerReadBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelControllerReadBenchmark {
+
+    private static final int READERS = 7;
+
+    private static final SimpleAttributeDefinition ATTRIBUTE = new SimpleAttributeDefinitionBuilder(VALUE, ModelType.LONG)
+            .setRequired(false)
+            .build();
+
+    private final Controller controller = new Controller();
+
+    @Setup
+    public void setup() throws InterruptedException {
+        controller.setupController();
+    }
+
+    @TearDown
+    public void tearDown() {
+        controller.shutdownServiceContainer();
+    }
+
+    @State(Scope.Thread)
+    public static class Operations {
+        final ModelNode read = Util.getReadAttributeOperation(PathAddress.EMPTY_ADDRESS, VALUE);
+        final ModelNode write = Util.getWriteAttributeOperation(PathAddress.EMPTY_ADDRESS, VALUE, 0);
+        long value;
+    }
+
+    @Benchmark
+    @Group("read")
+    @GroupThreads(READERS)
+    public ModelNode read(Operations operations) {
+        return controller.getController().execute(operations.read, null, null, null);
+    }
+
+    @Benchmark
+    @Group("readWithWrites")
+    @GroupThreads(READERS)
+    public ModelNode readWhileWriting(Operations operations) {
+        return controller.getController().execute(operations.read, null, null, null);
+    }
+
+    @Benchmark
+    @Group("readWithWrites")
+    @GroupThreads(1)
+    public ModelNode write(Operations operations) {
+        operations.write.get(VALUE).set(++operations.value);
+        return controller.getController().execute(operations.write, null, null, null);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ModelControllerReadBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    /**
+     * A controller whose root resource has a single read-write attribute.
+     */
+    private static class Controller extends AbstractControllerTestBase {
+
+        @Override
+        protected void initModel(ManagementModel managementModel) {
+            ManagementResourceRegistration registration = managementModel.getRootResourceRegistration();
+            GlobalOperationHandlers.registerGlobalOperations(registration, processType);
+            registration.registerReadWriteAttribute(ATTRIBUTE, null, ModelOnlyWriteAttributeHandler.INSTANCE);
+            managementModel.getRootResource().getModel().get(ATTRIBUTE.getName()).set(0L);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of {@link PersistentHashMap}.
+ */
+public class PersistentHashMapTestCase {
+
+    @Test
+    public void testBasicOperations() {
+        PersistentHashMap<String, String> empty = PersistentHashMap.empty();
+        PersistentHashMap<String, String> one = empty.plus("a", "1");
+        PersistentHashMap<String, String> two = one.plus("b", "2");
+
+        Assert.assertTrue(empty.isEmpty());
+        Assert.assertEquals(1, one.size());
+        Assert.assertEquals(2, two.size());
+        Assert.assertEquals("1", two.get("a"));
+        Assert.assertEquals("2", two.get("b"));
+        Assert.assertNull(one.get("b"));
+        Assert.assertSame(two, two.plus("a", two.get("a")));
+        Assert.assertSame(two, two.minus("c"));
+
+        PersistentHashMap<String, String> replaced = two.plus("a", "3");
+        Assert.assertEquals(2, replaced.size());
+        Assert.assertEquals("3", replaced.get("a"));
+        Assert.assertEquals("1", two.get("a"));
+
+        Assert.assertEquals(one, two.minus("b"));
+        Assert.assertTrue(two.minus("a").minus("b").isEmpty());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testReadOnlyView() {
+        PersistentHashMap.<String, String>empty().plus("a", "1").put("b", "2");
+    }
+
+    @Test
+    public void testCollisions() {
+        PersistentHashMap<Key, Integer> map = PersistentHashMap.empty();
+        Map<Key, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            // Only 4 distinct hashes
+            Key key = new Key(i & 3, i);
+            map = map.plus(key, i);
+            expected.put(key, i);
+        }
+        Assert.assertEquals(expected, map);
+        for (int i = 0; i < 100; i += 2) {
+            Key key = new Key(i & 3, i);
+            map = map.minus(key);
+            expected.remove(key);
+        }
+        Assert.assertEquals(expected, map);
+    }
+
+    /**
+     * Applies the same random updates to a {@link HashMap} and checks the persistent map, and each earlier version of
+     * it, still matches.
+     */
+    @Test
+    public void testRandomUpdates() {
+        Random random = new Random(42);
+        PersistentHashMap<Key, Integer> map = PersistentHashMap.empty();
+        Map<Key, Integer> expected = new HashMap<>();
+        List<PersistentHashMap<Key, Integer>> versions = new ArrayList<>();
+        List<Map<Key, Integer>> expectedVersions = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            int id = random.nextInt(5000);
+            // Spread the hashes over the full range, with some collisions
+            Key key = new Key(id * 0x9E3779B9 >>> (id % 7 == 0 ? 8 : 0), id);
+            if (random.nextInt(3) == 0) {
+                map = map.minus(key);
+                expected.remove(key);
+            } else {
+                map = map.plus(key, i);
+                expected.put(key, i);
+            }
+            if (i % 1000 == 0) {
+                versions.add(map);
+                expectedVersions.add(new HashMap<>(expected));
+            }
+        }
+        versions.add(map);
+        expectedVersions.add(expected);
+        for (int i = 0; i < versions.size(); i++) {
+            Assert.assertEquals(expectedVersions.get(i).size(), versions.get(i).size());
+            Assert.assertEquals(expectedVersions.get(i), versions.get(i));
+            Assert.assertEquals(versions.get(i), expectedVersions.get(i));
+        }
+    }
+
+    private static final class Key {
+        private final int hash;
+        private final int id;
+
+        private Key(int hash, int id) {
+            this.hash = hash;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && ((Key) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
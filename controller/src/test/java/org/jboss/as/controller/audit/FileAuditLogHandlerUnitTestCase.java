@@ -7,10 +7,18 @@ package org.jboss.as.controller.audit;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import org.jboss.as.controller.services.path.PathManagerService;
 import org.junit.After;
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Test;
 
 /**
@@ -47,6 +55,105 @@ public class FileAuditLogHandlerUnitTestCase {
         Assert.assertEquals("Log file was rotated but shouldn't have been", 1, confDir.list().length);
     }
 
+    @Test
+    public void testGroupCommit() throws Exception {
+        System.setProperty(AbstractFileAuditLogHandler.GROUP_COMMIT_WINDOW_PROPERTY, "50");
+        System.setProperty(AbstractFileAuditLogHandler.GROUP_COMMIT_WAIT_PROPERTY, "true");
+        FileAuditLogHandler auditLogHandler;
+        try {
+            auditLogHandler = new FileAuditLogHandler("name", "formatter", 0, pathManager, logFile.getPath(), null, false);
+        } finally {
+            System.clearProperty(AbstractFileAuditLogHandler.GROUP_COMMIT_WINDOW_PROPERTY);
+            System.clearProperty(AbstractFileAuditLogHandler.GROUP_COMMIT_WAIT_PROPERTY);
+        }
+        auditLogHandler.initialize();
+        auditLogHandler.writeLogItem("one");
+        auditLogHandler.writeLogItem("two");
+        auditLogHandler.stop();
+
+        Assert.assertEquals(Arrays.asList("one", "two"), Files.readAllLines(logFile.toPath(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testGroupCommitWriter() throws Exception {
+        Assert.assertTrue("Couldn't create initial log file", logFile.createNewFile());
+        GroupCommitFileWriter writer = new GroupCommitFileWriter("name", logFile, 100);
+        try {
+            // The first item is written right away, the others within the window after it are grouped
+            CompletableFuture<Void> first = writer.write(line("1"));
+            first.get(10, TimeUnit.SECONDS);
+            CompletableFuture<Void> second = writer.write(line("2"));
+            CompletableFuture<Void> third = writer.write(line("3"));
+            third.get(10, TimeUnit.SECONDS);
+            Assert.assertTrue(second.isDone());
+            List<String> lines = Files.readAllLines(logFile.toPath(), StandardCharsets.UTF_8);
+            Assert.assertEquals(Arrays.asList("1", "2", "3"), lines);
+
+            // Closing writes anything still queued
+            writer.write(line("4"));
+        } finally {
+            writer.close();
+        }
+        Assert.assertEquals(Arrays.asList("1", "2", "3", "4"), Files.readAllLines(logFile.toPath(), StandardCharsets.UTF_8));
+        try {
+            writer.write(line("5"));
+            Assert.fail("Should not accept items once closed");
+        } catch (IOException expected) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testGroupCommitWriterFailure() throws Exception {
+        // Writes to /dev/full fail with no space left on the device
+        File full = new File("/dev/full");
+        Assume.assumeTrue(full.canWrite());
+        GroupCommitFileWriter writer = new GroupCommitFileWriter("name", full, 0);
+        try {
+            CompletableFuture<Void> first = writer.write(line("1"));
+            Throwable cause = null;
+            try {
+                first.get(10, TimeUnit.SECONDS);
+                Assert.fail("Writing to a full device should fail");
+            } catch (ExecutionException expected) {
+                cause = expected.getCause();
+            }
+            // The failure is kept for callers which do not wait, but does not stop later items being queued
+            Assert.assertSame(cause, writer.takeFailure());
+            Assert.assertNull(writer.takeFailure());
+            Assert.assertNotNull(writer.write(line("2")));
+        } finally {
+            writer.close();
+        }
+    }
+
+    @Test
+    public void testGroupCommitSizeRotation() throws Exception {
+        System.setProperty(AbstractFileAuditLogHandler.GROUP_COMMIT_WINDOW_PROPERTY, "10000");
+        SizeRotatingFileAuditLogHandler auditLogHandler;
+        try {
+            auditLogHandler = new SizeRotatingFileAuditLogHandler("name", "formatter", 0, pathManager, logFile.getPath(), null, 10, 1);
+        } finally {
+            System.clearProperty(AbstractFileAuditLogHandler.GROUP_COMMIT_WINDOW_PROPERTY);
+        }
+        auditLogHandler.initialize();
+        auditLogHandler.writeLogItem("0123456789");
+        // Queued until the end of the window
+        auditLogHandler.writeLogItem("abcdefghij");
+        // The queued item is written before the size is checked, so it goes to the backup rather than the new file
+        auditLogHandler.initialize();
+        auditLogHandler.writeLogItem("next");
+        auditLogHandler.stop();
+
+        Assert.assertEquals(Arrays.asList("0123456789", "abcdefghij"),
+                Files.readAllLines(new File(confDir, logFile.getName() + ".1").toPath(), StandardCharsets.UTF_8));
+        Assert.assertEquals(Arrays.asList("next"), Files.readAllLines(logFile.toPath(), StandardCharsets.UTF_8));
+    }
+
+    private static byte[] line(String content) {
+        return (content + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+    }
+
     private void initializeHandler(boolean rotateAtStartup) {
         FileAuditLogHandler auditLogHandler =
                 new FileAuditLogHandler("name", "formatter", 0, pathManager, logFile.getPath(), null, rotateAtStartup);
@@ -0,0 +1,140 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.controller.persistence;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.modules.ModuleFinder;
+import org.jboss.modules.ModuleLoader;
+import org.jboss.staxmapper.XMLElementReader;
+import org.jboss.staxmapper.XMLExtendedStreamReader;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that the operations parsed from a configuration file are reused while the file is unchanged.
+ */
+public class BootOperationCacheTestCase {
+
+    private static final String NAMESPACE = "urn:test:boot-operation-cache:1.0";
+
+    private File dir;
+    private File configFile;
+    private File cacheFile;
+    private final ModuleLoader moduleLoader = new ModuleLoader(new ModuleFinder[0]);
+
+    @Before
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("boot-operation-cache").toFile();
+        configFile = new File(dir, "standalone.xml");
+        cacheFile = new File(new File(dir, "data"), "boot-operations.dmr");
+        writeConfig("one");
+    }
+
+    @After
+    public void cleanup() {
+        delete(dir);
+    }
+
+    @Test
+    public void testCachedOperationsUsed() throws Exception {
+        CountingParser parser = new CountingParser();
+        XmlConfigurationPersister persister = createPersister(parser, "1.0");
+
+        List<ModelNode> parsed = persister.load();
+        assertEquals(1, parser.count);
+        assertEquals(1, parsed.size());
+        assertEquals("one", parsed.get(0).get("value").asString());
+
+        // The same configuration is not parsed again, even by a new persister
+        persister = createPersister(parser, "1.0");
+        assertEquals(parsed, persister.load());
+        assertEquals(1, parser.count);
+
+        // A changed configuration is parsed
+        writeConfig("two");
+        assertEquals("two", persister.load().get(0).get("value").asString());
+        assertEquals(2, parser.count);
+        assertEquals("two", persister.load().get(0).get("value").asString());
+        assertEquals(2, parser.count);
+
+        // As is the same configuration for a different process
+        persister = createPersister(parser, "2.0");
+        persister.load();
+        assertEquals(3, parser.count);
+    }
+
+    @Test
+    public void testUnreadableCacheIgnored() throws Exception {
+        BootOperationCache cache = new BootOperationCache(cacheFile, moduleLoader, "1.0");
+        assertNull(cache.load(configFile));
+
+        List<ModelNode> operations = new ArrayList<>();
+        ModelNode op = new ModelNode();
+        op.get(OP).set(ADD);
+        op.get(OP_ADDR).add("subsystem", "test");
+        operations.add(op);
+        cache.store(configFile, operations);
+        assertNotNull(cache.load(configFile));
+        assertEquals(operations, cache.load(configFile));
+
+        Files.write(cacheFile.toPath(), Arrays.copyOf(Files.readAllBytes(cacheFile.toPath()), 20));
+        assertNull(cache.load(configFile));
+    }
+
+    private XmlConfigurationPersister createPersister(XMLElementReader<List<ModelNode>> parser, String processDescription) {
+        XmlConfigurationPersister persister = new XmlConfigurationPersister(configFile, new QName(NAMESPACE, "root"), parser, null);
+        persister.setBootOperationCache(new BootOperationCache(cacheFile, moduleLoader, processDescription));
+        return persister;
+    }
+
+    private void writeConfig(String value) throws IOException {
+        String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<root xmlns=\"" + NAMESPACE + "\" value=\"" + value + "\"/>\n";
+        Files.write(configFile.toPath(), xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    private static class CountingParser implements XMLElementReader<List<ModelNode>> {
+        private int count;
+
+        @Override
+        public void readElement(XMLExtendedStreamReader reader, List<ModelNode> operations) throws XMLStreamException {
+            count++;
+            ModelNode op = new ModelNode();
+            op.get(OP).set(ADD);
+            op.get(OP_ADDR).setEmptyList();
+            op.get("value").set(reader.getAttributeValue(null, "value"));
+            operations.add(op);
+            reader.nextTag();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.controller.persistence;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLStreamException;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.dmr.ModelNode;
+import org.jboss.staxmapper.XMLElementWriter;
+import org.jboss.staxmapper.XMLExtendedStreamWriter;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that only the subsystems affected by a change are marshalled when storing the configuration.
+ */
+public class SubsystemXmlFragmentCacheTestCase {
+
+    private final CountingSubsystemWriter a = new CountingSubsystemWriter("urn:test:a:1.0");
+    private final CountingSubsystemWriter b = new CountingSubsystemWriter("urn:test:b:1.0");
+    private final Persister persister = new Persister();
+    private final ModelNode model = new ModelNode();
+
+    @Before
+    public void setup() {
+        persister.registerSubsystemWriter("a", () -> a);
+        persister.registerSubsystemWriter("b", () -> b);
+        model.get(SUBSYSTEM, "a", "value").set("a1");
+        model.get(SUBSYSTEM, "b", "value").set("b1");
+    }
+
+    @Test
+    public void testOnlyAffectedSubsystemsMarshalled() throws Exception {
+        // Nothing cached yet, so everything is marshalled
+        assertEquals(marshall(), store(Collections.emptySet(), true));
+        assertCounts(2, 2);
+
+        model.get(SUBSYSTEM, "a", "value").set("a2");
+        assertEquals(marshall(), store(Collections.singleton(PathAddress.pathAddress(SUBSYSTEM, "a")), true));
+        // The full marshalling in the assertion accounts for one call of each
+        assertCounts(2, 1);
+
+        // A change below the subsystem resource affects the subsystem
+        model.get(SUBSYSTEM, "b", "value").set("b2");
+        PathAddress child = PathAddress.pathAddress(PathElement.pathElement(SUBSYSTEM, "b"), PathElement.pathElement("child", "c"));
+        assertEquals(marshall(), store(Collections.singleton(child), true));
+        assertCounts(1, 2);
+
+        // A change to a sibling of the subsystems affects none of them
+        assertEquals(marshall(), store(Collections.singleton(PathAddress.pathAddress("system-property", "x")), true));
+        assertCounts(1, 1);
+
+        // A change to the root may affect all of them
+        assertEquals(marshall(), store(Collections.singleton(PathAddress.EMPTY_ADDRESS), true));
+        assertCounts(2, 2);
+    }
+
+    @Test
+    public void testRollback() throws Exception {
+        store(Collections.emptySet(), true);
+
+        String original = marshall();
+        model.get(SUBSYSTEM, "a", "value").set("a2");
+        store(Collections.singleton(PathAddress.pathAddress(SUBSYSTEM, "a")), false);
+
+        // The cached fragment must still be that of the original model
+        model.get(SUBSYSTEM, "a", "value").set("a1");
+        assertEquals(original, store(Collections.emptySet(), true));
+    }
+
+    @Test
+    public void testRemovedSubsystem() throws Exception {
+        store(Collections.emptySet(), true);
+
+        model.get(SUBSYSTEM).remove("a");
+        assertEquals(marshall(), store(Collections.singleton(PathAddress.pathAddress(SUBSYSTEM, "a")), true));
+
+        // Adding it back without it being reported as affected must not reuse the stale fragment
+        model.get(SUBSYSTEM, "a", "value").set("a3");
+        assertEquals(marshall(), store(Collections.emptySet(), true));
+    }
+
+    @Test
+    public void testWriterReplaced() throws Exception {
+        store(Collections.emptySet(), true);
+
+        CountingSubsystemWriter replacement = new CountingSubsystemWriter("urn:test:a:2.0");
+        persister.unregisterSubsystemWriter("a");
+        persister.registerSubsystemWriter("a", () -> replacement);
+        assertEquals(marshall(), store(Collections.emptySet(), true));
+        assertEquals(2, replacement.count);
+    }
+
+    private void assertCounts(int expectedA, int expectedB) {
+        assertEquals(expectedA, a.count);
+        assertEquals(expectedB, b.count);
+        a.count = 0;
+        b.count = 0;
+    }
+
+    private String store(Set<PathAddress> affectedAddresses, boolean commit) throws ConfigurationPersistenceException {
+        SubsystemXmlFragmentCache.Update update = persister.updateSubsystemFragments(affectedAddresses);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        persister.marshallAsXml(model, output, update);
+        if (commit) {
+            update.commit();
+        }
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private String marshall() throws ConfigurationPersistenceException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        persister.marshallAsXml(model, output);
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static class CountingSubsystemWriter implements XMLElementWriter<SubsystemMarshallingContext> {
+
+        private final String namespace;
+        private int count;
+
+        CountingSubsystemWriter(String namespace) {
+            this.namespace = namespace;
+        }
+
+        @Override
+        public void writeContent(XMLExtendedStreamWriter writer, SubsystemMarshallingContext context) throws XMLStreamException {
+            count++;
+            context.startSubsystemElement(namespace, false);
+            writer.writeStartElement("value");
+            char[] value = context.getModelNode().get("value").asString().toCharArray();
+            writer.writeCharacters(value, 0, value.length);
+            writer.writeEndElement();
+            writer.writeEndElement();
+        }
+    }
+
+    private static class Persister extends AbstractConfigurationPersister {
+
+        Persister() {
+            super((writer, context) -> {
+                writer.writeStartDocument();
+                writer.writeStartElement("server");
+                ModelNode model = context.getModelNode();
+                for (String name : model.get(SUBSYSTEM).keys()) {
+                    XMLElementWriter<SubsystemMarshallingContext> subsystemWriter = context.getSubsystemWriter(name);
+                    String defaultNamespace = writer.getNamespaceContext().getNamespaceURI(XMLConstants.DEFAULT_NS_PREFIX);
+                    try {
+                        subsystemWriter.writeContent(writer, new SubsystemMarshallingContext(model.get(SUBSYSTEM, name), writer));
+                    } finally {
+                        writer.setDefaultNamespace(defaultNamespace);
+                    }
+                }
+                writer.writeEndElement();
+                writer.writeEndDocument();
+            });
+        }
+
+        @Override
+        public PersistenceResource store(ModelNode model, Set<PathAddress> affectedAddresses) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<ModelNode> load() {
+            return Collections.emptyList();
+        }
+    }
+}
@@ -6,6 +6,7 @@
 package org.jboss.as.controller.registry;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
@@ -15,6 +16,8 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verifyNoInteractions;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.ResourceBundle;
 import java.util.Set;
 
 import org.jboss.as.controller.AttributeDefinition;
@@ -34,6 +37,7 @@ import org.jboss.as.controller.SimpleResourceDefinition.Parameters;
 import org.jboss.as.controller.access.management.AccessConstraintDefinition;
 import org.jboss.as.controller.access.management.ApplicationTypeAccessConstraintDefinition;
 import org.jboss.as.controller.access.management.SensitiveTargetAccessConstraintDefinition;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
 import org.jboss.as.controller.registry.AliasEntry.AliasContext;
 import org.jboss.as.version.Stability;
@@ -399,6 +403,43 @@ public class CoreManagementResourceRegistrationUnitTestCase {
         assertSame(stableReplyParameter, registeredOperation.getReplyParameters()[0]);
     }
 
+    @Test
+    public void testModelDescriptionCached() {
+        CountingResourceDescriptionResolver resolver = new CountingResourceDescriptionResolver();
+        ManagementResourceRegistration child = rootRegistration.registerSubModel(new SimpleResourceDefinition(childElement, resolver));
+        child.registerReadOnlyAttribute(new SimpleAttributeDefinitionBuilder("one", ModelType.STRING).build(), null);
+
+        ModelNode description = rootRegistration.getModelDescription(childAddress).getModelDescription(Locale.ENGLISH);
+        assertEquals(1, resolver.count);
+        assertTrue(description.get(ModelDescriptionConstants.ATTRIBUTES).has("one"));
+
+        // Callers get their own copy of the cached description
+        description.get(ModelDescriptionConstants.ATTRIBUTES).remove("one");
+        ModelNode cached = rootRegistration.getModelDescription(childAddress).getModelDescription(Locale.ENGLISH);
+        assertEquals(1, resolver.count);
+        assertTrue(cached.get(ModelDescriptionConstants.ATTRIBUTES).has("one"));
+
+        // Each locale is described separately
+        rootRegistration.getModelDescription(childAddress).getModelDescription(Locale.FRENCH);
+        assertEquals(2, resolver.count);
+
+        // Changes to the registration invalidate the description
+        child.registerReadOnlyAttribute(new SimpleAttributeDefinitionBuilder("two", ModelType.STRING).build(), null);
+        description = rootRegistration.getModelDescription(childAddress).getModelDescription(Locale.ENGLISH);
+        assertEquals(3, resolver.count);
+        assertTrue(description.get(ModelDescriptionConstants.ATTRIBUTES).has("two"));
+
+        child.registerSubModel(new SimpleResourceDefinition(grandchildElement, NonResolvingResourceDescriptionResolver.INSTANCE));
+        description = rootRegistration.getModelDescription(childAddress).getModelDescription(Locale.ENGLISH);
+        assertEquals(4, resolver.count);
+        assertTrue(description.get(ModelDescriptionConstants.CHILDREN).has(grandchildElement.getKey()));
+
+        child.unregisterSubModel(grandchildElement);
+        description = rootRegistration.getModelDescription(childAddress).getModelDescription(Locale.ENGLISH);
+        assertEquals(5, resolver.count);
+        assertFalse(description.get(ModelDescriptionConstants.CHILDREN).has(grandchildElement.getKey()));
+    }
+
     private static class TestHandler implements OperationStepHandler {
 
         private static final TestHandler INSTANCE = new TestHandler();
@@ -415,6 +456,20 @@ public class CoreManagementResourceRegistrationUnitTestCase {
         }
     }
 
+    private static class CountingResourceDescriptionResolver extends NonResolvingResourceDescriptionResolver {
+        private int count;
+
+        @SuppressWarnings("deprecation")
+        CountingResourceDescriptionResolver() {
+        }
+
+        @Override
+        public String getResourceDescription(Locale locale, ResourceBundle bundle) {
+            count++;
+            return super.getResourceDescription(locale, bundle);
+        }
+    }
+
     static OperationDefinition getOpDef(String name, OperationEntry.Flag... flags) {
         return new SimpleOperationDefinitionBuilder(name, NonResolvingResourceDescriptionResolver.INSTANCE)
                 .withFlags(flags)
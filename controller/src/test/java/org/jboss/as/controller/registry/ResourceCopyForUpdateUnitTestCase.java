@@ -0,0 +1,105 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.registry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+/**
+ * Tests of {@link Resource.Tools#copyForUpdate(Resource)}.
+ */
+public class ResourceCopyForUpdateUnitTestCase {
+
+    private static final PathElement SUBSYSTEM_A = PathElement.pathElement("subsystem", "a");
+    private static final PathElement SUBSYSTEM_B = PathElement.pathElement("subsystem", "b");
+    private static final PathElement CHILD = PathElement.pathElement("child", "one");
+
+    @Test
+    public void testModificationDoesNotAffectOriginal() {
+        Resource original = createTree();
+        Resource copy = Resource.Tools.copyForUpdate(original);
+
+        copy.requireChild(SUBSYSTEM_A).requireChild(CHILD).getModel().get("attr").set("changed");
+        copy.requireChild(SUBSYSTEM_A).registerChild(PathElement.pathElement("child", "two"), Resource.Factory.create());
+        copy.removeChild(SUBSYSTEM_B);
+
+        assertEquals("a-child", original.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)).getModel().get("attr").asString());
+        assertEquals(1, original.requireChild(SUBSYSTEM_A).getChildrenNames("child").size());
+        assertTrue(original.hasChild(SUBSYSTEM_B));
+
+        assertEquals("changed", copy.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)).getModel().get("attr").asString());
+        assertEquals(2, copy.requireChild(SUBSYSTEM_A).getChildrenNames("child").size());
+        assertFalse(copy.hasChild(SUBSYSTEM_B));
+    }
+
+    @Test
+    public void testOnlyAccessedPathIsCopied() {
+        Resource original = createTree();
+        Resource copy = Resource.Tools.copyForUpdate(original);
+
+        Resource a = copy.requireChild(SUBSYSTEM_A);
+        assertNotSame(original.requireChild(SUBSYSTEM_A), a);
+        // once copied, the same copy is returned
+        assertSame(a, copy.requireChild(SUBSYSTEM_A));
+
+        // once the update is complete, untouched children are no longer copied on access
+        Resource.Tools.completeUpdate(copy);
+        assertSame(original.requireChild(SUBSYSTEM_B), copy.requireChild(SUBSYSTEM_B));
+    }
+
+    @Test
+    public void testReadModel() {
+        Resource original = createTree();
+        Resource copy = Resource.Tools.copyForUpdate(original);
+        copy.requireChild(SUBSYSTEM_B).getModel().get("attr").set("changed");
+
+        ModelNode expected = Resource.Tools.readModel(original);
+        expected.get("subsystem", "b", "attr").set("changed");
+        assertEquals(expected, Resource.Tools.readModel(copy));
+    }
+
+    @Test
+    public void testRemovedChildIsCopied() {
+        Resource original = createTree();
+        Resource copy = Resource.Tools.copyForUpdate(original);
+
+        Resource removed = copy.removeChild(SUBSYSTEM_A);
+        removed.getModel().get("attr").set("changed");
+        assertEquals("a", original.requireChild(SUBSYSTEM_A).getModel().get("attr").asString());
+    }
+
+    @Test
+    public void testCloneOfCopyIsIndependent() {
+        Resource original = createTree();
+        Resource copy = Resource.Tools.copyForUpdate(original);
+        Resource clone = copy.clone();
+        clone.requireChild(SUBSYSTEM_A).requireChild(CHILD).getModel().get("attr").set("changed");
+        assertEquals("a-child", copy.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)).getModel().get("attr").asString());
+        assertEquals("a-child", original.navigate(PathAddress.pathAddress(SUBSYSTEM_A, CHILD)).getModel().get("attr").asString());
+    }
+
+    private static Resource createTree() {
+        Resource root = Resource.Factory.create();
+        Resource a = Resource.Factory.create();
+        a.getModel().get("attr").set("a");
+        Resource child = Resource.Factory.create();
+        child.getModel().get("attr").set("a-child");
+        a.registerChild(CHILD, child);
+        Resource b = Resource.Factory.create();
+        b.getModel().get("attr").set("b");
+        root.registerChild(SUBSYSTEM_A, a);
+        root.registerChild(SUBSYSTEM_B, b);
+        return root;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.controller.remote;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.jboss.as.controller.client.impl.ModelNodeCompression;
+import org.jboss.as.protocol.mgmt.ManagementProtocolHeader;
+import org.jboss.as.protocol.mgmt.ManagementResponseHeader;
+import org.jboss.dmr.ModelNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the round trip time of sending a large {@code read-resource} result as a response with protocol version
+ * 2, which is never compressed, and with version 3, which is compressed above the threshold. The time to transfer
+ * the bytes written over a link of the given bandwidth is simulated by parking; a bandwidth of 0 measures only the
+ * cost of writing and reading the result.
+ * <p/>
+ * This is not run as part of the test suite. Run it from the IDE, or via {@link #main(String[])} with the test
+ * classpath, e.g.
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.jboss.as.controller.remote.ModelNodeCompressionBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelNodeCompressionBenchmark {
+
+    @Param({"2", "3"})
+    private int version;
+
+    /** Simulated link bandwidth in megabits per second, or 0 for none */
+    @Param({"0", "10", "100"})
+    private int bandwidth;
+
+    @Param({"5000"})
+    private int resources;
+
+    private ModelNode result;
+    private ManagementProtocolHeader header;
+
+    @Setup
+    public void setup() throws IOException {
+        header = new ManagementResponseHeader(version, 1, null);
+        result = new ModelNode();
+        result.get("outcome").set("success");
+        final ModelNode deployments = result.get("result", "deployment");
+        for (int i = 0; i < resources; i++) {
+            final ModelNode deployment = deployments.get("deployment-" + i + ".war");
+            deployment.get("name").set("deployment-" + i + ".war");
+            deployment.get("runtime-name").set("deployment-" + i + ".war");
+            deployment.get("enabled").set(true);
+            deployment.get("status").set("OK");
+            deployment.get("enabled-time").set(1700000000000L + i);
+            deployment.get("content").add().get("hash").set(new byte[20]);
+            deployment.get("subsystem", "undertow", "context-root").set("/deployment-" + i);
+            deployment.get("subsystem", "undertow", "active-sessions").set(i % 17);
+        }
+        System.out.printf("%nResult of %d resources: %d bytes with protocol version %d%n", resources, write().size(), version);
+    }
+
+    @Benchmark
+    public ModelNode roundTrip() throws IOException {
+        final ByteArrayOutputStream bytes = write();
+        if (bandwidth > 0) {
+            // bits / (megabits per second) = microseconds
+            LockSupport.parkNanos(bytes.size() * 8L * 1000L / bandwidth);
+        }
+        final ModelNode read = new ModelNode();
+        ModelNodeCompression.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), read, header);
+        return read;
+    }
+
+    private ByteArrayOutputStream write() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        ModelNodeCompression.write(out, result, header);
+        out.flush();
+        return bytes;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        final Options options = new OptionsBuilder()
+                .include(ModelNodeCompressionBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
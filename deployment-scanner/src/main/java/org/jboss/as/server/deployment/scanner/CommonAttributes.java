@@ -10,6 +10,7 @@ package org.jboss.as.server.deployment.scanner;
  */
 interface CommonAttributes {
 
+    String ARCHIVE_CHECK_THREADS = "archive-check-threads";
     String AUTO_DEPLOY_ZIPPED = "auto-deploy-zipped";
     String AUTO_DEPLOY_EXPLODED = "auto-deploy-exploded";
     String AUTO_DEPLOY_XML = "auto-deploy-xml";
@@ -22,5 +23,7 @@ interface CommonAttributes {
     String SCAN_ENABLED = "scan-enabled";
     String SCAN_INTERVAL = "scan-interval";
     String RUNTIME_FAILURE_CAUSES_ROLLBACK = "runtime-failure-causes-rollback";
+    String STAT_CALLS_AVOIDED = "stat-calls-avoided";
+    String WATCH = "watch";
 
 }
@@ -0,0 +1,262 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.deployment.scanner;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static org.jboss.as.server.deployment.scanner.logging.DeploymentScannerLogger.ROOT_LOGGER;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches a deployment directory and all the directories below it for changes. This lets the
+ * {@link FileSystemDeploymentService} scan as soon as content changes, and reuse the timestamps of exploded
+ * deployments in which nothing has changed rather than walk their content on every scan.
+ * <p>
+ * Changes are reported once no further change has been seen for {@link #QUIET_PERIOD} milliseconds, so copying
+ * content into the directory results in a single scan rather than one per file.
+ */
+final class DeploymentDirectoryWatcher implements Closeable {
+
+    /** Period without changes after which the changes seen are reported, and the interval at which to {@link #poll()} */
+    static final long QUIET_PERIOD = 500;
+
+    /** Maximum time for which continuous changes can delay reporting the first of them */
+    static final long MAX_DELAY = 5000;
+
+    private final Path root;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+    /** Paths below which changes may not be reported, e.g. symbolic links or directories that could not be registered */
+    private final Set<Path> unwatched = new HashSet<>();
+    private final Map<Path, Timestamp> timestamps = new HashMap<>();
+    private long generation;
+    private long firstChange = -1;
+    private long lastChange;
+    private boolean registrationFailureLogged;
+
+    /**
+     * Creates a watcher and registers the directory and all the directories below it.
+     *
+     * @param root the directory to watch
+     * @throws IOException if the directory cannot be watched
+     * @throws UnsupportedOperationException if the file system does not support watching directories
+     */
+    DeploymentDirectoryWatcher(final Path root) throws IOException {
+        this.root = root;
+        this.watchService = root.getFileSystem().newWatchService();
+        try {
+            directories.put(root.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY), root);
+        } catch (IOException | RuntimeException e) {
+            watchService.close();
+            throw e;
+        }
+        synchronized (this) {
+            register(root);
+        }
+    }
+
+    /**
+     * Processes the changes seen since the last call.
+     *
+     * @return {@code true} if changes were seen which should now be scanned
+     */
+    synchronized boolean poll() {
+        final long now = TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+        if (processEvents()) {
+            lastChange = now;
+            if (firstChange < 0) {
+                firstChange = now;
+            }
+        }
+        if (firstChange >= 0 && (now - lastChange >= QUIET_PERIOD || now - firstChange >= MAX_DELAY)) {
+            firstChange = -1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Processes the changes seen since the last call without reporting them, as the caller is about to scan anyway.
+     */
+    synchronized void update() {
+        if (processEvents()) {
+            firstChange = -1;
+        }
+    }
+
+    /**
+     * Gets the timestamp of the content of a directory, if it is known not to have changed since it was
+     * {@link #setTimestamp(Path, long, int, long) recorded}.
+     *
+     * @param directory the directory
+     * @return the timestamp, or {@code null} if it must be computed
+     */
+    synchronized Timestamp getTimestamp(final Path directory) {
+        return isWatched(directory) ? timestamps.get(directory) : null;
+    }
+
+    /**
+     * Records the timestamp of the content of a directory.
+     *
+     * @param directory the directory
+     * @param timestamp the most recent modification time of the directory or anything below it
+     * @param statCalls the number of file system calls made to compute the timestamp
+     * @param generation the {@link #getGeneration() generation} obtained before the timestamp was computed. If changes
+     *                   have been processed since, the timestamp is not recorded, as it may not reflect them
+     */
+    synchronized void setTimestamp(final Path directory, final long timestamp, final int statCalls, final long generation) {
+        if (generation == this.generation && isWatched(directory)) {
+            timestamps.put(directory, new Timestamp(timestamp, statCalls));
+        }
+    }
+
+    /**
+     * Gets the generation of the changes processed, for use with {@link #setTimestamp(Path, long, int, long)}.
+     *
+     * @return the generation
+     */
+    synchronized long getGeneration() {
+        return generation;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        directories.clear();
+        timestamps.clear();
+        watchService.close();
+    }
+
+    private boolean processEvents() {
+        boolean changed = false;
+        try {
+            WatchKey key;
+            while ((key = watchService.poll()) != null) {
+                final Path directory = directories.get(key);
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    changed = true;
+                    if (event.kind() == OVERFLOW) {
+                        // Events were lost, so nothing we know can be trusted
+                        ROOT_LOGGER.debugf("Changes to %s were lost; all content will be scanned", root);
+                        timestamps.clear();
+                    } else if (directory != null) {
+                        final Path path = directory.resolve((Path) event.context());
+                        if (event.kind() == ENTRY_CREATE) {
+                            if (Files.isSymbolicLink(path)) {
+                                unwatched.add(path);
+                            } else if (Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+                                register(path);
+                            }
+                        } else if (event.kind() == ENTRY_DELETE) {
+                            unwatched.removeIf(p -> p.startsWith(path));
+                        }
+                        invalidate(path);
+                    }
+                }
+                if (!key.reset()) {
+                    // The directory is gone; its parent will have reported its deletion
+                    directories.remove(key);
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            return false;
+        }
+        if (changed) {
+            generation++;
+        }
+        return changed;
+    }
+
+    /** Discards the timestamps of the directories containing a changed path */
+    private void invalidate(final Path path) {
+        for (Path p = path; p != null && p.startsWith(root); p = p.getParent()) {
+            timestamps.remove(p);
+        }
+    }
+
+    private boolean isWatched(final Path directory) {
+        for (Path path : unwatched) {
+            if (path.startsWith(directory)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void register(final Path start) {
+        try {
+            Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    if (!dir.equals(root)) {
+                        try {
+                            directories.put(dir.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY), dir);
+                        } catch (IOException e) {
+                            // Typically the limit on the number of watches has been reached
+                            if (!registrationFailureLogged) {
+                                registrationFailureLogged = true;
+                                ROOT_LOGGER.cannotWatchDirectory(e, dir.toString());
+                            }
+                            unwatched.add(dir);
+                            return FileVisitResult.SKIP_SUBTREE;
+                        }
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    if (attrs.isSymbolicLink()) {
+                        // Changes to the target of the link are not reported
+                        unwatched.add(file);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                    if (Files.exists(file, LinkOption.NOFOLLOW_LINKS)) {
+                        unwatched.add(file);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            unwatched.add(start);
+        }
+    }
+
+    /**
+     * The recorded timestamp of the content of a directory.
+     */
+    static final class Timestamp {
+        final long timestamp;
+        final int statCalls;
+
+        private Timestamp(final long timestamp, final int statCalls) {
+            this.timestamp = timestamp;
+            this.statCalls = statCalls;
+        }
+    }
+}
@@ -9,6 +9,7 @@ import static java.security.AccessController.doPrivileged;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.ALL_ATTRIBUTES;
+import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.ARCHIVE_CHECK_THREADS;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.AUTO_DEPLOY_EXPLODED;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.AUTO_DEPLOY_XML;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.AUTO_DEPLOY_ZIPPED;
@@ -17,6 +18,7 @@ import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.RUNTIME_FAILURE_CAUSES_ROLLBACK;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.SCAN_ENABLED;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.SCAN_INTERVAL;
+import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.WATCH;
 
 import java.io.File;
 import java.io.IOException;
@@ -95,6 +97,8 @@ class DeploymentScannerAdd implements OperationStepHandler {
             final long deploymentTimeout = DEPLOYMENT_TIMEOUT.resolveModelAttribute(context, operation).asLong();
             final int scanInterval = SCAN_INTERVAL.resolveModelAttribute(context, operation).asInt();
             final boolean rollback = RUNTIME_FAILURE_CAUSES_ROLLBACK.resolveModelAttribute(context, operation).asBoolean();
+            final boolean watch = WATCH.resolveModelAttribute(context, operation).asBoolean();
+            final int archiveCheckThreads = ARCHIVE_CHECK_THREADS.resolveModelAttribute(context, operation).asInt();
 
             final ScheduledExecutorService scheduledExecutorService = createScannerExecutorService();
 
@@ -113,6 +117,8 @@ class DeploymentScannerAdd implements OperationStepHandler {
                 bootTimeScanner.setDeploymentTimeout(deploymentTimeout);
                 bootTimeScanner.setScanInterval(scanInterval);
                 bootTimeScanner.setRuntimeFailureCausesRollback(rollback);
+                bootTimeScanner.setWatchEnabled(watch);
+                bootTimeScanner.setArchiveCheckThreads(archiveCheckThreads);
             } else {
                 bootTimeScanner = null;
             }
@@ -214,12 +220,15 @@ class DeploymentScannerAdd implements OperationStepHandler {
     }
 
     static ScheduledExecutorService createScannerExecutorService() {
-        final ThreadFactory threadFactory = doPrivileged(new PrivilegedAction<ThreadFactory>() {
+        return Executors.newScheduledThreadPool(2, createScannerThreadFactory());
+    }
+
+    static ThreadFactory createScannerThreadFactory() {
+        return doPrivileged(new PrivilegedAction<ThreadFactory>() {
             public ThreadFactory run() {
                 return new JBossThreadFactory(ThreadGroupHolder.THREAD_GROUP, Boolean.FALSE, null, "%G - %t", null, null);
             }
         });
-        return Executors.newScheduledThreadPool(2, threadFactory);
     }
 
     static void performRuntime(final OperationContext context, ModelNode operation, ModelNode model,
@@ -235,8 +244,10 @@ class DeploymentScannerAdd implements OperationStepHandler {
         final Boolean autoDeployXml = AUTO_DEPLOY_XML.resolveModelAttribute(context, model).asBoolean();
         final Long deploymentTimeout = DEPLOYMENT_TIMEOUT.resolveModelAttribute(context, model).asLong();
         final Boolean rollback = RUNTIME_FAILURE_CAUSES_ROLLBACK.resolveModelAttribute(context, model).asBoolean();
+        final Boolean watch = WATCH.resolveModelAttribute(context, model).asBoolean();
+        final Integer archiveCheckThreads = ARCHIVE_CHECK_THREADS.resolveModelAttribute(context, model).asInt();
         DeploymentScannerService.addService(context, address, relativeTo, path, interval, TimeUnit.MILLISECONDS,
-                autoDeployZip, autoDeployExp, autoDeployXml, enabled, deploymentTimeout, rollback, bootTimeScanner, executorService);
+                autoDeployZip, autoDeployExp, autoDeployXml, enabled, deploymentTimeout, rollback, watch, archiveCheckThreads, bootTimeScanner, executorService);
 
     }
 
@@ -11,6 +11,7 @@ import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.services.path.PathInfoHandler;
@@ -107,7 +108,27 @@ public class DeploymentScannerDefinition extends SimpleResourceDefinition {
                     .setDefaultValue(ModelNode.FALSE)
                     .build();
 
-    protected static final SimpleAttributeDefinition[] ALL_ATTRIBUTES = {PATH,RELATIVE_TO,SCAN_ENABLED,SCAN_INTERVAL,AUTO_DEPLOY_EXPLODED,AUTO_DEPLOY_XML,AUTO_DEPLOY_ZIPPED,DEPLOYMENT_TIMEOUT,RUNTIME_FAILURE_CAUSES_ROLLBACK};
+    protected static final SimpleAttributeDefinition WATCH =
+            new SimpleAttributeDefinitionBuilder(CommonAttributes.WATCH, ModelType.BOOLEAN, true)
+                    .setXmlName(CommonAttributes.WATCH)
+                    .setAllowExpression(true)
+                    .setDefaultValue(ModelNode.FALSE)
+                    .build();
+
+    protected static final SimpleAttributeDefinition ARCHIVE_CHECK_THREADS =
+            new SimpleAttributeDefinitionBuilder(CommonAttributes.ARCHIVE_CHECK_THREADS, ModelType.INT, true)
+                    .setXmlName(CommonAttributes.ARCHIVE_CHECK_THREADS)
+                    .setAllowExpression(true)
+                    .setValidator(new IntRangeValidator(1, true, true))
+                    .setDefaultValue(new ModelNode().set(4))
+                    .build();
+
+    protected static final SimpleAttributeDefinition STAT_CALLS_AVOIDED =
+            new SimpleAttributeDefinitionBuilder(CommonAttributes.STAT_CALLS_AVOIDED, ModelType.LONG, true)
+                    .setStorageRuntime()
+                    .build();
+
+    protected static final SimpleAttributeDefinition[] ALL_ATTRIBUTES = {PATH,RELATIVE_TO,SCAN_ENABLED,SCAN_INTERVAL,AUTO_DEPLOY_EXPLODED,AUTO_DEPLOY_XML,AUTO_DEPLOY_ZIPPED,DEPLOYMENT_TIMEOUT,RUNTIME_FAILURE_CAUSES_ROLLBACK,WATCH,ARCHIVE_CHECK_THREADS};
 
     @Override
     public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
@@ -122,6 +143,9 @@ public class DeploymentScannerDefinition extends SimpleResourceDefinition {
         resourceRegistration.registerReadWriteAttribute(AUTO_DEPLOY_XML, null, commonHandler);
         resourceRegistration.registerReadWriteAttribute(DEPLOYMENT_TIMEOUT, null, commonHandler);
         resourceRegistration.registerReadWriteAttribute(RUNTIME_FAILURE_CAUSES_ROLLBACK, null, commonHandler);
+        resourceRegistration.registerReadWriteAttribute(WATCH, null, commonHandler);
+        resourceRegistration.registerReadWriteAttribute(ARCHIVE_CHECK_THREADS, null, commonHandler);
+        resourceRegistration.registerMetric(STAT_CALLS_AVOIDED, ScannerMetricHandler.INSTANCE);
     }
 
     @Override
@@ -49,11 +49,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -118,6 +123,7 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
     private ScheduledFuture<?> scanTask;
     private ScheduledFuture<?> rescanIncompleteTask;
     private ScheduledFuture<?> rescanUndeployTask;
+    private ScheduledFuture<?> watchTask;
     private final Lock scanLock = new ReentrantLock();
 
     private final Map<String, DeploymentMarker> deployed = new HashMap<String, DeploymentMarker>();
@@ -140,6 +146,12 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
     private volatile long maxNoProgress = MAX_NO_PROGRESS;
     private volatile boolean rollbackOnRuntimeFailure;
     private volatile long deploymentTimeout = DEFAULT_DEPLOYMENT_TIMEOUT;
+    private volatile boolean watchEnabled;
+    private volatile DeploymentDirectoryWatcher watcher;
+    private volatile long statCallsAvoided;
+    private volatile int archiveCheckThreads = 1;
+    /** Guarded by the object monitor */
+    private ExecutorService archiveCheckExecutor;
 
     private final ModelNode resourceAddress;
     private final String relativeTo;
@@ -259,6 +271,23 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
 
     private final DeploymentScanRunnable scanRunnable = new DeploymentScanRunnable();
 
+    private class DeploymentWatchRunnable implements Runnable {
+
+        @Override
+        public void run() {
+            final DeploymentDirectoryWatcher watcher = FileSystemDeploymentService.this.watcher;
+            try {
+                if (watcher != null && watcher.poll()) {
+                    scanChanges();
+                }
+            } catch (RejectedExecutionException e) {
+                //Do nothing as this happens if a scan occurs during a reload of shutdown of a server.
+            } catch (Exception e) {
+                ROOT_LOGGER.scanException(e, deploymentDir.getAbsolutePath());
+            }
+        }
+    }
+
     FileSystemDeploymentService(final PathAddress resourceAddress, final String relativeTo, final File deploymentDir, final File relativeToDir,
                                 final DeploymentOperations.Factory deploymentOperationsFactory,
                                 final ScheduledExecutorService scheduledExecutor) {
@@ -345,6 +374,47 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         this.deploymentTimeout = deploymentTimeout;
     }
 
+    @Override
+    public boolean isWatchEnabled() {
+        return watchEnabled;
+    }
+
+    @Override
+    public synchronized void setWatchEnabled(boolean watchEnabled) {
+        this.watchEnabled = watchEnabled;
+        if (watchEnabled) {
+            if (scanEnabled) {
+                startWatching();
+            }
+        } else {
+            stopWatching();
+        }
+    }
+
+    @Override
+    public int getArchiveCheckThreads() {
+        return archiveCheckThreads;
+    }
+
+    @Override
+    public synchronized void setArchiveCheckThreads(int threads) {
+        if (threads != archiveCheckThreads) {
+            this.archiveCheckThreads = threads;
+            // Scans in progress finish with the old executor; the next one to check archives creates a new one
+            stopArchiveCheckExecutor();
+        }
+    }
+
+    /**
+     * Gets the number of file system calls the last scan avoided by using timestamps of exploded content which the
+     * watcher reported had not changed.
+     *
+     * @return the number of calls avoided
+     */
+    long getStatCallsAvoided() {
+        return statCallsAvoided;
+    }
+
     @Override
     public synchronized void startScanner() {
         assert deploymentOperationsFactory != null : "deploymentOperationsFactory is null";
@@ -378,6 +448,8 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
     public synchronized void stopScanner() {
         this.scanEnabled = false;
         cancelScan();
+        stopWatching();
+        stopArchiveCheckExecutor();
         safeClose(deploymentOperations);
         this.deploymentOperations = null;
         if (undeployScanTask != null) {
@@ -491,10 +563,27 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
 
     /** Perform a normal scan */
     void scan() {
+        scan(false);
+    }
+
+    /**
+     * Perform a scan in response to changes reported by the watcher. Unlike a normal scan, this reuses the
+     * timestamps of exploded content in which the watcher has not seen any change.
+     */
+    void scanChanges() {
+        final DeploymentDirectoryWatcher watcher = this.watcher;
+        if (watcher != null) {
+            // Make sure we don't use a timestamp invalidated by a change not yet processed
+            watcher.update();
+        }
+        scan(true);
+    }
+
+    private void scan(boolean watched) {
         if (acquireScanLock()) {
             boolean scheduleRescan = false;
             try {
-                scheduleRescan = scan(false, deploymentOperations);
+                scheduleRescan = scan(false, watched, deploymentOperations);
             } finally {
                 try {
                     if (scheduleRescan) {
@@ -585,6 +674,10 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
     }
 
     private boolean scan(boolean oneOffScan, final DeploymentOperations deploymentOperations) {
+        return scan(oneOffScan, false, deploymentOperations);
+    }
+
+    private boolean scan(boolean oneOffScan, boolean watched, final DeploymentOperations deploymentOperations) {
 
         boolean scheduleRescan = false;
 
@@ -608,7 +701,7 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
 
             scanContext = null;
             try {
-                scanContext = new ScanContext(deploymentOperations);
+                scanContext = new ScanContext(deploymentOperations, watched);
             } catch (RuntimeException ex) {
                 //scanner has stoppped in the meanwhile so we don't need to pursue
                 if (!scanEnabled) {
@@ -618,6 +711,12 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
             }
 
             scanDirectory(deploymentDir, relativePath);
+            completeArchiveChecks();
+
+            statCallsAvoided = scanContext.statCallsAvoided;
+            if (watched) {
+                ROOT_LOGGER.tracef("Scan of changes avoided %d file system calls", scanContext.statCallsAvoided);
+            }
 
             // WARN about markers with no associated content. Do this first in case any auto-deploy issue
             // is due to a file that wasn't meant to be auto-deployed, but has a misspelled marker
@@ -955,25 +1054,13 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
 
                         DeploymentMarker marker = deployed.get(fileName);
                         if (marker == null || marker.lastModified != timestamp) {
-                            try {
-                                if (isZipComplete(child)) {
-                                    final String path = relativeTo == null ? child.getAbsolutePath() : relativePath + fileName;
-                                    final boolean archive = child.isFile();
-                                    if(firstScan){
-                                        scanContext.firstScanDeployments.add(fileName);
-                                    }
-                                    addContentAddingTask(path, archive, fileName, child, timestamp);
-                                } else {
-                                    //we need to make sure that the file was not deleted while
-                                    //the scanner was running
-                                    if (child.exists()) {
-                                        scanContext.incompleteFiles.put(child, new IncompleteDeploymentStatus(child, timestamp));
-                                    }
-                                }
-                            } catch (NonScannableZipException e) {
-                                // Track for possible logging in scan()
-                                scanContext.nonscannable.put(child, new NonScannableStatus(e, timestamp));
+                            final String path = relativeTo == null ? child.getAbsolutePath() : relativePath + fileName;
+                            if(firstScan){
+                                // Claim the name while the check is pending, so a .failed marker for it is not also processed
+                                scanContext.firstScanDeployments.add(fileName);
                             }
+                            // The archives are checked concurrently; completeArchiveChecks() handles the results
+                            scanContext.archiveChecks.add(new ArchiveCheck(child, path, timestamp, checkArchives(child)));
                         }
                     }
                 } else if (!deployed.containsKey(fileName) && !new File(fileName + DO_DEPLOY).exists()
@@ -1114,24 +1201,106 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         return undeployedMarker.exists() && timestamp <= undeployedMarker.lastModified();
     }
 
-    private boolean isZipComplete(File file) throws NonScannableZipException {
+    /**
+     * Starts checking whether an archive, or each archive within exploded content, has been completely copied.
+     * The checks run on the archive check executor if more than one thread is configured, or else on this thread.
+     *
+     * @param file the archive or exploded content
+     * @return the results of the checks, in the order of the archives
+     */
+    private List<Future<Boolean>> checkArchives(final File file) {
+        final List<File> archives = new ArrayList<File>();
+        collectArchives(file, archives);
+        final List<Future<Boolean>> results = new ArrayList<Future<Boolean>>(archives.size());
+        final ExecutorService executor = archiveCheckThreads > 1 ? getArchiveCheckExecutor() : null;
+        for (final File archive : archives) {
+            final FutureTask<Boolean> task = new FutureTask<Boolean>(() -> isZipComplete(archive));
+            if (executor == null) {
+                task.run();
+            } else {
+                try {
+                    executor.execute(task);
+                } catch (RejectedExecutionException e) {
+                    // The scanner is being stopped
+                    task.run();
+                }
+            }
+            results.add(task);
+        }
+        return results;
+    }
+
+    private void collectArchives(final File file, final List<File> archives) {
         if (file.isDirectory()) {
             for (File child : listDirectoryChildren(file)) {
-                if (!isZipComplete(child)) {
-                    return false;
-                }
+                collectArchives(child, archives);
             }
-            return true;
         } else if (isEEArchive(file.getName())) {
+            archives.add(file);
+        }
+        // else a non-zip child
+    }
+
+    private static boolean isZipComplete(File file) throws NonScannableZipException {
+        try {
+            return ZipCompletionScanner.isCompleteZip(file);
+        } catch (IOException e) {
+            ROOT_LOGGER.failedCheckingZipFile(e, file.getPath());
+            return false;
+        }
+    }
+
+    /**
+     * Waits for the archive checks started by the scan and, in the order the archives were found, adds a task for
+     * each complete one or tracks it as incomplete or non-scannable.
+     */
+    private void completeArchiveChecks() {
+        for (ArchiveCheck check : scanContext.archiveChecks) {
+            final File file = check.file;
+            final String fileName = file.getName();
             try {
-                return ZipCompletionScanner.isCompleteZip(file);
-            } catch (IOException e) {
-                ROOT_LOGGER.failedCheckingZipFile(e, file.getPath());
-                return false;
+                if (check.isComplete()) {
+                    addContentAddingTask(check.path, file.isFile(), fileName, file, check.timestamp);
+                } else {
+                    if (firstScan) {
+                        scanContext.firstScanDeployments.remove(fileName);
+                    }
+                    //we need to make sure that the file was not deleted while
+                    //the scanner was running
+                    if (file.exists()) {
+                        scanContext.incompleteFiles.put(file, new IncompleteDeploymentStatus(file, check.timestamp));
+                    }
+                }
+            } catch (NonScannableZipException e) {
+                if (firstScan) {
+                    scanContext.firstScanDeployments.remove(fileName);
+                }
+                // Track for possible logging in scan()
+                scanContext.nonscannable.put(file, new NonScannableStatus(e, check.timestamp));
             }
-        } else {
-            // A non-zip child
-            return true;
+        }
+        scanContext.archiveChecks.clear();
+    }
+
+    private synchronized ExecutorService getArchiveCheckExecutor() {
+        if (archiveCheckExecutor == null) {
+            final int threads = archiveCheckThreads;
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<Runnable>(), DeploymentScannerAdd.createScannerThreadFactory());
+            // Archives are rarely checked, so don't keep idle threads around
+            executor.allowCoreThreadTimeOut(true);
+            archiveCheckExecutor = executor;
+        }
+        return archiveCheckExecutor;
+    }
+
+    /**
+     * Invoke with the object monitor held
+     */
+    private void stopArchiveCheckExecutor() {
+        if (archiveCheckExecutor != null) {
+            archiveCheckExecutor.shutdown();
+            archiveCheckExecutor = null;
         }
     }
 
@@ -1142,11 +1311,34 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
     }
 
     private long getDeploymentTimestamp(File deploymentFile) {
+        final DeploymentDirectoryWatcher watcher = this.watcher;
+        if (watcher != null && deploymentFile.isDirectory()) {
+            final Path path = deploymentFile.toPath();
+            if (scanContext.watched) {
+                final DeploymentDirectoryWatcher.Timestamp cached = watcher.getTimestamp(path);
+                if (cached != null) {
+                    scanContext.statCallsAvoided += cached.statCalls;
+                    return cached.timestamp;
+                }
+            }
+            final long generation = watcher.getGeneration();
+            final int statCalls = scanContext.statCalls;
+            final long timestamp = computeDeploymentTimestamp(deploymentFile);
+            watcher.setTimestamp(path, timestamp, scanContext.statCalls - statCalls, generation);
+            return timestamp;
+        }
+        return computeDeploymentTimestamp(deploymentFile);
+    }
+
+    private long computeDeploymentTimestamp(File deploymentFile) {
+        // isDirectory() and lastModified(), plus listing the children of a directory
+        scanContext.statCalls += 2;
         if (deploymentFile.isDirectory()) {
             // Scan for most recent file
+            scanContext.statCalls++;
             long latest = deploymentFile.lastModified();
             for (File child : listDirectoryChildren(deploymentFile)) {
-                long childTimestamp = getDeploymentTimestamp(child);
+                long childTimestamp = computeDeploymentTimestamp(child);
                 if (childTimestamp > latest) {
                     latest = childTimestamp;
                 }
@@ -1279,6 +1471,7 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
 
     private synchronized void startScan() {
         if (scanEnabled) {
+            startWatching();
             if (scanInterval > 0) {
                 scanTask = scheduledExecutor.scheduleWithFixedDelay(scanRunnable, 0, scanInterval, TimeUnit.MILLISECONDS);
             } else {
@@ -1287,6 +1480,36 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         }
     }
 
+    /**
+     * Invoke with the object monitor held
+     */
+    private void startWatching() {
+        if (watchEnabled && watcher == null) {
+            try {
+                watcher = new DeploymentDirectoryWatcher(deploymentDir.toPath());
+            } catch (IOException | UnsupportedOperationException e) {
+                ROOT_LOGGER.cannotWatchDirectory(e, deploymentDir.getAbsolutePath());
+                return;
+            }
+            watchTask = scheduledExecutor.scheduleWithFixedDelay(new DeploymentWatchRunnable(), DeploymentDirectoryWatcher.QUIET_PERIOD,
+                    DeploymentDirectoryWatcher.QUIET_PERIOD, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Invoke with the object monitor held
+     */
+    private void stopWatching() {
+        if (watchTask != null) {
+            watchTask.cancel(false);
+            watchTask = null;
+        }
+        if (watcher != null) {
+            safeClose(watcher);
+            watcher = null;
+        }
+    }
+
     /**
      * Invoke with the object monitor held
      */
@@ -1719,14 +1942,82 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
          * Auto-deployable files detected by the scan where ZipScanner threw a NonScannableZipException
          */
         private final Map<File, NonScannableStatus> nonscannable = new HashMap<File, NonScannableStatus>();
+        /**
+         * Completeness checks of auto-deployable archives and exploded content, in the order they were found
+         */
+        private final List<ArchiveCheck> archiveChecks = new ArrayList<ArchiveCheck>();
         /**
          * Timestamp when the scan started
          */
         private final long scanStartTime = System.currentTimeMillis();
+        /**
+         * Whether the scan was triggered by the watcher, and so can use the timestamps it holds
+         */
+        private final boolean watched;
+        /**
+         * File system calls made to compute the timestamps of deployments
+         */
+        private int statCalls;
+        /**
+         * File system calls avoided by using the timestamps held by the watcher
+         */
+        private long statCallsAvoided;
 
         private ScanContext(final DeploymentOperations deploymentOperations) {
+            this(deploymentOperations, false);
+        }
+
+        private ScanContext(final DeploymentOperations deploymentOperations, final boolean watched) {
             registeredDeployments = deploymentOperations.getDeploymentsStatus();
             persistentDeployments = deploymentOperations.getUnrelatedDeployments(resourceAddress);
+            this.watched = watched;
+        }
+    }
+
+    /**
+     * The pending completeness check of an auto-deployable archive, or of the archives within exploded content.
+     */
+    private static class ArchiveCheck {
+        private final File file;
+        private final String path;
+        private final long timestamp;
+        private final List<Future<Boolean>> results;
+
+        private ArchiveCheck(final File file, final String path, final long timestamp, final List<Future<Boolean>> results) {
+            this.file = file;
+            this.path = path;
+            this.timestamp = timestamp;
+            this.results = results;
+        }
+
+        private boolean isComplete() throws NonScannableZipException {
+            try {
+                for (Future<Boolean> result : results) {
+                    if (!result.get()) {
+                        return false;
+                    }
+                }
+                return true;
+            } catch (InterruptedException e) {
+                // The scan was cancelled; the content will be checked again by the next one
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof NonScannableZipException) {
+                    throw (NonScannableZipException) cause;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException(cause);
+            } finally {
+                // Don't wait for the remaining archives once the outcome is known
+                for (Future<Boolean> result : results) {
+                    result.cancel(false);
+                }
+            }
         }
     }
 
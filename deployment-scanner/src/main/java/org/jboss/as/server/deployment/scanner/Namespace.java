@@ -17,12 +17,13 @@ UNKNOWN(null),
     DEPLOYMENT_SCANNER_1_0("urn:jboss:domain:deployment-scanner:1.0"),
     DEPLOYMENT_SCANNER_1_1("urn:jboss:domain:deployment-scanner:1.1"),
     DEPLOYMENT_SCANNER_2_0("urn:jboss:domain:deployment-scanner:2.0"),
+    DEPLOYMENT_SCANNER_2_1("urn:jboss:domain:deployment-scanner:2.1"),
     ;
 
     /**
      * The current namespace version.
      */
-    public static final Namespace CURRENT = DEPLOYMENT_SCANNER_2_0;
+    public static final Namespace CURRENT = DEPLOYMENT_SCANNER_2_1;
 
     private final String name;
 
@@ -0,0 +1,35 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.deployment.scanner;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Handler for the metrics of an installed {@code DeploymentScanner}.
+ */
+final class ScannerMetricHandler extends AbstractRuntimeOnlyHandler {
+
+    static final ScannerMetricHandler INSTANCE = new ScannerMetricHandler();
+
+    private ScannerMetricHandler() {
+    }
+
+    @Override
+    protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final String name = context.getCurrentAddressValue();
+        final ServiceController<?> controller = context.getServiceRegistry(false).getService(DeploymentScannerService.getServiceName(name));
+        if (controller != null && controller.getState() == ServiceController.State.UP) {
+            final Object scanner = controller.getValue();
+            if (scanner instanceof FileSystemDeploymentService) {
+                context.getResult().set(((FileSystemDeploymentService) scanner).getStatCallsAvoided());
+            }
+        }
+    }
+}
@@ -5,6 +5,7 @@
 
 package org.jboss.as.server.deployment.scanner;
 
+import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.ARCHIVE_CHECK_THREADS;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.AUTO_DEPLOY_EXPLODED;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.AUTO_DEPLOY_XML;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.AUTO_DEPLOY_ZIPPED;
@@ -12,6 +13,7 @@ import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.RUNTIME_FAILURE_CAUSES_ROLLBACK;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.SCAN_ENABLED;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.SCAN_INTERVAL;
+import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.WATCH;
 
 import org.jboss.as.controller.AbstractWriteAttributeHandler;
 import org.jboss.as.controller.AttributeDefinition;
@@ -65,6 +67,10 @@ final class UpdateScannerWriteAttributeHandler extends AbstractWriteAttributeHan
             scanner.setDeploymentTimeout(resolvedNewValue.asLong());
         } else if (ad == RUNTIME_FAILURE_CAUSES_ROLLBACK) {
             scanner.setRuntimeFailureCausesRollback(resolvedNewValue.asBoolean());
+        } else if (ad == WATCH) {
+            scanner.setWatchEnabled(resolvedNewValue.asBoolean());
+        } else if (ad == ARCHIVE_CHECK_THREADS) {
+            scanner.setArchiveCheckThreads(resolvedNewValue.asInt());
         } else if (ad == SCAN_INTERVAL) {
             scanner.setScanInterval(resolvedNewValue.asInt());
         } else if (ad == SCAN_ENABLED) {
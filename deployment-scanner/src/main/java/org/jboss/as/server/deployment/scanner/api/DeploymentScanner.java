@@ -37,6 +37,56 @@ public interface DeploymentScanner {
      */
     void setScanInterval(long scanInterval);
 
+    /**
+     * Gets whether the scanner watches the filesystem for changes, scanning as soon as content changes and only
+     * checking the timestamps of exploded content in which a change was seen.
+     * <p>
+     * The default implementation does not watch the filesystem and returns {@code false}.
+     * </p>
+     *
+     * @return true if the scanner watches the filesystem
+     */
+    default boolean isWatchEnabled() {
+        return false;
+    }
+
+    /**
+     * Sets whether the scanner watches the filesystem for changes, scanning as soon as content changes and only
+     * checking the timestamps of exploded content in which a change was seen. Periodic scans, if any, continue
+     * to check all content.
+     * <p>
+     * The default implementation does not watch the filesystem and ignores this setting.
+     * </p>
+     *
+     * @param watch true if the scanner should watch the filesystem
+     */
+    default void setWatchEnabled(boolean watch) {
+    }
+
+    /**
+     * Gets the maximum number of archives the scanner checks for completeness concurrently.
+     * <p>
+     * The default implementation checks them one after the other and returns 1.
+     * </p>
+     *
+     * @return the number of threads used to check archives
+     */
+    default int getArchiveCheckThreads() {
+        return 1;
+    }
+
+    /**
+     * Sets the maximum number of archives the scanner checks for completeness concurrently. A value of 1 checks
+     * them one after the other on the thread running the scan.
+     * <p>
+     * The default implementation always checks them one after the other and ignores this setting.
+     * </p>
+     *
+     * @param threads the number of threads to use to check archives; must be at least 1
+     */
+    default void setArchiveCheckThreads(int threads) {
+    }
+
     /**
      * Start the scanner, if not already started, using a default {@link DeploymentOperations}.
      *
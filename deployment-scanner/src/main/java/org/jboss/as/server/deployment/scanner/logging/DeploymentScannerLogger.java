@@ -412,4 +412,8 @@ public interface DeploymentScannerLogger extends BasicLogger {
     @LogMessage(level = WARN)
     @Message(id = 43, value = "Deployment directory scan failed due to inaccessible deployment directory: %s")
     void scanFailed(String dir);
+
+    @LogMessage(level = WARN)
+    @Message(id = 44, value = "Cannot watch %s for changes; changes to its content will only be detected by periodic scans")
+    void cannotWatchDirectory(@Cause Throwable cause, String path);
 }
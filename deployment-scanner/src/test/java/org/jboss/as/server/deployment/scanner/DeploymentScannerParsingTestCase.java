@@ -9,6 +9,7 @@ package org.jboss.as.server.deployment.scanner;
 import java.io.IOException;
 
 import org.jboss.as.subsystem.test.AbstractSubsystemBaseTest;
+import org.junit.Test;
 
 /**
  * @author Tomaz Cerar
@@ -27,6 +28,15 @@ public class DeploymentScannerParsingTestCase extends AbstractSubsystemBaseTest
                    "auto-deploy-xml=\"true\" deployment-timeout=\"30\"/>\n" +
             "</subsystem>";
 
+    private static final String WATCH_CONFIG = "watch";
+
+    private static final String SUBSYSTEM_XML_WATCH =
+            "<subsystem xmlns=\"urn:jboss:domain:deployment-scanner:2.1\">\n" +
+            "    <deployment-scanner path=\"deployments\"  relative-to=\"jboss.server.base.dir\" " +
+                   "scan-enabled=\"false\" scan-interval=\"5000\" " +
+                   "auto-deploy-xml=\"true\" deployment-timeout=\"30\" watch=\"${deployment.scanner.watch:true}\"/>\n" +
+            "</subsystem>";
+
 
     public DeploymentScannerParsingTestCase() {
         super(DeploymentScannerExtension.SUBSYSTEM_NAME, new DeploymentScannerExtension());
@@ -43,5 +53,21 @@ public class DeploymentScannerParsingTestCase extends AbstractSubsystemBaseTest
     protected String getSubsystemXml() throws IOException {
         return SUBSYSTEM_XML;
     }
+
+    @Override
+    protected String getSubsystemXml(String configId) throws IOException {
+        return WATCH_CONFIG.equals(configId) ? SUBSYSTEM_XML_WATCH : super.getSubsystemXml(configId);
+    }
+
+    @Override
+    protected void compareXml(String configId, String original, String marshalled) throws Exception {
+        // The 2.0 configuration is marshalled using the current namespace
+        compareXml(configId, original, marshalled, configId == null);
+    }
+
+    @Test
+    public void testWatch() throws Exception {
+        standardSubsystemTest(WATCH_CONFIG);
+    }
 }
 
@@ -1332,6 +1332,56 @@ public class FileSystemDeploymentServiceUnitTestCase {
 
     }
 
+    /**
+     * Tests that archives checked concurrently are handled as when checked one after the other.
+     */
+    @Test
+    public void testParallelArchiveChecks() throws Exception {
+
+        File incomplete = new File(tmpDir, "foo.war");
+        File deployed = new File(tmpDir, "foo.war" + FileSystemDeploymentService.DEPLOYED);
+        testSupport.createZip(incomplete, 0, false, true, true, false);
+        File[] complete = new File[6];
+        for (int i = 0; i < complete.length; i++) {
+            complete[i] = new File(tmpDir, "complete" + i + ".jar");
+            testSupport.createZip(complete[i], 0, false, false, true, false);
+        }
+        File exploded = new File(tmpDir, "bar.ear");
+        exploded.mkdirs();
+        File explodedDeployed = new File(tmpDir, "bar.ear" + FileSystemDeploymentService.DEPLOYED);
+        testSupport.createZip(new File(exploded, "a.jar"), 0, false, false, true, false);
+        testSupport.createZip(new File(exploded, "b.war"), 0, false, false, true, false);
+
+        TesteeSet ts = createTestee();
+        ts.testee.setAutoDeployZippedContent(true);
+        ts.testee.setAutoDeployExplodedContent(true);
+        ts.testee.setArchiveCheckThreads(4);
+        try {
+            ts.testee.scan();
+
+            assertFalse(deployed.exists());
+            assertFalse(explodedDeployed.exists());
+            assertTrue(new File(tmpDir, "foo.war" + FileSystemDeploymentService.PENDING).exists());
+            for (File file : complete) {
+                assertTrue(new File(tmpDir, file.getName() + FileSystemDeploymentService.PENDING).exists());
+            }
+
+            incomplete.delete();
+            testSupport.createZip(incomplete, 0, false, false, false, false);
+
+            ts.controller.addCompositeSuccessResponse(complete.length + 2);
+            ts.testee.scan();
+
+            assertTrue(deployed.exists());
+            assertTrue(explodedDeployed.exists());
+            for (File file : complete) {
+                assertTrue(new File(tmpDir, file.getName() + FileSystemDeploymentService.DEPLOYED).exists());
+            }
+        } finally {
+            ts.testee.stopScanner();
+        }
+    }
+
     /**
      * Tests that an incomplete deployment that makes no progress gets a .failed marker
      */
@@ -1572,6 +1622,62 @@ public class FileSystemDeploymentServiceUnitTestCase {
         assertTrue(deployed.exists());
     }
 
+    /**
+     * Tests that a scan of the changes reported by the watcher only walks exploded content in which a change was seen.
+     */
+    @Test
+    public void testWatchExploded() throws Exception {
+        final File war = createDirectory("foo.war", "index.html");
+        final File webInf = createDirectory(war, "WEB-INF", "web.xml");
+        File deployed = new File(tmpDir, "foo.war" + FileSystemDeploymentService.DEPLOYED);
+        TesteeSet ts = createTestee(new MockServerController(), new DiscardTaskExecutor() {
+            @Override
+            public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+                // The test triggers the scans of changes itself
+                return null;
+            }
+        });
+        try {
+            ts.testee.setAutoDeployExplodedContent(true);
+            ts.testee.setWatchEnabled(true);
+            ts.controller.addCompositeSuccessResponse(1);
+            ts.testee.scan();
+            assertTrue(deployed.exists());
+            assertEquals(1, ts.controller.deployed.size());
+            assertEquals(0, ts.testee.getStatCallsAvoided());
+
+            // Nothing has changed in the deployment, so it is not walked
+            ts.testee.scanChanges();
+            assertTrue(ts.testee.getStatCallsAvoided() > 0);
+            assertEquals(1, ts.controller.deployed.size());
+
+            // Change content below the deployment
+            final File webXml = new File(webInf, "web.xml");
+            final long timestamp = deployed.lastModified() + 10000;
+            Files.write(webXml.toPath(), "changed".getBytes(StandardCharsets.UTF_8));
+            assertTrue(webXml.setLastModified(timestamp));
+
+            // Depending on the platform, the watcher may take a while to see the change
+            ts.controller.addCompositeSuccessResponse(1);
+            final long end = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
+            ts.testee.scanChanges();
+            while (deployed.lastModified() != timestamp && System.currentTimeMillis() < end) {
+                Thread.sleep(100);
+                ts.testee.scanChanges();
+            }
+            assertEquals(timestamp, deployed.lastModified());
+            assertEquals(1, ts.controller.deployed.size());
+            assertEquals(0, ts.testee.getStatCallsAvoided());
+
+            // A full scan always walks the deployment
+            ts.testee.scan();
+            assertEquals(0, ts.testee.getStatCallsAvoided());
+            assertEquals(timestamp, deployed.lastModified());
+        } finally {
+            ts.testee.stopScanner();
+        }
+    }
+
     /**
      * Tests that a deployment which had failed earlier, is redeployed (i.e. picked for deployment) when the deployment
      * file is updated (i.e. timestamp changes).
@@ -31,8 +31,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.List;
@@ -47,7 +45,6 @@ import io.undertow.util.ETag;
 import io.undertow.util.ETagUtils;
 import io.undertow.util.HeaderMap;
 import io.undertow.util.Headers;
-import io.undertow.util.HexConverter;
 import io.undertow.util.Methods;
 import org.jboss.as.controller.ModelController;
 import org.jboss.as.controller.PathAddress;
@@ -197,9 +194,7 @@ class DomainApiHandler implements HttpHandler {
             response = modelController.execute(new OperationBuilder(dmr).build(), OperationMessageHandler.logging, control);
             if (cachable && streamIndex > -1) {
                 // Use the MD5 of the model nodes asString() method as ETag
-                MessageDigest md = MessageDigest.getInstance("MD5");
-                md.update(response.getResponseNode().toString().getBytes(StandardCharsets.UTF_8));
-                ETag etag = new ETag(false, HexConverter.convertToHexString(md.digest()));
+                ETag etag = DomainUtil.createETag(response.getResponseNode());
                 operationParameterBuilder.etag(etag);
                 if (!ETagUtils.handleIfNoneMatch(exchange, etag, false)) {
                     exchange.setStatusCode(304);
@@ -12,10 +12,18 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RES
 
 import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.FilterWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Deque;
 import java.util.Map;
 
@@ -27,9 +35,11 @@ import io.undertow.server.handlers.PredicateHandler;
 import io.undertow.server.handlers.RedirectHandler;
 import io.undertow.server.handlers.SetHeaderHandler;
 import io.undertow.server.handlers.resource.ResourceManager;
+import io.undertow.util.ETag;
 import io.undertow.util.HeaderMap;
 import io.undertow.util.HeaderValues;
 import io.undertow.util.Headers;
+import io.undertow.util.HexConverter;
 import io.undertow.util.HttpString;
 import org.jboss.as.controller.client.OperationResponse;
 import org.jboss.dmr.ModelNode;
@@ -67,9 +77,21 @@ public class DomainUtil {
             response = response.get(RESULT);
         }
         try {
-            byte[] data = getResponseBytes(response, operationParameter);
-            responseHeaders.put(Headers.CONTENT_LENGTH, data.length);
-            exchange.getResponseSender().send(ByteBuffer.wrap(data));
+            if (exchange.isInIoThread()) {
+                // Blocking writes are not allowed, so build the response in memory
+                byte[] data = getResponseBytes(response, operationParameter);
+                responseHeaders.put(Headers.CONTENT_LENGTH, data.length);
+                exchange.getResponseSender().send(ByteBuffer.wrap(data));
+            } else {
+                // Write the response through the exchange's pooled buffers rather than building it in memory first.
+                // A response that fits in a single buffer is still sent with a Content-Length; a larger one is chunked
+                if (!exchange.isBlocking()) {
+                    exchange.startBlocking();
+                }
+                try (OutputStream out = exchange.getOutputStream()) {
+                    writeResponse(out, response, operationParameter);
+                }
+            }
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -153,16 +175,100 @@ public class DomainUtil {
     }
 
     private static byte[] getResponseBytes(final ModelNode modelNode, final OperationParameter operationParameter) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        BufferedOutputStream out = new BufferedOutputStream(baos);
+        writeResponse(out, modelNode, operationParameter);
+        out.flush();
+        return baos.toByteArray();
+    }
+
+    static void writeResponse(final OutputStream out, final ModelNode modelNode, final OperationParameter operationParameter) throws IOException {
         if (operationParameter.isEncode()) {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            BufferedOutputStream out = new BufferedOutputStream(baos);
             modelNode.writeBase64(out);
-            out.flush();
-            return baos.toByteArray();
         } else {
-            String json = modelNode.toJSONString(!operationParameter.isPretty());
-            return json.getBytes(StandardCharsets.UTF_8);
+            // PrintWriter swallows IOExceptions, so keep the first one to rethrow
+            final FailureRecordingWriter writer = new FailureRecordingWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            final PrintWriter print = new PrintWriter(writer);
+            modelNode.writeJSONString(print, !operationParameter.isPretty());
+            print.flush();
+            if (print.checkError()) {
+                throw writer.failure != null ? writer.failure : new IOException();
+            }
+        }
+    }
+
+    /**
+     * Records the first {@link IOException} thrown by the writer it wraps.
+     */
+    private static final class FailureRecordingWriter extends FilterWriter {
+        private IOException failure;
+
+        private FailureRecordingWriter(final Writer out) {
+            super(out);
+        }
+
+        @Override
+        public void write(final int c) throws IOException {
+            try {
+                super.write(c);
+            } catch (IOException e) {
+                throw record(e);
+            }
+        }
+
+        @Override
+        public void write(final char[] cbuf, final int off, final int len) throws IOException {
+            try {
+                super.write(cbuf, off, len);
+            } catch (IOException e) {
+                throw record(e);
+            }
+        }
+
+        @Override
+        public void write(final String str, final int off, final int len) throws IOException {
+            try {
+                super.write(str, off, len);
+            } catch (IOException e) {
+                throw record(e);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            try {
+                super.flush();
+            } catch (IOException e) {
+                throw record(e);
+            }
+        }
+
+        private IOException record(final IOException e) {
+            if (failure == null) {
+                failure = e;
+            }
+            return e;
+        }
+    }
+
+    /**
+     * Creates an ETag from the MD5 digest of the string form of a model node, digesting the string as it is written
+     * rather than building it in memory.
+     *
+     * @param modelNode the model node
+     * @return the ETag
+     */
+    static ETag createETag(final ModelNode modelNode) {
+        final MessageDigest md;
+        try {
+            md = MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
+        final PrintWriter print = new PrintWriter(new OutputStreamWriter(new DigestOutputStream(OutputStream.nullOutputStream(), md), StandardCharsets.UTF_8));
+        modelNode.writeString(print, false);
+        print.flush();
+        return new ETag(false, HexConverter.convertToHexString(md.digest()));
     }
 
     static void writeCacheHeaders(final HttpServerExchange exchange, final int status, final OperationParameter operationParameter) {
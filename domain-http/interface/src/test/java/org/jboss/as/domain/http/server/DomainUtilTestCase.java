@@ -0,0 +1,87 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.domain.http.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import io.undertow.util.ETag;
+import io.undertow.util.HexConverter;
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+/**
+ * Tests of the response writing in {@link DomainUtil}.
+ */
+public class DomainUtilTestCase {
+
+    @Test
+    public void testWriteJSON() throws IOException {
+        ModelNode node = createNode();
+        assertEquals(node.toJSONString(true), write(node, false, false));
+        assertEquals(node.toJSONString(false), write(node, false, true));
+    }
+
+    @Test
+    public void testWriteEncoded() throws IOException {
+        ModelNode node = createNode();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DomainUtil.writeResponse(out, node, new OperationParameter.Builder(false).encode(true).build());
+        assertEquals(node, ModelNode.fromBase64(new ByteArrayInputStream(out.toByteArray())));
+    }
+
+    @Test
+    public void testWriteFailure() {
+        IOException failure = new IOException();
+        OutputStream out = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw failure;
+            }
+        };
+        try {
+            DomainUtil.writeResponse(out, createNode(), new OperationParameter.Builder(false).build());
+            fail("The failure to write should be reported");
+        } catch (IOException e) {
+            assertSame(failure, e);
+        }
+    }
+
+    @Test
+    public void testETag() throws Exception {
+        ModelNode node = createNode();
+        // The ETag is unchanged from the one computed from the whole string
+        MessageDigest md = MessageDigest.getInstance("MD5");
+        md.update(node.toString().getBytes(StandardCharsets.UTF_8));
+        ETag expected = new ETag(false, HexConverter.convertToHexString(md.digest()));
+        assertEquals(expected.toString(), DomainUtil.createETag(node).toString());
+
+        node.get("b", "list").add("d");
+        assertNotEquals(expected.toString(), DomainUtil.createETag(node).toString());
+    }
+
+    private static String write(ModelNode node, boolean encode, boolean pretty) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DomainUtil.writeResponse(out, node, new OperationParameter.Builder(false).encode(encode).pretty(pretty).build());
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static ModelNode createNode() {
+        ModelNode node = new ModelNode();
+        node.get("a").set("été \"quoted\"");
+        node.get("b", "list").add(1).add(2L).add(true);
+        node.get("b", "nested", "c").set(new byte[] {1, 2, 3});
+        return node;
+    }
+}
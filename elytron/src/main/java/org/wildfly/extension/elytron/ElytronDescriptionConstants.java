@@ -582,6 +582,7 @@ interface ElytronDescriptionConstants {
 
     String RELOAD = "reload";
     String RELOAD_CERTIFICATE_REVOCATION_LIST = "reload-certificate-revocation-list";
+    String RELOAD_CHECK_INTERVAL = "reload-check-interval";
     String UNLESS = "unless";
     String UPDATE_ACCOUNT = "update-account";
     String UPPER_CASE = "upper-case";
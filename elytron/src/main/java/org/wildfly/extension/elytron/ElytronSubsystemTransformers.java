@@ -154,6 +154,11 @@ public final class ElytronSubsystemTransformers implements ExtensionTransformerR
 
         builder.rejectChildResource(PathElement.pathElement(ElytronDescriptionConstants.DYNAMIC_CLIENT_SSL_CONTEXTS));
         builder.rejectChildResource(PathElement.pathElement(ElytronDescriptionConstants.DYNAMIC_CLIENT_SSL_CONTEXT));
+        builder.addChildResource(PathElement.pathElement(PROPERTIES_REALM))
+                .getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, PropertiesRealmDefinition.RELOAD_CHECK_INTERVAL)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, PropertiesRealmDefinition.RELOAD_CHECK_INTERVAL)
+                .end();
     }
 
     private static void from18(ChainedTransformationDescriptionBuilder chainedBuilder) {
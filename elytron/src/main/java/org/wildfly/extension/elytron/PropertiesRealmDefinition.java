@@ -6,6 +6,7 @@
 package org.wildfly.extension.elytron;
 
 
+import static org.wildfly.extension.elytron.Capabilities.SCHEDULED_EXECUTOR_RUNTIME_CAPABILITY;
 import static org.wildfly.extension.elytron.Capabilities.SECURITY_REALM_RUNTIME_CAPABILITY;
 import static org.wildfly.extension.elytron.ElytronDescriptionConstants.BASE64;
 import static org.wildfly.extension.elytron.ElytronDescriptionConstants.HEX;
@@ -31,8 +32,12 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 
 import org.jboss.as.controller.AbstractAddStepHandler;
 import org.jboss.as.controller.AttributeDefinition;
@@ -45,7 +50,9 @@ import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleOperationDefinition;
 import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
 import org.jboss.as.controller.descriptions.StandardResourceDescriptionResolver;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.operations.validation.CharsetValidator;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
 import org.jboss.as.controller.operations.validation.StringAllowedValuesValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.services.path.PathEntry;
@@ -131,7 +138,15 @@ class PropertiesRealmDefinition {
             .setAllowExpression(true)
             .build();
 
-    static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { USERS_PROPERTIES, GROUPS_PROPERTIES, GROUPS_ATTRIBUTE, HASH_ENCODING, HASH_CHARSET };
+    static final SimpleAttributeDefinition RELOAD_CHECK_INTERVAL = new SimpleAttributeDefinitionBuilder(ElytronDescriptionConstants.RELOAD_CHECK_INTERVAL, ModelType.LONG, true)
+            .setDefaultValue(new ModelNode(0L))
+            .setValidator(new LongRangeValidator(0L, Long.MAX_VALUE, true, true))
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setAllowExpression(true)
+            .setRestartAllServices()
+            .build();
+
+    static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { USERS_PROPERTIES, GROUPS_PROPERTIES, GROUPS_ATTRIBUTE, HASH_ENCODING, HASH_CHARSET, RELOAD_CHECK_INTERVAL };
 
     // Resource Resolver
 
@@ -158,6 +173,7 @@ class PropertiesRealmDefinition {
             final String groupsAttribute = GROUPS_ATTRIBUTE.resolveModelAttribute(context, model).asString();
             final String hashEncoding = HASH_ENCODING.resolveModelAttribute(context, model).asString();
             final String hashCharset = HASH_CHARSET.resolveModelAttribute(context, model).asString();
+            final long reloadCheckInterval = RELOAD_CHECK_INTERVAL.resolveModelAttribute(context, model).asLong();
 
             ModelNode usersProperties = USERS_PROPERTIES.resolveModelAttribute(context, model);
             usersPath = PATH.resolveModelAttribute(context, usersProperties).asStringOrNull();
@@ -186,11 +202,17 @@ class PropertiesRealmDefinition {
                 }
             }
 
+            // With a check interval the files are checked for changes in the background rather than on each authentication
+            final Supplier<ScheduledExecutorService> executorSupplier = reloadCheckInterval > 0
+                    ? serviceBuilder.requires(SCHEDULED_EXECUTOR_RUNTIME_CAPABILITY.getCapabilityServiceName())
+                    : null;
+
             Function<SecurityRealm, SecurityRealm> realmTransformer =
                 createBruteForceRealmTransformer(context.getCurrentAddressValue(), SecurityRealm.class, serviceBuilder);
             return new ValueSupplier<SecurityRealm>() {
 
                 private final List<Handle> callbackHandles = new ArrayList<>();
+                private volatile RealmWrapper realm;
 
                 @Override
                 public SecurityRealm get() throws StartException {
@@ -209,7 +231,12 @@ class PropertiesRealmDefinition {
                                 .setHashCharset(Charset.forName(hashCharset))
                                 .build();
 
-                        return new RealmWrapper(realmTransformer.apply(baseRealm), usersFile, groupsFile, baseRealm::getLoadTime, baseRealm::load);
+                        RealmWrapper realm = new RealmWrapper(realmTransformer.apply(baseRealm), usersFile, groupsFile, baseRealm::getLoadTime, baseRealm::load, reloadCheckInterval);
+                        if (executorSupplier != null) {
+                            realm.startChecking(executorSupplier.get());
+                        }
+                        this.realm = realm;
+                        return realm;
 
                     } catch (FileNotFoundException e) {
                         throw ROOT_LOGGER.propertyFilesDoesNotExist(e.getMessage());
@@ -222,6 +249,11 @@ class PropertiesRealmDefinition {
 
                 @Override
                 public void dispose() {
+                    RealmWrapper realm = this.realm;
+                    if (realm != null) {
+                        realm.stopChecking();
+                        this.realm = null;
+                    }
                     for (Handle h : callbackHandles) {
                         h.remove();
                     }
@@ -317,27 +349,33 @@ class PropertiesRealmDefinition {
 
     }
 
-    private static final class RealmWrapper implements SecurityRealm {
+    static final class RealmWrapper implements SecurityRealm {
 
         private final SecurityRealm delegate;
         private final File usersFile;
         private final File groupsFile;
         private final LongSupplier loadTimeSupplier;
         private final ExceptionBiConsumer<InputStream, InputStream, IOException> propertiesFileLoader;
+        // 0 to check the files on each authentication, otherwise the milliseconds between background checks
+        private final long reloadCheckInterval;
+        private volatile ScheduledFuture<?> reloadCheck;
 
         RealmWrapper(SecurityRealm delegate, File usersFile, File groupsFile, LongSupplier loadTimeSupplier,
-                ExceptionBiConsumer<InputStream, InputStream, IOException>  propertiesFileLoader) {
+                ExceptionBiConsumer<InputStream, InputStream, IOException>  propertiesFileLoader, long reloadCheckInterval) {
             this.delegate = delegate;
             this.usersFile = usersFile;
             this.groupsFile = groupsFile;
             this.loadTimeSupplier = loadTimeSupplier;
             this.propertiesFileLoader = propertiesFileLoader;
+            this.reloadCheckInterval = reloadCheckInterval;
         }
 
         @Override
         public RealmIdentity getRealmIdentity(Principal principal) throws RealmUnavailableException {
             try {
-                reloadIfNeeded();
+                if (reloadCheckInterval == 0) {
+                    reloadIfNeeded();
+                }
                 return delegate.getRealmIdentity(principal);
             } catch (IOException e) {
                 throw new RealmUnavailableException(e);
@@ -347,7 +385,9 @@ class PropertiesRealmDefinition {
         @Override
         public RealmIdentity getRealmIdentity(Evidence evidence) throws RealmUnavailableException {
             try {
-                reloadIfNeeded();
+                if (reloadCheckInterval == 0) {
+                    reloadIfNeeded();
+                }
                 return delegate.getRealmIdentity(evidence);
             } catch (IOException e) {
                 throw new RealmUnavailableException(e);
@@ -381,6 +421,32 @@ class PropertiesRealmDefinition {
             return loadTimeSupplier.getAsLong();
         }
 
+        /**
+         * Checks the files for changes every reload check interval, reloading them on the executor's thread. The realm
+         * loads the new content before replacing what it has, so authentication continues with the previous content
+         * until the reload completes.
+         */
+        void startChecking(ScheduledExecutorService executor) {
+            reloadCheck = executor.scheduleWithFixedDelay(this::checkForChanges, reloadCheckInterval, reloadCheckInterval, TimeUnit.MILLISECONDS);
+        }
+
+        void stopChecking() {
+            ScheduledFuture<?> reloadCheck = this.reloadCheck;
+            if (reloadCheck != null) {
+                reloadCheck.cancel(false);
+                this.reloadCheck = null;
+            }
+        }
+
+        void checkForChanges() {
+            try {
+                reloadIfNeeded();
+            } catch (IOException | RuntimeException e) {
+                // Keep using the content last loaded, and try again at the next check
+                ROOT_LOGGER.unableToReloadPropertiesFilesInBackground(usersFile.toString(), groupsFile != null ? groupsFile.toString() : null, e);
+            }
+        }
+
         void reloadIfNeeded() throws IOException {
             long loadTime = loadTimeSupplier.getAsLong();
             if (shouldReload(loadTime)) {
@@ -68,6 +68,14 @@ class RealmParser {
             .addAttribute(PropertiesRealmDefinition.HASH_CHARSET)
             .addAttribute(PropertiesRealmDefinition.HASH_ENCODING)
             .build();
+    private final PersistentResourceXMLDescription propertiesRealmParser_19 = builder(PathElement.pathElement(ElytronDescriptionConstants.PROPERTIES_REALM))
+            .addAttributes(PropertiesRealmDefinition.GROUPS_ATTRIBUTE)
+            .addAttribute(PropertiesRealmDefinition.USERS_PROPERTIES, AttributeParser.OBJECT_PARSER, AttributeMarshaller.ATTRIBUTE_OBJECT)
+            .addAttribute(PropertiesRealmDefinition.GROUPS_PROPERTIES, AttributeParser.OBJECT_PARSER, AttributeMarshaller.ATTRIBUTE_OBJECT)
+            .addAttribute(PropertiesRealmDefinition.HASH_CHARSET)
+            .addAttribute(PropertiesRealmDefinition.HASH_ENCODING)
+            .addAttribute(PropertiesRealmDefinition.RELOAD_CHECK_INTERVAL)
+            .build();
     private final PersistentResourceXMLDescription ldapRealmParser = builder(PathElement.pathElement(ElytronDescriptionConstants.LDAP_REALM))
             .addAttributes(LdapRealmDefinition.ATTRIBUTES)
             .build();
@@ -272,6 +280,23 @@ class RealmParser {
             .addChild(jaasRealmParser)
             .build();
 
+    final PersistentResourceXMLDescription realmParser_19 = decorator(ElytronDescriptionConstants.SECURITY_REALMS)
+            .addChild(aggregateRealmParser_8_0)
+            .addChild(customRealmParser)
+            .addChild(customModifiableRealmParser)
+            .addChild(identityRealmParser)
+            .addChild(jdbcRealmParser_14_0)
+            .addChild(keyStoreRealmParser)
+            .addChild(propertiesRealmParser_19)
+            .addChild(ldapRealmParser)
+            .addChild(filesystemRealmParser_16)
+            .addChild(tokenRealmParser)
+            .addChild(cachingRealmParser)
+            .addChild(distributedRealmParser_18)
+            .addChild(failoverRealmParser)
+            .addChild(jaasRealmParser)
+            .build();
+
     RealmParser() {
 
     }
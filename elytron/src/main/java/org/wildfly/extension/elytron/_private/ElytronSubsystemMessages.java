@@ -352,6 +352,17 @@ public interface ElytronSubsystemMessages extends BasicLogger {
     @Message(id = 51, value = "Registration of Jakarta Authorization failed.")
     OperationFailedException unableToRegisterJakartaAuthorization(@Cause GeneralSecurityException cause);
 
+    /**
+     * Logs a failure to reload the properties files used by the realm when checking for changes in the background.
+     *
+     * @param usersFile the users file.
+     * @param groupsFile the groups file, may be {@code null}.
+     * @param cause the underlying cause of the error.
+     */
+    @LogMessage(level = WARN)
+    @Message(id = 52, value = "Unable to reload the properties files '%s' and '%s', the properties file backed realm will continue to use their previous content.")
+    void unableToReloadPropertiesFilesInBackground(String usersFile, String groupsFile, @Cause Exception cause);
+
     /*
      * Credential Store Section.
      */
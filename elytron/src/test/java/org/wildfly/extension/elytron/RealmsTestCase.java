@@ -122,20 +122,27 @@ public class RealmsTestCase extends AbstractElytronSubsystemBaseTest {
         ServiceName serviceName2 = Capabilities.SECURITY_REALM_RUNTIME_CAPABILITY.getCapabilityServiceName("ClearPropertyRealm");
         SecurityRealm securityRealm2 = (SecurityRealm) services.getContainer().getService(serviceName2).getValue();
         testAbstractPropertyRealm(securityRealm2);
-        testExternalModificationPropertyRealm(securityRealm2, "users-clear.properties", "user999", "password999", "password999");
+        testExternalModificationPropertyRealm(securityRealm2, "users-clear.properties", "user999", "password999", "password999", false);
 
         // base64 encoded using UTF-8
         ServiceName serviceName3 = Capabilities.SECURITY_REALM_RUNTIME_CAPABILITY.getCapabilityServiceName("HashedPropertyRealmBase64Encoded");
         SecurityRealm securityRealm3 = (SecurityRealm) services.getContainer().getService(serviceName3).getValue();
         performHashedFileTest(securityRealm3, "elytron","passwd12#$");
         testExternalModificationPropertyRealm(securityRealm3, "users-hashedbase64.properties", "user999",
-                "password999", generateHashedPassword("user999", "password999", "ManagementRealm"));
+                "password999", generateHashedPassword("user999", "password999", "ManagementRealm"), false);
 
         // base64 encoded using charset GB2312
         ServiceName serviceName4 = Capabilities.SECURITY_REALM_RUNTIME_CAPABILITY.getCapabilityServiceName("HashedPropertyRealmBase64EncodedCharset");
         SecurityRealm securityRealm4 = (SecurityRealm) services.getContainer().getService(serviceName4).getValue();
         performHashedFileTest(securityRealm4, "elytron4", "password密码");
 
+        // changes checked for in the background
+        ServiceName serviceName5 = Capabilities.SECURITY_REALM_RUNTIME_CAPABILITY.getCapabilityServiceName("CheckedPropertyRealm");
+        SecurityRealm securityRealm5 = (SecurityRealm) services.getContainer().getService(serviceName5).getValue();
+        testAbstractPropertyRealm(securityRealm5);
+        testExternalModificationPropertyRealm(securityRealm5, "users-hashed.properties", "user999",
+                "password999", generateHashedPassword("user999", "password999", "TestingRealm1"), true);
+
         RealmIdentity identity1 = securityRealm2.getRealmIdentity(fromName("user1"));
         Object[] groups = identity1.getAuthorizationIdentity().getAttributes().get("groupAttr").toArray();
         Assert.assertArrayEquals(new Object[]{"firstGroup","secondGroup"}, groups);
@@ -185,7 +192,8 @@ public class RealmsTestCase extends AbstractElytronSubsystemBaseTest {
     }
 
     /* Performs a manual modification of the properties file and checks if it is refreshed */
-    private void testExternalModificationPropertyRealm(SecurityRealm securityRealm, String fileName, String username, String password, String hash) throws Exception {
+    private void testExternalModificationPropertyRealm(SecurityRealm securityRealm, String fileName, String username, String password, String hash,
+            boolean checkedInBackground) throws Exception {
         // assert the username principal does not exist in the realm
         RealmIdentity identity = securityRealm.getRealmIdentity(fromName(username));
         assertFalse("Identity " + username + " already exists in the realm", identity.exists());
@@ -215,6 +223,13 @@ public class RealmsTestCase extends AbstractElytronSubsystemBaseTest {
             }
 
             // assert that the property realm detects the external modification
+            if (checkedInBackground) {
+                // the realm only sees the modification once the files are checked
+                identity = securityRealm.getRealmIdentity(fromName(username));
+                assertFalse("Identity " + username + " detected before the properties files were checked", identity.exists());
+                identity.dispose();
+                ((PropertiesRealmDefinition.RealmWrapper) securityRealm).checkForChanges();
+            }
             identity = securityRealm.getRealmIdentity(fromName(username));
             Assert.assertTrue("Identity " + username + " is not detected after external modification", identity.exists());
             Assert.assertTrue("Invalid password for the added identity", identity.verifyEvidence(new PasswordGuessEvidence(password.toCharArray())));
@@ -6,16 +6,21 @@
 package org.wildfly.event.logger;
 
 import java.util.ArrayList;
-import java.util.Deque;
 import java.util.List;
-import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * @author <a href="mailto:jperkins@redhat.com">James R. Perkins</a>
  */
-class AsyncEventLogger extends AbstractEventLogger implements EventLogger, Runnable {
+class AsyncEventLogger extends AbstractEventLogger implements QueuedEventLogger, Runnable {
+
+    static final int DEFAULT_QUEUE_CAPACITY = 8192;
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final long BLOCK_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(100L);
 
     //0 = not running
     //1 = queued
@@ -25,20 +30,56 @@ class AsyncEventLogger extends AbstractEventLogger implements EventLogger, Runna
 
     private static final AtomicIntegerFieldUpdater<AsyncEventLogger> stateUpdater = AtomicIntegerFieldUpdater.newUpdater(AsyncEventLogger.class, "state");
 
+    @SuppressWarnings({"unused", "FieldMayBeFinal"})
+    private volatile long droppedEvents = 0L;
+
+    private static final AtomicLongFieldUpdater<AsyncEventLogger> droppedEventsUpdater = AtomicLongFieldUpdater.newUpdater(AsyncEventLogger.class, "droppedEvents");
+
     private final EventWriter writer;
     private final Executor executor;
-    private final Deque<Event> pendingMessages;
+    private final RingBuffer<Event> pendingMessages;
+    private final OverflowPolicy overflowPolicy;
+    // Only used by the thread in the running state
+    private final List<Event> batch;
 
     AsyncEventLogger(final String id, final EventWriter writer, final Executor executor) {
+        this(id, writer, executor, DEFAULT_QUEUE_CAPACITY, OverflowPolicy.BLOCK);
+    }
+
+    AsyncEventLogger(final String id, final EventWriter writer, final Executor executor, final int queueCapacity,
+                     final OverflowPolicy overflowPolicy) {
         super(id);
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("The queue capacity must be greater than 0: " + queueCapacity);
+        }
+        if (overflowPolicy == null) {
+            throw new IllegalArgumentException("The overflow policy cannot be null");
+        }
         this.writer = writer;
         this.executor = executor;
-        pendingMessages = new ConcurrentLinkedDeque<>();
+        this.overflowPolicy = overflowPolicy;
+        pendingMessages = new RingBuffer<>(queueCapacity);
+        batch = new ArrayList<>(Math.min(MAX_BATCH_SIZE, pendingMessages.capacity()));
     }
 
     @Override
     void log(final Event event) {
-        pendingMessages.add(event);
+        if (!pendingMessages.offer(event)) {
+            switch (overflowPolicy) {
+                case DISCARD:
+                    droppedEventsUpdater.incrementAndGet(this);
+                    return;
+                case DISCARD_OLDEST:
+                    do {
+                        if (pendingMessages.poll() != null) {
+                            droppedEventsUpdater.incrementAndGet(this);
+                        }
+                    } while (!pendingMessages.offer(event));
+                    break;
+                default:
+                    waitToQueue(event);
+            }
+        }
         int state = stateUpdater.get(this);
         if (state == 0) {
             if (stateUpdater.compareAndSet(this, 0, 1)) {
@@ -52,34 +93,73 @@ class AsyncEventLogger extends AbstractEventLogger implements EventLogger, Runna
         if (!stateUpdater.compareAndSet(this, 1, 2)) {
             return;
         }
-        List<Event> events = new ArrayList<>();
-        Event event;
-        // Only grab at most 1000 messages at a time
-        for (int i = 0; i < 1000; ++i) {
-            event = pendingMessages.poll();
-            if (event == null) {
-                break;
+        writeMessages();
+    }
+
+    @Override
+    public int getQueueCapacity() {
+        return pendingMessages.capacity();
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return pendingMessages.size();
+    }
+
+    @Override
+    public long getDroppedEventCount() {
+        return droppedEventsUpdater.get(this);
+    }
+
+    @Override
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    private void waitToQueue(final Event event) {
+        boolean interrupted = false;
+        try {
+            while (!pendingMessages.offer(event)) {
+                // If the executor has not started writing, possibly because its threads are the ones waiting here,
+                // write the queued events on this thread
+                if (stateUpdater.compareAndSet(this, 0, 2) || stateUpdater.compareAndSet(this, 1, 2)) {
+                    writeMessages();
+                } else {
+                    LockSupport.parkNanos(this, BLOCK_WAIT_NANOS);
+                    // Don't let an interrupt turn the wait into a spin, but preserve it for the caller
+                    interrupted |= Thread.interrupted();
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
             }
-            events.add(event);
         }
+    }
+
+    /**
+     * Writes a batch of the queued events. Must only be called by the thread which changed the state to running.
+     */
+    private void writeMessages() {
+        final List<Event> events = batch;
         try {
+            Event event;
+            // Only grab at most 1000 messages at a time
+            while (events.size() < MAX_BATCH_SIZE && (event = pendingMessages.poll()) != null) {
+                events.add(event);
+            }
             if (!events.isEmpty()) {
-                writeMessage(events);
+                writer.write(events);
             }
         } finally {
+            events.clear();
             stateUpdater.set(this, 0);
             // Check to see if there is still more messages and run again if there are
-            if (!events.isEmpty()) {
+            if (!pendingMessages.isEmpty()) {
                 if (stateUpdater.compareAndSet(this, 0, 1)) {
                     executor.execute(this);
                 }
             }
         }
     }
-
-    private void writeMessage(final List<Event> events) {
-        for (Event event : events) {
-            writer.write(event);
-        }
-    }
 }
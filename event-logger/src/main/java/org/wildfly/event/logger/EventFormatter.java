@@ -20,4 +20,15 @@ public interface EventFormatter {
      * @return the formatted string
      */
     String format(Event event);
+
+    /**
+     * Formats the event, appending it to the builder. Formatters which can write directly to the builder should
+     * override this to avoid creating an intermediate string.
+     *
+     * @param event   the event to format
+     * @param builder the builder to append the formatted event to
+     */
+    default void format(final Event event, final StringBuilder builder) {
+        builder.append(format(event));
+    }
 }
@@ -71,6 +71,27 @@ public interface EventLogger {
         return new AsyncEventLogger(eventSource, writer, executor);
     }
 
+    /**
+     * Creates a new asynchronous event logger which queues at most the given number of events, applying the overflow
+     * policy to events logged when the queue is full.
+     * <p>
+     * The loggers created by the other {@code createAsyncLogger} methods queue up to 8192 events and
+     * {@linkplain OverflowPolicy#BLOCK block} when the queue is full.
+     * </p>
+     *
+     * @param eventSource    the identifier for the source of the event this logger is used for
+     * @param writer         the writer this logger will write to
+     * @param executor       the executor to execute the threads in
+     * @param queueCapacity  the maximum number of queued events, which is rounded up to a power of two
+     * @param overflowPolicy the policy for events logged when the queue is full
+     *
+     * @return a new event logger
+     */
+    static QueuedEventLogger createAsyncLogger(final String eventSource, final EventWriter writer, final Executor executor,
+                                               final int queueCapacity, final OverflowPolicy overflowPolicy) {
+        return new AsyncEventLogger(eventSource, writer, executor, queueCapacity, overflowPolicy);
+    }
+
     /**
      * Logs the event.
      *
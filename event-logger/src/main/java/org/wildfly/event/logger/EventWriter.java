@@ -5,6 +5,8 @@
 
 package org.wildfly.event.logger;
 
+import java.util.Collection;
+
 /**
  * A writer used to write events.
  *
@@ -18,4 +20,16 @@ public interface EventWriter extends AutoCloseable {
      * @param event the event to write
      */
     void write(Event event);
+
+    /**
+     * Writes a batch of events. Writers which can write several events more efficiently than one at a time, for
+     * example with a single flush, should override this.
+     *
+     * @param events the events to write
+     */
+    default void write(final Collection<Event> events) {
+        for (Event event : events) {
+            write(event);
+        }
+    }
 }
@@ -5,33 +5,41 @@
 
 package org.wildfly.event.logger;
 
+import java.lang.reflect.Array;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import javax.json.Json;
+import java.util.Set;
 import javax.json.JsonArrayBuilder;
-import javax.json.JsonBuilderFactory;
 import javax.json.JsonObjectBuilder;
 import javax.json.JsonValue;
 
 /**
  * A formatter which transforms the event into a JSON string.
+ * <p>
+ * The JSON is written directly to the output rather than built as a JSON object first. Values in the event data
+ * replace the meta-data, timestamp or event source with the same key.
+ * </p>
  *
  * @author <a href="mailto:jperkins@redhat.com">James R. Perkins</a>
  */
 public class JsonEventFormatter implements EventFormatter {
 
-    private final JsonBuilderFactory factory;
+    private static final String EVENT_SOURCE_KEY = "eventSource";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
     private final Map<String, Object> metaData;
     private final String timestampKey;
     private final DateTimeFormatter formatter;
     private final boolean includeTimestamp;
+    // The keys written before the event data
+    private final Set<String> headerKeys;
 
     private JsonEventFormatter(final Map<String, Object> metaData, final String timestampKey,
                                final DateTimeFormatter formatter, final boolean includeTimestamp) {
@@ -39,7 +47,12 @@ public class JsonEventFormatter implements EventFormatter {
         this.timestampKey = timestampKey;
         this.formatter = formatter;
         this.includeTimestamp = includeTimestamp;
-        factory = Json.createBuilderFactory(Collections.emptyMap());
+        final Set<String> headerKeys = new HashSet<>(metaData.keySet());
+        headerKeys.add(EVENT_SOURCE_KEY);
+        if (includeTimestamp) {
+            headerKeys.add(timestampKey);
+        }
+        this.headerKeys = headerKeys;
     }
 
     /**
@@ -54,67 +67,162 @@ public class JsonEventFormatter implements EventFormatter {
 
     @Override
     public String format(final Event event) {
-        final JsonObjectBuilder builder = factory.createObjectBuilder();
-        builder.add("eventSource", event.getSource());
-        if (includeTimestamp) {
-            builder.add(timestampKey, formatter.format(event.getInstant()));
-        }
-        add(builder, metaData);
-        add(builder, event.getData());
-        return builder.build().toString();
+        final StringBuilder builder = new StringBuilder(256);
+        format(event, builder);
+        return builder.toString();
     }
 
-    private void add(final JsonObjectBuilder builder, final Map<String, Object> data) {
+    @Override
+    public void format(final Event event, final StringBuilder builder) {
+        final Map<String, Object> data = event.getData();
+        builder.append('{');
+        writeKey(builder, EVENT_SOURCE_KEY);
+        if (data.containsKey(EVENT_SOURCE_KEY)) {
+            writeValue(builder, data.get(EVENT_SOURCE_KEY));
+        } else if (metaData.containsKey(EVENT_SOURCE_KEY)) {
+            writeValue(builder, metaData.get(EVENT_SOURCE_KEY));
+        } else {
+            writeString(builder, event.getSource());
+        }
+        if (includeTimestamp) {
+            builder.append(',');
+            writeKey(builder, timestampKey);
+            if (data.containsKey(timestampKey)) {
+                writeValue(builder, data.get(timestampKey));
+            } else if (metaData.containsKey(timestampKey)) {
+                writeValue(builder, metaData.get(timestampKey));
+            } else {
+                builder.append('"');
+                formatter.formatTo(event.getInstant(), builder);
+                builder.append('"');
+            }
+        }
+        for (Map.Entry<String, Object> entry : metaData.entrySet()) {
+            final String key = entry.getKey();
+            if (EVENT_SOURCE_KEY.equals(key) || (includeTimestamp && timestampKey.equals(key))) {
+                continue;
+            }
+            builder.append(',');
+            writeKey(builder, key);
+            writeValue(builder, data.containsKey(key) ? data.get(key) : entry.getValue());
+        }
         for (Map.Entry<String, Object> entry : data.entrySet()) {
             final String key = entry.getKey();
-            final Object value = entry.getValue();
-            if (value == null) {
-                builder.addNull(key);
-            } else if (value instanceof Boolean) {
-                builder.add(key, (Boolean) value);
-            } else if (value instanceof Double) {
-                builder.add(key, (Double) value);
-            } else if (value instanceof Integer) {
-                builder.add(key, (Integer) value);
-            } else if (value instanceof Long) {
-                builder.add(key, (Long) value);
-            } else if (value instanceof String) {
-                builder.add(key, (String) value);
-            } else if (value instanceof BigDecimal) {
-                builder.add(key, (BigDecimal) value);
-            } else if (value instanceof BigInteger) {
-                builder.add(key, (BigInteger) value);
-            } else if (value instanceof Collection) {
-                builder.add(key, factory.createArrayBuilder((Collection<?>) value));
-            } else if (value instanceof Map) {
-                final Map<?, ?> mapValue = (Map<?, ?>) value;
-                final JsonObjectBuilder valueBuilder = factory.createObjectBuilder();
-                // Convert the map to a string/object map
-                final Map<String, Object> map = new LinkedHashMap<>();
-                for (Map.Entry<?, ?> valueEntry : mapValue.entrySet()) {
-                    final Object valueKey = valueEntry.getKey();
-                    final Object valueValue = valueEntry.getValue();
-                    if (valueKey instanceof String) {
-                        map.put((String) valueKey, valueValue);
+            if (!headerKeys.contains(key)) {
+                builder.append(',');
+                writeKey(builder, key);
+                writeValue(builder, entry.getValue());
+            }
+        }
+        builder.append('}');
+    }
+
+    private static void writeKey(final StringBuilder builder, final String key) {
+        writeString(builder, key);
+        builder.append(':');
+    }
+
+    private static void writeValue(final StringBuilder builder, final Object value) {
+        if (value == null) {
+            builder.append("null");
+        } else if (value instanceof Boolean) {
+            builder.append(((Boolean) value).booleanValue());
+        } else if (value instanceof Double) {
+            final double d = (Double) value;
+            if (Double.isFinite(d)) {
+                builder.append(d);
+            } else {
+                // Not a valid JSON number
+                writeString(builder, String.valueOf(d));
+            }
+        } else if (value instanceof Integer) {
+            builder.append(((Integer) value).intValue());
+        } else if (value instanceof Long) {
+            builder.append(((Long) value).longValue());
+        } else if (value instanceof String) {
+            writeString(builder, (String) value);
+        } else if (value instanceof BigDecimal || value instanceof BigInteger) {
+            builder.append(value);
+        } else if (value instanceof Collection) {
+            builder.append('[');
+            boolean first = true;
+            for (Object element : (Collection<?>) value) {
+                if (!first) {
+                    builder.append(',');
+                }
+                first = false;
+                writeValue(builder, element);
+            }
+            builder.append(']');
+        } else if (value instanceof Map) {
+            builder.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (!first) {
+                    builder.append(',');
+                }
+                first = false;
+                writeKey(builder, String.valueOf(entry.getKey()));
+                writeValue(builder, entry.getValue());
+            }
+            builder.append('}');
+        } else if (value instanceof JsonArrayBuilder) {
+            builder.append(((JsonArrayBuilder) value).build());
+        } else if (value instanceof JsonObjectBuilder) {
+            builder.append(((JsonObjectBuilder) value).build());
+        } else if (value instanceof JsonValue) {
+            builder.append(value);
+        } else if (value.getClass().isArray()) {
+            builder.append('[');
+            final int length = Array.getLength(value);
+            for (int i = 0; i < length; i++) {
+                if (i > 0) {
+                    builder.append(',');
+                }
+                writeValue(builder, Array.get(value, i));
+            }
+            builder.append(']');
+        } else {
+            writeString(builder, String.valueOf(value));
+        }
+    }
+
+    private static void writeString(final StringBuilder builder, final String value) {
+        builder.append('"');
+        final int length = value.length();
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\b':
+                    builder.append("\\b");
+                    break;
+                case '\f':
+                    builder.append("\\f");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        builder.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
                     } else {
-                        map.put(String.valueOf(valueKey), valueValue);
+                        builder.append(c);
                     }
-                }
-                add(valueBuilder, map);
-                builder.add(key, valueBuilder);
-            } else if (value instanceof JsonArrayBuilder) {
-                builder.add(key, (JsonArrayBuilder) value);
-            } else if (value instanceof JsonObjectBuilder) {
-                builder.add(key, (JsonObjectBuilder) value);
-            } else if (value instanceof JsonValue) {
-                builder.add(key, (JsonValue) value);
-            } else if (value.getClass().isArray()) {
-                // We'll rely on the array builder to convert to the correct object type
-                builder.add(key, factory.createArrayBuilder(Arrays.asList((Object[]) value)));
-            } else {
-                builder.add(key, String.valueOf(value));
             }
         }
+        builder.append('"');
     }
 
     /**
@@ -0,0 +1,29 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.event.logger;
+
+/**
+ * Determines what an {@linkplain QueuedEventLogger asynchronous logger} does with an event logged when its queue is
+ * full.
+ */
+public enum OverflowPolicy {
+
+    /**
+     * The logging thread waits until there is room in the queue. If the executor has not yet started writing the
+     * queued events, the logging thread writes them itself.
+     */
+    BLOCK,
+
+    /**
+     * The event being logged is discarded.
+     */
+    DISCARD,
+
+    /**
+     * The oldest event in the queue is discarded to make room for the event being logged.
+     */
+    DISCARD_OLDEST,
+}
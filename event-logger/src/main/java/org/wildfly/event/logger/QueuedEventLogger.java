@@ -0,0 +1,40 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.event.logger;
+
+/**
+ * An asynchronous event logger which queues events in a bounded queue until they are written.
+ */
+public interface QueuedEventLogger extends EventLogger {
+
+    /**
+     * Returns the maximum number of events which can be queued.
+     *
+     * @return the capacity of the queue
+     */
+    int getQueueCapacity();
+
+    /**
+     * Returns the number of events currently queued waiting to be written.
+     *
+     * @return the number of queued events
+     */
+    int getQueueDepth();
+
+    /**
+     * Returns the number of events which have been discarded because the queue was full.
+     *
+     * @return the number of discarded events
+     */
+    long getDroppedEventCount();
+
+    /**
+     * Returns the policy applied to events logged when the queue is full.
+     *
+     * @return the overflow policy
+     */
+    OverflowPolicy getOverflowPolicy();
+}
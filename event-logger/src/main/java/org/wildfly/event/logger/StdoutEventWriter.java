@@ -8,20 +8,35 @@ package org.wildfly.event.logger;
 import java.io.FileDescriptor;
 import java.io.FileOutputStream;
 import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Collection;
 
 /**
  * An event writer which writes directly to {@code stdout}.
+ * <p>
+ * Events are formatted and encoded as UTF-8 into a buffer which is reused, and a batch of events is written to
+ * {@code stdout} with a single write.
+ * </p>
  *
  * @author <a href="mailto:jperkins@redhat.com">James R. Perkins</a>
  */
 public class StdoutEventWriter implements EventWriter {
 
     private static final PrintStream STDOUT = new PrintStream(new FileOutputStream(FileDescriptor.out), true);
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    private static final int BUFFER_SIZE = 8192;
+    // Write what has been buffered once it is this large, and don't hold on to larger buffers than this
+    private static final int MAX_BUFFER_SIZE = 64 * 1024;
 
     private final EventFormatter formatter;
+    private final StringBuilder text;
+    private byte[] buffer;
+    private int count;
 
     private StdoutEventWriter(final EventFormatter formatter) {
         this.formatter = formatter;
+        text = new StringBuilder(256);
+        buffer = new byte[BUFFER_SIZE];
     }
 
     /**
@@ -36,9 +51,20 @@ public class StdoutEventWriter implements EventWriter {
     }
 
     @Override
-    public void write(final Event event) {
-        final EventFormatter formatter = this.formatter;
-        STDOUT.println(formatter.format(event));
+    public synchronized void write(final Event event) {
+        append(event);
+        flushBuffer();
+    }
+
+    @Override
+    public synchronized void write(final Collection<Event> events) {
+        for (Event event : events) {
+            append(event);
+            if (count >= MAX_BUFFER_SIZE) {
+                flushBuffer();
+            }
+        }
+        flushBuffer();
     }
 
     @Override
@@ -46,4 +72,60 @@ public class StdoutEventWriter implements EventWriter {
         // Don't actually close, just flush
         STDOUT.flush();
     }
+
+    private void append(final Event event) {
+        final StringBuilder text = this.text;
+        text.setLength(0);
+        formatter.format(event, text);
+        text.append(LINE_SEPARATOR);
+        encode(text);
+        if (text.capacity() > MAX_BUFFER_SIZE) {
+            text.setLength(0);
+            text.trimToSize();
+        }
+    }
+
+    private void encode(final CharSequence text) {
+        final int length = text.length();
+        // No character takes more than three bytes, surrogate pairs take four for the two characters
+        if (count + length * 3 > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, count + length * 3));
+        }
+        final byte[] buffer = this.buffer;
+        int pos = count;
+        for (int i = 0; i < length; i++) {
+            final char c = text.charAt(i);
+            if (c < 0x80) {
+                buffer[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[pos++] = (byte) (0xC0 | (c >> 6));
+                buffer[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                final int cp = Character.toCodePoint(c, text.charAt(++i));
+                buffer[pos++] = (byte) (0xF0 | (cp >> 18));
+                buffer[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                buffer[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                buffer[pos++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // An unpaired surrogate can't be encoded
+                buffer[pos++] = '?';
+            } else {
+                buffer[pos++] = (byte) (0xE0 | (c >> 12));
+                buffer[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        count = pos;
+    }
+
+    private void flushBuffer() {
+        if (count > 0) {
+            // The stream flushes after each write
+            STDOUT.write(buffer, 0, count);
+            count = 0;
+        }
+        if (buffer.length > MAX_BUFFER_SIZE) {
+            buffer = new byte[BUFFER_SIZE];
+        }
+    }
 }
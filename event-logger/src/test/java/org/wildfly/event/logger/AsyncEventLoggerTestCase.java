@@ -6,6 +6,9 @@
 package org.wildfly.event.logger;
 
 import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
@@ -67,6 +70,68 @@ public class AsyncEventLoggerTestCase extends AbstractEventLoggerTestCase {
         }
     }
 
+    @Test
+    public void testDiscard() throws Exception {
+        final Deque<Runnable> tasks = new ArrayDeque<>();
+        final QueuedJsonWriter writer = new QueuedJsonWriter();
+        final QueuedEventLogger logger = EventLogger.createAsyncLogger("test-discard-logger", writer, tasks::add, 4, OverflowPolicy.DISCARD);
+        logCounts(logger, 10);
+        Assert.assertEquals(4, logger.getQueueDepth());
+        Assert.assertEquals(6L, logger.getDroppedEventCount());
+
+        runAll(tasks);
+        assertCounts(writer, 0, 4);
+        Assert.assertEquals(0, logger.getQueueDepth());
+    }
+
+    @Test
+    public void testDiscardOldest() throws Exception {
+        final Deque<Runnable> tasks = new ArrayDeque<>();
+        final QueuedJsonWriter writer = new QueuedJsonWriter();
+        final QueuedEventLogger logger = EventLogger.createAsyncLogger("test-discard-oldest-logger", writer, tasks::add, 4, OverflowPolicy.DISCARD_OLDEST);
+        logCounts(logger, 10);
+        Assert.assertEquals(4, logger.getQueueDepth());
+        Assert.assertEquals(6L, logger.getDroppedEventCount());
+
+        runAll(tasks);
+        assertCounts(writer, 6, 10);
+    }
+
+    @Test
+    public void testBlock() throws Exception {
+        // The executor never runs the task, so the logging thread must write the events itself when the queue is full
+        final Deque<Runnable> tasks = new ArrayDeque<>();
+        final QueuedJsonWriter writer = new QueuedJsonWriter();
+        final QueuedEventLogger logger = EventLogger.createAsyncLogger("test-block-logger", writer, tasks::add, 4, OverflowPolicy.BLOCK);
+        logCounts(logger, 10);
+        Assert.assertEquals(0L, logger.getDroppedEventCount());
+
+        runAll(tasks);
+        assertCounts(writer, 0, 10);
+    }
+
+    private static void logCounts(final EventLogger logger, final int logCount) {
+        for (int i = 0; i < logCount; i++) {
+            logger.log(Collections.singletonMap("count", i));
+        }
+    }
+
+    private static void runAll(final Deque<Runnable> tasks) {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private static void assertCounts(final QueuedJsonWriter writer, final int from, final int to) {
+        Assert.assertEquals("Unexpected events: " + writer.events, to - from, writer.events.size());
+        for (int i = from; i < to; i++) {
+            try (JsonReader reader = Json.createReader(new StringReader(writer.events.poll()))) {
+                Assert.assertEquals(i, reader.readObject().getInt("count"));
+            }
+        }
+    }
+
     private static void testMultiLogger(final EventLogger logger, final QueuedJsonWriter writer, final int logCount,
                                         final boolean sleep) throws Exception {
         final Random r = new Random();
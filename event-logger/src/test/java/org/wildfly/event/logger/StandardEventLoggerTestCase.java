@@ -7,6 +7,7 @@ package org.wildfly.event.logger;
 
 import java.io.StringReader;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -121,6 +122,29 @@ public class StandardEventLoggerTestCase extends AbstractEventLoggerTestCase {
         }
     }
 
+    @Test
+    public void testEscaping() throws Exception {
+        final QueuedJsonWriter writer = new QueuedJsonWriter();
+        final EventLogger logger = EventLogger.createLogger("test-escaping-logger", writer);
+        final String expectedValue = "\"quoted\" \\ back\tslash\r\n\u0001 \u00e9t\u00e9 \ud83d\ude00";
+        final Map<String, Object> events = new LinkedHashMap<>();
+        events.put("test\"Key", expectedValue);
+        events.put("testNested", Collections.singletonMap("nested", Arrays.asList(expectedValue, null, 1L)));
+        logger.log(events);
+
+        final String jsonString = writer.events.poll(TIMEOUT, TimeUnit.SECONDS);
+        Assert.assertNotNull("Expected value written, but was null", jsonString);
+
+        try (JsonReader reader = Json.createReader(new StringReader(jsonString))) {
+            final JsonObject jsonObject = reader.readObject();
+            Assert.assertEquals(expectedValue, jsonObject.getString("test\"Key"));
+            final JsonArray array = jsonObject.getJsonObject("testNested").getJsonArray("nested");
+            Assert.assertEquals(expectedValue, array.getString(0));
+            Assert.assertTrue(array.isNull(1));
+            Assert.assertEquals(1L, array.getJsonNumber(2).longValue());
+        }
+    }
+
     private static void testMultiLogger(final EventLogger logger, final QueuedJsonWriter writer) throws Exception {
         final ExecutorService executor = createExecutor();
         try {
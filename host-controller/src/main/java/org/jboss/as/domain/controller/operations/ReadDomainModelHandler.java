@@ -5,6 +5,8 @@
 
 package org.jboss.as.domain.controller.operations;
 
+import java.util.List;
+
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
@@ -21,11 +23,22 @@ class ReadDomainModelHandler implements OperationStepHandler {
     private final Transformers transformers;
     private final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry;
     private final boolean lock;
+    private final String knownDigest;
 
     public ReadDomainModelHandler(final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry, final Transformers transformers, final boolean lock) {
+        this(ignoredTransformationRegistry, transformers, lock, null);
+    }
+
+    /**
+     * @param knownDigest the {@link ReadMasterDomainModelUtil#digest(List) digest} of the model the caller already has,
+     *                    or {@code null}. If the model still matches it, only the digest is returned.
+     */
+    ReadDomainModelHandler(final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry, final Transformers transformers, final boolean lock,
+                           final String knownDigest) {
         this.transformers = transformers;
         this.ignoredTransformationRegistry = ignoredTransformationRegistry != null ? ignoredTransformationRegistry : Transformers.DEFAULT;
         this.lock = lock;
+        this.knownDigest = knownDigest;
     }
 
     public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
@@ -38,7 +51,13 @@ class ReadDomainModelHandler implements OperationStepHandler {
         final Transformers.TransformationInputs transformationInputs = new Transformers.TransformationInputs(context);
         final ReadMasterDomainModelUtil readUtil = ReadMasterDomainModelUtil.readMasterDomainResourcesForInitialConnect(transformers,
                 transformationInputs, ignoredTransformationRegistry, transformationInputs.getRootResource());
-        context.getResult().set(readUtil.getDescribedResources());
+        final List<ModelNode> describedResources = readUtil.getDescribedResources();
+        if (knownDigest != null && knownDigest.equals(ReadMasterDomainModelUtil.digest(describedResources))) {
+            // The caller's model is up to date, so spare sending it and having it compared against the local model
+            context.getResult().get(ReadMasterDomainModelUtil.DOMAIN_MODEL_DIGEST).set(knownDigest);
+        } else {
+            context.getResult().set(describedResources);
+        }
     }
 
 }
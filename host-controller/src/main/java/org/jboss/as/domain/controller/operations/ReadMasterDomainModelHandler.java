@@ -18,7 +18,8 @@ import org.jboss.dmr.ModelNode;
 /**
  * Step handler responsible for collecting a complete description of the domain model,
  * which is going to be sent back to a remote host-controller. This is called when the
- * remote slave boots up or when it reconnects to the DC
+ * remote slave boots up or when it reconnects to the DC. If the slave reports the digest of the model it applied
+ * the last time it connected, and the model has not changed since, only the digest is sent back.
  *
  * @author John Bailey
  * @author Kabir Khan
@@ -48,16 +49,19 @@ public class ReadMasterDomainModelHandler implements OperationStepHandler {
         }
 
         final Transformers.ResourceIgnoredTransformationRegistry ignoredTransformationRegistry;
+        final String knownDigest;
         final Resource resource = context.readResourceFromRoot(PathAddress.EMPTY_ADDRESS);
         // The host info is only null in the tests
         if (hostInfo == null) {
             ignoredTransformationRegistry = Transformers.DEFAULT;
+            knownDigest = null;
         } else {
             final ReadMasterDomainModelUtil.RequiredConfigurationHolder rc = hostInfo.populateRequiredConfigurationHolder(resource, extensionRegistry);
             ignoredTransformationRegistry = ReadMasterDomainModelUtil.createHostIgnoredRegistry(hostInfo, rc);
+            knownDigest = hostInfo.getDomainModelDigest();
         }
 
-        final OperationStepHandler handler = new ReadDomainModelHandler(ignoredTransformationRegistry, transformers, lock);
+        final OperationStepHandler handler = new ReadDomainModelHandler(ignoredTransformationRegistry, transformers, lock, knownDigest);
         context.addStep(handler, OperationContext.Stage.MODEL);
     }
 
@@ -13,12 +13,19 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SER
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SOCKET_BINDING_GROUP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
 
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
+import org.jboss.as.controller.HashUtil;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
@@ -48,6 +55,12 @@ public class ReadMasterDomainModelUtil {
 
     public static final String ORDERED_CHILD_TYPES_PROPERTY = "ordered-child-types";
 
+    /**
+     * Key under which a slave reports the digest of the domain model it last applied, and under which the DC
+     * returns that digest in place of the described resources if they have not changed since.
+     */
+    public static final String DOMAIN_MODEL_DIGEST = "domain-model-digest";
+
     private final Set<PathElement> newRootResources = new HashSet<>();
 
     private volatile List<ModelNode> describedResources;
@@ -86,6 +99,32 @@ public class ReadMasterDomainModelUtil {
         return describedResources;
     }
 
+    /**
+     * Computes a digest of a list of described resources, which both the DC and the slave can use to tell whether
+     * the slave's copy of the domain model matches the DC's without transferring it.
+     *
+     * @param describedResources the resources, as returned by {@link #getDescribedResources()}
+     * @return the hex encoded SHA-256 digest of the resources
+     */
+    public static String digest(final List<ModelNode> describedResources) {
+        final MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (DataOutputStream output = new DataOutputStream(new DigestOutputStream(OutputStream.nullOutputStream(), messageDigest))) {
+            output.writeInt(describedResources.size());
+            for (ModelNode resource : describedResources) {
+                resource.writeExternal(output);
+            }
+        } catch (IOException e) {
+            // Not possible, we are not writing anywhere
+            throw new IllegalStateException(e);
+        }
+        return HashUtil.bytesToHexString(messageDigest.digest());
+    }
+
     /**
      * Describe the model as a list of resources with their address and model, which
      * the HC can directly apply to create the model. Although the format might appear
@@ -1014,7 +1014,8 @@ public class DomainModelControllerService extends AbstractControllerService impl
                 getExecutorService(),
                 currentRunningMode,
                 serverProxies,
-                domainConfigAvailable);
+                domainConfigAvailable,
+                hostControllerConfigurationPersister::getDomainModelVersion);
         masterDomainControllerClient = getFuture(clientFuture);
         //Registers us with the master and gets down the master copy of the domain model to our DC
         // if --cached-dc is used and the DC is unavailable, we'll use a cached copy of the domain config
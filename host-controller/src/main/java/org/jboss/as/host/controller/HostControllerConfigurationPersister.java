@@ -13,6 +13,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
 import org.jboss.as.controller.PathAddress;
@@ -43,6 +44,7 @@ public class HostControllerConfigurationPersister implements ExtensibleConfigura
     private final ExtensionRegistry hostExtensionRegistry;
     private final ExtensionRegistry extensionRegistry;
     private Boolean slave;
+    private final AtomicLong domainModelVersion = new AtomicLong();
 
     public HostControllerConfigurationPersister(final HostControllerEnvironment environment, final LocalHostControllerInfo localHostControllerInfo,
                                                 final ExecutorService executorService, final ExtensionRegistry hostExtensionRegistry, final ExtensionRegistry extensionRegistry) {
@@ -123,6 +125,16 @@ public class HostControllerConfigurationPersister implements ExtensibleConfigura
         return hostPersister;
     }
 
+    /**
+     * Gets the version of the domain model, which is incremented each time a change to the domain model, rather than
+     * to the host model, is committed. The changed model is visible to readers before the version changes.
+     *
+     * @return the version
+     */
+    public long getDomainModelVersion() {
+        return domainModelVersion.get();
+    }
+
     @Override
     public PersistenceResource store(ModelNode model, Set<PathAddress> affectedAddresses) throws ConfigurationPersistenceException {
         final PersistenceResource[] delegates = new PersistenceResource[2];
@@ -148,6 +160,7 @@ public class HostControllerConfigurationPersister implements ExtensibleConfigura
                 }
                 if (delegates[1] != null) {
                     delegates[1].commit();
+                    domainModelVersion.incrementAndGet();
                 }
             }
 
@@ -28,6 +28,7 @@ import org.jboss.as.controller.RunningMode;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.remote.TransactionalProtocolClient;
 import org.jboss.as.domain.controller.SlaveRegistrationException;
+import org.jboss.as.domain.controller.operations.ReadMasterDomainModelUtil;
 import org.jboss.as.host.controller.discovery.DiscoveryOption;
 import org.jboss.as.host.controller.discovery.RemoteDomainControllerConnectionConfiguration;
 import org.jboss.as.host.controller.logging.HostControllerLogger;
@@ -46,6 +47,7 @@ import org.jboss.as.protocol.mgmt.ManagementPongRequestHandler;
 import org.jboss.as.protocol.mgmt.ManagementRequestContext;
 import org.jboss.as.remoting.management.ManagementRemotingServices;
 import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
 import org.jboss.remoting3.Channel;
 import org.jboss.remoting3.Connection;
 import org.jboss.threads.AsyncFuture;
@@ -294,7 +296,12 @@ class RemoteDomainConnection extends FutureManagementChannel {
         if(! result.hasDefined(ModelDescriptionConstants.RESULT)) {
             return false;
         }
-        final List<ModelNode> bootOperations= result.get(ModelDescriptionConstants.RESULT).asList();
+        final ModelNode model = result.get(ModelDescriptionConstants.RESULT);
+        if (model.getType() == ModelType.OBJECT && model.hasDefined(ReadMasterDomainModelUtil.DOMAIN_MODEL_DIGEST)) {
+            // The master only sent the digest of the model we reported having
+            return callback.applyUnchangedDomainModel(model.get(ReadMasterDomainModelUtil.DOMAIN_MODEL_DIGEST).asString());
+        }
+        final List<ModelNode> bootOperations= model.asList();
         return callback.applyDomainModel(bootOperations);
     }
 
@@ -325,6 +332,14 @@ class RemoteDomainConnection extends FutureManagementChannel {
          */
         boolean applyDomainModel(List<ModelNode> result);
 
+        /**
+         * Handle the master reporting that the domain model is the one last applied.
+         *
+         * @param digest the digest of the domain model, as reported in the {@link #createLocalHostInfo() host info}
+         * @return {@code true} if the local model is the one with that digest, {@code false} otherwise
+         */
+        boolean applyUnchangedDomainModel(String digest);
+
         /**
          * Event that the registration was completed.
          *
@@ -25,6 +25,7 @@ import java.io.DataInput;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -34,6 +35,7 @@ import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
 
 import javax.net.ssl.SSLHandshakeException;
 import javax.security.sasl.SaslException;
@@ -66,6 +68,7 @@ import org.jboss.as.domain.controller.DomainController;
 import org.jboss.as.domain.controller.LocalHostControllerInfo;
 import org.jboss.as.domain.controller.SlaveRegistrationException;
 import org.jboss.as.domain.controller.operations.FetchMissingConfigurationHandler;
+import org.jboss.as.domain.controller.operations.ReadMasterDomainModelUtil;
 import org.jboss.as.domain.controller.operations.SyncDomainModelOperationHandler;
 import org.jboss.as.domain.controller.operations.SyncServerGroupOperationHandler;
 import org.jboss.as.domain.controller.operations.coordination.DomainControllerLockIdUtils;
@@ -177,6 +180,8 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
     private ManagementChannelHandler handler;
     private volatile ResponseAttachmentInputStreamSupport responseAttachmentSupport;
     private volatile RemoteDomainConnection connection;
+    /** The domain model last applied from the master, used to avoid fetching it again on reconnect if unchanged */
+    private final AppliedDomainModel appliedDomainModel;
 
     private RemoteDomainConnectionService(final ModelController controller,
                                           final ExtensionRegistry extensionRegistry,
@@ -190,7 +195,8 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
                                           final ExecutorService executor,
                                           final RunningMode runningMode,
                                           final Map<String, ProxyController> serverProxies,
-                                          final AtomicBoolean domainConfigAvailable){
+                                          final AtomicBoolean domainConfigAvailable,
+                                          final LongSupplier domainModelVersion){
         this.controller = controller;
         this.extensionRegistry = extensionRegistry;
         this.productConfig = hostControllerEnvironment.getProductConfig();
@@ -207,6 +213,7 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
         this.tempDir = hostControllerEnvironment.getDomainTempDir();
         this.serverProxies = serverProxies;
         this.domainConfigAvailable = domainConfigAvailable;
+        this.appliedDomainModel = new AppliedDomainModel(domainModelVersion);
     }
 
     static Future<MasterDomainControllerClient> install(final ServiceTarget serviceTarget,
@@ -223,11 +230,12 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
                                                         final ExecutorService executor,
                                                         final RunningMode currentRunningMode,
                                                         final Map<String, ProxyController> serverProxies,
-                                                        final AtomicBoolean domainConfigAvailable) {
+                                                        final AtomicBoolean domainConfigAvailable,
+                                                        final LongSupplier domainModelVersion) {
         RemoteDomainConnectionService service = new RemoteDomainConnectionService(controller, extensionRegistry, localHostControllerInfo,
                 remoteFileRepository, contentRepository,
                 ignoredDomainResourceRegistry, operationExecutor, domainController,
-                hostControllerEnvironment, executor, currentRunningMode, serverProxies, domainConfigAvailable);
+                hostControllerEnvironment, executor, currentRunningMode, serverProxies, domainConfigAvailable, domainModelVersion);
         ServiceBuilder<MasterDomainControllerClient> builder = serviceTarget.addService(MasterDomainControllerClient.SERVICE_NAME, service)
                 .addDependency(ManagementRemotingServices.MANAGEMENT_ENDPOINT, Endpoint.class, service.endpointInjector)
                 .addDependency(ServerInventoryService.SERVICE_NAME, ServerInventory.class, service.serverInventoryInjector)
@@ -506,7 +514,14 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
                  */
                 @Override
                 public ModelNode createLocalHostInfo() {
-                    return HostInfo.createLocalHostHostInfo(localHostInfo, productConfig, ignoredDomainResourceRegistry, ReadRootResourceHandler.grabDomainResource(operationExecutor).getChildren(HOST).iterator().next());
+                    final Resource root = ReadRootResourceHandler.grabDomainResource(operationExecutor);
+                    final ModelNode info = HostInfo.createLocalHostHostInfo(localHostInfo, productConfig, ignoredDomainResourceRegistry, root.getChildren(HOST).iterator().next());
+                    // Let the master skip sending the domain model if it is the same as the one we still have from it
+                    final String digest = appliedDomainModel.getUnchangedDigest(root);
+                    if (digest != null) {
+                        info.get(ReadMasterDomainModelUtil.DOMAIN_MODEL_DIGEST).set(digest);
+                    }
+                    return info;
                 }
 
                 @Override
@@ -521,6 +536,15 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
                     return applyRemoteDomainModel(bootOperations, info);
                 }
 
+                @Override
+                public boolean applyUnchangedDomainModel(final String digest) {
+                    if (appliedDomainModel.isApplied(digest)) {
+                        HostControllerLogger.ROOT_LOGGER.debug("Domain model provided by master is unchanged since it was last applied");
+                        return true;
+                    }
+                    return false;
+                }
+
                 @Override
                 public void registrationComplete(ManagementChannelHandler handler) {
                     RemoteDomainConnectionService.this.domainConfigAvailable.set(true);
@@ -565,6 +589,7 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
      * @return {@code true} if the model was applied successfully, {@code false} otherwise
      */
     private boolean applyRemoteDomainModel(final List<ModelNode> bootOperations, final HostInfo hostInfo) {
+        appliedDomainModel.clear();
         try {
             HostControllerLogger.ROOT_LOGGER.debug("Applying domain level boot operations provided by master");
             SyncModelParameters parameters =
@@ -596,6 +621,7 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
                 HostControllerLogger.ROOT_LOGGER.failedToApplyDomainConfig(outcome, failureDesc);
                 return false;
             } else {
+                appliedDomainModel.applied(bootOperations, ReadRootResourceHandler.grabDomainResource(operationExecutor));
                 return true;
             }
         } catch (Exception e) {
@@ -825,6 +851,90 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
         }
     }
 
+    /**
+     * The digest of the domain model last received from the master, and the digest of the local domain model that
+     * resulted from applying it. The latter is used to check that the domain model has not been changed since it was
+     * last synchronized with the master, e.g. by operations the master pushed afterwards, before telling the master it
+     * needs no changes. As reading and digesting the local domain model is not cheap, and a host may try to register
+     * many times while the master is unavailable, the local digest is cached for the domain model version it was
+     * computed for.
+     */
+    static final class AppliedDomainModel {
+        private final LongSupplier versionSupplier;
+        // Guarded by this
+        private String remoteDigest;
+        private String localDigest;
+        private long cachedVersion = -1;
+        private String cachedLocalDigest;
+
+        /**
+         * @param versionSupplier supplies the version of the local domain model, which must change after any change
+         *                        to the domain model is visible to readers
+         */
+        AppliedDomainModel(final LongSupplier versionSupplier) {
+            this.versionSupplier = versionSupplier;
+        }
+
+        /**
+         * Records that the domain model received from the master was applied successfully.
+         *
+         * @param bootOperations the domain model received from the master
+         * @param root the local root resource
+         */
+        synchronized void applied(final List<ModelNode> bootOperations, final Resource root) {
+            remoteDigest = ReadMasterDomainModelUtil.digest(bootOperations);
+            localDigest = localDomainModelDigest(root);
+        }
+
+        synchronized void clear() {
+            remoteDigest = null;
+            localDigest = null;
+        }
+
+        /**
+         * Gets the digest of the domain model last received from the master, provided the local domain model has not
+         * changed since it was applied.
+         *
+         * @param root the local root resource
+         * @return the digest, or {@code null} if there is no such model
+         */
+        synchronized String getUnchangedDigest(final Resource root) {
+            return remoteDigest != null && localDigest.equals(localDomainModelDigest(root)) ? remoteDigest : null;
+        }
+
+        /**
+         * Checks whether the domain model the master reports as unchanged is the one last applied. If it is not, which
+         * should not happen as the master only reports the digest it was given, the record of the applied model is
+         * cleared, so the next registration fetches the complete model.
+         *
+         * @param digest the digest reported by the master
+         * @return {@code true} if it is the digest of the model last applied
+         */
+        synchronized boolean isApplied(final String digest) {
+            if (remoteDigest != null && remoteDigest.equals(digest)) {
+                return true;
+            }
+            clear();
+            return false;
+        }
+
+        /**
+         * Computes a digest of the local domain model, excluding the host model.
+         */
+        private String localDomainModelDigest(final Resource root) {
+            // Read the version first, so if the model changes while it is read the digest is not cached for the version
+            // that includes the change
+            final long version = versionSupplier.getAsLong();
+            if (version != cachedVersion || cachedLocalDigest == null) {
+                final ModelNode model = Resource.Tools.readModel(root);
+                model.remove(HOST);
+                cachedLocalDigest = ReadMasterDomainModelUtil.digest(Collections.singletonList(model));
+                cachedVersion = version;
+            }
+            return cachedLocalDigest;
+        }
+    }
+
     private static class ReadRootResourceHandler implements OperationStepHandler {
         private Resource resource;
 
@@ -18,11 +18,22 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REL
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RELEASE_VERSION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STABILITY;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WILDCARD;
-
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 
 import org.jboss.as.controller.ExpressionResolver;
 import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
@@ -42,6 +53,7 @@ import org.jboss.as.controller.transform.Transformers;
 import org.jboss.as.host.controller.mgmt.HostInfo;
 import org.jboss.as.version.ProductConfig;
 import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -101,6 +113,67 @@ public class ReadPrimaryDomainModelHandlerTestCase {
         Assert.assertFalse(transformed.get("profile").hasDefined("ignored"));
     }
 
+    @Test
+    public void testDomainModelDigest() throws Exception {
+        List<ModelNode> described = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ModelNode resource = new ModelNode();
+            resource.get(ReadMasterDomainModelUtil.DOMAIN_RESOURCE_ADDRESS).set(PathAddress.pathAddress(PROFILE, "profile" + i).toModelNode());
+            resource.get(ReadMasterDomainModelUtil.DOMAIN_RESOURCE_MODEL, "attr").set("value" + i);
+            described.add(resource);
+        }
+        String digest = ReadMasterDomainModelUtil.digest(described);
+
+        // The slave computes the digest from the copy it receives
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            new ModelNode().set(described).writeExternal(out);
+        }
+        ModelNode received = new ModelNode();
+        received.readExternal(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        Assert.assertEquals(digest, ReadMasterDomainModelUtil.digest(received.asList()));
+
+        List<ModelNode> changed = new ArrayList<>(described);
+        changed.set(1, described.get(1).clone());
+        changed.get(1).get(ReadMasterDomainModelUtil.DOMAIN_RESOURCE_MODEL, "attr").set("changed");
+        Assert.assertNotEquals(digest, ReadMasterDomainModelUtil.digest(changed));
+        Assert.assertNotEquals(digest, ReadMasterDomainModelUtil.digest(described.subList(0, 2)));
+    }
+
+    @Test
+    public void testUnchangedDomainModel() throws Exception {
+        Resource resourceRoot = Resource.Factory.create();
+        resourceRoot.registerChild(PathElement.pathElement(PROFILE, "default"), createProfile());
+        Transformers transformers = mock(Transformers.class);
+        doAnswer(invocation -> invocation.getArgument(1)).when(transformers).transformRootResource(any(), any(), any());
+
+        ModelNode described = readDomainModel(resourceRoot, transformers, null);
+        Assert.assertEquals(ModelType.LIST, described.getType());
+        String digest = ReadMasterDomainModelUtil.digest(described.asList());
+
+        // Only the digest is returned to a caller which already has the model
+        ModelNode unchanged = readDomainModel(resourceRoot, transformers, digest);
+        Assert.assertEquals(Collections.singleton(ReadMasterDomainModelUtil.DOMAIN_MODEL_DIGEST), unchanged.keys());
+        Assert.assertEquals(digest, unchanged.get(ReadMasterDomainModelUtil.DOMAIN_MODEL_DIGEST).asString());
+
+        // The complete model is returned once it has changed
+        resourceRoot.requireChild(PathElement.pathElement(PROFILE, "default")).requireChild(PathElement.pathElement("subsystem", "thingy"))
+                .getModel().get("attr").set("changed");
+        ModelNode changed = readDomainModel(resourceRoot, transformers, digest);
+        Assert.assertEquals(ModelType.LIST, changed.getType());
+        Assert.assertEquals(described.asList().size(), changed.asList().size());
+        Assert.assertNotEquals(digest, ReadMasterDomainModelUtil.digest(changed.asList()));
+    }
+
+    private ModelNode readDomainModel(Resource resourceRoot, Transformers transformers, String knownDigest) throws OperationFailedException {
+        ModelNode result = new ModelNode();
+        OperationContext context = mock(OperationContext.class);
+        doReturn(resourceRoot).when(context).readResourceFromRoot(PathAddress.EMPTY_ADDRESS, true);
+        doReturn(result).when(context).getResult();
+        new ReadDomainModelHandler(Transformers.DEFAULT, transformers, false, knownDigest).execute(context, new ModelNode());
+        return result;
+    }
+
     private Resource createProfile() {
         Resource profile = Resource.Factory.create();
         Resource subsystem = Resource.Factory.create();
@@ -0,0 +1,105 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.host.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HOST;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROFILE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.domain.controller.operations.ReadMasterDomainModelUtil;
+import org.jboss.dmr.ModelNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of how a slave host controller tracks the domain model it last applied from the master.
+ */
+public class RemoteDomainConnectionServiceTestCase {
+
+    private static final PathElement PROFILE_ELEMENT = PathElement.pathElement(PROFILE, "default");
+
+    @Test
+    public void testUnchangedDomainModel() {
+        AtomicLong version = new AtomicLong();
+        Resource root = createRoot();
+        List<ModelNode> bootOperations = Collections.singletonList(new ModelNode("model"));
+        String digest = ReadMasterDomainModelUtil.digest(bootOperations);
+
+        RemoteDomainConnectionService.AppliedDomainModel applied = new RemoteDomainConnectionService.AppliedDomainModel(version::get);
+        Assert.assertNull(applied.getUnchangedDigest(root));
+        Assert.assertFalse(applied.isApplied(digest));
+
+        applied.applied(bootOperations, root);
+        Assert.assertEquals(digest, applied.getUnchangedDigest(root));
+
+        // Changes to the host model are not relevant
+        root.requireChild(PathElement.pathElement(HOST, "slave")).getModel().get("attr").set("changed");
+        version.incrementAndGet();
+        Assert.assertEquals(digest, applied.getUnchangedDigest(root));
+
+        Assert.assertTrue(applied.isApplied(digest));
+        Assert.assertEquals(digest, applied.getUnchangedDigest(root));
+    }
+
+    @Test
+    public void testChangedDomainModel() {
+        AtomicLong version = new AtomicLong();
+        Resource root = createRoot();
+        List<ModelNode> bootOperations = Collections.singletonList(new ModelNode("model"));
+        String digest = ReadMasterDomainModelUtil.digest(bootOperations);
+
+        RemoteDomainConnectionService.AppliedDomainModel applied = new RemoteDomainConnectionService.AppliedDomainModel(version::get);
+        applied.applied(bootOperations, root);
+
+        // The local digest is only computed again once the version changes
+        root.requireChild(PROFILE_ELEMENT).getModel().get("attr").set("changed");
+        Assert.assertEquals(digest, applied.getUnchangedDigest(root));
+        version.incrementAndGet();
+        Assert.assertNull(applied.getUnchangedDigest(root));
+
+        // A digest the slave did not report clears what was applied, so the next registration fetches the model
+        root.requireChild(PROFILE_ELEMENT).getModel().get("attr").set("value");
+        version.incrementAndGet();
+        Assert.assertEquals(digest, applied.getUnchangedDigest(root));
+        Assert.assertFalse(applied.isApplied(ReadMasterDomainModelUtil.digest(Collections.emptyList())));
+        Assert.assertNull(applied.getUnchangedDigest(root));
+    }
+
+    @Test
+    public void testUnchangedDomainModelResponse() {
+        String digest = ReadMasterDomainModelUtil.digest(Collections.emptyList());
+        RemoteDomainConnection.HostRegistrationCallback callback = mock(RemoteDomainConnection.HostRegistrationCallback.class);
+        doReturn(true).when(callback).applyUnchangedDomainModel(digest);
+        RemoteDomainConnection connection = new RemoteDomainConnection("slave", null, null, Collections.emptyList(), null, null, callback, null);
+
+        ModelNode result = new ModelNode();
+        result.get(RESULT, ReadMasterDomainModelUtil.DOMAIN_MODEL_DIGEST).set(digest);
+        Assert.assertTrue(connection.applyDomainModel(result));
+        verify(callback).applyUnchangedDomainModel(digest);
+        verify(callback, never()).applyDomainModel(any());
+    }
+
+    private static Resource createRoot() {
+        Resource root = Resource.Factory.create();
+        Resource profile = Resource.Factory.create();
+        profile.getModel().get("attr").set("value");
+        root.registerChild(PROFILE_ELEMENT, profile);
+        Resource host = Resource.Factory.create();
+        host.getModel().get("attr").set("value");
+        root.registerChild(PathElement.pathElement(HOST, "slave"), host);
+        return root;
+    }
+}
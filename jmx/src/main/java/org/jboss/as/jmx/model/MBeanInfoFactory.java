@@ -31,6 +31,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TYP
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WRITE_ATTRIBUTE_OPERATION;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -42,9 +43,11 @@ import javax.management.AttributeChangeNotification;
 import javax.management.Descriptor;
 import javax.management.ImmutableDescriptor;
 import javax.management.InstanceNotFoundException;
+import javax.management.MBeanAttributeInfo;
 import javax.management.MBeanInfo;
 import javax.management.MBeanNotificationInfo;
 import javax.management.MBeanOperationInfo;
+import javax.management.MBeanParameterInfo;
 import javax.management.Notification;
 import javax.management.ObjectName;
 import javax.management.openmbean.OpenMBeanAttributeInfo;
@@ -119,6 +122,53 @@ public class MBeanInfoFactory {
         return new MBeanInfoFactory(name, converters, configuredDomains, mutabilityChecker, address, resourceRegistration).createMBeanInfo();
     }
 
+    /**
+     * Adapts the MBeanInfo created for one MBean to another MBean for the same resource registration. The only
+     * differences between the two are the descriptors naming the mirror of the MBean in the other JMX domain, if
+     * there is one.
+     *
+     * @param info the MBeanInfo created for another MBean of the same resource registration and JMX domain
+     * @param name the name of the MBean to create the MBeanInfo for
+     * @param configuredDomains the configured JMX domains
+     * @return the MBeanInfo for {@code name}
+     */
+    static MBeanInfo createMBeanInfo(final MBeanInfo info, final ObjectName name, final ConfiguredDomains configuredDomains) {
+        final Map<String, String> alternate = new HashMap<>();
+        addAlternateMBean(alternate, name, configuredDomains);
+        if (alternate.isEmpty()) {
+            return info;
+        }
+        final MBeanAttributeInfo[] attributes = info.getAttributes();
+        final OpenMBeanAttributeInfo[] attributeInfos = new OpenMBeanAttributeInfo[attributes.length];
+        for (int i = 0; i < attributes.length; i++) {
+            final OpenMBeanAttributeInfoSupport attribute = (OpenMBeanAttributeInfoSupport) attributes[i];
+            attributeInfos[i] = new OpenMBeanAttributeInfoSupport(attribute.getName(), attribute.getDescription(),
+                    attribute.getOpenType(), attribute.isReadable(), attribute.isWritable(), attribute.isIs(),
+                    replaceFields(attribute.getDescriptor(), alternate));
+        }
+        final MBeanOperationInfo[] operations = info.getOperations();
+        final OpenMBeanOperationInfo[] operationInfos = new OpenMBeanOperationInfo[operations.length];
+        for (int i = 0; i < operations.length; i++) {
+            final OpenMBeanOperationInfoSupport operation = (OpenMBeanOperationInfoSupport) operations[i];
+            final MBeanParameterInfo[] signature = operation.getSignature();
+            operationInfos[i] = new OpenMBeanOperationInfoSupport(operation.getName(), operation.getDescription(),
+                    Arrays.copyOf(signature, signature.length, OpenMBeanParameterInfo[].class),
+                    operation.getReturnOpenType(), operation.getImpact(),
+                    replaceFields(operation.getDescriptor(), alternate));
+        }
+        return new OpenMBeanInfoSupport(info.getClassName(), info.getDescription(), attributeInfos, null,
+                operationInfos, info.getNotifications(), replaceFields(info.getDescriptor(), alternate));
+    }
+
+    private static Descriptor replaceFields(final Descriptor descriptor, final Map<String, String> fields) {
+        final Map<String, Object> values = new HashMap<>();
+        for (String field : descriptor.getFieldNames()) {
+            values.put(field, descriptor.getFieldValue(field));
+        }
+        values.putAll(fields);
+        return new ImmutableDescriptor(values);
+    }
+
     private MBeanInfo createMBeanInfo() {
         return new OpenMBeanInfoSupport(ModelControllerMBeanHelper.CLASS_NAME,
                 getDescription(providedDescription),
@@ -395,14 +445,21 @@ public class MBeanInfoFactory {
         if (legacy) {
             descriptions.put(DESC_MBEAN_EXPR, "true");
             descriptions.put(DESC_MBEAN_EXPR_DESCR, JmxLogger.ROOT_LOGGER.descriptorMBeanExpressionSupportFalse());
+        } else {
+            descriptions.put(DESC_MBEAN_EXPR, "false");
+            descriptions.put(DESC_MBEAN_EXPR_DESCR, JmxLogger.ROOT_LOGGER.descriptorMBeanExpressionSupportTrue());
+        }
+        addAlternateMBean(descriptions, name, configuredDomains);
+    }
+
+    private static void addAlternateMBean(Map<String, String> descriptions, ObjectName name, ConfiguredDomains configuredDomains) {
+        if (configuredDomains.isLegacyDomain(name)) {
             if (configuredDomains.getExprDomain() != null) {
                 ObjectName alternate = configuredDomains.getMirroredObjectName(name);
                 descriptions.put(DESC_ALTERNATE_MBEAN, alternate.toString());
                 descriptions.put(DESC_ALTERNATE_MBEAN_DESCR, JmxLogger.ROOT_LOGGER.descriptorAlternateMBeanExpressions(alternate));
             }
         } else {
-            descriptions.put(DESC_MBEAN_EXPR, "false");
-            descriptions.put(DESC_MBEAN_EXPR_DESCR, JmxLogger.ROOT_LOGGER.descriptorMBeanExpressionSupportTrue());
             if (configuredDomains.getLegacyDomain() != null) {
                 ObjectName alternate = configuredDomains.getMirroredObjectName(name);
                 descriptions.put(DESC_ALTERNATE_MBEAN, alternate.toString());
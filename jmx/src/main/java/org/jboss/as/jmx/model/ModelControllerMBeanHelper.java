@@ -7,12 +7,15 @@ package org.jboss.as.jmx.model;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ACCESS_MECHANISM;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES_ONLY;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_RUNTIME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REPLY_PROPERTIES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REQUEST_PROPERTIES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
@@ -21,10 +24,14 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WRI
 
 import java.util.Collections;
 import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import javax.management.Attribute;
 import javax.management.AttributeList;
@@ -51,6 +58,7 @@ import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
+import org.jboss.as.controller.registry.NotificationEntry;
 import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.as.controller.registry.OperationEntry.Flag;
 import org.jboss.as.core.security.AccessMechanism;
@@ -83,6 +91,8 @@ public class ModelControllerMBeanHelper {
     private final String domain;
     private final ObjectInstance rootObjectInstance;
     private final ManagementModelIntegration.ManagementModelProvider managementModelProvider;
+    /** The MBeanInfo last created for each resource registration, by the address of the registration */
+    private final Map<PathAddress, CachedMBeanInfo> mbeanInfos = new ConcurrentHashMap<>();
 
     ModelControllerMBeanHelper(TypeConverters converters, ConfiguredDomains configuredDomains, String domain,
                                ModelController controller, MutabilityChecker mutabilityChecker,
@@ -127,7 +137,8 @@ public class ModelControllerMBeanHelper {
     }
 
     Set<ObjectInstance> queryMBeans(final MBeanServer mbeanServer, final ObjectName name, final QueryExp query) {
-        Set<ObjectInstance> basic = new RootResourceIterator<Set<ObjectInstance>>(accessControlUtil, getRootResourceAndRegistration().getResource(),
+        Set<ObjectInstance> basic = name != null && !name.isPattern() ? findMBean(name, n -> new ObjectInstance(n, CLASS_NAME)) :
+                new RootResourceIterator<Set<ObjectInstance>>(accessControlUtil, getRootResourceAndRegistration().getResource(),
                 new ObjectNameMatchResourceAction<Set<ObjectInstance>>(name) {
 
             Set<ObjectInstance> set = new HashSet<ObjectInstance>();
@@ -171,7 +182,8 @@ public class ModelControllerMBeanHelper {
     }
 
     Set<ObjectName> queryNames(MBeanServer mbeanServer, final ObjectName name, final QueryExp query) {
-        Set<ObjectName> basic = new RootResourceIterator<Set<ObjectName>>(accessControlUtil, getRootResourceAndRegistration().getResource(),
+        Set<ObjectName> basic = name != null && !name.isPattern() ? findMBean(name, Function.identity()) :
+                new RootResourceIterator<Set<ObjectName>>(accessControlUtil, getRootResourceAndRegistration().getResource(),
                 new ObjectNameMatchResourceAction<Set<ObjectName>>(name) {
 
             Set<ObjectName> set = new HashSet<ObjectName>();
@@ -213,6 +225,30 @@ public class ModelControllerMBeanHelper {
         return result;
     }
 
+    /**
+     * Finds the MBean with a name that is not a pattern by resolving the name to the address of its resource, rather
+     * than by iterating over all the resources. Only returns the MBean if iterating over the resources would have found
+     * it, i.e. if neither it nor any of its parents are excluded or inaccessible.
+     */
+    private <T> Set<T> findMBean(final ObjectName name, final Function<ObjectName, T> factory) {
+        final PathAddress address = resolvePathAddress(name);
+        if (address == null) {
+            return new HashSet<>();
+        }
+        for (int i = 0; i <= address.size(); i++) {
+            final PathAddress current = address.subAddress(0, i);
+            if (isExcludeAddress(current) || !accessControlUtil.getResourceAccess(current, false).isAccessibleResource()) {
+                return new HashSet<>();
+            }
+        }
+        final ObjectName resourceName = ObjectNameAddressUtil.createObjectName(domain, address);
+        final Set<T> result = new HashSet<>();
+        if (name.apply(resourceName)) {
+            result.add(factory.apply(resourceName));
+        }
+        return result;
+    }
+
     /**  Set the mbean server on the QueryExp and try and pass back any previously set one */
     private static MBeanServer setQueryExpServer(QueryExp query, MBeanServer toSet) {
         // We assume the QueryExp is a QueryEval subclass or uses the QueryEval thread local
@@ -251,7 +287,20 @@ public class ModelControllerMBeanHelper {
         }
         // Ensure the resource is addressable; fail if not
         accessControlUtil.getResourceAccessWithInstanceNotFoundExceptionIfNotAccessible(name, address, true);
-        return MBeanInfoFactory.createMBeanInfo(name, converters, configuredDomains, mutabilityChecker, address, getMBeanRegistration(address, reg));
+        final ImmutableManagementResourceRegistration registration = getMBeanRegistration(address, reg);
+        if (registration.isRemote()) {
+            return MBeanInfoFactory.createMBeanInfo(name, converters, configuredDomains, mutabilityChecker, address, registration);
+        }
+        // The MBeanInfo only depends on the registration, and on the name for its mirror in the other domain,
+        // so reuse what was created for any MBean of the same registration as long as the registration is unchanged
+        final RegistrationContents contents = new RegistrationContents(registration);
+        final CachedMBeanInfo cached = mbeanInfos.get(registration.getPathAddress());
+        if (cached != null && cached.contents.equals(contents)) {
+            return cached.name.equals(name) ? cached.info : MBeanInfoFactory.createMBeanInfo(cached.info, name, configuredDomains);
+        }
+        final MBeanInfo info = MBeanInfoFactory.createMBeanInfo(name, converters, configuredDomains, mutabilityChecker, address, registration);
+        mbeanInfos.put(registration.getPathAddress(), new CachedMBeanInfo(contents, name, info));
+        return info;
     }
 
     Object getAttribute(final ObjectName name, final String attribute)  throws AttributeNotFoundException, InstanceNotFoundException, ReflectionException {
@@ -261,7 +310,7 @@ public class ModelControllerMBeanHelper {
             throw JmxLogger.ROOT_LOGGER.mbeanNotFound(name);
         }
         final ResourceAccessControl accessControl = accessControlUtil.getResourceAccessWithInstanceNotFoundExceptionIfNotAccessible(name, address, false);
-        return getAttribute(reg, address, attribute, accessControl);
+        return getAttribute(reg, address, attribute, accessControl, null);
     }
 
     AttributeList getAttributes(ObjectName name, String[] attributes) throws InstanceNotFoundException, ReflectionException {
@@ -271,10 +320,12 @@ public class ModelControllerMBeanHelper {
             throw JmxLogger.ROOT_LOGGER.mbeanNotFound(name);
         }
         final ResourceAccessControl accessControl = accessControlUtil.getResourceAccessWithInstanceNotFoundExceptionIfNotAccessible(name, address, false);
+        // Read all the attributes with one operation rather than one per attribute
+        final ModelNode values = attributes.length > 1 ? readAttributes(address) : null;
         AttributeList list = new AttributeList();
         for (String attribute : attributes) {
             try {
-                list.add(new Attribute(attribute, getAttribute(reg, address, attribute, accessControl)));
+                list.add(new Attribute(attribute, getAttribute(reg, address, attribute, accessControl, values)));
             } catch (AttributeNotFoundException e) {
                 throw new ReflectionException(e);
             }
@@ -282,7 +333,23 @@ public class ModelControllerMBeanHelper {
         return list;
     }
 
-    private Object getAttribute(final ManagementModelIntegration.ResourceAndRegistration reg, final PathAddress address, final String attribute, final ResourceAccessControl accessControl)  throws ReflectionException, AttributeNotFoundException, InstanceNotFoundException {
+    /**
+     * Reads the attributes of a resource, including the runtime ones.
+     *
+     * @return the attribute values, or {@code null} if they could not be read, in which case the attributes should be
+     *         read individually so any failure is reported against the attribute that caused it
+     */
+    private ModelNode readAttributes(final PathAddress address) {
+        ModelNode op = new ModelNode();
+        op.get(OP).set(READ_RESOURCE_OPERATION);
+        op.get(OP_ADDR).set(address.toModelNode());
+        op.get(INCLUDE_RUNTIME).set(true);
+        op.get(ATTRIBUTES_ONLY).set(true);
+        ModelNode result = execute(op);
+        return getFailureDescription(result) == null ? result.get(RESULT) : null;
+    }
+
+    private Object getAttribute(final ManagementModelIntegration.ResourceAndRegistration reg, final PathAddress address, final String attribute, final ResourceAccessControl accessControl, final ModelNode values)  throws ReflectionException, AttributeNotFoundException, InstanceNotFoundException {
         final ImmutableManagementResourceRegistration registration = getMBeanRegistration(address, reg);
         final Map<String, AttributeAccess> attributes = registration.getAttributes(PathAddress.EMPTY_ADDRESS);
         final String attributeName = findAttributeName(attributes.keySet(), attribute);
@@ -292,17 +359,23 @@ public class ModelControllerMBeanHelper {
         }
 
 
-        ModelNode op = new ModelNode();
-        op.get(OP).set(READ_ATTRIBUTE_OPERATION);
-        op.get(OP_ADDR).set(address.toModelNode());
-        op.get(NAME).set(attributeName);
-        ModelNode result = execute(op);
-        String error = getFailureDescription(result);
-        if (error != null) {
-            throw new AttributeNotFoundException(error);
+        final ModelNode value;
+        if (values != null && values.has(attributeName)) {
+            value = values.get(attributeName);
+        } else {
+            ModelNode op = new ModelNode();
+            op.get(OP).set(READ_ATTRIBUTE_OPERATION);
+            op.get(OP_ADDR).set(address.toModelNode());
+            op.get(NAME).set(attributeName);
+            ModelNode result = execute(op);
+            String error = getFailureDescription(result);
+            if (error != null) {
+                throw new AttributeNotFoundException(error);
+            }
+            value = result.get(RESULT);
         }
         ModelNode attrDesc = getAttributeDescription(attributeName, registration, attributes);
-        return converters.fromModelNode(attributes.get(attributeName).getAttributeDefinition(), attrDesc, result.get(RESULT));
+        return converters.fromModelNode(attributes.get(attributeName).getAttributeDefinition(), attrDesc, value);
     }
 
     private ModelNode getAttributeDescription(String attributeName, ImmutableManagementResourceRegistration registration, Map<String, AttributeAccess> attributes) {
@@ -686,4 +759,55 @@ public class ModelControllerMBeanHelper {
             return result;
         }
     }
+
+    /**
+     * What the MBeanInfo for a registration is created from, which changes if anything is registered with or removed
+     * from the registration.
+     */
+    private static final class RegistrationContents {
+        private final Map<String, AttributeAccess> attributes;
+        private final Map<String, OperationEntry> operations;
+        private final Map<String, NotificationEntry> notifications;
+        private final Map<PathElement, OperationEntry> childAddOperations = new HashMap<>();
+
+        private RegistrationContents(final ImmutableManagementResourceRegistration registration) {
+            this.attributes = registration.getAttributes(PathAddress.EMPTY_ADDRESS);
+            this.operations = registration.getOperationDescriptions(PathAddress.EMPTY_ADDRESS, false);
+            this.notifications = registration.getNotificationDescriptions(PathAddress.EMPTY_ADDRESS, true);
+            for (PathElement element : registration.getChildAddresses(PathAddress.EMPTY_ADDRESS)) {
+                final ImmutableManagementResourceRegistration child = registration.getSubModel(PathAddress.pathAddress(element));
+                childAddOperations.put(element, child == null ? null : child.getOperationEntry(PathAddress.EMPTY_ADDRESS, ADD));
+            }
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (!(object instanceof RegistrationContents)) {
+                return false;
+            }
+            final RegistrationContents other = (RegistrationContents) object;
+            return attributes.equals(other.attributes) && operations.equals(other.operations)
+                    && notifications.equals(other.notifications) && childAddOperations.equals(other.childAddOperations);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(attributes, operations, notifications, childAddOperations);
+        }
+    }
+
+    private static final class CachedMBeanInfo {
+        private final RegistrationContents contents;
+        private final ObjectName name;
+        private final MBeanInfo info;
+
+        private CachedMBeanInfo(final RegistrationContents contents, final ObjectName name, final MBeanInfo info) {
+            this.contents = contents;
+            this.name = name;
+            this.info = info;
+        }
+    }
 }
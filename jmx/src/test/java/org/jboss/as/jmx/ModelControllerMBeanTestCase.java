@@ -1164,6 +1164,37 @@ public class ModelControllerMBeanTestCase extends AbstractSubsystemTest {
         Assert.assertTrue(names.contains(testObjectName));
     }
 
+    @Test
+    public void testMBeanInfoSiblingChildren() throws Exception {
+        final ObjectName testObjectName = createObjectName(LEGACY_DOMAIN + ":subsystem=test");
+        final ObjectName child1ObjectName = createObjectName(LEGACY_DOMAIN + ":subsystem=test,siblings=test1");
+        final ObjectName child2ObjectName = createObjectName(LEGACY_DOMAIN + ":subsystem=test,siblings=test2");
+        MBeanServerConnection connection = setupAndGetConnection(new MBeanInfoAdditionalInitialization(ProcessType.STANDALONE_SERVER, new SubystemWithSiblingChildrenChildExtension()));
+
+        Assert.assertTrue(connection.queryNames(child1ObjectName, null).isEmpty());
+        connection.invoke(testObjectName, "addSiblings", new Object[]{"test1", 123}, new String[]{String.class.getName(), String.class.getName()});
+        connection.invoke(testObjectName, "addSiblings", new Object[]{"test2", 456}, new String[]{String.class.getName(), String.class.getName()});
+        Assert.assertEquals(Collections.singleton(child1ObjectName), connection.queryNames(child1ObjectName, null));
+        Assert.assertEquals(Collections.singleton(child2ObjectName), connection.queryNames(child2ObjectName, null));
+
+        // The MBeanInfo of each sibling names its own mirror in the expression domain
+        for (ObjectName name : new ObjectName[] {child1ObjectName, child2ObjectName, child1ObjectName}) {
+            MBeanInfo info = connection.getMBeanInfo(name);
+            ObjectName alternate = createObjectName(EXPR_DOMAIN + ":" + name.getKeyPropertyListString());
+            Assert.assertEquals(alternate, createObjectName((String) info.getDescriptor().getFieldValue("alternate.mbean")));
+            Assert.assertEquals(1, info.getAttributes().length);
+            Assert.assertEquals(Integer.class.getName(), info.getAttributes()[0].getType());
+            Assert.assertEquals(alternate, createObjectName((String) info.getAttributes()[0].getDescriptor().getFieldValue("alternate.mbean")));
+            OpenMBeanOperationInfo op = findOperation(info.getOperations(), REMOVE);
+            Assert.assertEquals(alternate, createObjectName((String) op.getDescriptor().getFieldValue("alternate.mbean")));
+        }
+
+        AttributeList list = connection.getAttributes(child2ObjectName, new String[] {"attr", "attr"});
+        Assert.assertEquals(2, list.size());
+        Assert.assertEquals(456, ((Attribute) list.get(0)).getValue());
+        Assert.assertEquals(456, ((Attribute) list.get(1)).getValue());
+    }
+
     @Test
     public void testResolveExpressions() throws Exception {
         MBeanServerConnection connection = setupAndGetConnection(new BaseAdditionalInitialization(ProcessType.STANDALONE_SERVER));
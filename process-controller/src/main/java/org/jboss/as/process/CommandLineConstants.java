@@ -123,6 +123,10 @@ public class CommandLineConstants {
 
     public static final String MANAGED_PROCESS_SYSTEM_ERROR_TO_LOG = "jboss.domain.managed-process.system.stderr.to.process-controller.log";
     public static final String MANAGED_PROCESS_SYSTEM_OUT_TO_LOG = "jboss.domain.managed-process.system.stdout.to.process-controller.log";
+    /** The maximum number of lines of each managed process output stream buffered by the process controller */
+    public static final String MANAGED_PROCESS_OUTPUT_BUFFER_SIZE = "jboss.domain.managed-process.output.buffer-size";
+    /** Either "block" or "drop"; what the process controller does when a managed process output buffer is full */
+    public static final String MANAGED_PROCESS_OUTPUT_OVERFLOW = "jboss.domain.managed-process.output.overflow";
 
     /** Additional class path items, used only by app client*/
     public static final String APPCLIENT_CONFIG = "--appclient-config";
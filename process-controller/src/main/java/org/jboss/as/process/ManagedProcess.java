@@ -22,15 +22,12 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.io.PrintStream;
 import java.lang.invoke.MethodHandles;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.Consumer;
 
 import org.jboss.as.process.logging.ProcessLogger;
 import org.jboss.as.process.stdin.Base64OutputStream;
@@ -219,15 +216,17 @@ final class ManagedProcess {
         final OutputStream stdin = process.getOutputStream();
         final InputStream stderr = process.getErrorStream();
         final InputStream stdout = process.getInputStream();
-        final Thread stderrThread = new Thread( new ReadTask(stderr, processController.getStderr(),
-                MANAGED_PROCESS_SYSTEM_ERROR_TO_PROCESS_CONTROLLER_LOG,
-                logSystemErr::error)
+        // The readers only buffer the lines; the process controller's output pump writes them
+        final ProcessOutputPump outputPump = processController.getOutputPump();
+        final Thread stderrThread = new Thread(new ReadTask(stderr,
+                outputPump.createBuffer(processName, processController.getStderr(), logSystemErr::error, logStatus),
+                MANAGED_PROCESS_SYSTEM_ERROR_TO_PROCESS_CONTROLLER_LOG)
         );
         stderrThread.setName(String.format("stderr for %s", processName));
         stderrThread.start();
-        final Thread stdoutThread = new Thread(new ReadTask(stdout, processController.getStdout(),
-                MANAGED_PROCESS_SYSTEM_OUT_TO_PROCESS_CONTROLLER_LOG,
-                logSystemOut::info)
+        final Thread stdoutThread = new Thread(new ReadTask(stdout,
+                outputPump.createBuffer(processName, processController.getStdout(), logSystemOut::info, logStatus),
+                MANAGED_PROCESS_SYSTEM_OUT_TO_PROCESS_CONTROLLER_LOG)
         );
         stdoutThread.setName(String.format("stdout for %s", processName));
         stdoutThread.start();
@@ -458,15 +457,13 @@ final class ManagedProcess {
 
     private final class ReadTask implements Runnable {
         private final InputStream source;
-        private final PrintStream target;
+        private final ProcessOutputPump.LineBuffer target;
         private boolean useLog;
-        private final Consumer<String> logConsumer;
 
-        private ReadTask(final InputStream source, final PrintStream target, boolean useLog, Consumer<String> logConsumer) {
+        private ReadTask(final InputStream source, final ProcessOutputPump.LineBuffer target, boolean useLog) {
             this.source = source;
             this.target = target;
             this.useLog = useLog;
-            this.logConsumer = logConsumer;
         }
 
         public void run() {
@@ -474,7 +471,6 @@ final class ManagedProcess {
             final String processName = ManagedProcess.this.processName;
             try {
                 final BufferedReader reader = new BufferedReader(new InputStreamReader(new BufferedInputStream(source), StandardCharsets.UTF_8));
-                final OutputStreamWriter writer = new OutputStreamWriter(target, StandardCharsets.UTF_8);
                 String s;
                 String prevEscape = "";
                 while ((s = reader.readLine()) != null) {
@@ -488,37 +484,20 @@ final class ManagedProcess {
                     int i = s.lastIndexOf('\033');
                     int j = i != -1 ? s.indexOf('m', i) : 0;
 
-                    if (useLog) {
-                        StringBuilder sp = new StringBuilder();
-                        sp.append("[");
-                        sp.append(processName);
-                        sp.append("] ");
-                        sp.append(prevEscape);
-                        sp.append(s);
-
-                        // Reset if there was ANSI
-                        if (j != 0 || !prevEscape.isEmpty()) {
-                            sp.append("\033[0m");
-                        }
+                    StringBuilder sp = new StringBuilder();
+                    sp.append("[");
+                    sp.append(processName);
+                    sp.append("] ");
+                    sp.append(prevEscape);
+                    sp.append(s);
 
-                        logConsumer.accept(sp.toString());
-                    } else {
-                        synchronized (target) {
-                            writer.write('[');
-                            writer.write(processName);
-                            writer.write("] ");
-                            writer.write(prevEscape);
-                            writer.write(s);
-
-                            // Reset if there was ANSI
-                            if (j != 0 || !prevEscape.isEmpty()) {
-                                writer.write("\033[0m");
-                            }
-                            writer.write('\n');
-                            writer.flush();
-                        }
+                    // Reset if there was ANSI
+                    if (j != 0 || !prevEscape.isEmpty()) {
+                        sp.append("\033[0m");
                     }
 
+                    target.add(sp.toString(), useLog);
+
                     // Remember escape code for the next line
                     if (j != 0) {
                         String escape = s.substring(i, j + 1);
@@ -26,6 +26,7 @@ import org.jboss.as.process.logging.ProcessLogger;
 import org.jboss.as.process.protocol.Connection;
 import org.jboss.as.process.protocol.ProtocolServer;
 import org.jboss.as.process.protocol.StreamUtils;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * @author <a href="mailto:david.lloyd@redhat.com">David M. Lloyd</a>
@@ -49,13 +50,16 @@ public final class ProcessController {
 
     private static final short AUTH_BYTES_LENGTH = 16;
     public static final short AUTH_BYTES_ENCODED_LENGTH = 24;
+    private static final int DEFAULT_OUTPUT_BUFFER_SIZE = 1024;
 
     private final PrintStream stdout;
     private final PrintStream stderr;
+    private final ProcessOutputPump outputPump;
 
     public ProcessController(final ProtocolServer.Configuration configuration, final PrintStream stdout, final PrintStream stderr) throws IOException {
         this.stdout = stdout;
         this.stderr = stderr;
+        this.outputPump = createOutputPump();
         //noinspection ThisEscapedInObjectConstruction
         configuration.setConnectionHandler(new ProcessControllerServerHandler(this));
         final ProtocolServer server = new ProtocolServer(configuration);
@@ -223,6 +227,7 @@ public final class ProcessController {
                     // ignore
                 }
             }
+            outputPump.close();
             ProcessLogger.ROOT_LOGGER.shutdownComplete();
         }
     }
@@ -397,6 +402,24 @@ public final class ProcessController {
         return stderr;
     }
 
+    ProcessOutputPump getOutputPump() {
+        return outputPump;
+    }
+
+    private static ProcessOutputPump createOutputPump() {
+        int bufferSize = DEFAULT_OUTPUT_BUFFER_SIZE;
+        final String size = WildFlySecurityManager.getPropertyPrivileged(CommandLineConstants.MANAGED_PROCESS_OUTPUT_BUFFER_SIZE, null);
+        if (size != null) {
+            try {
+                bufferSize = Math.max(1, Integer.parseInt(size.trim()));
+            } catch (NumberFormatException e) {
+                ProcessLogger.ROOT_LOGGER.debugf("Ignoring invalid %s value '%s'", CommandLineConstants.MANAGED_PROCESS_OUTPUT_BUFFER_SIZE, size);
+            }
+        }
+        final String overflow = WildFlySecurityManager.getPropertyPrivileged(CommandLineConstants.MANAGED_PROCESS_OUTPUT_OVERFLOW, "block");
+        return new ProcessOutputPump(bufferSize, !"drop".equalsIgnoreCase(overflow.trim()));
+    }
+
     private static final class ProcessControllerKey {
         private final byte[] pcAuthKey;
         private final int hashCode;
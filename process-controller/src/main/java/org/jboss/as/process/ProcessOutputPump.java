@@ -0,0 +1,269 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.process;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+
+import org.jboss.as.process.logging.ProcessLogger;
+
+/**
+ * Forwards the output of the managed processes to the process controller's own output from a single writer thread.
+ * The threads reading a process's output only add complete lines to a bounded {@link LineBuffer}, so a process
+ * writing a lot of output does not make the readers for other processes wait on the process controller's output.
+ * <p>
+ * If a buffer fills because the writer cannot keep up, the reader either waits for the writer, so the process itself
+ * is held up writing to its pipe, or discards the oldest buffered line. Discarded lines are counted, and the count is
+ * logged for the process when the buffer is next written.
+ * </p>
+ */
+final class ProcessOutputPump {
+
+    private final int capacity;
+    private final boolean block;
+    private final Thread thread;
+    private final Object lock = new Object();
+
+    /** Guarded by lock - buffers with lines waiting to be written */
+    private final ArrayDeque<LineBuffer> ready = new ArrayDeque<>();
+    private volatile boolean closed;
+
+    /**
+     * Creates a new pump and starts its writer thread.
+     *
+     * @param capacity the maximum number of lines buffered for each stream
+     * @param block {@code true} if a reader should wait for space when its buffer is full, {@code false} if the
+     *              oldest buffered line should be discarded instead
+     */
+    ProcessOutputPump(final int capacity, final boolean block) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity");
+        }
+        this.capacity = capacity;
+        this.block = block;
+        this.thread = new Thread(this::run, "Process output writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Creates a buffer for one output stream of a process.
+     *
+     * @param processName the name of the process
+     * @param target the stream to which lines are written
+     * @param logConsumer the consumer for lines which are to be logged rather than written to {@code target}
+     * @param statusLogger the logger with which to report discarded lines
+     * @return the buffer
+     */
+    LineBuffer createBuffer(final String processName, final PrintStream target, final Consumer<String> logConsumer, final ProcessLogger statusLogger) {
+        return new LineBuffer(processName, target, logConsumer, statusLogger);
+    }
+
+    /**
+     * Writes any buffered lines and stops the writer thread. Lines added after this are written by the thread adding
+     * them.
+     */
+    void close() {
+        synchronized (lock) {
+            closed = true;
+            lock.notifyAll();
+        }
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean schedule(final LineBuffer buffer) {
+        synchronized (lock) {
+            if (closed) {
+                return false;
+            }
+            ready.add(buffer);
+            if (ready.size() == 1) {
+                lock.notifyAll();
+            }
+            return true;
+        }
+    }
+
+    private void run() {
+        for (;;) {
+            final LineBuffer buffer;
+            synchronized (lock) {
+                while (ready.isEmpty() && !closed) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        // Only close() stops us
+                    }
+                }
+                buffer = ready.poll();
+            }
+            if (buffer == null) {
+                return;
+            }
+            buffer.drain();
+        }
+    }
+
+    /**
+     * The ring of lines read from one output stream of a process and not yet written. Lines are added by the single
+     * thread reading the stream.
+     */
+    final class LineBuffer {
+        private final String processName;
+        private final PrintStream target;
+        private final Writer writer;
+        private final Consumer<String> logConsumer;
+        private final ProcessLogger statusLogger;
+        private final Object drainLock = new Object();
+
+        /** Guarded by this */
+        private final String[] lines = new String[capacity];
+        /** Guarded by this - whether the line at the same index is to be logged */
+        private final boolean[] log = new boolean[capacity];
+        /** Guarded by this */
+        private int head;
+        /** Guarded by this */
+        private int count;
+        /** Guarded by this - whether the buffer is queued for, or being drained by, the writer thread */
+        private boolean scheduled;
+        /** Guarded by this - lines discarded since the buffer was last drained */
+        private long dropped;
+        /** Guarded by this */
+        private long totalDropped;
+
+        private LineBuffer(final String processName, final PrintStream target, final Consumer<String> logConsumer, final ProcessLogger statusLogger) {
+            this.processName = processName;
+            this.target = target;
+            this.writer = new OutputStreamWriter(target, StandardCharsets.UTF_8);
+            this.logConsumer = logConsumer;
+            this.statusLogger = statusLogger;
+        }
+
+        /**
+         * Adds a line to be written.
+         *
+         * @param line the line, without a line terminator
+         * @param toLog {@code true} if the line should be given to the log consumer rather than written to the target
+         */
+        void add(final String line, final boolean toLog) {
+            final boolean needsSchedule;
+            synchronized (this) {
+                final int length = lines.length;
+                boolean interrupted = false;
+                while (block && count == length && !closed && !interrupted) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+                if (count == length) {
+                    // Discard the oldest line
+                    lines[head] = null;
+                    head = (head + 1) % length;
+                    count--;
+                    dropped++;
+                    totalDropped++;
+                }
+                final int tail = (head + count) % length;
+                lines[tail] = line;
+                log[tail] = toLog;
+                count++;
+                needsSchedule = !scheduled;
+                scheduled = true;
+            }
+            if (needsSchedule && !schedule(this)) {
+                // The writer thread is gone, so write the line ourselves
+                drain();
+            }
+        }
+
+        /**
+         * Gets the number of lines discarded since the buffer was created.
+         *
+         * @return the number of lines
+         */
+        synchronized long getDroppedLines() {
+            return totalDropped;
+        }
+
+        private void drain() {
+            synchronized (drainLock) {
+                final String[] batch;
+                final boolean[] batchLog;
+                final long droppedNow;
+                final long total;
+                synchronized (this) {
+                    final int length = lines.length;
+                    batch = new String[count];
+                    batchLog = new boolean[count];
+                    for (int i = 0; i < count; i++) {
+                        final int index = (head + i) % length;
+                        batch[i] = lines[index];
+                        batchLog[i] = log[index];
+                        lines[index] = null;
+                    }
+                    head = 0;
+                    count = 0;
+                    droppedNow = dropped;
+                    dropped = 0;
+                    total = totalDropped;
+                    scheduled = false;
+                    notifyAll();
+                }
+                if (droppedNow > 0) {
+                    statusLogger.outputLinesDropped(droppedNow, processName, total);
+                }
+                write(batch, batchLog);
+            }
+        }
+
+        private void write(final String[] batch, final boolean[] batchLog) {
+            final StringBuilder sb = new StringBuilder();
+            try {
+                for (int i = 0; i < batch.length; i++) {
+                    if (batchLog[i]) {
+                        flush(sb);
+                        logConsumer.accept(batch[i]);
+                    } else {
+                        sb.append(batch[i]).append('\n');
+                    }
+                }
+                flush(sb);
+            } catch (IOException e) {
+                statusLogger.streamProcessingFailed(processName, e);
+            }
+        }
+
+        private void flush(final StringBuilder sb) throws IOException {
+            if (sb.length() > 0) {
+                synchronized (target) {
+                    writer.append(sb);
+                    writer.flush();
+                }
+                sb.setLength(0);
+            }
+        }
+    }
+}
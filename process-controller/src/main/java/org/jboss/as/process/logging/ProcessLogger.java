@@ -801,4 +801,15 @@ public interface ProcessLogger extends BasicLogger {
             "using java.lang.Process.destroyForcibly()")
     void destroyingProcess(String process, long timeout);
 
+    /**
+     * Logs a warning message indicating lines of output from a process were discarded because the process controller
+     * could not write them as quickly as the process produced them.
+     *
+     * @param count        the number of lines discarded
+     * @param processName  the name of the process
+     * @param total        the number of lines discarded since the process was started
+     */
+    @LogMessage(level = WARN)
+    @Message(id = 68, value = "Discarded %d lines of output from process '%s' that could not be written in time (%d in total)")
+    void outputLinesDropped(long count, String processName, long total);
 }
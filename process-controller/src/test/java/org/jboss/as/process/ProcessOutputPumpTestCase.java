@@ -0,0 +1,115 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.process;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.process.logging.ProcessLogger;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test of {@link ProcessOutputPump}.
+ */
+public class ProcessOutputPumpTestCase {
+
+    @Test
+    public void testOldestLinesDropped() throws Exception {
+        StalledOutputStream out = new StalledOutputStream();
+        ProcessOutputPump pump = new ProcessOutputPump(2, false);
+        try {
+            ProcessOutputPump.LineBuffer buffer = pump.createBuffer("test", new PrintStream(out, true), s -> {}, ProcessLogger.ROOT_LOGGER);
+            buffer.add("a", false);
+            // Wait for the writer to be stuck writing the first line
+            Assert.assertTrue(out.entered.await(10, TimeUnit.SECONDS));
+
+            buffer.add("b", false);
+            buffer.add("c", false);
+            buffer.add("d", false);
+            buffer.add("e", false);
+            Assert.assertEquals(2, buffer.getDroppedLines());
+        } finally {
+            out.release.countDown();
+            pump.close();
+        }
+        Assert.assertEquals("a\nd\ne\n", out.toString());
+    }
+
+    @Test
+    public void testReaderBlocked() throws Exception {
+        StalledOutputStream out = new StalledOutputStream();
+        List<String> logged = new CopyOnWriteArrayList<>();
+        ProcessOutputPump pump = new ProcessOutputPump(1, true);
+        try {
+            ProcessOutputPump.LineBuffer buffer = pump.createBuffer("test", new PrintStream(out, true), logged::add, ProcessLogger.ROOT_LOGGER);
+            buffer.add("a", false);
+            Assert.assertTrue(out.entered.await(10, TimeUnit.SECONDS));
+
+            Thread reader = new Thread(() -> {
+                buffer.add("b", false);
+                buffer.add("c", false);
+                buffer.add("d", true);
+            });
+            reader.start();
+            reader.join(200);
+            Assert.assertTrue("Reader should wait for the writer", reader.isAlive());
+
+            out.release.countDown();
+            reader.join(TimeUnit.SECONDS.toMillis(10));
+            Assert.assertFalse(reader.isAlive());
+            Assert.assertEquals(0, buffer.getDroppedLines());
+        } finally {
+            out.release.countDown();
+            pump.close();
+        }
+        Assert.assertEquals("a\nb\nc\n", out.toString());
+        Assert.assertEquals(Collections.singletonList("d"), logged);
+    }
+
+    /**
+     * Collects what is written, but holds up the first write until released.
+     */
+    private static class StalledOutputStream extends OutputStream {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            synchronized (bytes) {
+                bytes.write(b, off, len);
+            }
+        }
+
+        @Override
+        public String toString() {
+            synchronized (bytes) {
+                return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+            }
+        }
+    }
+}
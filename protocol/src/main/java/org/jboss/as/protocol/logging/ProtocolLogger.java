@@ -10,6 +10,7 @@ import static org.jboss.logging.Logger.Level.INFO;
 import static org.jboss.logging.Logger.Level.WARN;
 
 import java.io.IOException;
+import java.io.StreamCorruptedException;
 import java.lang.invoke.MethodHandles;
 import java.net.ConnectException;
 import java.net.ServerSocket;
@@ -327,4 +328,14 @@ public interface ProtocolLogger extends BasicLogger {
 
     @Message(id = 60, value = "Channel open request timed out")
     IOException channelTimedOut();
+
+    /**
+     * Creates an exception indicating a compressed stream has a chunk with an invalid length.
+     *
+     * @param length the length read for the chunk.
+     *
+     * @return a {@link StreamCorruptedException} for the error.
+     */
+    @Message(id = 61, value = "Invalid compressed chunk length %d")
+    StreamCorruptedException invalidCompressedChunkLength(int length);
 }
@@ -12,7 +12,8 @@ public interface ManagementProtocol {
     // Headers
     byte[] SIGNATURE = {Byte.MAX_VALUE, Byte.MIN_VALUE, Byte.MAX_VALUE, Byte.MIN_VALUE};
     int VERSION_FIELD = 0x00; // The version field header
-    int VERSION = 2; // The current protocol version
+    int VERSION = 3; // The current protocol version
+    int VERSION_COMPRESSION = 3; // The first version whose peers can read compressed operation results
 
     byte TYPE = 0x1;
     byte TYPE_REQUEST = 0x2;
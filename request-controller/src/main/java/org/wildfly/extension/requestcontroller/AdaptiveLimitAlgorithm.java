@@ -0,0 +1,80 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import java.util.Locale;
+
+/**
+ * The algorithms available for adapting the request limit to the observed request latency.
+ */
+public enum AdaptiveLimitAlgorithm {
+
+    /**
+     * No adaptive limit, only {@code max-requests} applies.
+     */
+    NONE {
+        @Override
+        double update(double limit, double latency, double baselineLatency, double inflight) {
+            return limit;
+        }
+    },
+
+    /**
+     * Additive increase, multiplicative decrease. The limit grows by one for each window in which the server was
+     * at least half busy and the latency stayed close to the baseline, and is cut by 10% whenever the latency rises
+     * to more than 1.5 times the baseline.
+     */
+    AIMD {
+        @Override
+        double update(double limit, double latency, double baselineLatency, double inflight) {
+            if (latency > baselineLatency * 1.5) {
+                return limit * 0.9;
+            }
+            if (inflight * 2 >= limit) {
+                return limit + 1;
+            }
+            return limit;
+        }
+    },
+
+    /**
+     * Scales the limit by the ratio of the baseline latency to the current latency, plus an allowance of the square
+     * root of the limit for queueing. The result is blended with the previous limit to avoid oscillation.
+     */
+    GRADIENT {
+        @Override
+        double update(double limit, double latency, double baselineLatency, double inflight) {
+            double gradient = Math.max(0.5, Math.min(1.0, baselineLatency / latency));
+            double newLimit = limit * gradient + Math.sqrt(limit);
+            if (inflight * 2 < limit) {
+                // the server is not busy enough for the latency to say anything about a higher limit
+                newLimit = Math.min(newLimit, limit);
+            }
+            return limit * 0.8 + newLimit * 0.2;
+        }
+    },
+    ;
+
+    /**
+     * Calculates a new limit.
+     *
+     * @param limit           the current limit
+     * @param latency         the mean request latency over the last window
+     * @param baselineLatency the mean request latency smoothed over a longer period
+     * @param inflight        the mean number of active requests over the last window
+     * @return the new limit, before it is bounded
+     */
+    abstract double update(double limit, double latency, double baselineLatency, double inflight);
+
+    @Override
+    public String toString() {
+        return name().toLowerCase(Locale.ENGLISH);
+    }
+
+    static AdaptiveLimitAlgorithm forName(String name) {
+        return valueOf(name.toUpperCase(Locale.ENGLISH));
+    }
+}
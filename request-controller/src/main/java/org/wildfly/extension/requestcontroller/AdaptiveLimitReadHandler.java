@@ -0,0 +1,59 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Read handler for the adaptive limit metrics
+ */
+class AdaptiveLimitReadHandler extends AbstractRuntimeOnlyHandler {
+
+    @Override
+    protected boolean requiresRuntime(OperationContext context) {
+        return true;
+    }
+
+    @Override
+    protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+        ServiceController<?> service = context.getServiceRegistry(false).getService(RequestController.SERVICE_NAME);
+        if (service == null) {
+            context.getResult().set(-1);
+            return;
+        }
+        RequestController requestController = (RequestController) service.getService().getValue();
+        AdaptiveLimiter limiter = requestController.getAdaptiveLimiter();
+        String attributeName = operation.require(NAME).asString();
+        switch (attributeName) {
+            case Constants.CURRENT_LIMIT:
+                context.getResult().set(requestController.getCurrentLimit());
+                break;
+            case Constants.WINDOW_LATENCY_P50:
+                context.getResult().set(latency(limiter, 50));
+                break;
+            case Constants.WINDOW_LATENCY_P90:
+                context.getResult().set(latency(limiter, 90));
+                break;
+            case Constants.WINDOW_LATENCY_P99:
+                context.getResult().set(latency(limiter, 99));
+                break;
+            default:
+                throw new IllegalStateException(attributeName);
+        }
+    }
+
+    private static long latency(AdaptiveLimiter limiter, double percentile) {
+        return (limiter != null) ? TimeUnit.NANOSECONDS.toMicros(limiter.getWindowLatencyPercentile(percentile)) : 0;
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Adjusts the request limit of a {@link RequestController} based on the observed request latency.
+ * <p/>
+ * To keep the request path free of timestamps and thread locals, latency is not measured per request. Instead the
+ * number of active requests is sampled on every tick of the controller's timeout wheel, and the number of completed
+ * requests is counted. At the end of each window the mean latency is derived from Little's law, as the mean number of
+ * active requests divided by the throughput. The baseline latency is an exponentially weighted moving average of the
+ * window latencies over the smoothing window, and the configured {@link AdaptiveLimitAlgorithm} compares the two to
+ * calculate a new limit.
+ * <p/>
+ * The latency of the most recent windows is retained, so that percentiles of the window latencies can be reported.
+ * These are percentiles of per-window means, not of the latencies of individual requests.
+ */
+final class AdaptiveLimiter {
+
+    static final long WINDOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /**
+     * The number of window latencies retained for reporting, one minute's worth.
+     */
+    private static final int HISTORY = 600;
+
+    private final AdaptiveLimitAlgorithm algorithm;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int smoothingWindow;
+    private final LongAdder completions = new LongAdder();
+    private final AtomicLongArray history = new AtomicLongArray(HISTORY);
+
+    private volatile int limit;
+
+    // only accessed by the sampling thread
+    private double exactLimit;
+    private double baselineLatency = Double.NaN;
+    private long windowStart;
+    private long inflightTotal;
+    private int inflightSamples;
+
+    private volatile long windows;
+
+    /**
+     * @param algorithm       the algorithm used to adapt the limit
+     * @param minLimit        the lower bound of the limit, which is also the initial limit
+     * @param maxLimit        the upper bound of the limit
+     * @param smoothingWindow the number of windows over which the baseline latency is averaged
+     */
+    AdaptiveLimiter(AdaptiveLimitAlgorithm algorithm, int minLimit, int maxLimit, int smoothingWindow) {
+        this.algorithm = algorithm;
+        this.minLimit = minLimit;
+        this.maxLimit = Math.max(minLimit, maxLimit);
+        this.smoothingWindow = Math.max(1, smoothingWindow);
+        this.exactLimit = minLimit;
+        this.limit = minLimit;
+        this.windowStart = System.nanoTime();
+    }
+
+    /**
+     * @return the current limit
+     */
+    int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Records the completion of a request. This is the only method called on the request path.
+     */
+    void requestCompleted() {
+        completions.increment();
+    }
+
+    /**
+     * Samples the number of active requests. This must only be called from a single thread.
+     *
+     * @param inflight the number of currently active requests
+     * @param now      the current {@link System#nanoTime()}
+     * @return {@code true} if the limit was increased
+     */
+    boolean sample(int inflight, long now) {
+        inflightTotal += inflight;
+        inflightSamples++;
+        long elapsed = now - windowStart;
+        if (elapsed < WINDOW) {
+            return false;
+        }
+        long completed = completions.sumThenReset();
+        double meanInflight = (double) inflightTotal / inflightSamples;
+        windowStart = now;
+        inflightTotal = 0;
+        inflightSamples = 0;
+        if (completed == 0) {
+            // nothing to measure, leave the limit alone
+            return false;
+        }
+        double latency = meanInflight * elapsed / completed;
+        history.set((int) (windows++ % HISTORY), (long) latency);
+        if (Double.isNaN(baselineLatency)) {
+            baselineLatency = latency;
+        } else {
+            baselineLatency += (latency - baselineLatency) / smoothingWindow;
+        }
+        double newLimit = algorithm.update(exactLimit, latency, baselineLatency, meanInflight);
+        exactLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        int previous = limit;
+        limit = (int) exactLimit;
+        return limit > previous;
+    }
+
+    /**
+     * Calculates a percentile of the mean latencies of the recent windows.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the latency in nanoseconds, or zero if no windows have been measured
+     */
+    long getWindowLatencyPercentile(double percentile) {
+        int count = (int) Math.min(windows, HISTORY);
+        if (count == 0) {
+            return 0;
+        }
+        long[] values = new long[count];
+        for (int i = 0; i < count; ++i) {
+            values[i] = history.get(i);
+        }
+        Arrays.sort(values);
+        int index = (int) Math.ceil(percentile / 100 * count) - 1;
+        return values[Math.max(0, Math.min(count - 1, index))];
+    }
+}
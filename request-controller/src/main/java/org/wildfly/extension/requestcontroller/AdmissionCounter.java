@@ -0,0 +1,31 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+/**
+ * Tracks the number of requests that have been admitted by the {@link RequestController} and not yet completed.
+ */
+interface AdmissionCounter {
+
+    /**
+     * Attempts to admit a request.
+     *
+     * @param maxRequests the maximum number of concurrently admitted requests, or a value less than or equal to zero
+     *                    if the number of requests is unbounded
+     * @return {@code true} if the request was admitted, {@code false} if the limit has been reached
+     */
+    boolean tryAcquire(int maxRequests);
+
+    /**
+     * Releases a request previously admitted via {@link #tryAcquire(int)}.
+     */
+    void release();
+
+    /**
+     * @return the number of currently admitted requests
+     */
+    int get();
+}
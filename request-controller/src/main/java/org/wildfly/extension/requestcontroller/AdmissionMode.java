@@ -0,0 +1,46 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * The strategies available for counting the requests admitted by the {@link RequestController}.
+ */
+public enum AdmissionMode {
+
+    /**
+     * A single atomic counter. This is exact, but all request threads contend on the same field.
+     */
+    ATOMIC(AtomicAdmissionCounter::new),
+
+    /**
+     * A striped counter, where each thread updates its own cell. This scales better with a large number of cores,
+     * at the cost of summing all cells when a request limit is configured or the server is suspending.
+     */
+    STRIPED(StripedAdmissionCounter::new),
+    ;
+
+    private final Supplier<AdmissionCounter> factory;
+
+    AdmissionMode(Supplier<AdmissionCounter> factory) {
+        this.factory = factory;
+    }
+
+    AdmissionCounter createCounter() {
+        return factory.get();
+    }
+
+    @Override
+    public String toString() {
+        return name().toLowerCase(Locale.ENGLISH);
+    }
+
+    static AdmissionMode forName(String name) {
+        return valueOf(name.toUpperCase(Locale.ENGLISH));
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * An {@link AdmissionCounter} backed by a single atomic field. The limit is enforced exactly, but every admission
+ * updates the same memory location.
+ */
+final class AtomicAdmissionCounter implements AdmissionCounter {
+
+    private static final AtomicIntegerFieldUpdater<AtomicAdmissionCounter> countUpdater = AtomicIntegerFieldUpdater.newUpdater(AtomicAdmissionCounter.class, "count");
+
+    @SuppressWarnings("unused")
+    private volatile int count = 0;
+
+    @Override
+    public boolean tryAcquire(int maxRequests) {
+        int active = countUpdater.get(this);
+        while (maxRequests <= 0 || active < maxRequests) {
+            if (countUpdater.compareAndSet(this, active, active + 1)) {
+                return true;
+            }
+            active = countUpdater.get(this);
+        }
+        return false;
+    }
+
+    @Override
+    public void release() {
+        countUpdater.decrementAndGet(this);
+    }
+
+    @Override
+    public int get() {
+        return countUpdater.get(this);
+    }
+}
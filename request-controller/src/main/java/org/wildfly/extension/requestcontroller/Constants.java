@@ -12,4 +12,24 @@ interface Constants {
     String MAX_REQUESTS = "max-requests";
     String ACTIVE_REQUESTS = "active-requests";
     String TRACK_INDIVIDUAL_ENDPOINTS = "track-individual-endpoints";
+    String ADMISSION_MODE = "admission-mode";
+    String TIMEOUT_RESOLUTION = "timeout-resolution";
+    String ADAPTIVE_LIMIT = "adaptive-limit";
+    String ADAPTIVE_MIN_LIMIT = "adaptive-min-limit";
+    String ADAPTIVE_MAX_LIMIT = "adaptive-max-limit";
+    String ADAPTIVE_SMOOTHING_WINDOW = "adaptive-smoothing-window";
+    String CURRENT_LIMIT = "current-limit";
+    String WINDOW_LATENCY_P50 = "window-latency-p50";
+    String WINDOW_LATENCY_P90 = "window-latency-p90";
+    String WINDOW_LATENCY_P99 = "window-latency-p99";
+    String QUEUE_TIME = "queue-time";
+    String RUN_TIME = "run-time";
+    String REJECTED_REQUESTS = "rejected-requests";
+    String TIMED_OUT_REQUESTS = "timed-out-requests";
+    String COUNT = "count";
+    String MEAN = "mean";
+    String P50 = "p50";
+    String P90 = "p90";
+    String P99 = "p99";
+    String MAX = "max";
 }
@@ -28,6 +28,7 @@ import java.util.concurrent.Executor;
 public class ControlPoint {
 
     private static final AtomicIntegerFieldUpdater<ControlPoint> activeRequestCountUpdater = AtomicIntegerFieldUpdater.newUpdater(ControlPoint.class, "activeRequestCount");
+    private static final AtomicIntegerFieldUpdater<ControlPoint> referenceCountUpdater = AtomicIntegerFieldUpdater.newUpdater(ControlPoint.class, "referenceCount");
     private static final AtomicReferenceFieldUpdater<ControlPoint, CompletableFuture> pauseUpdater = AtomicReferenceFieldUpdater.newUpdater(ControlPoint.class, CompletableFuture.class, "pauseFuture");
 
     private final RequestController controller;
@@ -49,17 +50,27 @@ public class ControlPoint {
     @SuppressWarnings("unused")
     private volatile CompletableFuture<Void> pauseFuture = null;
 
+    /**
+     * The queue of tasks submitted via this entry point that are waiting to be admitted
+     */
+    private final TaskQueue.Lane queueLane = new TaskQueue.Lane();
+
+    private final RequestStatistics statistics;
+
     /**
      * The number of services that are using this entry point.
-     * This is a deployment time measurement, not a runtime one
+     * This is a deployment time measurement, not a runtime one.
+     * Once this has dropped to zero the control point is discarded, and can no longer be referenced.
      */
-    private int referenceCount = 0;
+    @SuppressWarnings("unused")
+    private volatile int referenceCount = 0;
 
     ControlPoint(RequestController controller, String deployment, String entryPoint, boolean trackIndividualControlPoints) {
         this.controller = controller;
         this.deployment = deployment;
         this.entryPoint = entryPoint;
         this.trackIndividualControlPoints = trackIndividualControlPoints;
+        this.statistics = new RequestStatistics();
     }
 
     public String getEntryPoint() {
@@ -121,10 +132,13 @@ public class ControlPoint {
      * task cannot be run, and its failure should be signaled back to the originator.
      * <p/>
      * If it returns {@code RUN} then the task should proceed as normal, and the {@link #requestComplete()} method
-     * must be called once the task is complete, usually via a try/finally construct.
+     * must be called once the task is complete, usually via a try/finally construct. Callers that want the run time of
+     * the request to be reported should take {@link System#nanoTime()} before calling this method, and pass it to
+     * {@link #requestComplete(long)} instead.
      */
     public RunResult beginRequest() {
         if (paused) {
+            statistics.recordRejected();
             return RunResult.REJECTED;
         }
         if(trackIndividualControlPoints) {
@@ -132,6 +146,7 @@ public class ControlPoint {
         }
         RunResult runResult = controller.beginRequest(false);
         if (runResult == RunResult.REJECTED) {
+            statistics.recordRejected();
             decreaseRequestCount();
         }
         return runResult;
@@ -152,7 +167,11 @@ public class ControlPoint {
         if(trackIndividualControlPoints) {
             activeRequestCountUpdater.incrementAndGet(this);
         }
-        return controller.beginRequest(true);
+        RunResult runResult = controller.beginRequest(true);
+        if (runResult == RunResult.REJECTED) {
+            statistics.recordRejected();
+        }
+        return runResult;
     }
 
     /**
@@ -174,6 +193,20 @@ public class ControlPoint {
         controller.requestComplete();
     }
 
+    /**
+     * Equivalent to {@link #requestComplete()}, but also records the run time of the request in the statistics of
+     * this entry point.
+     * <p/>
+     * The start time is passed in rather than tracked here, as a request is not necessarily completed by the thread
+     * that began it.
+     *
+     * @param startTime the value of {@link System#nanoTime()} when the request was begun
+     */
+    public void requestComplete(long startTime) {
+        statistics.recordRunTime(System.nanoTime() - startTime);
+        requestComplete();
+    }
+
     private void decreaseRequestCount() {
         if (trackIndividualControlPoints) {
             int result = activeRequestCountUpdater.decrementAndGet(this);
@@ -231,15 +264,63 @@ public class ControlPoint {
         return paused;
     }
 
+    /**
+     * Sets the relative share of queued tasks that this entry point receives when tasks from several entry points are
+     * waiting to be admitted. Queued tasks are taken from each entry point in turn, so by default every entry point
+     * receives an equal share regardless of the size of its backlog. An entry point with a weight of <em>n</em> has
+     * <em>n</em> tasks run per turn.
+     *
+     * @param weight the weight, which must be at least one
+     */
+    public void setQueueWeight(int weight) {
+        queueLane.setWeight(weight);
+    }
+
+    public int getQueueWeight() {
+        return queueLane.getWeight();
+    }
+
+    TaskQueue.Lane getQueueLane() {
+        return queueLane;
+    }
+
+    RequestStatistics getStatistics() {
+        return statistics;
+    }
+
     public int getActiveRequestCount() {
         return activeRequestCountUpdater.get(this);
     }
 
-    synchronized int increaseReferenceCount() {
-        return ++referenceCount;
+    /**
+     * Increments the reference count, unless this control point has already been discarded.
+     *
+     * @return {@code true} if the reference count was incremented
+     */
+    boolean tryIncreaseReferenceCount() {
+        int count;
+        do {
+            count = referenceCountUpdater.get(this);
+            if (count < 0) {
+                return false;
+            }
+        } while (!referenceCountUpdater.compareAndSet(this, count, count + 1));
+        return true;
     }
 
-    synchronized int decreaseReferenceCount() {
-        return --referenceCount;
+    /**
+     * Decrements the reference count, discarding this control point if it is no longer referenced.
+     *
+     * @return the remaining number of references
+     */
+    int decreaseReferenceCount() {
+        int count;
+        do {
+            count = referenceCountUpdater.get(this);
+            if (count <= 0) {
+                return 0;
+            }
+        } while (!referenceCountUpdater.compareAndSet(this, count, (count == 1) ? -1 : count - 1));
+        return Math.max(count - 1, 0);
     }
 }
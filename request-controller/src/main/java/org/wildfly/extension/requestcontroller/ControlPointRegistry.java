@@ -0,0 +1,130 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+/**
+ * The reference counted control points of a {@link RequestController}, indexed both by deployment and by entry point.
+ * <p/>
+ * Looking up an existing control point neither locks nor allocates: the deployment and entry point names are used as
+ * keys of two nested maps, rather than being combined into a composite key. Creating or releasing the last reference
+ * to a control point synchronizes only on the map entries for its deployment and entry point.
+ * <p/>
+ * Either name may be {@code null}, as {@link RequestController#getControlPoint(String, String)} has always allowed;
+ * as the maps do not accept {@code null} keys, it is stored as a private sentinel key instead.
+ */
+final class ControlPointRegistry {
+
+    private static final Object NULL_NAME = new Object();
+
+    private final Map<Object, Map<Object, ControlPoint>> deployments = new ConcurrentHashMap<>();
+    private final Map<Object, Map<Object, ControlPoint>> entryPoints = new ConcurrentHashMap<>();
+    private final BiFunction<String, String, ControlPoint> factory;
+
+    /**
+     * @param factory creates a control point for a given deployment and entry point name
+     */
+    ControlPointRegistry(BiFunction<String, String, ControlPoint> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Gets the control point for the given deployment and entry point, creating it if necessary, and increments its
+     * reference count.
+     */
+    ControlPoint acquire(String deploymentName, String entryPointName) {
+        Object deploymentKey = key(deploymentName);
+        Object entryPointKey = key(entryPointName);
+        Map<Object, ControlPoint> controlPoints = deployments.get(deploymentKey);
+        if (controlPoints != null) {
+            ControlPoint existing = controlPoints.get(entryPointKey);
+            if (existing != null && existing.tryIncreaseReferenceCount()) {
+                return existing;
+            }
+        }
+        ControlPoint[] result = new ControlPoint[1];
+        // all modifications of the maps for a deployment are made while holding its entry in the outer map
+        deployments.compute(deploymentKey, (name, existingControlPoints) -> {
+            Map<Object, ControlPoint> map = (existingControlPoints != null) ? existingControlPoints : new ConcurrentHashMap<>();
+            ControlPoint existing = map.get(entryPointKey);
+            if (existing != null && existing.tryIncreaseReferenceCount()) {
+                result[0] = existing;
+            } else {
+                // either there is no control point, or its last reference is concurrently being released
+                ControlPoint controlPoint = factory.apply(deploymentName, entryPointName);
+                controlPoint.tryIncreaseReferenceCount();
+                map.put(entryPointKey, controlPoint);
+                entryPoints.compute(entryPointKey, (ep, byDeployment) -> {
+                    Map<Object, ControlPoint> index = (byDeployment != null) ? byDeployment : new ConcurrentHashMap<>();
+                    index.put(deploymentKey, controlPoint);
+                    return index;
+                });
+                result[0] = controlPoint;
+            }
+            return map;
+        });
+        return result[0];
+    }
+
+    /**
+     * Decrements the reference count of the given control point, and removes it once it is no longer referenced.
+     *
+     * @return {@code true} if the last reference was released
+     */
+    boolean release(ControlPoint controlPoint) {
+        if (controlPoint.decreaseReferenceCount() != 0) {
+            return false;
+        }
+        Object deploymentKey = key(controlPoint.getDeployment());
+        Object entryPointKey = key(controlPoint.getEntryPoint());
+        deployments.computeIfPresent(deploymentKey, (name, map) -> {
+            // a replacement may already have been registered, in which case it must be retained
+            if (map.remove(entryPointKey, controlPoint)) {
+                entryPoints.computeIfPresent(entryPointKey, (ep, index) -> {
+                    index.remove(deploymentKey, controlPoint);
+                    return index.isEmpty() ? null : index;
+                });
+            }
+            return map.isEmpty() ? null : map;
+        });
+        return true;
+    }
+
+    /**
+     * @return the control points of the given deployment
+     */
+    Collection<ControlPoint> getDeploymentControlPoints(String deploymentName) {
+        return snapshot(deployments.get(key(deploymentName)));
+    }
+
+    /**
+     * @return the control points of the given entry point, across all deployments
+     */
+    Collection<ControlPoint> getEntryPointControlPoints(String entryPointName) {
+        return snapshot(entryPoints.get(key(entryPointName)));
+    }
+
+    /**
+     * @return all registered control points
+     */
+    Collection<ControlPoint> getControlPoints() {
+        return deployments.values().stream().flatMap(map -> map.values().stream()).collect(Collectors.toUnmodifiableList());
+    }
+
+    private static Object key(String name) {
+        return (name != null) ? name : NULL_NAME;
+    }
+
+    private static Collection<ControlPoint> snapshot(Map<Object, ControlPoint> controlPoints) {
+        return (controlPoints != null) ? List.copyOf(controlPoints.values()) : List.of();
+    }
+}
@@ -24,11 +24,12 @@ public final class ControlPointTask implements Runnable {
 
     @Override
     public void run() {
+        long start = System.nanoTime();
         try {
             controlPoint.beginExistingRequest();
             originalTask.run();
         } finally {
-            controlPoint.requestComplete();
+            controlPoint.requestComplete(start);
         }
     }
 }
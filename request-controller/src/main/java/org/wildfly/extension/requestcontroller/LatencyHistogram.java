@@ -0,0 +1,162 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed size histogram of durations, in the style of HdrHistogram.
+ * <p/>
+ * Durations are recorded in microseconds into log-linear buckets: each power of two is split into
+ * {@value #SUB_BUCKETS} linear sub-buckets, so a reported value is never more than 12.5% above the recorded
+ * value. Durations of 2<sup>{@value #MAX_MAGNITUDE}</sup> microseconds (about 12 days) or more all fall into the last
+ * bucket.
+ * <p/>
+ * Recording is lock-free and does not allocate, it is a single increment of the bucket count plus an increment of the
+ * total. Reading takes a {@link Snapshot}, which is not atomic with respect to concurrent recording.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_MAGNITUDE = 40;
+
+    static final int BUCKETS = SUB_BUCKETS + (MAX_MAGNITUDE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private static final AtomicLongFieldUpdater<LatencyHistogram> maxUpdater = AtomicLongFieldUpdater.newUpdater(LatencyHistogram.class, "max");
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+
+    @SuppressWarnings("unused")
+    private volatile long max = 0;
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos the duration in nanoseconds
+     */
+    void record(long nanos) {
+        long micros = Math.max(0, nanos / 1000);
+        counts.incrementAndGet(bucket(micros));
+        total.add(micros);
+        updateMax(micros);
+    }
+
+    /**
+     * Adds the current contents of the given histogram to this one.
+     */
+    void add(LatencyHistogram histogram) {
+        for (int i = 0; i < BUCKETS; ++i) {
+            long bucketCount = histogram.counts.get(i);
+            if (bucketCount != 0) {
+                counts.addAndGet(i, bucketCount);
+            }
+        }
+        total.add(histogram.total.sum());
+        updateMax(histogram.max);
+    }
+
+    private void updateMax(long micros) {
+        long current;
+        while (micros > (current = max)) {
+            if (maxUpdater.compareAndSet(this, current, micros)) {
+                break;
+            }
+        }
+    }
+
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        if (magnitude >= MAX_MAGNITUDE) {
+            return BUCKETS - 1;
+        }
+        int shift = magnitude - SUB_BUCKET_BITS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    /**
+     * @return the largest value that is recorded into the given bucket
+     */
+    static long highestValue(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+        long subBucket = SUB_BUCKETS + (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * The merged contents of one or more histograms.
+     */
+    static final class Snapshot {
+
+        private final long[] counts = new long[BUCKETS];
+        private long count;
+        private long total;
+        private long max;
+
+        /**
+         * Adds the current contents of the given histogram to this snapshot.
+         */
+        void add(LatencyHistogram histogram) {
+            for (int i = 0; i < BUCKETS; ++i) {
+                long bucketCount = histogram.counts.get(i);
+                counts[i] += bucketCount;
+                count += bucketCount;
+            }
+            total += histogram.total.sum();
+            max = Math.max(max, histogram.max);
+        }
+
+        /**
+         * @return the number of recorded durations
+         */
+        long getCount() {
+            return count;
+        }
+
+        /**
+         * @return the mean duration in microseconds, or zero if nothing was recorded
+         */
+        long getMean() {
+            return (count == 0) ? 0 : total / count;
+        }
+
+        /**
+         * @return the maximum duration in microseconds
+         */
+        long getMax() {
+            return max;
+        }
+
+        /**
+         * @param percentile the percentile, between 0 and 100
+         * @return the duration in microseconds at or below which the given percentage of durations fall, or zero if
+         * nothing was recorded
+         */
+        long getValueAtPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long target = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; ++i) {
+                seen += counts[i];
+                if (seen >= target) {
+                    return Math.min(highestValue(i), max);
+                }
+            }
+            return max;
+        }
+    }
+}
@@ -5,23 +5,17 @@
 package org.wildfly.extension.requestcontroller;
 
 import java.util.ArrayList;
-import java.util.Deque;
-import java.util.HashMap;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
-import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.BiConsumer;
-import java.util.function.Predicate;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 import org.jboss.as.server.suspend.ServerResumeContext;
 import org.jboss.as.server.suspend.ServerSuspendContext;
@@ -49,16 +43,27 @@ public class RequestController implements Service<RequestController>, Suspendabl
 
     static final ServiceName SERVICE_NAME = RequestControllerRootDefinition.REQUEST_CONTROLLER_CAPABILITY.getCapabilityServiceName();
 
-    private static final AtomicIntegerFieldUpdater<RequestController> activeRequestCountUpdater = AtomicIntegerFieldUpdater.newUpdater(RequestController.class, "activeRequestCount");
+    static final long DEFAULT_TIMEOUT_TICK = 10;
+
+    /**
+     * The number of buckets in the timeout wheel. With the default tick this covers about 10 seconds per revolution,
+     * longer timeouts just wait for additional revolutions.
+     */
+    private static final int TIMEOUT_WHEEL_SIZE = 1024;
+
     private static final AtomicReferenceFieldUpdater<RequestController, CompletableFuture> suspendUpdater = AtomicReferenceFieldUpdater.newUpdater(RequestController.class, CompletableFuture.class, "suspend");
 
     private volatile int maxRequestCount = -1;
 
-    private volatile int activeRequestCount = 0;
+    private final AdmissionCounter activeRequestCount;
 
     private volatile boolean paused = false;
 
-    private final Map<ControlPointIdentifier, ControlPoint> entryPoints = new HashMap<>();
+    private volatile AdaptiveLimiter adaptiveLimiter;
+
+    private final ControlPointRegistry controlPoints;
+
+    private final RequestStatistics statistics = new RequestStatistics();
 
     @SuppressWarnings("unused")
     private volatile CompletableFuture<Void> suspend = null;
@@ -66,14 +71,29 @@ public class RequestController implements Service<RequestController>, Suspendabl
     private final boolean trackIndividualControlPoints;
     private final Supplier<SuspendableActivityRegistry> registry;
 
+    private final long timeoutTick;
+
     public RequestController(boolean trackIndividualControlPoints, Supplier<SuspendableActivityRegistry> registry) {
+        this(trackIndividualControlPoints, AdmissionMode.ATOMIC, DEFAULT_TIMEOUT_TICK, registry);
+    }
+
+    /**
+     * @param trackIndividualControlPoints if requests should also be tracked per control point
+     * @param admissionMode                the strategy used to count active requests
+     * @param timeoutTick                  the resolution, in milliseconds, with which queued task timeouts are enforced
+     * @param registry                     the registry with which this controller registers itself as a suspendable activity
+     */
+    public RequestController(boolean trackIndividualControlPoints, AdmissionMode admissionMode, long timeoutTick, Supplier<SuspendableActivityRegistry> registry) {
         this.trackIndividualControlPoints = trackIndividualControlPoints;
+        this.controlPoints = new ControlPointRegistry((deployment, entryPoint) -> new ControlPoint(this, deployment, entryPoint, this.trackIndividualControlPoints));
+        this.activeRequestCount = admissionMode.createCounter();
+        this.timeoutTick = timeoutTick;
         this.registry = registry;
     }
 
-    private Timer timer;
+    private volatile TimeoutWheel timeoutWheel;
 
-    private final Deque<QueuedTask> taskQueue = new LinkedBlockingDeque<>();
+    private final TaskQueue taskQueue = new TaskQueue();
 
     @Override
     public CompletionStage<Void> suspend(ServerSuspendContext context) {
@@ -81,7 +101,7 @@ public class RequestController implements Service<RequestController>, Suspendabl
         CompletableFuture<Void> result = new CompletableFuture<>();
         suspendUpdater.set(this, result);
 
-        if (activeRequestCountUpdater.get(this) == 0) {
+        if (activeRequestCount.get() == 0) {
             if (suspendUpdater.compareAndSet(this, result, null)) {
                 result.complete(null);
             }
@@ -97,20 +117,19 @@ public class RequestController implements Service<RequestController>, Suspendabl
             suspendUpdater.compareAndSet(this, suspend, null);
             suspend.cancel(false);
         }
-        while (!taskQueue.isEmpty() && (activeRequestCount < maxRequestCount || maxRequestCount < 0)) {
+        while (!taskQueue.isEmpty() && hasCapacity()) {
             runQueuedTask(false);
         }
         return SuspendableActivity.COMPLETED;
     }
 
     /**
-     * Pauses control points matching the specified predicate.
+     * Pauses the specified control points.
      *
-     * @param filter a control point filter
-     * @return a stage that will complete when the deployments matching the specified predicate are paused.
+     * @param controlPoints the control points to pause
+     * @return a stage that will complete when the specified control points are paused.
      */
-    private synchronized CompletionStage<Void> pause(Predicate<ControlPoint> filter) {
-        List<ControlPoint> controlPoints = this.entryPoints.values().stream().filter(filter).collect(Collectors.toUnmodifiableList());
+    private static CompletionStage<Void> pause(Collection<ControlPoint> controlPoints) {
         if (controlPoints.isEmpty()) return SuspendableActivity.COMPLETED;
         AtomicInteger count = new AtomicInteger(controlPoints.size());
         CompletableFuture<Void> result = new CompletableFuture<>();
@@ -136,7 +155,7 @@ public class RequestController implements Service<RequestController>, Suspendabl
      * @return a stage that completes when all control points for the the specified deployment have paused.
      */
     public CompletionStage<Void> pauseDeployment(final String deployment) {
-        return this.pause(new DeploymentFilter(deployment));
+        return pause(this.controlPoints.getDeploymentControlPoints(deployment));
     }
 
     /**
@@ -151,13 +170,6 @@ public class RequestController implements Service<RequestController>, Suspendabl
         this.pauseDeployment(deployment).whenComplete((ignore, exception) -> listener.done());
     }
 
-    /**
-     * Resumes the control points matching the specified predicate.
-     * @param filter a control point filter
-     */
-    private synchronized void resume(Predicate<ControlPoint> filter) {
-        this.entryPoints.values().stream().filter(filter).forEach(ControlPoint::resume);
-    }
 
     /**
      * resumed a given deployment
@@ -165,7 +177,7 @@ public class RequestController implements Service<RequestController>, Suspendabl
      * @param deployment The deployment to resume
      */
     public void resumeDeployment(final String deployment) {
-        this.resume(new DeploymentFilter(deployment));
+        this.controlPoints.getDeploymentControlPoints(deployment).forEach(ControlPoint::resume);
     }
 
     /**
@@ -175,7 +187,7 @@ public class RequestController implements Service<RequestController>, Suspendabl
      * @return a stage that completes when all control points for the specified entry point have paused.
      */
     public CompletionStage<Void> pauseControlPoint(final String entryPoint) {
-        return this.pause(new EntryPointFilter(entryPoint));
+        return pause(this.controlPoints.getEntryPointControlPoints(entryPoint));
     }
 
     /**
@@ -196,52 +208,76 @@ public class RequestController implements Service<RequestController>, Suspendabl
      * @param entryPoint The entry point
      */
     public void resumeControlPoint(final String entryPoint) {
-        this.resume(new EntryPointFilter(entryPoint));
+        this.controlPoints.getEntryPointControlPoints(entryPoint).forEach(ControlPoint::resume);
     }
 
-    public synchronized RequestControllerState getState() {
+    public RequestControllerState getState() {
         final List<RequestControllerState.EntryPointState> eps = new ArrayList<>();
-        for (ControlPoint controlPoint : entryPoints.values()) {
+        for (ControlPoint controlPoint : controlPoints.getControlPoints()) {
             eps.add(new RequestControllerState.EntryPointState(controlPoint.getDeployment(), controlPoint.getEntryPoint(), controlPoint.isPaused(), controlPoint.getActiveRequestCount()));
         }
-        return new RequestControllerState(paused, activeRequestCount, maxRequestCount, eps);
+        return new RequestControllerState(paused, activeRequestCount.get(), maxRequestCount, eps);
     }
 
     RunResult beginRequest(boolean force) {
-        int maxRequests = maxRequestCount;
-        int active = activeRequestCountUpdater.get(this);
-        boolean success = false;
-        while ((maxRequests <= 0 || active < maxRequests) && (!paused || force)) {
-            if (activeRequestCountUpdater.compareAndSet(this, active, active + 1)) {
-                success = true;
-                break;
-            }
-            active = activeRequestCountUpdater.get(this);
+        if (paused && !force) {
+            return RunResult.REJECTED;
         }
-        if (success) {
+        if (activeRequestCount.tryAcquire(getCurrentLimit())) {
             //re-check the paused state
             //this is necessary because there is a race between checking paused and updating active requests
-            //if this happens we just call requestComplete(), as the listener can only be invoked once it does not
-            //matter if it has already been invoked
+            //if this happens we back the request out, as the listener can only be invoked once it does not
+            //matter if it has already been invoked. The request never ran, so it is not reported to the adaptive
+            //limiter as a completion
             if(!force && paused) {
-                requestComplete();
+                runQueuedTask(true);
                 return RunResult.REJECTED;
             }
             return RunResult.RUN;
         } else {
+            //a rejected request may have been counted while it was backed out, which can hide the release of the
+            //last active request from a suspend in progress, so the suspend is checked again here
+            completeSuspendIfIdle();
             return RunResult.REJECTED;
         }
     }
 
     void requestComplete() {
+        AdaptiveLimiter limiter = this.adaptiveLimiter;
+        if (limiter != null) {
+            limiter.requestCompleted();
+        }
         runQueuedTask(true);
     }
 
+    /**
+     * @return the number of requests that may currently be active, taking into account both the configured maximum and
+     * the adaptive limit, or a value less than or equal to zero if the number of requests is unbounded
+     */
+    int getCurrentLimit() {
+        int max = maxRequestCount;
+        AdaptiveLimiter limiter = this.adaptiveLimiter;
+        if (limiter == null) {
+            return max;
+        }
+        int adaptive = limiter.getLimit();
+        return (max > 0) ? Math.min(max, adaptive) : adaptive;
+    }
+
+    private boolean hasCapacity() {
+        int limit = getCurrentLimit();
+        return limit <= 0 || activeRequestCount.get() < limit;
+    }
+
     private void decrementRequestCount() {
 
-        int result = activeRequestCountUpdater.decrementAndGet(this);
+        activeRequestCount.release();
+        completeSuspendIfIdle();
+    }
+
+    private void completeSuspendIfIdle() {
         if (paused) {
-            if (paused && result == 0) {
+            if (activeRequestCount.get() == 0) {
                 CompletableFuture<Void> suspend = suspendUpdater.get(this);
                 if (suspend != null) {
                     if (suspendUpdater.compareAndSet(this, suspend, null)) {
@@ -263,15 +299,8 @@ public class RequestController implements Service<RequestController>, Suspendabl
      * @param entryPointName The entry point name
      * @return The entry point, or null if the request controller is disabled
      */
-    public synchronized ControlPoint getControlPoint(final String deploymentName, final String entryPointName) {
-        ControlPointIdentifier id = new ControlPointIdentifier(deploymentName, entryPointName);
-        ControlPoint ep = entryPoints.get(id);
-        if (ep == null) {
-            ep = new ControlPoint(this, deploymentName, entryPointName, trackIndividualControlPoints);
-            entryPoints.put(id, ep);
-        }
-        ep.increaseReferenceCount();
-        return ep;
+    public ControlPoint getControlPoint(final String deploymentName, final String entryPointName) {
+        return controlPoints.acquire(deploymentName, entryPointName);
     }
 
     /**
@@ -279,11 +308,29 @@ public class RequestController implements Service<RequestController>, Suspendabl
      *
      * @param controlPoint The entry point
      */
-    public synchronized void removeControlPoint(ControlPoint controlPoint) {
-        if (controlPoint.decreaseReferenceCount() == 0) {
-            ControlPointIdentifier id = new ControlPointIdentifier(controlPoint.getDeployment(), controlPoint.getEntryPoint());
-            entryPoints.remove(id);
+    public void removeControlPoint(ControlPoint controlPoint) {
+        if (controlPoints.release(controlPoint)) {
+            statistics.add(controlPoint.getStatistics());
+        }
+    }
+
+    /**
+     * @return the statistics of all requests, including those of control points that have since been removed
+     */
+    RequestStatistics.Snapshot getStatistics() {
+        RequestStatistics.Snapshot snapshot = new RequestStatistics.Snapshot();
+        snapshot.add(statistics);
+        for (ControlPoint controlPoint : controlPoints.getControlPoints()) {
+            snapshot.add(controlPoint.getStatistics());
         }
+        return snapshot;
+    }
+
+    /**
+     * @return the control points of the given top level deployment
+     */
+    Collection<ControlPoint> getDeploymentControlPoints(String deploymentName) {
+        return controlPoints.getDeploymentControlPoints(deploymentName);
     }
 
     /**
@@ -303,13 +350,49 @@ public class RequestController implements Service<RequestController>, Suspendabl
      */
     public void setMaxRequestCount(int maxRequestCount) {
         this.maxRequestCount = maxRequestCount;
-        while (!taskQueue.isEmpty() && (activeRequestCount < maxRequestCount || maxRequestCount < 0)) {
+        runQueuedTasks();
+    }
+
+    /**
+     * Enables adaptive limiting of the number of active requests. This must be called before the controller is started.
+     *
+     * @param adaptiveLimiter the limiter, or {@code null} to only apply {@link #getMaxRequestCount()}
+     */
+    void setAdaptiveLimiter(AdaptiveLimiter adaptiveLimiter) {
+        this.adaptiveLimiter = adaptiveLimiter;
+    }
+
+    /**
+     * @return the adaptive limiter, or {@code null} if adaptive limiting is not enabled
+     */
+    AdaptiveLimiter getAdaptiveLimiter() {
+        return adaptiveLimiter;
+    }
+
+    private void runQueuedTasks() {
+        while (!taskQueue.isEmpty() && hasCapacity()) {
             if(!runQueuedTask(false)) {
                 break;
             }
         }
     }
 
+    private void sampleAdaptiveLimit() {
+        TimeoutWheel timeoutWheel = this.timeoutWheel;
+        if (timeoutWheel == null) {
+            return;
+        }
+        try {
+            if (adaptiveLimiter.sample(activeRequestCount.get(), System.nanoTime())) {
+                runQueuedTasks();
+            }
+        } catch (RuntimeException e) {
+            RequestControllerLogger.ROOT_LOGGER.failedToSampleAdaptiveLimit(e);
+        } finally {
+            timeoutWheel.schedule(this::sampleAdaptiveLimit, timeoutTick);
+        }
+    }
+
     /**
      * @return <code>true</code> If the server is currently pause
      */
@@ -320,14 +403,18 @@ public class RequestController implements Service<RequestController>, Suspendabl
     @Override
     public void start(StartContext startContext) throws StartException {
         this.registry.get().registerActivity(this);
-        timer = new Timer();
+        timeoutWheel = new TimeoutWheel(timeoutTick, TimeUnit.MILLISECONDS, TIMEOUT_WHEEL_SIZE);
+        timeoutWheel.start();
+        if (adaptiveLimiter != null) {
+            timeoutWheel.schedule(this::sampleAdaptiveLimit, timeoutTick);
+        }
     }
 
     @Override
     public void stop(StopContext stopContext) {
         this.registry.get().registerActivity(this);
-        timer.cancel();
-        timer = null;
+        timeoutWheel.stop();
+        timeoutWheel = null;
         while (!taskQueue.isEmpty()) {
             QueuedTask t = taskQueue.poll();
             if(t != null) {
@@ -342,22 +429,23 @@ public class RequestController implements Service<RequestController>, Suspendabl
     }
 
     public int getActiveRequestCount() {
-        return activeRequestCount;
+        return activeRequestCount.get();
     }
 
     void queueTask(ControlPoint controlPoint, Runnable task, Executor taskExecutor, long timeout, Runnable timeoutTask, boolean rejectOnSuspend, boolean forceRun) {
         if(paused) {
             if(rejectOnSuspend && !forceRun) {
+                ((controlPoint != null) ? controlPoint.getStatistics() : statistics).recordRejected();
                 taskExecutor.execute(timeoutTask);
                 return;
             }
         }
         QueuedTask queuedTask = new QueuedTask(taskExecutor, task, timeoutTask, controlPoint, forceRun);
-        taskQueue.add(queuedTask);
+        taskQueue.add(queuedTask, (controlPoint != null) ? controlPoint.getQueueLane() : null, forceRun);
         runQueuedTask(false);
         if(queuedTask.isQueued()) {
             if(timeout > 0) {
-                timer.schedule(queuedTask, timeout);
+                queuedTask.setTimeout(timeoutWheel.schedule(queuedTask, timeout));
             }
         }
     }
@@ -378,7 +466,7 @@ public class RequestController implements Service<RequestController>, Suspendabl
             task = taskQueue.poll();
         } else {
             //the container is suspended, but we still need to run any force queued tasks
-            task = findForcedTask();
+            task = taskQueue.pollForced();
         }
         if (task != null) {
             if(!task.runRequest()) {
@@ -391,72 +479,25 @@ public class RequestController implements Service<RequestController>, Suspendabl
         }
     }
 
-    private QueuedTask findForcedTask() {
-        QueuedTask forcedTask = null;
-        QueuedTask task;
-        List<QueuedTask> storage = new ArrayList<>();
-        while (forcedTask == null && (task = taskQueue.poll()) != null) {
-            if (task.forceRun) {
-                forcedTask = task;
-            } else {
-                storage.add(task);
-            }
-        }
-        // this screws the order somewhat, but the container is suspending anyway, and the order
-        // was never guarenteed. if we push them back onto the front we will need to just go through them again
-        taskQueue.addAll(storage);
-        return forcedTask;
-    }
-
-    private static final class ControlPointIdentifier {
-        private final String deployment, name;
-
-        private ControlPointIdentifier(String deployment, String name) {
-            this.deployment = deployment;
-            this.name = name;
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-
-            ControlPointIdentifier that = (ControlPointIdentifier) o;
-
-            if (deployment != null ? !deployment.equals(that.deployment) : that.deployment != null) return false;
-            if (name != null ? !name.equals(that.name) : that.name != null) return false;
-
-            return true;
-        }
-
-        @Override
-        public int hashCode() {
-            int result = deployment != null ? deployment.hashCode() : 0;
-            result = 31 * result + (name != null ? name.hashCode() : 0);
-            return result;
-        }
-
-        @Override
-        public String toString() {
-            return super.toString();
-        }
-    }
-
-
-    private static final class QueuedTask extends TimerTask {
+    static final class QueuedTask implements Runnable {
 
         private final Executor executor;
         private final Runnable task;
         private final Runnable cancelTask;
         private final ControlPoint controlPoint;
         private final boolean forceRun;
+        private final long queuedAt = System.nanoTime();
+        // set once a forced task has been taken from the task queue, which holds forced tasks in two places
+        private final AtomicBoolean dequeued = new AtomicBoolean();
 
         //0 == queued
         //1 == run
         //2 == cancelled
         private final AtomicInteger state = new AtomicInteger(0);
 
-        private QueuedTask(Executor executor, Runnable task, Runnable cancelTask, ControlPoint controlPoint, boolean forceRun) {
+        private volatile TimeoutWheel.Timeout timeout;
+
+        QueuedTask(Executor executor, Runnable task, Runnable cancelTask, ControlPoint controlPoint, boolean forceRun) {
             this.executor = executor;
             this.task = task;
             this.cancelTask = cancelTask;
@@ -467,6 +508,9 @@ public class RequestController implements Service<RequestController>, Suspendabl
         @Override
         public void run() {
             if(state.compareAndSet(0, 2)) {
+                if (controlPoint != null) {
+                    controlPoint.getStatistics().recordTimedOut();
+                }
                 if(cancelTask != null) {
                     try {
                         executor.execute(cancelTask);
@@ -478,9 +522,23 @@ public class RequestController implements Service<RequestController>, Suspendabl
             }
         }
 
+        void setTimeout(TimeoutWheel.Timeout timeout) {
+            this.timeout = timeout;
+            if (state.get() != 0) {
+                // the task was run while the timeout was being scheduled
+                timeout.cancel();
+            }
+        }
+
         public boolean runRequest() {
             if (state.compareAndSet(0, 1)) {
-                cancel();
+                TimeoutWheel.Timeout timeout = this.timeout;
+                if (timeout != null) {
+                    timeout.cancel();
+                }
+                if (controlPoint != null) {
+                    controlPoint.getStatistics().recordQueueTime(System.nanoTime() - queuedAt);
+                }
                 executor.execute(new ControlPointTask(task, controlPoint));
                 return true;
             } else {
@@ -491,31 +549,18 @@ public class RequestController implements Service<RequestController>, Suspendabl
         boolean isQueued() {
             return state.get() == 0;
         }
-    }
-
-    private static class DeploymentFilter implements Predicate<ControlPoint> {
-        private final String deployment;
 
-        DeploymentFilter(String deployment) {
-            this.deployment = deployment;
+        boolean isForceRun() {
+            return forceRun;
         }
 
-        @Override
-        public boolean test(ControlPoint controlPoint) {
-            return controlPoint.getDeployment().equals(this.deployment);
-        }
-    }
-
-    private static class EntryPointFilter implements Predicate<ControlPoint> {
-        private final String entryPoint;
-
-        EntryPointFilter(String entryPoint) {
-            this.entryPoint = entryPoint;
-        }
-
-        @Override
-        public boolean test(ControlPoint controlPoint) {
-            return controlPoint.getEntryPoint().equals(this.entryPoint);
+        /**
+         * Takes this task from the task queue.
+         *
+         * @return {@code true} if the task had not already been taken
+         */
+        boolean dequeue() {
+            return dequeued.compareAndSet(false, true);
         }
     }
 }
@@ -0,0 +1,31 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+
+/**
+ * The runtime only request controller resource of a top level deployment, which reports the request statistics of
+ * the deployment's control points.
+ */
+class RequestControllerDeploymentDefinition extends SimpleResourceDefinition {
+
+    RequestControllerDeploymentDefinition() {
+        super(new Parameters(RequestControllerExtension.SUBSYSTEM_PATH, RequestControllerExtension.getResolver("deployment"))
+                .setFeature(false)
+                .setRuntime());
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        RequestStatisticsReadHandler handler = new RequestStatisticsReadHandler(true);
+        for (AttributeDefinition metric : RequestControllerRootDefinition.STATISTICS) {
+            resourceRegistration.registerMetric(metric, handler);
+        }
+    }
+}
@@ -4,7 +4,10 @@
  */
 package org.wildfly.extension.requestcontroller;
 
+import org.jboss.as.server.deployment.Attachments;
 import org.jboss.as.server.deployment.DeploymentPhaseContext;
+import org.jboss.as.server.deployment.DeploymentResourceSupport;
+import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.deployment.DeploymentUnitProcessor;
 
@@ -14,7 +17,15 @@ import org.jboss.as.server.deployment.DeploymentUnitProcessor;
 public class RequestControllerDeploymentUnitProcessor implements DeploymentUnitProcessor {
     @Override
     public void deploy(DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
-        RequestControllerActivationMarker.mark(phaseContext.getDeploymentUnit());
+        DeploymentUnit deploymentUnit = phaseContext.getDeploymentUnit();
+        RequestControllerActivationMarker.mark(deploymentUnit);
+        // control points are registered against the top level deployment, so that is where their statistics are reported
+        if (deploymentUnit.getParent() == null) {
+            DeploymentResourceSupport deploymentResourceSupport = deploymentUnit.getAttachment(Attachments.DEPLOYMENT_RESOURCE_SUPPORT);
+            if (deploymentResourceSupport != null) {
+                deploymentResourceSupport.getDeploymentSubsystemModel(RequestControllerExtension.SUBSYSTEM_NAME);
+            }
+        }
     }
 
 }
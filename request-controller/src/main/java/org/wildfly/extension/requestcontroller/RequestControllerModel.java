@@ -0,0 +1,31 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.SubsystemModel;
+
+/**
+ * Enumerates the supported model versions of the request controller subsystem.
+ */
+enum RequestControllerModel implements SubsystemModel {
+
+    VERSION_1_1_0(1, 1, 0),
+    VERSION_2_0_0(2, 0, 0),
+    ;
+    static final RequestControllerModel CURRENT = VERSION_2_0_0;
+
+    private final ModelVersion version;
+
+    RequestControllerModel(int major, int minor, int micro) {
+        this.version = ModelVersion.create(major, minor, micro);
+    }
+
+    @Override
+    public ModelVersion getVersion() {
+        return this.version;
+    }
+}
@@ -11,6 +11,7 @@ import java.util.Collections;
 import java.util.List;
 
 import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ObjectTypeAttributeDefinition;
 import org.jboss.as.controller.PersistentResourceDefinition;
 import org.jboss.as.controller.ReloadRequiredRemoveStepHandler;
 import org.jboss.as.controller.ReloadRequiredWriteAttributeHandler;
@@ -18,6 +19,10 @@ import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.operations.validation.EnumStringSetValidator;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
@@ -41,9 +46,100 @@ class RequestControllerRootDefinition extends PersistentResourceDefinition {
             .setRestartAllServices()
             .build();
 
+    public static final SimpleAttributeDefinition ADMISSION_MODE = SimpleAttributeDefinitionBuilder.create(Constants.ADMISSION_MODE, ModelType.STRING, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(AdmissionMode.ATOMIC.toString()))
+            .setValidator(new EnumStringSetValidator<>(AdmissionMode.class))
+            .setRestartAllServices()
+            .build();
+
+    public static final SimpleAttributeDefinition TIMEOUT_RESOLUTION = SimpleAttributeDefinitionBuilder.create(Constants.TIMEOUT_RESOLUTION, ModelType.LONG, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(RequestController.DEFAULT_TIMEOUT_TICK))
+            .setValidator(LongRangeValidator.POSITIVE)
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setRestartAllServices()
+            .build();
+
+    public static final SimpleAttributeDefinition ADAPTIVE_LIMIT = SimpleAttributeDefinitionBuilder.create(Constants.ADAPTIVE_LIMIT, ModelType.STRING, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(AdaptiveLimitAlgorithm.NONE.toString()))
+            .setValidator(new EnumStringSetValidator<>(AdaptiveLimitAlgorithm.class))
+            .setRestartAllServices()
+            .build();
+
+    public static final SimpleAttributeDefinition ADAPTIVE_MIN_LIMIT = SimpleAttributeDefinitionBuilder.create(Constants.ADAPTIVE_MIN_LIMIT, ModelType.INT, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(20))
+            .setValidator(IntRangeValidator.POSITIVE)
+            .setRestartAllServices()
+            .build();
+
+    public static final SimpleAttributeDefinition ADAPTIVE_MAX_LIMIT = SimpleAttributeDefinitionBuilder.create(Constants.ADAPTIVE_MAX_LIMIT, ModelType.INT, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(1000))
+            .setValidator(IntRangeValidator.POSITIVE)
+            .setRestartAllServices()
+            .build();
+
+    public static final SimpleAttributeDefinition ADAPTIVE_SMOOTHING_WINDOW = SimpleAttributeDefinitionBuilder.create(Constants.ADAPTIVE_SMOOTHING_WINDOW, ModelType.INT, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(100))
+            .setValidator(IntRangeValidator.POSITIVE)
+            .setRestartAllServices()
+            .build();
+
     public static final SimpleAttributeDefinition ACTIVE_REQUESTS = SimpleAttributeDefinitionBuilder.create(Constants.ACTIVE_REQUESTS, ModelType.INT, true)
             .setStorageRuntime()
             .build();
+
+    public static final SimpleAttributeDefinition CURRENT_LIMIT = SimpleAttributeDefinitionBuilder.create(Constants.CURRENT_LIMIT, ModelType.INT, true)
+            .setStorageRuntime()
+            .build();
+
+    public static final SimpleAttributeDefinition WINDOW_LATENCY_P50 = SimpleAttributeDefinitionBuilder.create(Constants.WINDOW_LATENCY_P50, ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .setStorageRuntime()
+            .build();
+
+    public static final SimpleAttributeDefinition WINDOW_LATENCY_P90 = SimpleAttributeDefinitionBuilder.create(Constants.WINDOW_LATENCY_P90, ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .setStorageRuntime()
+            .build();
+
+    public static final SimpleAttributeDefinition WINDOW_LATENCY_P99 = SimpleAttributeDefinitionBuilder.create(Constants.WINDOW_LATENCY_P99, ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition COUNT = SimpleAttributeDefinitionBuilder.create(Constants.COUNT, ModelType.LONG)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition MEAN = latency(Constants.MEAN);
+    static final SimpleAttributeDefinition P50 = latency(Constants.P50);
+    static final SimpleAttributeDefinition P90 = latency(Constants.P90);
+    static final SimpleAttributeDefinition P99 = latency(Constants.P99);
+    static final SimpleAttributeDefinition MAX = latency(Constants.MAX);
+
+    public static final ObjectTypeAttributeDefinition QUEUE_TIME = ObjectTypeAttributeDefinition.Builder.of(Constants.QUEUE_TIME, COUNT, MEAN, P50, P90, P99, MAX)
+            .setStorageRuntime()
+            .build();
+
+    public static final ObjectTypeAttributeDefinition RUN_TIME = ObjectTypeAttributeDefinition.Builder.of(Constants.RUN_TIME, COUNT, MEAN, P50, P90, P99, MAX)
+            .setStorageRuntime()
+            .build();
+
+    public static final SimpleAttributeDefinition REJECTED_REQUESTS = SimpleAttributeDefinitionBuilder.create(Constants.REJECTED_REQUESTS, ModelType.LONG)
+            .setStorageRuntime()
+            .build();
+
+    public static final SimpleAttributeDefinition TIMED_OUT_REQUESTS = SimpleAttributeDefinitionBuilder.create(Constants.TIMED_OUT_REQUESTS, ModelType.LONG)
+            .setStorageRuntime()
+            .build();
+
+    static final List<AttributeDefinition> STATISTICS = List.of(QUEUE_TIME, RUN_TIME, REJECTED_REQUESTS, TIMED_OUT_REQUESTS);
+
     public static final RequestControllerRootDefinition INSTANCE = new RequestControllerRootDefinition(true);
 
     static final RuntimeCapability<Void> REQUEST_CONTROLLER_CAPABILITY =
@@ -67,9 +163,13 @@ class RequestControllerRootDefinition extends PersistentResourceDefinition {
 
     private static Collection<AttributeDefinition> getAttributeDefinitions(boolean registerRuntimeOnly) {
         if(registerRuntimeOnly) {
-            return Arrays.asList(new AttributeDefinition[]{MAX_REQUESTS, TRACK_INDIVIDUAL_ENDPOINTS, ACTIVE_REQUESTS});
+            return Arrays.asList(new AttributeDefinition[]{MAX_REQUESTS, TRACK_INDIVIDUAL_ENDPOINTS, ADMISSION_MODE, TIMEOUT_RESOLUTION,
+                    ADAPTIVE_LIMIT, ADAPTIVE_MIN_LIMIT, ADAPTIVE_MAX_LIMIT, ADAPTIVE_SMOOTHING_WINDOW,
+                    ACTIVE_REQUESTS, CURRENT_LIMIT, WINDOW_LATENCY_P50, WINDOW_LATENCY_P90, WINDOW_LATENCY_P99,
+                    QUEUE_TIME, RUN_TIME, REJECTED_REQUESTS, TIMED_OUT_REQUESTS});
         } else {
-            return Arrays.asList(new AttributeDefinition[]{MAX_REQUESTS, TRACK_INDIVIDUAL_ENDPOINTS});
+            return Arrays.asList(new AttributeDefinition[]{MAX_REQUESTS, TRACK_INDIVIDUAL_ENDPOINTS, ADMISSION_MODE, TIMEOUT_RESOLUTION,
+                    ADAPTIVE_LIMIT, ADAPTIVE_MIN_LIMIT, ADAPTIVE_MAX_LIMIT, ADAPTIVE_SMOOTHING_WINDOW});
         }
     }
 
@@ -83,8 +183,28 @@ class RequestControllerRootDefinition extends PersistentResourceDefinition {
         MaxRequestsWriteHandler handler = new MaxRequestsWriteHandler();
         resourceRegistration.registerReadWriteAttribute(MAX_REQUESTS, null, handler);
         resourceRegistration.registerReadWriteAttribute(TRACK_INDIVIDUAL_ENDPOINTS, null, ReloadRequiredWriteAttributeHandler.INSTANCE);
+        resourceRegistration.registerReadWriteAttribute(ADMISSION_MODE, null, ReloadRequiredWriteAttributeHandler.INSTANCE);
+        resourceRegistration.registerReadWriteAttribute(TIMEOUT_RESOLUTION, null, ReloadRequiredWriteAttributeHandler.INSTANCE);
+        for (AttributeDefinition attribute : List.of(ADAPTIVE_LIMIT, ADAPTIVE_MIN_LIMIT, ADAPTIVE_MAX_LIMIT, ADAPTIVE_SMOOTHING_WINDOW)) {
+            resourceRegistration.registerReadWriteAttribute(attribute, null, ReloadRequiredWriteAttributeHandler.INSTANCE);
+        }
         if(registerRuntimeOnly) {
             resourceRegistration.registerMetric(ACTIVE_REQUESTS, new ActiveRequestsReadHandler());
+            AdaptiveLimitReadHandler adaptiveLimitHandler = new AdaptiveLimitReadHandler();
+            for (AttributeDefinition metric : List.of(CURRENT_LIMIT, WINDOW_LATENCY_P50, WINDOW_LATENCY_P90, WINDOW_LATENCY_P99)) {
+                resourceRegistration.registerMetric(metric, adaptiveLimitHandler);
+            }
+            RequestStatisticsReadHandler statisticsHandler = new RequestStatisticsReadHandler(false);
+            for (AttributeDefinition metric : STATISTICS) {
+                resourceRegistration.registerMetric(metric, statisticsHandler);
+            }
         }
     }
+
+    private static SimpleAttributeDefinition latency(String name) {
+        return SimpleAttributeDefinitionBuilder.create(name, ModelType.LONG)
+                .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+                .setStorageRuntime()
+                .build();
+    }
 }
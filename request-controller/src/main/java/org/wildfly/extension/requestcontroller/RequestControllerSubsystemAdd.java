@@ -45,11 +45,20 @@ class RequestControllerSubsystemAdd extends AbstractBoottimeAddStepHandler {
 
         int maxRequests = RequestControllerRootDefinition.MAX_REQUESTS.resolveModelAttribute(context, resource.getModel()).asInt();
         boolean trackIndividual = RequestControllerRootDefinition.TRACK_INDIVIDUAL_ENDPOINTS.resolveModelAttribute(context, resource.getModel()).asBoolean();
+        AdmissionMode admissionMode = AdmissionMode.forName(RequestControllerRootDefinition.ADMISSION_MODE.resolveModelAttribute(context, resource.getModel()).asString());
+        long timeoutResolution = RequestControllerRootDefinition.TIMEOUT_RESOLUTION.resolveModelAttribute(context, resource.getModel()).asLong();
 
         CapabilityServiceBuilder<?> svcBuilder = context.getCapabilityServiceTarget().addCapability(REQUEST_CONTROLLER_CAPABILITY);
         Supplier<SuspendableActivityRegistry> registry = svcBuilder.requires(SuspendableActivityRegistry.SERVICE_DESCRIPTOR);
-        RequestController requestController = new RequestController(trackIndividual, registry);
+        RequestController requestController = new RequestController(trackIndividual, admissionMode, timeoutResolution, registry);
         requestController.setMaxRequestCount(maxRequests);
+        AdaptiveLimitAlgorithm adaptiveLimit = AdaptiveLimitAlgorithm.forName(RequestControllerRootDefinition.ADAPTIVE_LIMIT.resolveModelAttribute(context, resource.getModel()).asString());
+        if (adaptiveLimit != AdaptiveLimitAlgorithm.NONE) {
+            int minLimit = RequestControllerRootDefinition.ADAPTIVE_MIN_LIMIT.resolveModelAttribute(context, resource.getModel()).asInt();
+            int maxLimit = RequestControllerRootDefinition.ADAPTIVE_MAX_LIMIT.resolveModelAttribute(context, resource.getModel()).asInt();
+            int smoothingWindow = RequestControllerRootDefinition.ADAPTIVE_SMOOTHING_WINDOW.resolveModelAttribute(context, resource.getModel()).asInt();
+            requestController.setAdaptiveLimiter(new AdaptiveLimiter(adaptiveLimit, minLimit, maxLimit, smoothingWindow));
+        }
         svcBuilder.setInstance(requestController)
                 .install();
 
@@ -0,0 +1,29 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import static org.jboss.as.controller.PersistentResourceXMLDescription.builder;
+
+import org.jboss.as.controller.PersistentResourceXMLDescription;
+import org.jboss.as.controller.PersistentResourceXMLParser;
+
+/**
+ * Parser and marshaller for version 2.0 of the request controller subsystem schema.
+ */
+class RequestControllerSubsystemParser_2_0 extends PersistentResourceXMLParser {
+
+
+    @Override
+    public PersistentResourceXMLDescription getParserDescription() {
+        return builder(RequestControllerRootDefinition.INSTANCE.getPathElement(), Namespace.CURRENT.getUriString())
+                .addAttributes(RequestControllerRootDefinition.MAX_REQUESTS, RequestControllerRootDefinition.TRACK_INDIVIDUAL_ENDPOINTS,
+                        RequestControllerRootDefinition.ADMISSION_MODE, RequestControllerRootDefinition.TIMEOUT_RESOLUTION,
+                        RequestControllerRootDefinition.ADAPTIVE_LIMIT, RequestControllerRootDefinition.ADAPTIVE_MIN_LIMIT,
+                        RequestControllerRootDefinition.ADAPTIVE_MAX_LIMIT, RequestControllerRootDefinition.ADAPTIVE_SMOOTHING_WINDOW)
+                .build();
+    }
+}
+
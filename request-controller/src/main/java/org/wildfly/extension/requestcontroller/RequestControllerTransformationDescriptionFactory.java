@@ -0,0 +1,44 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import java.util.function.Function;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.transform.description.DiscardAttributeChecker;
+import org.jboss.as.controller.transform.description.RejectAttributeChecker;
+import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
+import org.jboss.as.controller.transform.description.TransformationDescription;
+import org.jboss.as.controller.transform.description.TransformationDescriptionBuilder;
+
+/**
+ * Generates a transformation description for the request controller subsystem.
+ */
+enum RequestControllerTransformationDescriptionFactory implements Function<ModelVersion, TransformationDescription> {
+    INSTANCE;
+
+    /**
+     * The attributes added in model version 2.0.0.
+     */
+    private static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] {
+            RequestControllerRootDefinition.ADMISSION_MODE, RequestControllerRootDefinition.TIMEOUT_RESOLUTION,
+            RequestControllerRootDefinition.ADAPTIVE_LIMIT, RequestControllerRootDefinition.ADAPTIVE_MIN_LIMIT,
+            RequestControllerRootDefinition.ADAPTIVE_MAX_LIMIT, RequestControllerRootDefinition.ADAPTIVE_SMOOTHING_WINDOW,
+    };
+
+    @Override
+    public TransformationDescription apply(ModelVersion version) {
+        ResourceTransformationDescriptionBuilder builder = TransformationDescriptionBuilder.Factory.createSubsystemInstance();
+        if (RequestControllerModel.VERSION_2_0_0.requiresTransformation(version)) {
+            builder.getAttributeBuilder()
+                    .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, ATTRIBUTES)
+                    .addRejectCheck(RejectAttributeChecker.DEFINED, ATTRIBUTES)
+                    .end();
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,18 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import org.jboss.as.controller.transform.SubsystemExtensionTransformerRegistration;
+
+/**
+ * Registers model transformations for the request controller subsystem.
+ */
+public class RequestControllerTransformerRegistration extends SubsystemExtensionTransformerRegistration {
+
+    public RequestControllerTransformerRegistration() {
+        super(RequestControllerExtension.SUBSYSTEM_NAME, RequestControllerModel.CURRENT, RequestControllerTransformationDescriptionFactory.INSTANCE);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The request statistics of a {@link ControlPoint}, or of the requests of a {@link RequestController} that are not
+ * tracked by any control point.
+ * <p/>
+ * Recording only updates the statistics of the control point itself; the totals of the controller are summed when
+ * they are read. The statistics of a removed control point are added to those of its controller, so that the totals
+ * survive the removal.
+ */
+final class RequestStatistics {
+
+    private final LatencyHistogram queueTime = new LatencyHistogram();
+    private final LatencyHistogram runTime = new LatencyHistogram();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    /**
+     * Records the time a task spent queued before it was admitted.
+     */
+    void recordQueueTime(long nanos) {
+        queueTime.record(nanos);
+    }
+
+    /**
+     * Records the time taken to run a request.
+     */
+    void recordRunTime(long nanos) {
+        runTime.record(nanos);
+    }
+
+    void recordRejected() {
+        rejected.increment();
+    }
+
+    void recordTimedOut() {
+        timedOut.increment();
+    }
+
+    /**
+     * Adds the current contents of the given statistics to these.
+     */
+    void add(RequestStatistics statistics) {
+        queueTime.add(statistics.queueTime);
+        runTime.add(statistics.runTime);
+        rejected.add(statistics.rejected.sum());
+        timedOut.add(statistics.timedOut.sum());
+    }
+
+    /**
+     * The merged statistics of one or more control points.
+     */
+    static final class Snapshot {
+
+        private final LatencyHistogram.Snapshot queueTime = new LatencyHistogram.Snapshot();
+        private final LatencyHistogram.Snapshot runTime = new LatencyHistogram.Snapshot();
+        private long rejected;
+        private long timedOut;
+
+        void add(RequestStatistics statistics) {
+            queueTime.add(statistics.queueTime);
+            runTime.add(statistics.runTime);
+            rejected += statistics.rejected.sum();
+            timedOut += statistics.timedOut.sum();
+        }
+
+        LatencyHistogram.Snapshot getQueueTime() {
+            return queueTime;
+        }
+
+        LatencyHistogram.Snapshot getRunTime() {
+            return runTime;
+        }
+
+        long getRejected() {
+            return rejected;
+        }
+
+        long getTimedOut() {
+            return timedOut;
+        }
+    }
+}
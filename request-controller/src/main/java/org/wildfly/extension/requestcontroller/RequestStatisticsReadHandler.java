@@ -0,0 +1,82 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Read handler for the request statistics, either of the whole server or of a single deployment
+ */
+class RequestStatisticsReadHandler extends AbstractRuntimeOnlyHandler {
+
+    private final boolean deployment;
+
+    /**
+     * @param deployment if the handler is registered against a deployment resource, and should only report the
+     *                   statistics of that deployment's control points
+     */
+    RequestStatisticsReadHandler(boolean deployment) {
+        this.deployment = deployment;
+    }
+
+    @Override
+    protected boolean requiresRuntime(OperationContext context) {
+        return true;
+    }
+
+    @Override
+    protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+        ServiceController<?> service = context.getServiceRegistry(false).getService(RequestController.SERVICE_NAME);
+        if (service == null) {
+            return;
+        }
+        RequestController requestController = (RequestController) service.getService().getValue();
+        RequestStatistics.Snapshot snapshot;
+        if (deployment) {
+            snapshot = new RequestStatistics.Snapshot();
+            String deploymentName = context.getCurrentAddress().getElement(0).getValue();
+            for (ControlPoint controlPoint : requestController.getDeploymentControlPoints(deploymentName)) {
+                snapshot.add(controlPoint.getStatistics());
+            }
+        } else {
+            snapshot = requestController.getStatistics();
+        }
+        String attributeName = operation.require(NAME).asString();
+        switch (attributeName) {
+            case Constants.QUEUE_TIME:
+                context.getResult().set(toModelNode(snapshot.getQueueTime()));
+                break;
+            case Constants.RUN_TIME:
+                context.getResult().set(toModelNode(snapshot.getRunTime()));
+                break;
+            case Constants.REJECTED_REQUESTS:
+                context.getResult().set(snapshot.getRejected());
+                break;
+            case Constants.TIMED_OUT_REQUESTS:
+                context.getResult().set(snapshot.getTimedOut());
+                break;
+            default:
+                throw new IllegalStateException(attributeName);
+        }
+    }
+
+    private static ModelNode toModelNode(LatencyHistogram.Snapshot histogram) {
+        ModelNode result = new ModelNode();
+        result.get(Constants.COUNT).set(histogram.getCount());
+        result.get(Constants.MEAN).set(histogram.getMean());
+        result.get(Constants.P50).set(histogram.getValueAtPercentile(50));
+        result.get(Constants.P90).set(histogram.getValueAtPercentile(90));
+        result.get(Constants.P99).set(histogram.getValueAtPercentile(99));
+        result.get(Constants.MAX).set(histogram.getMax());
+        return result;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * An {@link AdmissionCounter} that spreads updates over a number of cells, each on its own cache line, in the same
+ * manner as {@link java.util.concurrent.atomic.LongAdder}.
+ * <p/>
+ * If no limit is configured an admission is a single uncontended atomic add. If a limit is configured the request is
+ * first counted, and then the cells are summed; if the sum exceeds the limit the request is backed out and rejected.
+ * As every counted request reads all cells after its own increment, the last of any set of concurrent admissions will
+ * observe all of the others, so the limit can never be exceeded. Under contention at the limit a request may however
+ * be rejected even though a concurrent request is just about to back out.
+ * <p/>
+ * Requests can be released on a different thread to the one that admitted them, so individual cells may become
+ * negative; only the sum is meaningful.
+ */
+final class StripedAdmissionCounter implements AdmissionCounter {
+
+    /**
+     * The number of longs between two cells, so that each cell occupies its own 128 byte region.
+     */
+    private static final int STRIDE = 16;
+
+    private final AtomicLongArray cells;
+    private final int mask;
+
+    StripedAdmissionCounter() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    StripedAdmissionCounter(int parallelism) {
+        int size = 1;
+        while (size < parallelism) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.cells = new AtomicLongArray(size * STRIDE);
+    }
+
+    @Override
+    public boolean tryAcquire(int maxRequests) {
+        int index = index();
+        cells.getAndIncrement(index);
+        if (maxRequests <= 0 || sum() <= maxRequests) {
+            return true;
+        }
+        cells.getAndDecrement(index);
+        return false;
+    }
+
+    @Override
+    public void release() {
+        cells.getAndDecrement(index());
+    }
+
+    @Override
+    public int get() {
+        return (int) sum();
+    }
+
+    private long sum() {
+        long sum = 0;
+        for (int i = 0; i <= mask; ++i) {
+            sum += cells.get(i * STRIDE);
+        }
+        return sum;
+    }
+
+    private int index() {
+        // spread the identity hash of the current thread, so that threads created in sequence do not share cells
+        int h = System.identityHashCode(Thread.currentThread());
+        h ^= (h >>> 16);
+        h *= 0x85ebca6b;
+        h ^= (h >>> 13);
+        return (h & mask) * STRIDE;
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * The queue of tasks waiting for the {@link RequestController} to admit them.
+ * <p/>
+ * Each {@link ControlPoint} queues into its own {@link Lane}, and lanes are served in weighted round-robin order, so
+ * a single deployment with a large backlog cannot starve the others. A lane with weight <em>n</em> holds up to
+ * <em>n</em> tickets in the rotation while it has queued tasks, and each ticket yields one task per turn.
+ * <p/>
+ * Forced tasks, which must run even while the server is suspended, are queued in their lane like any other task, so
+ * {@link #poll()} keeps them in order with the rest of the lane. They are also indexed in a separate queue so that
+ * {@link #pollForced()} can find them without searching the lanes. Whichever of the two reaches a forced task first
+ * takes it, and the other skips it.
+ * <p/>
+ * All operations are lock-free. Ordering is FIFO within a lane, but there is no ordering between lanes.
+ */
+final class TaskQueue {
+
+    private final Queue<RequestController.QueuedTask> forced = new ConcurrentLinkedQueue<>();
+    private final Queue<Lane> rotation = new ConcurrentLinkedQueue<>();
+    private final Lane defaultLane = new Lane();
+    /**
+     * The number of tasks added and not yet taken. A lane is out of the rotation while {@link #poll()} checks it, so
+     * the rotation alone cannot tell whether tasks are queued.
+     */
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Adds a task to the queue.
+     *
+     * @param task   the task
+     * @param lane   the lane of the task's control point, or {@code null} to use a shared lane
+     * @param forced if the task should be eligible to run while the server is suspended
+     */
+    void add(RequestController.QueuedTask task, Lane lane, boolean forced) {
+        size.incrementAndGet();
+        if (forced) {
+            this.forced.add(task);
+        }
+        Lane target = (lane != null) ? lane : defaultLane;
+        target.tasks.add(task);
+        // if the lane already holds all of its tickets, one of those is guaranteed to find this task
+        if (target.acquireTicket()) {
+            rotation.add(target);
+        }
+    }
+
+    /**
+     * @return the next task to run, or {@code null} if the queue is empty
+     */
+    RequestController.QueuedTask poll() {
+        RequestController.QueuedTask task;
+        Lane lane;
+        while ((lane = rotation.poll()) != null) {
+            task = pollLane(lane);
+            if (task != null) {
+                size.decrementAndGet();
+                // return the ticket to the back of the rotation
+                rotation.add(lane);
+                return task;
+            }
+            lane.releaseTicket();
+            // a task may have been added after our poll, but before the ticket was released
+            if (!lane.tasks.isEmpty() && lane.acquireTicket()) {
+                rotation.add(lane);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the next forced task, or {@code null} if there are none
+     */
+    RequestController.QueuedTask pollForced() {
+        RequestController.QueuedTask task;
+        while ((task = forced.poll()) != null) {
+            if (task.dequeue()) {
+                size.decrementAndGet();
+                return task;
+            }
+        }
+        return null;
+    }
+
+    boolean isEmpty() {
+        return size.get() == 0;
+    }
+
+    private RequestController.QueuedTask pollLane(Lane lane) {
+        RequestController.QueuedTask task;
+        while ((task = lane.tasks.poll()) != null) {
+            if (!task.isForceRun()) {
+                return task;
+            }
+            // a forced task may already have been taken by pollForced()
+            if (task.dequeue()) {
+                // forced tasks are rare, so the linear removal from their index is cheap
+                forced.remove(task);
+                return task;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The tasks queued by a single control point.
+     */
+    static final class Lane {
+
+        private static final AtomicIntegerFieldUpdater<Lane> ticketsUpdater = AtomicIntegerFieldUpdater.newUpdater(Lane.class, "tickets");
+
+        private final Queue<RequestController.QueuedTask> tasks = new ConcurrentLinkedQueue<>();
+
+        private volatile int weight = 1;
+
+        /**
+         * The number of times this lane currently appears in the rotation.
+         */
+        @SuppressWarnings("unused")
+        private volatile int tickets = 0;
+
+        void setWeight(int weight) {
+            if (weight < 1) {
+                throw new IllegalArgumentException();
+            }
+            this.weight = weight;
+        }
+
+        int getWeight() {
+            return weight;
+        }
+
+        private boolean acquireTicket() {
+            int current;
+            do {
+                current = ticketsUpdater.get(this);
+                if (current >= weight) {
+                    return false;
+                }
+            } while (!ticketsUpdater.compareAndSet(this, current, current + 1));
+            return true;
+        }
+
+        private void releaseTicket() {
+            ticketsUpdater.decrementAndGet(this);
+        }
+    }
+}
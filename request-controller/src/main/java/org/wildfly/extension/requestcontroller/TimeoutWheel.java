@@ -0,0 +1,286 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+import org.wildfly.extension.requestcontroller.logging.RequestControllerLogger;
+
+/**
+ * A hashed timing wheel used to time out queued tasks.
+ * <p/>
+ * Unlike {@link java.util.Timer}, scheduling and cancelling a timeout are both O(1): new timeouts are handed to the
+ * worker thread through a lock-free queue, and cancelled timeouts are unlinked from their bucket by the worker rather
+ * than lingering until their deadline. The price is precision: a timeout fires on the first tick at or after its
+ * deadline, so it may run up to one tick late.
+ * <p/>
+ * The worker only ticks while timeouts are outstanding. When the wheel is empty it parks until a timeout is
+ * scheduled, and it then sleeps until the first deadline rather than waking on every tick before it.
+ * <p/>
+ * Timeout tasks are run on the worker thread, so they must be short; they are expected to hand off any real work to
+ * an executor.
+ */
+final class TimeoutWheel implements Runnable {
+
+    /**
+     * The maximum number of new timeouts moved into the wheel per tick, so a burst of scheduling cannot stall expiry.
+     */
+    private static final int MAX_TRANSFERS_PER_TICK = 100000;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final Thread worker;
+
+    private volatile long startTime;
+    private volatile boolean running;
+    /**
+     * The time the worker is parked until, {@link Long#MAX_VALUE} if it is parked until a timeout is scheduled, or
+     * {@link Long#MIN_VALUE} if it is awake.
+     */
+    private volatile long parkedUntil = Long.MIN_VALUE;
+    // only accessed by the worker thread
+    private long tick;
+    private int size;
+    private long earliestDeadline = Long.MAX_VALUE;
+
+    /**
+     * @param tick          the resolution of the wheel
+     * @param unit          the unit of {@code tick}
+     * @param ticksPerWheel the number of buckets in the wheel, rounded up to the next power of two
+     */
+    TimeoutWheel(long tick, TimeUnit unit, int ticksPerWheel) {
+        if (tick <= 0) {
+            throw new IllegalArgumentException();
+        }
+        int size = 1;
+        while (size < ticksPerWheel) {
+            size <<= 1;
+        }
+        this.tickNanos = unit.toNanos(tick);
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; ++i) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.worker = new Thread(this, "request-controller-timeout");
+        this.worker.setDaemon(true);
+    }
+
+    void start() {
+        startTime = System.nanoTime();
+        running = true;
+        worker.start();
+    }
+
+    /**
+     * Stops the worker thread. Any outstanding timeouts are discarded without being run.
+     */
+    void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    /**
+     * Schedules a task to run once the given delay has elapsed.
+     *
+     * @param task  the task to run
+     * @param delay the delay in milliseconds
+     * @return a handle that can be used to cancel the timeout
+     */
+    Timeout schedule(Runnable task, long delay) {
+        Timeout timeout = new Timeout(this, task, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay));
+        pending.add(timeout);
+        if (timeout.deadline < parkedUntil) {
+            // the worker would sleep past this deadline
+            LockSupport.unpark(worker);
+        }
+        return timeout;
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            removeCancelled();
+            if (size == 0) {
+                earliestDeadline = Long.MAX_VALUE;
+            }
+            transferPending();
+            // no timeout is due before the earliest deadline added since the wheel was last empty
+            long deadline = size == 0 ? Long.MAX_VALUE : Math.max(startTime + (tick + 1) * tickNanos, earliestDeadline);
+            parkedUntil = deadline;
+            // checked after publishing parkedUntil, so a concurrent schedule() either sees it or is seen here
+            if (pending.isEmpty()) {
+                if (deadline == Long.MAX_VALUE) {
+                    LockSupport.park(this);
+                } else {
+                    long delay = deadline - System.nanoTime();
+                    if (delay > 0) {
+                        LockSupport.parkNanos(this, delay);
+                    }
+                }
+            }
+            parkedUntil = Long.MIN_VALUE;
+            if (!running) {
+                return;
+            }
+            // run every tick that has passed, so timeouts due in later revolutions are counted down; if the wheel
+            // is empty the ticks that passed while parked need not be run
+            long current = (System.nanoTime() - startTime) / tickNanos;
+            while (tick < current && size > 0) {
+                wheel[(int) (tick & mask)].expire();
+                tick++;
+            }
+            tick = Math.max(tick, current);
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferPending() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; ++i) {
+            Timeout timeout = pending.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state != Timeout.ST_PENDING) {
+                continue;
+            }
+            long calculated = Math.max(0, timeout.deadline - startTime) / tickNanos;
+            timeout.remainingRounds = (calculated - tick) / wheel.length;
+            // never schedule in the past, those timeouts expire on the current tick
+            long ticks = Math.max(calculated, tick);
+            wheel[(int) (ticks & mask)].add(timeout);
+            earliestDeadline = Math.min(earliestDeadline, timeout.deadline);
+        }
+    }
+
+    /**
+     * A scheduled timeout.
+     */
+    static final class Timeout {
+
+        private static final int ST_PENDING = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+
+        private static final AtomicIntegerFieldUpdater<Timeout> stateUpdater = AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final TimeoutWheel wheel;
+        private final Runnable task;
+        private final long deadline;
+
+        @SuppressWarnings("unused")
+        private volatile int state = ST_PENDING;
+
+        // only accessed by the worker thread
+        private long remainingRounds;
+        private Timeout next;
+        private Timeout prev;
+        private Bucket bucket;
+
+        private Timeout(TimeoutWheel wheel, Runnable task, long deadline) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels this timeout.
+         *
+         * @return {@code true} if the timeout was cancelled, {@code false} if it had already expired or been cancelled
+         */
+        boolean cancel() {
+            if (stateUpdater.compareAndSet(this, ST_PENDING, ST_CANCELLED)) {
+                wheel.cancelled.add(this);
+                return true;
+            }
+            return false;
+        }
+
+        private void expire() {
+            if (stateUpdater.compareAndSet(this, ST_PENDING, ST_EXPIRED)) {
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    RequestControllerLogger.ROOT_LOGGER.failedToCancelTask(task, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * A doubly linked list of timeouts, only accessed by the worker thread.
+     */
+    private final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            size++;
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void expire() {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    timeout.expire();
+                } else if (timeout.state == Timeout.ST_CANCELLED) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            Timeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+            size--;
+        }
+    }
+}
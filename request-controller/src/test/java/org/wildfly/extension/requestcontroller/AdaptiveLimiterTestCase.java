@@ -0,0 +1,82 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class AdaptiveLimiterTestCase {
+
+    @Test
+    public void testAimd() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(AdaptiveLimitAlgorithm.AIMD, 10, 50, 10);
+        Clock clock = new Clock();
+        assertEquals(10, limiter.getLimit());
+
+        // a busy server with a stable 1ms latency keeps growing the limit up to the maximum
+        for (int i = 0; i < 100; ++i) {
+            clock.window(limiter, limiter.getLimit(), TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        assertEquals(50, limiter.getLimit());
+        assertEquals(1000, limiter.getWindowLatencyPercentile(50) / 1000);
+
+        // a latency spike cuts the limit
+        clock.window(limiter, limiter.getLimit(), TimeUnit.MILLISECONDS.toNanos(5));
+        assertEquals(45, limiter.getLimit());
+        // and keeps cutting it while latency remains well above the baseline
+        for (int i = 0; i < 3; ++i) {
+            clock.window(limiter, limiter.getLimit(), TimeUnit.MILLISECONDS.toNanos(20));
+        }
+        assertEquals(32, limiter.getLimit());
+    }
+
+    @Test
+    public void testGradient() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(AdaptiveLimitAlgorithm.GRADIENT, 10, 1000, 10);
+        Clock clock = new Clock();
+        for (int i = 0; i < 50; ++i) {
+            clock.window(limiter, limiter.getLimit(), TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        int grown = limiter.getLimit();
+        assertTrue(String.valueOf(grown), grown > 50);
+
+        for (int i = 0; i < 5; ++i) {
+            clock.window(limiter, limiter.getLimit(), TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        assertTrue(limiter.getLimit() < grown);
+    }
+
+    @Test
+    public void testIdleServerDoesNotGrowLimit() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(AdaptiveLimitAlgorithm.GRADIENT, 10, 1000, 10);
+        Clock clock = new Clock();
+        for (int i = 0; i < 50; ++i) {
+            clock.window(limiter, 1, TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        assertEquals(10, limiter.getLimit());
+    }
+
+    private static class Clock {
+        private long now = System.nanoTime();
+
+        /**
+         * Simulates a measurement window in which the given number of requests were continuously active, each taking
+         * the given time.
+         */
+        void window(AdaptiveLimiter limiter, int inflight, long latency) {
+            long completed = inflight * AdaptiveLimiter.WINDOW / latency;
+            for (long i = 0; i < completed; ++i) {
+                limiter.requestCompleted();
+            }
+            now += AdaptiveLimiter.WINDOW;
+            limiter.sample(inflight, now);
+        }
+    }
+}
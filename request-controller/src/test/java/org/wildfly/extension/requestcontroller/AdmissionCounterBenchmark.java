@@ -0,0 +1,79 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the cost of a {@link ControlPoint#beginRequest()} / {@link ControlPoint#requestComplete()} pair for each
+ * {@link AdmissionMode}, with and without a request limit.
+ * <p/>
+ * This is not run as part of the test suite. Run it from the IDE, or via {@link #main(String[])} with the test
+ * classpath, e.g.
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.wildfly.extension.requestcontroller.AdmissionCounterBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AdmissionCounterBenchmark {
+
+    private static final int[] THREADS = { 1, 2, 4, 8, 16, 32, 64, 128 };
+
+    @Param({ "atomic", "striped" })
+    public String mode;
+
+    @Param({ "-1", "100000" })
+    public int maxRequests;
+
+    private ControlPoint controlPoint;
+
+    @Setup
+    public void setup() {
+        RequestController controller = new RequestController(false, AdmissionMode.forName(mode), RequestController.DEFAULT_TIMEOUT_TICK, () -> null);
+        controller.setMaxRequestCount(maxRequests);
+        controlPoint = controller.getControlPoint("benchmark.war", "benchmark");
+    }
+
+    @Benchmark
+    public RunResult beginAndComplete() {
+        RunResult result = controlPoint.beginRequest();
+        if (result == RunResult.RUN) {
+            controlPoint.requestComplete();
+        }
+        return result;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : THREADS) {
+            Options options = new OptionsBuilder()
+                    .include(AdmissionCounterBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
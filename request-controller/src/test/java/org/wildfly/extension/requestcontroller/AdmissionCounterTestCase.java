@@ -0,0 +1,114 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Verifies that every {@link AdmissionMode} enforces the request limit, and that a suspend completes once the last
+ * request is released.
+ */
+public class AdmissionCounterTestCase {
+
+    private static final int THREADS_QTY = 16;
+    private static final int ITERATIONS = 20000;
+
+    @Test
+    public void testLimitSingleThreaded() {
+        for (AdmissionMode mode : AdmissionMode.values()) {
+            AdmissionCounter counter = mode.createCounter();
+            assertTrue(mode.toString(), counter.tryAcquire(2));
+            assertTrue(mode.toString(), counter.tryAcquire(2));
+            assertFalse(mode.toString(), counter.tryAcquire(2));
+            assertEquals(mode.toString(), 2, counter.get());
+            counter.release();
+            assertTrue(mode.toString(), counter.tryAcquire(2));
+            counter.release();
+            counter.release();
+            assertEquals(mode.toString(), 0, counter.get());
+            assertTrue(mode.toString(), counter.tryAcquire(-1));
+            assertEquals(mode.toString(), 1, counter.get());
+        }
+    }
+
+    @Test
+    public void testLimitNeverExceeded() throws InterruptedException {
+        for (AdmissionMode mode : AdmissionMode.values()) {
+            AdmissionCounter counter = mode.createCounter();
+            int maxRequests = THREADS_QTY / 4;
+            AtomicInteger active = new AtomicInteger();
+            AtomicInteger highWater = new AtomicInteger();
+            CountDownLatch latch = new CountDownLatch(THREADS_QTY);
+            List<Thread> threads = new ArrayList<>(THREADS_QTY);
+            for (int i = 0; i < THREADS_QTY; ++i) {
+                threads.add(new Thread(() -> {
+                    latch.countDown();
+                    try {
+                        latch.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int j = 0; j < ITERATIONS; ++j) {
+                        if (counter.tryAcquire(maxRequests)) {
+                            highWater.accumulateAndGet(active.incrementAndGet(), Math::max);
+                            active.decrementAndGet();
+                            counter.release();
+                        }
+                    }
+                }));
+            }
+            threads.forEach(Thread::start);
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertTrue(mode.toString(), highWater.get() <= maxRequests);
+            assertEquals(mode.toString(), 0, counter.get());
+        }
+    }
+
+    @Test
+    public void testSuspendWithRejectedRequests() throws Exception {
+        for (AdmissionMode mode : AdmissionMode.values()) {
+            for (int i = 0; i < 1000; ++i) {
+                RequestController controller = new RequestController(false, mode, RequestController.DEFAULT_TIMEOUT_TICK, () -> null);
+                controller.setMaxRequestCount(1);
+                assertEquals(mode.toString(), RunResult.RUN, controller.beginRequest(false));
+                // Keeps trying to start a request, which is rejected while the first one is active, so the striped
+                // counter counts it and backs it out again as the first one is released
+                AtomicBoolean done = new AtomicBoolean();
+                Thread contender = new Thread(() -> {
+                    while (!done.get()) {
+                        if (controller.beginRequest(false) == RunResult.RUN) {
+                            controller.requestComplete();
+                        }
+                    }
+                });
+                contender.start();
+                try {
+                    CompletionStage<Void> suspend = controller.suspend(null);
+                    controller.requestComplete();
+                    suspend.toCompletableFuture().get(10, TimeUnit.SECONDS);
+                } finally {
+                    done.set(true);
+                    contender.join();
+                }
+                assertEquals(mode.toString(), 0, controller.getActiveRequestCount());
+            }
+        }
+    }
+}
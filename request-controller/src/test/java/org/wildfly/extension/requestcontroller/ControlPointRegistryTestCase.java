@@ -0,0 +1,144 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class ControlPointRegistryTestCase {
+
+    @Test
+    public void testReferenceCounting() {
+        RequestController controller = new RequestController(true, () -> null);
+        ControlPoint first = controller.getControlPoint("app.ear", "ejb");
+        ControlPoint second = controller.getControlPoint("app.ear", "ejb");
+        assertSame(first, second);
+
+        controller.removeControlPoint(first);
+        assertEquals(1, controller.getState().getEntryPoints().size());
+        controller.removeControlPoint(second);
+        assertTrue(controller.getState().getEntryPoints().isEmpty());
+
+        ControlPoint third = controller.getControlPoint("app.ear", "ejb");
+        assertNotSame(first, third);
+        assertEquals(1, controller.getState().getEntryPoints().size());
+    }
+
+    @Test
+    public void testNullNames() {
+        RequestController controller = new RequestController(true, () -> null);
+        ControlPoint noDeployment = controller.getControlPoint(null, "ejb");
+        ControlPoint noEntryPoint = controller.getControlPoint("app.ear", null);
+        assertSame(noDeployment, controller.getControlPoint(null, "ejb"));
+        assertSame(noEntryPoint, controller.getControlPoint("app.ear", null));
+        ControlPoint neither = controller.getControlPoint(null, null);
+        assertNotSame(noDeployment, neither);
+        assertNotSame(noEntryPoint, neither);
+
+        controller.pauseDeployment(null);
+        assertTrue(noDeployment.isPaused());
+        assertFalse(noEntryPoint.isPaused());
+        controller.resumeDeployment(null);
+        controller.pauseControlPoint(null);
+        assertFalse(noDeployment.isPaused());
+        assertTrue(noEntryPoint.isPaused());
+        controller.resumeControlPoint(null);
+
+        controller.removeControlPoint(noDeployment);
+        controller.removeControlPoint(noDeployment);
+        controller.removeControlPoint(noEntryPoint);
+        controller.removeControlPoint(noEntryPoint);
+        assertEquals(1, controller.getState().getEntryPoints().size());
+        controller.removeControlPoint(neither);
+        assertTrue(controller.getState().getEntryPoints().isEmpty());
+    }
+
+    @Test
+    public void testStatisticsSurviveRemoval() {
+        RequestController controller = new RequestController(true, () -> null);
+        ControlPoint appEjb = controller.getControlPoint("app.ear", "ejb");
+        ControlPoint otherWeb = controller.getControlPoint("other.war", "web");
+        appEjb.getStatistics().recordRunTime(TimeUnit.MILLISECONDS.toNanos(1));
+        appEjb.getStatistics().recordRejected();
+        otherWeb.getStatistics().recordRejected();
+        assertEquals(2, controller.getStatistics().getRejected());
+        assertEquals(1, controller.getStatistics().getRunTime().getCount());
+
+        // the totals include the statistics of removed control points exactly once
+        controller.removeControlPoint(appEjb);
+        assertEquals(2, controller.getStatistics().getRejected());
+        assertEquals(1, controller.getStatistics().getRunTime().getCount());
+        assertEquals(TimeUnit.MILLISECONDS.toMicros(1), controller.getStatistics().getRunTime().getMax());
+    }
+
+    @Test
+    public void testPauseAndResumeByIndex() {
+        RequestController controller = new RequestController(true, () -> null);
+        ControlPoint appEjb = controller.getControlPoint("app.ear", "ejb");
+        ControlPoint appWeb = controller.getControlPoint("app.ear", "web");
+        ControlPoint otherWeb = controller.getControlPoint("other.war", "web");
+
+        controller.pauseDeployment("app.ear");
+        assertTrue(appEjb.isPaused());
+        assertTrue(appWeb.isPaused());
+        assertFalse(otherWeb.isPaused());
+
+        controller.resumeDeployment("app.ear");
+        assertFalse(appEjb.isPaused());
+        assertFalse(appWeb.isPaused());
+
+        controller.pauseControlPoint("web");
+        assertFalse(appEjb.isPaused());
+        assertTrue(appWeb.isPaused());
+        assertTrue(otherWeb.isPaused());
+
+        controller.resumeControlPoint("web");
+        assertFalse(appWeb.isPaused());
+        assertFalse(otherWeb.isPaused());
+
+        controller.removeControlPoint(otherWeb);
+        // pausing a deployment with no control points completes immediately
+        assertTrue(controller.pauseDeployment("other.war").toCompletableFuture().isDone());
+    }
+
+    @Test
+    public void testConcurrentAcquireAndRelease() throws InterruptedException {
+        RequestController controller = new RequestController(false, () -> null);
+        int threadCount = 8;
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        List<Thread> threads = new ArrayList<>(threadCount);
+        for (int i = 0; i < threadCount; ++i) {
+            threads.add(new Thread(() -> {
+                latch.countDown();
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int j = 0; j < 10000; ++j) {
+                    ControlPoint controlPoint = controller.getControlPoint("app.war", "web");
+                    assertFalse(controlPoint.isPaused());
+                    controller.removeControlPoint(controlPoint);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(controller.getState().getEntryPoints().isEmpty());
+    }
+}
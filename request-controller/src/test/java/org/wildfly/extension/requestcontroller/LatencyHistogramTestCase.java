@@ -0,0 +1,86 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class LatencyHistogramTestCase {
+
+    @Test
+    public void testBuckets() {
+        int previous = -1;
+        for (long value = 0; value < 1 << 20; ++value) {
+            int bucket = LatencyHistogram.bucket(value);
+            // buckets are contiguous and in order
+            assertTrue(bucket == previous || bucket == previous + 1);
+            previous = bucket;
+            long highest = LatencyHistogram.highestValue(bucket);
+            assertTrue(value <= highest);
+            // the reported value is within 12.5% of the recorded value
+            assertTrue(highest - value <= value / 8);
+        }
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.bucket(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        LatencyHistogram.Snapshot empty = new LatencyHistogram.Snapshot();
+        empty.add(histogram);
+        assertEquals(0, empty.getCount());
+        assertEquals(0, empty.getValueAtPercentile(99));
+
+        for (int i = 1; i <= 1000; ++i) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(i));
+        }
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram.Snapshot();
+        snapshot.add(histogram);
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(500, snapshot.getMean());
+        assertEquals(1000, snapshot.getMax());
+        assertWithin(500, snapshot.getValueAtPercentile(50));
+        assertWithin(900, snapshot.getValueAtPercentile(90));
+        assertWithin(990, snapshot.getValueAtPercentile(99));
+        assertEquals(1000, snapshot.getValueAtPercentile(100));
+
+        // merging adds the counts of both histograms
+        LatencyHistogram other = new LatencyHistogram();
+        other.record(TimeUnit.SECONDS.toNanos(1));
+        snapshot.add(other);
+        assertEquals(1001, snapshot.getCount());
+        assertEquals(TimeUnit.SECONDS.toMicros(1), snapshot.getMax());
+    }
+
+    @Test
+    public void testConcurrentRecording() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; ++i) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 10000; ++j) {
+                    histogram.record(TimeUnit.MICROSECONDS.toNanos(j % 100));
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram.Snapshot();
+        snapshot.add(histogram);
+        assertEquals(80000, snapshot.getCount());
+        assertEquals(99, snapshot.getMax());
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(actual + " is not within 12.5% of " + expected, actual >= expected && actual <= expected + expected / 8);
+    }
+}
@@ -5,6 +5,8 @@
 
 package org.wildfly.extension.requestcontroller;
 
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+
 import java.io.IOException;
 
 import org.jboss.as.controller.RunningMode;
@@ -14,6 +16,7 @@ import org.jboss.as.subsystem.test.AbstractSubsystemBaseTest;
 import org.jboss.as.subsystem.test.AdditionalInitialization;
 import org.jboss.as.subsystem.test.KernelServices;
 import org.jboss.as.subsystem.test.KernelServicesBuilder;
+import org.jboss.dmr.ModelNode;
 import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceTarget;
 import org.junit.Assert;
@@ -32,7 +35,25 @@ public class RequestControllerSubsystemTestCase extends AbstractSubsystemBaseTes
 
     @Override
     protected String getSubsystemXml() throws IOException {
-        return readResource("request-controller-1.0.xml");
+        return readResource("request-controller-2.0.xml");
+    }
+
+    @Override
+    protected String getSubsystemXsdPath() throws Exception {
+        return "schema/wildfly-request-controller_2_0.xsd";
+    }
+
+    @Test
+    public void testParseLegacySubsystem() throws Exception {
+        KernelServices services = createKernelServicesBuilder(createAdditionalInitialization())
+                .setSubsystemXml(readResource("request-controller-1.0.xml"))
+                .build();
+        if (!services.isSuccessfulBoot()) {
+            Assert.fail(services.getBootError().toString());
+        }
+        ModelNode model = services.readWholeModel().get(SUBSYSTEM, RequestControllerExtension.SUBSYSTEM_NAME);
+        Assert.assertEquals(100, model.get(Constants.MAX_REQUESTS).asInt());
+        Assert.assertFalse(model.hasDefined(Constants.ADMISSION_MODE));
     }
 
     @Test
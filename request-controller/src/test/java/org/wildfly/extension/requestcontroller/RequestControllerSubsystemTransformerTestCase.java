@@ -0,0 +1,120 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.model.test.FailedOperationTransformationConfig;
+import org.jboss.as.model.test.ModelTestControllerVersion;
+import org.jboss.as.model.test.ModelTestUtils;
+import org.jboss.as.subsystem.test.AbstractSubsystemTest;
+import org.jboss.as.subsystem.test.AdditionalInitialization;
+import org.jboss.as.subsystem.test.KernelServices;
+import org.jboss.as.subsystem.test.KernelServicesBuilder;
+import org.jboss.dmr.ModelNode;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * Model transformation tests for the request controller subsystem.
+ */
+@RunWith(value = Parameterized.class)
+public class RequestControllerSubsystemTransformerTestCase extends AbstractSubsystemTest {
+
+    @Parameters
+    public static Iterable<ModelTestControllerVersion> parameters() {
+        return EnumSet.of(ModelTestControllerVersion.EAP_7_4_0, ModelTestControllerVersion.EAP_8_0_0, ModelTestControllerVersion.EAP_8_1_0);
+    }
+
+    private final ModelTestControllerVersion controller;
+    private final AdditionalInitialization additionalInitialization;
+    private final ModelVersion version;
+
+    public RequestControllerSubsystemTransformerTestCase(ModelTestControllerVersion controller) {
+        super(RequestControllerExtension.SUBSYSTEM_NAME, new RequestControllerExtension());
+        this.controller = controller;
+        this.version = RequestControllerModel.VERSION_1_1_0.getVersion();
+        this.additionalInitialization = AdditionalInitialization.MANAGEMENT;
+    }
+
+    private String[] getDependencies() {
+        return new String[] {
+                String.format("org.wildfly.core:wildfly-request-controller:%s", this.controller.getCoreVersion()),
+        };
+    }
+
+    /**
+     * Tests transformation of model from current version into specified version.
+     */
+    @Test
+    public void testTransformation() throws Exception {
+        String subsystemXmlResource = String.format("request-controller-transform-%d.%d.%d.xml", this.version.getMajor(), this.version.getMinor(), this.version.getMicro());
+
+        // create builder for current subsystem version
+        KernelServicesBuilder builder = createKernelServicesBuilder(this.additionalInitialization)
+                .setSubsystemXmlResource(subsystemXmlResource);
+
+        // initialize the legacy services and add required jars
+        builder.createLegacyKernelServicesBuilder(this.additionalInitialization, this.controller, this.version)
+                .addMavenResourceURL(getDependencies())
+                .skipReverseControllerCheck()
+                .dontPersistXml();
+
+        KernelServices services = builder.build();
+
+        Assert.assertTrue(services.isSuccessfulBoot());
+        Assert.assertTrue(services.getLegacyServices(this.version).isSuccessfulBoot());
+
+        // check that both versions of the legacy model are the same and valid
+        checkSubsystemModelTransformation(services, this.version, null, false);
+    }
+
+    /**
+     * Tests rejected transformation of the model from current version into specified version.
+     */
+    @Test
+    public void testRejections() throws Exception {
+        // create builder for current subsystem version
+        KernelServicesBuilder builder = createKernelServicesBuilder(this.additionalInitialization);
+
+        // initialize the legacy services and add required jars
+        builder.createLegacyKernelServicesBuilder(this.additionalInitialization, this.controller, this.version)
+                .addMavenResourceURL(getDependencies())
+                .dontPersistXml();
+
+        KernelServices services = builder.build();
+        Assert.assertTrue(services.isSuccessfulBoot());
+        KernelServices legacyServices = services.getLegacyServices(this.version);
+        Assert.assertNotNull(legacyServices);
+        Assert.assertTrue(legacyServices.isSuccessfulBoot());
+
+        List<ModelNode> operations = builder.parseXmlResource(String.format("request-controller-transform-reject-%d.%d.%d.xml", this.version.getMajor(), this.version.getMinor(), this.version.getMicro()));
+        ModelTestUtils.checkFailedTransformedBootOperations(services, this.version, operations, createFailedOperationTransformationConfig());
+    }
+
+    private FailedOperationTransformationConfig createFailedOperationTransformationConfig() {
+        FailedOperationTransformationConfig config = new FailedOperationTransformationConfig();
+        PathAddress subsystemAddress = PathAddress.pathAddress(PathElement.pathElement(SUBSYSTEM, RequestControllerExtension.SUBSYSTEM_NAME));
+
+        if (RequestControllerModel.VERSION_2_0_0.requiresTransformation(this.version)) {
+            config.addFailedAttribute(subsystemAddress, new FailedOperationTransformationConfig.NewAttributesConfig(
+                    RequestControllerRootDefinition.ADMISSION_MODE, RequestControllerRootDefinition.TIMEOUT_RESOLUTION,
+                    RequestControllerRootDefinition.ADAPTIVE_LIMIT, RequestControllerRootDefinition.ADAPTIVE_MIN_LIMIT,
+                    RequestControllerRootDefinition.ADAPTIVE_MAX_LIMIT, RequestControllerRootDefinition.ADAPTIVE_SMOOTHING_WINDOW));
+        }
+
+        return config;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class TaskQueueTestCase {
+
+    @Test
+    public void testLanesAreServedInTurn() {
+        TaskQueue queue = new TaskQueue();
+        TaskQueue.Lane noisy = new TaskQueue.Lane();
+        TaskQueue.Lane quiet = new TaskQueue.Lane();
+        List<RequestController.QueuedTask> noisyTasks = queue(queue, noisy, 100);
+        List<RequestController.QueuedTask> quietTasks = queue(queue, quiet, 2);
+
+        assertSame(noisyTasks.get(0), queue.poll());
+        assertSame(quietTasks.get(0), queue.poll());
+        assertSame(noisyTasks.get(1), queue.poll());
+        assertSame(quietTasks.get(1), queue.poll());
+        for (int i = 2; i < noisyTasks.size(); ++i) {
+            assertSame(noisyTasks.get(i), queue.poll());
+        }
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testWeightedLane() {
+        TaskQueue queue = new TaskQueue();
+        TaskQueue.Lane heavy = new TaskQueue.Lane();
+        heavy.setWeight(3);
+        TaskQueue.Lane light = new TaskQueue.Lane();
+        queue(queue, light, 10);
+        List<RequestController.QueuedTask> heavyTasks = queue(queue, heavy, 30);
+
+        int heavyCount = 0;
+        for (int i = 0; i < 20; ++i) {
+            if (heavyTasks.contains(queue.poll())) {
+                heavyCount++;
+            }
+        }
+        assertEquals(15, heavyCount);
+    }
+
+    @Test
+    public void testForcedTasks() {
+        TaskQueue queue = new TaskQueue();
+        TaskQueue.Lane lane = new TaskQueue.Lane();
+        queue(queue, lane, 10);
+        RequestController.QueuedTask forced = new RequestController.QueuedTask(Runnable::run, () -> { }, null, null, true);
+        queue.add(forced, lane, true);
+
+        assertSame(forced, queue.pollForced());
+        assertNull(queue.pollForced());
+        assertFalse(queue.isEmpty());
+
+        // the forced task was taken, so draining the lane does not return it again
+        for (int i = 0; i < 10; ++i) {
+            assertNotSame(forced, queue.poll());
+        }
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testForcedTasksKeepLaneOrder() {
+        TaskQueue queue = new TaskQueue();
+        TaskQueue.Lane lane = new TaskQueue.Lane();
+        RequestController.QueuedTask first = queue(queue, lane, 1).get(0);
+        RequestController.QueuedTask forced = new RequestController.QueuedTask(Runnable::run, () -> { }, null, null, true);
+        queue.add(forced, lane, true);
+        RequestController.QueuedTask last = queue(queue, lane, 1).get(0);
+
+        // while the server is running, forced tasks are not served ahead of those queued before them
+        assertSame(first, queue.poll());
+        assertSame(forced, queue.poll());
+        assertNull(queue.pollForced());
+        assertFalse(queue.isEmpty());
+        assertSame(last, queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    private static List<RequestController.QueuedTask> queue(TaskQueue queue, TaskQueue.Lane lane, int count) {
+        List<RequestController.QueuedTask> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            RequestController.QueuedTask task = new RequestController.QueuedTask(Runnable::run, () -> { }, null, null, false);
+            tasks.add(task);
+            queue.add(task, lane, false);
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TimeoutWheelTestCase {
+
+    private TimeoutWheel wheel;
+
+    @Before
+    public void start() {
+        // a small wheel, so that timeouts need several revolutions
+        wheel = new TimeoutWheel(1, TimeUnit.MILLISECONDS, 8);
+        wheel.start();
+    }
+
+    @After
+    public void stop() {
+        wheel.stop();
+    }
+
+    @Test
+    public void testTimeoutsExpire() throws InterruptedException {
+        int count = 1000;
+        CountDownLatch latch = new CountDownLatch(count);
+        long start = System.nanoTime();
+        for (int i = 0; i < count; ++i) {
+            wheel.schedule(latch::countDown, 20 + i % 50);
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20));
+    }
+
+    @Test
+    public void testCancelledTimeoutsDoNotRun() throws InterruptedException {
+        AtomicInteger cancelledRuns = new AtomicInteger();
+        for (int i = 0; i < 1000; ++i) {
+            TimeoutWheel.Timeout timeout = wheel.schedule(cancelledRuns::incrementAndGet, 10 + i % 20);
+            assertTrue(timeout.cancel());
+            assertFalse(timeout.cancel());
+        }
+        CountDownLatch latch = new CountDownLatch(1);
+        TimeoutWheel.Timeout last = wheel.schedule(latch::countDown, 50);
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertFalse(last.cancel());
+        assertEquals(0, cancelledRuns.get());
+    }
+
+    @Test
+    public void testIdleWheelWakesForNewTimeout() throws InterruptedException {
+        // let the worker find the wheel empty and park
+        Thread.sleep(50);
+        CountDownLatch latch = new CountDownLatch(1);
+        wheel.schedule(latch::countDown, 5);
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testEarlierTimeoutWakesWorker() throws InterruptedException {
+        // the worker parks until this deadline, so the later, shorter timeout has to wake it
+        TimeoutWheel.Timeout distant = wheel.schedule(() -> { }, TimeUnit.MINUTES.toMillis(10));
+        Thread.sleep(50);
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        wheel.schedule(latch::countDown, 10);
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertTrue(distant.cancel());
+    }
+}
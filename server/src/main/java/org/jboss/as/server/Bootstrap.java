@@ -5,6 +5,7 @@
 
 package org.jboss.as.server;
 
+import java.io.File;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 
@@ -18,18 +19,21 @@ import org.jboss.as.controller.audit.ManagedAuditLogger;
 import org.jboss.as.controller.extension.ExtensionRegistry;
 import org.jboss.as.controller.parsing.ManagementXmlSchema;
 import org.jboss.as.controller.persistence.BackupXmlConfigurationPersister;
+import org.jboss.as.controller.persistence.BootOperationCache;
 import org.jboss.as.controller.persistence.ConfigurationFile;
 import org.jboss.as.controller.persistence.ExtensibleConfigurationPersister;
 import org.jboss.as.controller.persistence.XmlConfigurationPersister;
 import org.jboss.as.server.controller.git.GitConfigurationPersister;
 import org.jboss.as.server.parsing.StandaloneXmlSchemas;
 import org.jboss.as.version.Stability;
+import org.jboss.as.version.Version;
 import org.jboss.modules.Module;
 import org.jboss.modules.ModuleLoader;
 import org.jboss.msc.service.ServiceActivator;
 import org.jboss.msc.service.ServiceContainer;
 import org.jboss.threads.AsyncFuture;
 import org.wildfly.security.auth.server.SecurityIdentity;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * The application server bootstrap interface.  Get a new instance via {@link Factory#newInstance()}.
@@ -72,6 +76,13 @@ public interface Bootstrap {
      */
     final class Configuration {
 
+        /**
+         * System property which, if {@code true}, stores the operations parsed from the configuration file in the
+         * server data directory, so later boots with an unchanged configuration do not parse it again.
+         */
+        static final String BOOT_OPERATION_CACHE = "org.jboss.as.server.boot-operation-cache";
+        private static final String BOOT_OPERATION_CACHE_FILE = "boot-operations.dmr";
+
         private final ServerEnvironment serverEnvironment;
         private final RunningModeControl runningModeControl;
         private final ExtensionRegistry extensionRegistry;
@@ -213,6 +224,11 @@ public interface Bootstrap {
                         for (ManagementXmlSchema schema : standaloneXmlSchemas.getAdditional()) {
                             persister.registerAdditionalRootElement(schema.getQualifiedName(), schema);
                         }
+                        if (Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(BOOT_OPERATION_CACHE, "false"))) {
+                            File cacheFile = new File(serverEnvironment.getServerDataDir(), BOOT_OPERATION_CACHE_FILE);
+                            String processDescription = Version.AS_VERSION + '|' + serverEnvironment.getProductConfig().resolveVersion() + '|' + stability;
+                            persister.setBootOperationCache(new BootOperationCache(cacheFile, moduleLoader, processDescription));
+                        }
                         extensionRegistry.setWriterRegistry(persister);
                         return persister;
                     }
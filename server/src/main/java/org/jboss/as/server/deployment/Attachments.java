@@ -72,6 +72,12 @@ public final class Attachments {
      */
     public static final AttachmentKey<VirtualFile> DEPLOYMENT_CONTENTS = AttachmentKey.create(VirtualFile.class);
 
+    /**
+     * The hash of the content of a top level deployment, if it is a managed archive. Not attached for unmanaged or
+     * exploded content, whose files can change without the hash changing.
+     */
+    public static final AttachmentKey<byte[]> DEPLOYMENT_CONTENT_HASH = AttachmentKey.create(byte[].class);
+
     /**
      * An attachment defining a transformer of the ServiceTarget used to install a deployment unit phase.
      */
@@ -6,6 +6,7 @@
 package org.jboss.as.server.deployment;
 
 import java.lang.ref.WeakReference;
+import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -90,6 +91,11 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
         deploymentUnit.putAttachment(Attachments.ANNOTATION_INDEX_SUPPORT, annotationIndexSupport);
         if(this.isExplodedContent) {
             MountExplodedMarker.setMountExploded(deploymentUnit);
+        } else {
+            List<byte[]> hashes = DeploymentUtils.getDeploymentHash(resource);
+            if (hashes.size() == 1) {
+                deploymentUnit.putAttachment(Attachments.DEPLOYMENT_CONTENT_HASH, hashes.get(0));
+            }
         }
 
         // Attach the deployment repo
@@ -6,18 +6,25 @@
 package org.jboss.as.server.deployment.annotation;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.logging.ServerLogger;
 import org.jboss.as.server.moduleservice.ModuleIndexBuilder;
+import org.jboss.jandex.Index;
 import org.jboss.jandex.Indexer;
 import org.jboss.modules.Module;
 import org.jboss.modules.ModuleLoadException;
@@ -33,6 +40,9 @@ import org.wildfly.common.Assert;
  */
 public final class AnnotationIndexSupport {
 
+    /** The minimum number of classes worth indexing on a separate thread */
+    private static final int MIN_CLASSES_PER_CHUNK = 256;
+
     private final ConcurrentMap<String, Lock> indexLocks = new ConcurrentHashMap<>();
     private final Map<String, CompositeIndex> indexCache = new ConcurrentHashMap<>();
 
@@ -40,10 +50,11 @@ public final class AnnotationIndexSupport {
      * Gets the annotation indices for the resources in the module with the given id.
      * @param moduleId the id of the module to be indexed. Cannot be {@code null}.
      * @param moduleLoader {@link ModuleLoader} to use to load the module. Cannot be {@code null}.
+     * @param executor the executor used to index a large module in parallel, or {@code null}
      * @return the indices. Will not return {@code null}.
      * @throws DeploymentUnitProcessingException if a problem occurs obtaining the indices
      */
-    CompositeIndex getAnnotationIndices(String moduleId, ModuleLoader moduleLoader) throws DeploymentUnitProcessingException {
+    CompositeIndex getAnnotationIndices(String moduleId, ModuleLoader moduleLoader, Executor executor) throws DeploymentUnitProcessingException {
         Assert.checkNotNullParam("moduleId", moduleId);
         Assert.checkNotNullParam("moduleLoader", moduleLoader);
 
@@ -61,7 +72,7 @@ public final class AnnotationIndexSupport {
                     result = indexCache.get(moduleId);
                     if (result == null) {
                         // Nope. We build and cache the indices
-                        result = indexModule(moduleId, moduleLoader);
+                        result = indexModule(moduleId, moduleLoader, executor);
                         indexCache.put(moduleId, result);
                     }
                 } finally {
@@ -91,7 +102,7 @@ public final class AnnotationIndexSupport {
         return lock;
     }
 
-    static CompositeIndex indexModule(String moduleIdentifier, ModuleLoader moduleLoader) throws DeploymentUnitProcessingException {
+    static CompositeIndex indexModule(String moduleIdentifier, ModuleLoader moduleLoader, Executor executor) throws DeploymentUnitProcessingException {
         ServerLogger.DEPLOYMENT_LOGGER.debugf("Creating annotation index for static module %s", moduleIdentifier);
         try {
             CompositeIndex result;
@@ -105,7 +116,7 @@ public final class AnnotationIndexSupport {
                 // No MANIFEST/jandex.idx files. The fact that we were calle indicates some deployment
                 // wants this module indexed even though it has no jandex.idx files, so we process
                 // all class files in the module resources.
-                result = calculateModuleIndex(module);
+                result = calculateModuleIndex(module, executor);
             }
             return result;
         } catch (ModuleLoadException | IOException e) {
@@ -113,20 +124,51 @@ public final class AnnotationIndexSupport {
         }
     }
 
-    private static CompositeIndex calculateModuleIndex(final Module module) throws ModuleLoadException, IOException {
-        final Indexer indexer = new Indexer();
+    private static CompositeIndex calculateModuleIndex(final Module module, final Executor executor) throws ModuleLoadException, IOException {
+        final List<Resource> classes = new ArrayList<>();
         final PathFilter filter = PathFilters.getDefaultImportFilter();
         final Iterator<Resource> iterator = module.iterateResources(filter);
         while (iterator.hasNext()) {
             Resource resource = iterator.next();
             if(resource.getName().endsWith(".class")) {
-                try (InputStream in = resource.openStream()) {
-                    indexer.index(in);
-                } catch (Exception e) {
-                    ServerLogger.DEPLOYMENT_LOGGER.cannotIndexClass(resource.getName(), resource.getURL().toExternalForm(), e);
-                }
+                classes.add(resource);
+            }
+        }
+        // Large modules are split into chunks which are indexed in parallel, each into its own index
+        final int chunks = Math.min(ResourceRootIndexer.PARALLELISM, classes.size() / MIN_CLASSES_PER_CHUNK);
+        if (chunks <= 1) {
+            return new CompositeIndex(Collections.singleton(index(classes)));
+        }
+        final int chunkSize = (classes.size() + chunks - 1) / chunks;
+        final List<Callable<Index>> tasks = new ArrayList<>(chunks);
+        for (int i = 0; i < classes.size(); i += chunkSize) {
+            final List<Resource> chunk = classes.subList(i, Math.min(i + chunkSize, classes.size()));
+            tasks.add(() -> index(chunk));
+        }
+        try {
+            return new CompositeIndex(ResourceRootIndexer.invokeAll(tasks, executor));
+        } catch (ExecutionException e) {
+            // index() only throws unchecked exceptions
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw cause instanceof Error ? (Error) cause : new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+    }
+
+    private static Index index(final List<Resource> classes) {
+        final Indexer indexer = new Indexer();
+        for (Resource resource : classes) {
+            try (InputStream in = resource.openStream()) {
+                indexer.index(in);
+            } catch (Exception e) {
+                ServerLogger.DEPLOYMENT_LOGGER.cannotIndexClass(resource.getName(), resource.getURL().toExternalForm(), e);
             }
         }
-        return new CompositeIndex(Collections.singleton(indexer.complete()));
+        return indexer.complete();
     }
 }
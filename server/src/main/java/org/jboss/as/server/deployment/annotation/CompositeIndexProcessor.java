@@ -15,6 +15,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 import org.jboss.as.server.deployment.AttachmentList;
 import org.jboss.as.server.deployment.Attachments;
@@ -44,6 +45,7 @@ public class CompositeIndexProcessor implements DeploymentUnitProcessor {
     public void deploy(DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
         final DeploymentUnit deploymentUnit = phaseContext.getDeploymentUnit();
         final ModuleLoader moduleLoader = deploymentUnit.getAttachment(Attachments.SERVICE_MODULE_LOADER);
+        final Executor executor = ResourceRootIndexer.getExecutor(phaseContext);
         final Reference<AnnotationIndexSupport> indexSupportRef = deploymentUnit.getAttachment(Attachments.ANNOTATION_INDEX_SUPPORT);
         assert indexSupportRef != null;
 
@@ -107,12 +109,12 @@ public class CompositeIndexProcessor implements DeploymentUnitProcessor {
                 CompositeIndex externalModuleIndexes;
                 AnnotationIndexSupport annotationIndexSupport = indexSupportRef.get();
                 if (annotationIndexSupport != null) {
-                    externalModuleIndexes = annotationIndexSupport.getAnnotationIndices(moduleName, moduleLoader);
+                    externalModuleIndexes = annotationIndexSupport.getAnnotationIndices(moduleName, moduleLoader, executor);
                 } else {
                     // This implies the DeploymentUnitService was restarted after the original operation that held
                     // the strong ref to the AnnotationIndexSupport. So we can't benefit from caching. Just calculate
                     // the indices without worrying about caching.
-                    externalModuleIndexes = AnnotationIndexSupport.indexModule(moduleName, moduleLoader);
+                    externalModuleIndexes = AnnotationIndexSupport.indexModule(moduleName, moduleLoader, executor);
                 }
                 indexes.addAll(externalModuleIndexes.indexes);
                 additionalAnnotationIndexes.put(moduleName, externalModuleIndexes);
@@ -0,0 +1,182 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.jboss.as.controller.HashUtil;
+import org.jboss.as.repository.ContentRepository;
+import org.jboss.as.server.logging.ServerLogger;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexReader;
+import org.jboss.jandex.IndexWriter;
+
+/**
+ * Cache on disk of the annotation indexes generated for the resource roots of managed archive deployments.
+ * <p/>
+ * Indexes are stored under the hash of the deployment content. That content cannot change without its hash changing,
+ * so an index cached for a resource root remains valid across restarts and redeployments of the same content, and
+ * the resource root does not need to be indexed again. The version of the index format written by Jandex is part of
+ * the key, so indexes written by a different version of Jandex are not read.
+ */
+public final class ResourceRootIndexCache {
+
+    private static final String SUFFIX = ".idx";
+
+    /**
+     * The version of the index format written by the Jandex in use
+     */
+    private static final int INDEX_VERSION = getIndexVersion();
+
+    private final Path directory;
+    private final int indexVersion;
+
+    /**
+     * @param directory the directory in which to store the indexes
+     */
+    public ResourceRootIndexCache(final Path directory) {
+        this(directory, INDEX_VERSION);
+    }
+
+    ResourceRootIndexCache(final Path directory, final int indexVersion) {
+        this.directory = directory;
+        this.indexVersion = indexVersion;
+    }
+
+    /**
+     * Removes the indexes cached for content which is no longer in the content repository.
+     *
+     * @param contentRepository the repository
+     */
+    public void purge(final ContentRepository contentRepository) {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path contentDir : stream) {
+                byte[] hash;
+                try {
+                    hash = HashUtil.hexStringToByteArray(contentDir.getFileName().toString());
+                } catch (RuntimeException e) {
+                    hash = null;
+                }
+                if (hash == null || !contentRepository.hasContent(hash)) {
+                    delete(contentDir);
+                }
+            }
+        } catch (IOException e) {
+            ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Failed to purge annotation index cache %s", directory);
+        }
+    }
+
+    /**
+     * Reads the index cached for a resource root.
+     *
+     * @param contentHash the hash of the content of the deployment
+     * @param path the path of the resource root relative to the root of the deployment
+     * @param ignorePaths the paths which were not indexed, or {@code null}
+     * @return the index, or {@code null} if none is cached
+     */
+    Index read(final byte[] contentHash, final String path, final Set<String> ignorePaths) {
+        final Path file = getFile(contentHash, path, ignorePaths);
+        try (InputStream in = Files.newInputStream(file)) {
+            final Index index = new IndexReader(in).read();
+            ServerLogger.DEPLOYMENT_LOGGER.tracef("Read cached index of %s from %s", path, file);
+            return index;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            // Corrupt or of a version we cannot read; it will be replaced
+            ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Ignoring unreadable cached index %s", file);
+            return null;
+        }
+    }
+
+    /**
+     * Caches the index of a resource root.
+     *
+     * @param contentHash the hash of the content of the deployment
+     * @param path the path of the resource root relative to the root of the deployment
+     * @param ignorePaths the paths which were not indexed, or {@code null}
+     * @param index the index
+     */
+    void write(final byte[] contentHash, final String path, final Set<String> ignorePaths, final Index index) {
+        final Path file = getFile(contentHash, path, ignorePaths);
+        try {
+            Files.createDirectories(file.getParent());
+            // Write to a temporary file and move it into place, so a concurrent or interrupted write never
+            // leaves a partial index to be read
+            final Path temp = Files.createTempFile(file.getParent(), null, SUFFIX);
+            try {
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    new IndexWriter(out).write(index);
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException | RuntimeException e) {
+            ServerLogger.DEPLOYMENT_LOGGER.debugf(e, "Failed to cache index of %s in %s", path, file);
+        }
+    }
+
+    private Path getFile(final byte[] contentHash, final String path, final Set<String> ignorePaths) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(Integer.toString(indexVersion).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(path.getBytes(StandardCharsets.UTF_8));
+        if (ignorePaths != null) {
+            for (String ignored : new TreeSet<>(ignorePaths)) {
+                digest.update((byte) 0);
+                digest.update(ignored.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return directory.resolve(HashUtil.bytesToHexString(contentHash)).resolve(HashUtil.bytesToHexString(digest.digest()) + SUFFIX);
+    }
+
+    private static int getIndexVersion() {
+        // Jandex does not expose the version it writes, so write an empty index and read its version back
+        try {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            new IndexWriter(out).write(Index.of());
+            final IndexReader reader = new IndexReader(new ByteArrayInputStream(out.toByteArray()));
+            reader.read();
+            return reader.getIndexVersion();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void delete(final Path contentDir) throws IOException {
+        if (Files.isDirectory(contentDir)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(contentDir)) {
+                for (Path file : stream) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+        Files.deleteIfExists(contentDir);
+    }
+}
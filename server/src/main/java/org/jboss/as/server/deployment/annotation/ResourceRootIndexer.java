@@ -6,33 +6,222 @@
 package org.jboss.as.server.deployment.annotation;
 
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.jboss.as.server.Services;
 import org.jboss.as.server.logging.ServerLogger;
 import org.jboss.as.server.deployment.Attachments;
+import org.jboss.as.server.deployment.DeploymentPhaseContext;
+import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
+import org.jboss.as.server.deployment.DeploymentUtils;
 import org.jboss.as.server.deployment.module.ResourceRoot;
+import org.jboss.as.server.deploymentoverlay.DeploymentOverlayIndex;
 import org.jboss.as.server.moduleservice.ModuleIndexBuilder;
 import org.jboss.jandex.Index;
 import org.jboss.jandex.IndexReader;
 import org.jboss.jandex.Indexer;
+import org.jboss.msc.service.ServiceController;
 import org.jboss.vfs.VFSUtils;
 import org.jboss.vfs.VirtualFile;
 import org.jboss.vfs.VirtualFileFilter;
 import org.jboss.vfs.VisitorAttributes;
 import org.jboss.vfs.util.SuffixMatchFilter;
+import org.wildfly.common.cpu.ProcessorInfo;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Utility class for indexing a resource root
  */
 public class ResourceRootIndexer {
 
+    /**
+     * The maximum number of threads, including the deployment thread, that index a deployment concurrently
+     */
+    static final int PARALLELISM = Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged("org.jboss.as.server.annotation_index_parallelism",
+            Integer.toString(ProcessorInfo.availableProcessors())));
+
     /**
      * Creates and attaches the annotation index to a resource root, if it has not already been attached
      */
     public static void indexResourceRoot(final ResourceRoot resourceRoot) throws DeploymentUnitProcessingException {
+        indexResourceRoot(resourceRoot, null, null, null);
+    }
+
+    /**
+     * Creates and attaches the annotation indexes to the resource roots of a deployment, if they have not already
+     * been attached. The resource roots are indexed in parallel, and if the deployment is a managed archive, indexes
+     * are read from and written to {@code cache}.
+     *
+     * @param resourceRoots the resource roots
+     * @param deploymentUnit the deployment unit the resource roots belong to
+     * @param cache the cache of indexes, or {@code null} if indexes should not be cached
+     * @param executor the executor used to index resource roots in parallel, or {@code null} if they should be indexed
+     *                 by the calling thread
+     */
+    public static void indexResourceRoots(final Collection<ResourceRoot> resourceRoots, final DeploymentUnit deploymentUnit,
+                                          final ResourceRootIndexCache cache, final Executor executor) throws DeploymentUnitProcessingException {
+        final DeploymentUnit top = DeploymentUtils.getTopDeploymentUnit(deploymentUnit);
+        final byte[] contentHash = cache != null ? getCacheableContentHash(top) : null;
+        final ResourceRoot deploymentRoot = top.getAttachment(Attachments.DEPLOYMENT_ROOT);
+
+        final List<Callable<Void>> tasks = new ArrayList<>(resourceRoots.size());
+        for (ResourceRoot resourceRoot : resourceRoots) {
+            if (resourceRoot.getAttachment(Attachments.ANNOTATION_INDEX) == null) {
+                final String path = getRelativePath(resourceRoot, deploymentRoot);
+                tasks.add(() -> {
+                    indexResourceRoot(resourceRoot, cache, contentHash, path);
+                    return null;
+                });
+            }
+        }
+        try {
+            invokeAll(tasks, executor);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof DeploymentUnitProcessingException
+                    ? (DeploymentUnitProcessingException) e.getCause()
+                    : ServerLogger.ROOT_LOGGER.deploymentIndexingFailed(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw ServerLogger.ROOT_LOGGER.deploymentIndexingFailed(e);
+        }
+    }
+
+    /**
+     * Gets the executor with which a deployment processor can index in parallel.
+     *
+     * @return the server's executor, or {@code null} if it is not available
+     */
+    static Executor getExecutor(final DeploymentPhaseContext phaseContext) {
+        if (PARALLELISM <= 1) {
+            return null;
+        }
+        final ServiceController<?> controller = phaseContext.getServiceRegistry().getService(Services.JBOSS_SERVER_EXECUTOR);
+        if (controller == null || controller.getState() != ServiceController.State.UP) {
+            return null;
+        }
+        try {
+            return (Executor) controller.getValue();
+        } catch (IllegalStateException e) {
+            // Stopped since we checked
+            return null;
+        }
+    }
+
+    /**
+     * Runs tasks on up to {@link #PARALLELISM} threads, the calling thread being one of them, and returns their
+     * results in order.
+     * <p/>
+     * The other threads are taken from {@code executor}. Tasks are claimed in turn by whichever thread is free, and
+     * the calling thread runs every task that has not been claimed, so it only ever waits for tasks that are already
+     * running. The tasks are therefore run even if the executor is saturated or has been shut down. They run with the
+     * thread context class loader of the calling thread.
+     *
+     * @param tasks the tasks
+     * @param executor the executor, or {@code null} to run all the tasks on the calling thread
+     * @return the results of the tasks
+     * @throws ExecutionException if any task failed, with the failure of the first such task as its cause
+     * @throws InterruptedException if interrupted while waiting for tasks run by other threads
+     */
+    static <T> List<T> invokeAll(final List<? extends Callable<T>> tasks, final Executor executor) throws ExecutionException, InterruptedException {
+        final List<FutureTask<T>> futures = new ArrayList<>(tasks.size());
+        for (Callable<T> task : tasks) {
+            futures.add(new FutureTask<>(task));
+        }
+        final AtomicInteger next = new AtomicInteger();
+        final Runnable worker = () -> {
+            int index;
+            while ((index = next.getAndIncrement()) < futures.size()) {
+                futures.get(index).run();
+            }
+        };
+        final int helpers = executor == null ? 0 : Math.min(PARALLELISM, futures.size()) - 1;
+        if (helpers > 0) {
+            final ClassLoader loader = WildFlySecurityManager.getCurrentContextClassLoaderPrivileged();
+            final Runnable helper = () -> {
+                final ClassLoader current = WildFlySecurityManager.getCurrentContextClassLoaderPrivileged();
+                WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(loader);
+                try {
+                    worker.run();
+                } finally {
+                    WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(current);
+                }
+            };
+            for (int i = 0; i < helpers; i++) {
+                try {
+                    executor.execute(helper);
+                } catch (RejectedExecutionException e) {
+                    break;
+                }
+            }
+        }
+        worker.run();
+
+        final List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (FutureTask<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            // Only tasks that are already running remain; they are left to finish, but nothing waits for them
+            for (FutureTask<T> future : futures) {
+                future.cancel(false);
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    /**
+     * Gets the hash under which the indexes of a deployment's resource roots can be cached.
+     *
+     * @return the hash, or {@code null} if the content of the deployment can change without its hash changing
+     */
+    private static byte[] getCacheableContentHash(final DeploymentUnit top) {
+        final byte[] contentHash = top.getAttachment(Attachments.DEPLOYMENT_CONTENT_HASH);
+        if (contentHash == null) {
+            return null;
+        }
+        // Overlays replace content of the deployment
+        final DeploymentOverlayIndex overlays = top.getAttachment(Attachments.DEPLOYMENT_OVERLAY_INDEX);
+        if (overlays != null) {
+            final Map<String, byte[]> entries = overlays.getOverlays(top.getName());
+            if (entries != null && !entries.isEmpty()) {
+                return null;
+            }
+        }
+        return contentHash;
+    }
+
+    private static String getRelativePath(final ResourceRoot resourceRoot, final ResourceRoot deploymentRoot) {
+        if (deploymentRoot == null) {
+            return null;
+        }
+        final VirtualFile root = resourceRoot.getRoot();
+        if (root.equals(deploymentRoot.getRoot())) {
+            return "";
+        }
+        try {
+            return root.getPathNameRelativeTo(deploymentRoot.getRoot());
+        } catch (IllegalArgumentException e) {
+            // Not part of the deployment content, e.g. a Class-Path entry referencing a file outside it
+            return null;
+        }
+    }
+
+    private static void indexResourceRoot(final ResourceRoot resourceRoot, final ResourceRootIndexCache cache,
+                                          final byte[] contentHash, final String path) throws DeploymentUnitProcessingException {
         if (resourceRoot.getAttachment(Attachments.ANNOTATION_INDEX) != null) {
             return;
         }
@@ -63,6 +252,15 @@ public class ResourceRootIndexer {
             indexIgnorePaths = null;
         }
 
+        final boolean cacheable = cache != null && contentHash != null && path != null;
+        if (cacheable) {
+            final Index cached = cache.read(contentHash, path, indexIgnorePaths);
+            if (cached != null) {
+                resourceRoot.putAttachment(Attachments.ANNOTATION_INDEX, cached);
+                return;
+            }
+        }
+
         final VirtualFile virtualFile = resourceRoot.getRoot();
         final Indexer indexer = new Indexer();
         try {
@@ -89,6 +287,9 @@ public class ResourceRootIndexer {
             final Index index = indexer.complete();
             resourceRoot.putAttachment(Attachments.ANNOTATION_INDEX, index);
             ServerLogger.DEPLOYMENT_LOGGER.tracef("Generated index for archive %s", virtualFile);
+            if (cacheable) {
+                cache.write(contentHash, path, indexIgnorePaths, index);
+            }
         } catch (Throwable t) {
             throw ServerLogger.ROOT_LOGGER.deploymentIndexingFailed(t);
         }
@@ -0,0 +1,119 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.jboss.as.controller.HashUtil;
+import org.jboss.as.repository.ContentRepository;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.Indexer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ResourceRootIndexCacheTestCase {
+
+    private static final byte[] HASH = HashUtil.hexStringToByteArray("0123456789abcdef0123456789abcdef01234567");
+    private static final byte[] OTHER_HASH = HashUtil.hexStringToByteArray("89abcdef0123456789abcdef0123456789abcdef");
+
+    private Path directory;
+    private ResourceRootIndexCache cache;
+
+    @Before
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("annotation-index");
+        cache = new ResourceRootIndexCache(directory);
+    }
+
+    @After
+    public void cleanup() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testReadWrite() throws IOException {
+        assertNull(cache.read(HASH, "lib/a.jar", null));
+
+        cache.write(HASH, "lib/a.jar", null, createIndex());
+        Index index = cache.read(HASH, "lib/a.jar", null);
+        assertNotNull(index);
+        assertNotNull(index.getClassByName(DotName.createSimple(ResourceRootIndexCacheTestCase.class.getName())));
+
+        // The key includes the content hash, the path and the ignored paths
+        assertNull(cache.read(OTHER_HASH, "lib/a.jar", null));
+        assertNull(cache.read(HASH, "lib/b.jar", null));
+        assertNull(cache.read(HASH, "lib/a.jar", Collections.singleton("org/jboss")));
+    }
+
+    @Test
+    public void testCorruptIndexIgnored() throws IOException {
+        Set<String> ignored = Collections.singleton("org/jboss");
+        cache.write(HASH, "", ignored, createIndex());
+        try (Stream<Path> files = Files.walk(directory)) {
+            Path file = files.filter(Files::isRegularFile).findFirst().orElseThrow(IllegalStateException::new);
+            try (OutputStream out = Files.newOutputStream(file)) {
+                out.write(new byte[] { 1, 2, 3 });
+            }
+        }
+        assertNull(cache.read(HASH, "", ignored));
+
+        // and is replaced by the next write
+        cache.write(HASH, "", ignored, createIndex());
+        assertNotNull(cache.read(HASH, "", ignored));
+    }
+
+    @Test
+    public void testOtherIndexVersionIgnored() throws IOException {
+        new ResourceRootIndexCache(directory, 1).write(HASH, "", null, createIndex());
+        assertNull(cache.read(HASH, "", null));
+        assertNotNull(new ResourceRootIndexCache(directory, 1).read(HASH, "", null));
+    }
+
+    @Test
+    public void testPurge() throws IOException {
+        cache.write(HASH, "", null, createIndex());
+        cache.write(OTHER_HASH, "", null, createIndex());
+
+        ContentRepository repository = mock(ContentRepository.class);
+        doReturn(false).when(repository).hasContent(any());
+        doReturn(true).when(repository).hasContent(HASH);
+        cache.purge(repository);
+
+        assertNotNull(cache.read(HASH, "", null));
+        assertNull(cache.read(OTHER_HASH, "", null));
+        assertFalse(Files.exists(directory.resolve(HashUtil.bytesToHexString(OTHER_HASH))));
+        assertTrue(Files.exists(directory.resolve(HashUtil.bytesToHexString(HASH))));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    private static Index createIndex() throws IOException {
+        Indexer indexer = new Indexer();
+        indexer.indexClass(ResourceRootIndexCacheTestCase.class);
+        return indexer.complete();
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.Test;
+
+public class ResourceRootIndexerTestCase {
+
+    @Test
+    public void testResultsInOrder() throws Exception {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            List<Integer> results = ResourceRootIndexer.invokeAll(tasks(100), executor);
+            for (int i = 0; i < 100; i++) {
+                assertEquals(i, (int) results.get(i));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testCallerRunsUnclaimedTasks() throws Exception {
+        // An executor that never runs what it is given, as if it were saturated
+        List<Runnable> queued = new ArrayList<>();
+        assertEquals(10, ResourceRootIndexer.invokeAll(tasks(10), queued::add).size());
+        // An executor that has been shut down
+        assertEquals(10, ResourceRootIndexer.invokeAll(tasks(10), task -> {
+            throw new RejectedExecutionException();
+        }).size());
+        assertEquals(10, ResourceRootIndexer.invokeAll(tasks(10), null).size());
+    }
+
+    @Test
+    public void testFailure() throws Exception {
+        IllegalStateException failure = new IllegalStateException();
+        List<Callable<Integer>> tasks = tasks(10);
+        tasks.set(5, () -> {
+            throw failure;
+        });
+        try {
+            ResourceRootIndexer.invokeAll(tasks, null);
+            fail();
+        } catch (ExecutionException e) {
+            assertSame(failure, e.getCause());
+        }
+    }
+
+    private static List<Callable<Integer>> tasks(int count) {
+        List<Callable<Integer>> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final int value = i;
+            tasks.add(() -> value);
+        }
+        return tasks;
+    }
+}